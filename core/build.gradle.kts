@@ -24,4 +24,10 @@ dependencies {
     compileOnly("io.papermc.paper:paper-api:1.20.1-R0.1-SNAPSHOT")
     implementation("org.java-websocket:Java-WebSocket:1.5.4")
     testImplementation("org.junit.jupiter:junit-jupiter:5.10.0")
+    testImplementation("com.google.code.gson:gson:2.10.1")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.test {
+    useJUnitPlatform()
 }
@@ -64,6 +64,18 @@ public class Configuration extends ConfigurationFile {
         @Comment("Heartbeat timeout in milliseconds.")
         public int heartbeatTimeout = 90000;
 
+        @Comment("Heartbeat mode: 'message' sends a status heartbeat every interval, 'ping' uses WebSocket ping/pong and sends status only when it changed.")
+        public String heartbeatMode = "message";
+
+        @Comment("In ping mode, the TPS change that triggers a status heartbeat.")
+        public double heartbeatStatusTpsDelta = 0.5;
+
+        @Comment("In ping mode, the memory usage change (percentage points) that triggers a status heartbeat.")
+        public double heartbeatStatusMemoryDelta = 5.0;
+
+        @Comment("In ping mode, the 1 minute p95 MSPT change (milliseconds) that triggers a status heartbeat.")
+        public double heartbeatStatusMsptDelta = 5.0;
+
         @Comment("Reconnect delay in milliseconds.")
         public int reconnectDelay = 5000;
 
@@ -72,6 +84,36 @@ public class Configuration extends ConfigurationFile {
 
         @Comment("Maximum number of gateway connections.")
         public int maxConnections = 1;
+
+        @Comment("Allow gateways to negotiate the binary CBOR frame encoding during authentication.")
+        public boolean enableBinaryCodec = true;
+
+        @Comment("Offer the permessage-deflate WebSocket extension to gateways.")
+        public boolean enableCompression = true;
+
+        @Comment("Smallest outbound message size in bytes that gets compressed.")
+        public int compressionThreshold = 1024;
+
+        @Comment("Deflate compression level from 1 (fastest) to 9 (smallest), or -1 for the default.")
+        public int compressionLevel = 6;
+
+        @Comment("Outbound bytes queued for a gateway above which the overflow policy applies; twice this disconnects it.")
+        public long outboundHighWaterBytes = 4 * 1024 * 1024;
+
+        @Comment("What gives way when a gateway falls behind: DROP_EVENTS, SHED (drop events and responses) or DISCONNECT.")
+        public String outboundOverflowPolicy = "DROP_EVENTS";
+
+        @Comment("Milliseconds outbound frames are collected before they are written to a gateway together.")
+        public int outboundFlushDelayMillis = 5;
+
+        @Comment("Threads handling inbound gateway messages, 0 for half the processors.")
+        public int inboundWorkerThreads = 0;
+
+        @Comment("Maximum number of messages waiting to be handled per gateway; further requests are rejected.")
+        public int inboundLaneCapacity = 256;
+
+        @Comment("Maximum number of requests marked independent that may run at once per gateway.")
+        public int inboundMaxIndependentRequests = 8;
     }
 
     @Comment("Websocket server for gateway to connect.")
@@ -89,6 +131,33 @@ public class Configuration extends ConfigurationFile {
 
         @Comment("Bearer token for internal MCP server authentication.")
         public String bearerToken = "ChangeMeToo!";
+
+        @Comment("Threads writing frames and keep-alives to open SSE streams, independent of the number of clients.")
+        public int sseDispatcherThreads = 2;
+
+        @Comment("Seconds an SSE stream may stay quiet before a keep-alive comment is sent.")
+        public int sseKeepAliveSeconds = 30;
+
+        @Comment("Bytes queued for an SSE client that is not reading above which its stream is closed.")
+        public long sseMaxPendingBytes = 1024 * 1024;
+
+        @Comment("Seconds a write to an SSE client may block before its stream is closed, so clients that stop reading cannot hold the dispatcher threads.")
+        public int sseWriteTimeoutSeconds = 10;
+
+        @Comment("Threads running tool calls answered as an SSE stream with progress, so HTTP workers are not held by long calls.")
+        public int streamingToolCallThreads = 4;
+
+        @Comment("Most streamed tool calls waiting for a thread; further calls are answered with an error until one starts.")
+        public int streamingToolCallQueueCapacity = 64;
+
+        @Comment("Largest accepted request body in bytes; larger requests are rejected with 413.")
+        public long maxRequestBodyBytes = 4 * 1024 * 1024;
+
+        @Comment("Compress responses with gzip or deflate when the client accepts it.")
+        public boolean enableResponseCompression = true;
+
+        @Comment("Smallest response size in bytes that gets compressed.")
+        public int responseCompressionThreshold = 1024;
     }
 
     @Comments({
@@ -99,6 +168,84 @@ public class Configuration extends ConfigurationFile {
     })
     public static HttpSseMcpServer httpSseMcpServer = new HttpSseMcpServer();
 
+    public static class Performance extends ConfigurationPart {
+        @Comment("Worker threads for off-thread chunk and region file processing (0 = CPU cores - 1).")
+        public int workerThreads = 0;
+
+        @Comment("Maximum number of entities removed per tick by bulk entity removal.")
+        public int entityRemovalSliceSize = 256;
+
+        @Comment("Time budget in milliseconds per tick for bulk entity removal on the main thread.")
+        public int entityRemovalTickBudgetMillis = 2;
+
+        @Comment("Threads delivering events to subscribers.")
+        public int eventDispatcherThreads = 2;
+
+        @Comment("Number of events queued per subscription before the overflow policy applies.")
+        public int eventQueueCapacity = 1024;
+
+        @Comment("What happens when a subscription falls behind: DROP_OLDEST, COALESCE_BY_KEY or BLOCK.")
+        public String eventOverflowPolicy = "DROP_OLDEST";
+
+        @Comment("Longest time in milliseconds an emitting thread waits for room under the BLOCK policy.")
+        public int eventBlockTimeoutMillis = 50;
+
+        @Comment("Largest area in chunks that block.stats.area may cover.")
+        public int maxBlockStatsChunks = 1024;
+
+        @Comment("Largest volume in blocks that block.list.area.stored may cover.")
+        public long maxStoredBlockVolume = 16L * 1024 * 1024;
+
+        @Comment("Largest area in block columns that block.surface.area may cover (65536 = 16 x 16 chunks).")
+        public long maxSurfaceColumns = 256L * 256;
+
+        @Comment("Interval in seconds at which the entity census moves entities to the chunk they wandered into (0 = never).")
+        public int entityCensusReconcileSeconds = 10;
+    }
+
+    @Comment("Performance tuning.")
+    public static Performance performance = new Performance();
+
+    public static class EventBridge extends ConfigurationPart {
+        @Comment("Emit the built-in player join/quit, chat, block change, entity death and TPS events.")
+        public boolean enabled = true;
+
+        @Comment("Fraction (0.0 - 1.0) of occurrences emitted per event ID; events not listed are always emitted.")
+        public HashMap<String, Double> sampleRates = new HashMap<>(
+                Map.of(
+                        "block.break", 0.0,
+                        "block.place", 0.0
+                )
+        );
+
+        @Comment("Window in milliseconds over which player block changes are counted per chunk for block.change.summary.")
+        public int blockChangeWindowMillis = 1000;
+
+        @Comment("TPS below which server.tps.drop is emitted.")
+        public double tpsDropThreshold = 15.0;
+
+        @Comment("TPS above which server.tps.recover is emitted after a drop.")
+        public double tpsRecoverThreshold = 18.0;
+
+        @Comment("Forward the built-in events to authenticated gateways and SSE clients.")
+        public boolean forward = true;
+
+        @Comment("Interval in milliseconds at which forwarded events are flushed as a single frame.")
+        public int forwardFlushIntervalMillis = 250;
+
+        @Comment("Maximum number of events per forwarded frame; larger flushes are split into several frames.")
+        public int forwardMaxBatchSize = 512;
+
+        @Comment("Maximum number of forwarded events kept for gateways and SSE clients resuming after a reconnect.")
+        public int replayBufferEvents = 4096;
+
+        @Comment("Maximum estimated memory in bytes taken by the events kept for resuming clients.")
+        public long replayBufferBytes = 8 * 1024 * 1024;
+    }
+
+    @Comment("Built-in Bukkit events and their forwarding.")
+    public static EventBridge eventBridge = new EventBridge();
+
     @Comment("Enable or disable debug mode.")
     public static boolean debug = false;
 
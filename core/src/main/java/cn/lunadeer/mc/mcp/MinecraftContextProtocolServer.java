@@ -3,20 +3,28 @@ package cn.lunadeer.mc.mcp;
 import cn.lunadeer.mc.mcp.api.McpEventEmitterImpl;
 import cn.lunadeer.mc.mcp.api.McpServerImpl;
 import cn.lunadeer.mc.mcp.api.command.McpCommandManager;
+import cn.lunadeer.mc.mcp.api.event.EventForwarder;
+import cn.lunadeer.mc.mcp.api.event.EventReplayBuffer;
 import cn.lunadeer.mc.mcp.communication.WebSocketServer;
 import cn.lunadeer.mc.mcp.core.audit.AuditLogger;
 import cn.lunadeer.mc.mcp.core.execution.ExecutionEngine;
 import cn.lunadeer.mc.mcp.core.execution.ExecutionInterceptor;
 import cn.lunadeer.mc.mcp.core.permission.PermissionChecker;
+import cn.lunadeer.mc.mcp.core.registry.CapabilityDescriptor;
 import cn.lunadeer.mc.mcp.core.registry.CapabilityRegistry;
 import cn.lunadeer.mc.mcp.http_sse.HttpServer;
 import cn.lunadeer.mc.mcp.infrastructure.I18n;
 import cn.lunadeer.mc.mcp.infrastructure.Notification;
+import cn.lunadeer.mc.mcp.infrastructure.TickTelemetry;
 import cn.lunadeer.mc.mcp.infrastructure.XLogger;
 import cn.lunadeer.mc.mcp.infrastructure.configuration.ConfigurationManager;
 import cn.lunadeer.mc.mcp.infrastructure.configuration.ConfigurationPart;
 import cn.lunadeer.mc.mcp.infrastructure.scheduler.Scheduler;
+import cn.lunadeer.mc.mcp.infrastructure.scheduler.WorkerPool;
 import cn.lunadeer.mc.mcp.provider.builtin.*;
+import cn.lunadeer.mc.mcp.provider.builtin.entity.EntityCensus;
+import cn.lunadeer.mc.mcp.provider.builtin.entity.EntityRemovalJob;
+import cn.lunadeer.mc.mcp.provider.builtin.event.BukkitEventBridge;
 import cn.lunadeer.mc.mcp.sdk.api.McpServer;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -33,6 +41,8 @@ public final class MinecraftContextProtocolServer extends JavaPlugin {
     private McpEventEmitterImpl eventEmitter;
     private McpCommandManager commandManager;
     private ExecutionEngine executionEngine;
+    private BukkitEventBridge eventBridge;
+    private EventForwarder eventForwarder;
 
     public static class MainClassText extends ConfigurationPart {
         public String loadingConfig = "Loading configuration...";
@@ -58,6 +68,7 @@ public final class MinecraftContextProtocolServer extends JavaPlugin {
         new XLogger(this);
         XLogger.setDebug(true);
         new Scheduler(this);
+        new TickTelemetry(this);
 
         // https://patorjk.com/software/taag/#p=display&f=Small&t=MCP-Server&x=none&v=4&h=4&w=80&we=false
         XLogger.info("  __  __  ___ ___     ___                      ");
@@ -70,14 +81,26 @@ public final class MinecraftContextProtocolServer extends JavaPlugin {
         registerBuiltInProviders();
         if (Configuration.websocketServer.enableOnStart) startWebSocketServer();
         if (Configuration.httpSseMcpServer.enableOnStart) startHttpMcpServer();
+        startEventForwarding();
         registerCommands();
     }
 
     @Override
     public void onDisable() {
         // Plugin shutdown logic
+        if (eventForwarder != null) {
+            eventForwarder.shutdown();
+        }
+        if (eventBridge != null) {
+            eventBridge.shutdown();
+        }
+        EntityRemovalJob.cancelAll();
         stopWebSocketServer();
         stopHttpMcpServer();
+        if (eventEmitter != null) {
+            eventEmitter.shutdown();
+        }
+        WorkerPool.shutdown();
     }
 
     private static MinecraftContextProtocolServer instance;
@@ -219,10 +242,14 @@ public final class MinecraftContextProtocolServer extends JavaPlugin {
         try {
             capabilityRegistry.register(new WorldProvider(), this);
             capabilityRegistry.register(new PlayerProvider(), this);
-            capabilityRegistry.register(new EntityProvider(), this);
+            capabilityRegistry.register(new EntityProvider(new EntityCensus(this)), this);
             capabilityRegistry.register(new SystemProvider(), this);
             capabilityRegistry.register(new ChatProvider(), this);
             capabilityRegistry.register(new BlockProvider(), this);
+            if (Configuration.eventBridge.enabled) {
+                eventBridge = new BukkitEventBridge(this, eventEmitter);
+                capabilityRegistry.register(new EventProvider(eventBridge), this);
+            }
 
             int totalCapabilities = capabilityRegistry.getCapabilities().size();
             XLogger.info("Registered " + totalCapabilities + " built-in capabilities");
@@ -232,6 +259,45 @@ public final class MinecraftContextProtocolServer extends JavaPlugin {
         }
     }
 
+    /**
+     * Forwards the built-in events to gateways and SSE clients in batches.
+     * The servers are looked up at every flush, so they may be restarted
+     * or started later. Gateways receive the events their permissions
+     * allow under the events' definitions; SSE clients the events they
+     * subscribed to.
+     */
+    private void startEventForwarding() {
+        if (eventBridge == null || !Configuration.eventBridge.forward) {
+            return;
+        }
+        eventForwarder = new EventForwarder(
+                eventEmitter,
+                BukkitEventBridge.EVENT_IDS,
+                Configuration.eventBridge.forwardFlushIntervalMillis,
+                Configuration.eventBridge.forwardMaxBatchSize,
+                new EventReplayBuffer(
+                        Configuration.eventBridge.replayBufferEvents,
+                        Configuration.eventBridge.replayBufferBytes
+                ),
+                eventId -> {
+                    CapabilityDescriptor descriptor = capabilityRegistry.getCapabilityDescriptor(eventId);
+                    return descriptor != null ? descriptor.getPermissions() : null;
+                }
+        );
+        eventForwarder.addSink(batch -> {
+            WebSocketServer server = webSocketServer;
+            if (server != null) {
+                server.broadcastEvents(batch, eventForwarder);
+            }
+        });
+        eventForwarder.addSink(batch -> {
+            HttpServer server = httpServer;
+            if (server != null) {
+                server.broadcastEvents(batch);
+            }
+        });
+    }
+
     /**
      * Gets the MCP Agent implementation.
      *
@@ -259,6 +325,15 @@ public final class MinecraftContextProtocolServer extends JavaPlugin {
         return eventEmitter;
     }
 
+    /**
+     * Gets the event forwarder.
+     *
+     * @return the event forwarder, or null if the built-in events are not forwarded
+     */
+    public EventForwarder getEventForwarder() {
+        return eventForwarder;
+    }
+
     /**
      * Registers admin commands.
      */
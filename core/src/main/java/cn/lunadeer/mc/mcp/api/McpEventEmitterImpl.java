@@ -1,19 +1,41 @@
 package cn.lunadeer.mc.mcp.api;
 
+import cn.lunadeer.mc.mcp.Configuration;
+import cn.lunadeer.mc.mcp.api.event.DeliveryQueue;
+import cn.lunadeer.mc.mcp.api.event.EventKeys;
+import cn.lunadeer.mc.mcp.api.event.SubscriptionIndex;
+import cn.lunadeer.mc.mcp.api.event.SubscriptionMetrics;
+import cn.lunadeer.mc.mcp.api.event.SubscriptionOptions;
 import cn.lunadeer.mc.mcp.sdk.api.McpEventEmitter;
 import cn.lunadeer.mc.mcp.sdk.api.SubscriptionFilter;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 /**
  * Implementation of the McpEventEmitter interface.
  * <p>
- * Manages event subscriptions and emits events to subscribers.
+ * Manages event subscriptions and emits events to subscribers. Emitting
+ * never runs subscriber code: each subscription with a callback has its own
+ * bounded {@link DeliveryQueue}, drained by a small dispatcher pool, so a
+ * plugin emitting events at a high rate from the server thread only pays
+ * for queueing them.
+ * </p>
+ * <p>
+ * Subscriptions of each event are kept in a {@link SubscriptionIndex} keyed
+ * by the world, player, chunk and entity type parameters of their filter,
+ * read once at subscribe time; a player given by name must be online then,
+ * and is filed under its UUID. {@link #emit(String, Object, EventKeys)}
+ * looks matching subscribers up directly instead of testing every
+ * subscription; the predicate-based emit still has to visit them all.
+ * Subscriptions are also indexed by ID and by subscriber, so unsubscribing
+ * never scans. All indexes are concurrent maps, so subscribing and emitting
+ * may happen concurrently.
  * </p>
  *
  * @author ZhangYuheng
@@ -21,72 +43,144 @@ import java.util.function.Predicate;
  */
 public class McpEventEmitterImpl implements McpEventEmitter {
 
-    private final Map<String, List<SubscriptionImpl>> subscriptions = new ConcurrentHashMap<>();
+    private final Map<String, SubscriptionIndex<SubscriptionImpl>> subscriptions = new ConcurrentHashMap<>();
+    private final Map<String, SubscriptionImpl> subscriptionsById = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> subscriptionsBySubscriber = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher;
+
+    public McpEventEmitterImpl() {
+        AtomicInteger counter = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(Math.max(1, Configuration.performance.eventDispatcherThreads), r -> {
+            Thread thread = new Thread(r, "mcp-event-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 
     @Override
     public void emit(String eventId, Object eventData) {
-        List<SubscriptionImpl> subscribers = subscriptions.get(eventId);
+        SubscriptionIndex<SubscriptionImpl> subscribers = subscriptions.get(eventId);
         if (subscribers == null || subscribers.isEmpty()) {
             return;
         }
 
-        for (SubscriptionImpl subscription : subscribers) {
-            try {
-                subscription.getCallback().accept(eventData);
-            } catch (Exception e) {
-                // Log error but continue with other subscribers
-                System.err.println("Error in event callback for " + eventId + ": " + e.getMessage());
-            }
-        }
+        subscribers.forEach(subscription -> subscription.offer(eventData));
     }
 
     @Override
     public void emit(String eventId, Object eventData, Predicate<Subscription> filter) {
-        List<SubscriptionImpl> subscribers = subscriptions.get(eventId);
+        SubscriptionIndex<SubscriptionImpl> subscribers = subscriptions.get(eventId);
         if (subscribers == null || subscribers.isEmpty()) {
             return;
         }
 
-        for (SubscriptionImpl subscription : subscribers) {
+        subscribers.forEach(subscription -> {
             if (filter.test(subscription)) {
-                try {
-                    subscription.getCallback().accept(eventData);
-                } catch (Exception e) {
-                    // Log error but continue with other subscribers
-                    System.err.println("Error in event callback for " + eventId + ": " + e.getMessage());
-                }
+                subscription.offer(eventData);
             }
+        });
+    }
+
+    /**
+     * Emits an event to the subscriptions whose indexed filter keys match
+     * the keys of the event.
+     * <p>
+     * Subscriptions without world, player, chunk or entity type parameters
+     * receive every event; the others only receive events carrying equal
+     * values for each of the parameters they set.
+     * </p>
+     *
+     * @param eventId   the event ID
+     * @param eventData the event data
+     * @param keys      the indexed attributes of the event
+     */
+    public void emit(String eventId, Object eventData, EventKeys keys) {
+        SubscriptionIndex<SubscriptionImpl> subscribers = subscriptions.get(eventId);
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
         }
+
+        subscribers.forEachMatching(keys, subscription -> subscription.offer(eventData));
     }
 
+    /**
+     * Subscribes without a callback; the subscription only takes part in
+     * filtering until a callback-based subscription replaces it.
+     */
     @Override
     public Subscription subscribe(String eventId, SubscriptionFilter filter, String subscriberId) {
-        SubscriptionImpl subscription = new SubscriptionImpl(
-                UUID.randomUUID().toString(),
-                eventId,
-                filter,
-                subscriberId,
-                eventData -> {
-                    // Default callback - will be overridden by subscriber
-                }
-        );
-
-        subscriptions.computeIfAbsent(eventId, k -> new ArrayList<>()).add(subscription);
+        return register(new SubscriptionImpl(UUID.randomUUID().toString(), eventId, filter, subscriberId, null));
+    }
+
+    /**
+     * Subscribes to an event with a callback and the default delivery options.
+     *
+     * @param eventId      the event ID
+     * @param filter       the subscription filter, may be null
+     * @param subscriberId the subscriber ID
+     * @param callback     receives the event data on a dispatcher thread
+     * @return the subscription
+     * @throws IllegalArgumentException if the player filter is neither a UUID nor an online player's name
+     */
+    public Subscription subscribe(String eventId, SubscriptionFilter filter, String subscriberId, Consumer<Object> callback) {
+        return subscribe(eventId, filter, subscriberId, callback, SubscriptionOptions.defaults());
+    }
+
+    /**
+     * Subscribes to an event with a callback.
+     *
+     * @param eventId      the event ID
+     * @param filter       the subscription filter, may be null
+     * @param subscriberId the subscriber ID
+     * @param callback     receives the event data on a dispatcher thread
+     * @param options      the queue capacity and overflow policy
+     * @return the subscription
+     * @throws IllegalArgumentException if the player filter is neither a UUID nor an online player's name
+     */
+    public Subscription subscribe(String eventId, SubscriptionFilter filter, String subscriberId,
+                                  Consumer<Object> callback, SubscriptionOptions options) {
+        String id = UUID.randomUUID().toString();
+        DeliveryQueue queue = new DeliveryQueue(id, eventId, callback, options, dispatcher);
+        return register(new SubscriptionImpl(id, eventId, filter, subscriberId, queue));
+    }
+
+    private Subscription register(SubscriptionImpl subscription) {
+        String id = subscription.getId();
+        subscriptionsById.put(id, subscription);
+        // Added inside compute so a concurrent unsubscribe cannot drop the set in between
+        subscriptionsBySubscriber.compute(subscription.getSubscriberId(), (k, owned) -> {
+            Set<String> target = owned != null ? owned : ConcurrentHashMap.newKeySet();
+            target.add(id);
+            return target;
+        });
+        subscriptions.computeIfAbsent(subscription.getEventId(), k -> new SubscriptionIndex<>())
+                .add(id, subscription.keys, subscription);
         return subscription;
     }
 
     @Override
     public void unsubscribe(String subscriptionId) {
-        subscriptions.values().forEach(subscribers -> {
-            subscribers.removeIf(sub -> sub.getId().equals(subscriptionId));
+        SubscriptionImpl subscription = subscriptionsById.remove(subscriptionId);
+        if (subscription == null) {
+            return;
+        }
+        SubscriptionIndex<SubscriptionImpl> subscribers = subscriptions.get(subscription.getEventId());
+        if (subscribers != null) {
+            subscribers.remove(subscriptionId);
+        }
+        subscriptionsBySubscriber.computeIfPresent(subscription.getSubscriberId(), (k, owned) -> {
+            owned.remove(subscriptionId);
+            return owned.isEmpty() ? null : owned;
         });
+        subscription.close();
     }
 
     @Override
     public void unsubscribeAll(String subscriberId) {
-        subscriptions.values().forEach(subscribers -> {
-            subscribers.removeIf(sub -> sub.getSubscriberId().equals(subscriberId));
-        });
+        Set<String> owned = subscriptionsBySubscriber.remove(subscriberId);
+        if (owned != null) {
+            List.copyOf(owned).forEach(this::unsubscribe);
+        }
     }
 
     /**
@@ -96,17 +190,54 @@ public class McpEventEmitterImpl implements McpEventEmitter {
      * @return the number of subscriptions
      */
     public int getSubscriptionCount(String eventId) {
-        List<SubscriptionImpl> subscribers = subscriptions.get(eventId);
+        SubscriptionIndex<SubscriptionImpl> subscribers = subscriptions.get(eventId);
         return subscribers != null ? subscribers.size() : 0;
     }
 
+    /**
+     * Gets the delivery metrics of a subscription.
+     *
+     * @param subscriptionId the subscription ID
+     * @return the metrics, or null if the subscription does not exist or has no callback
+     */
+    public SubscriptionMetrics getMetrics(String subscriptionId) {
+        SubscriptionImpl subscription = subscriptionsById.get(subscriptionId);
+        return subscription != null && subscription.queue != null ? subscription.queue.getMetrics() : null;
+    }
+
+    /**
+     * Gets the delivery metrics of all subscriptions with a callback.
+     *
+     * @return the metrics
+     */
+    public List<SubscriptionMetrics> getAllMetrics() {
+        List<SubscriptionMetrics> metrics = new ArrayList<>();
+        for (SubscriptionImpl subscription : subscriptionsById.values()) {
+            if (subscription.queue != null) {
+                metrics.add(subscription.queue.getMetrics());
+            }
+        }
+        return metrics;
+    }
+
     /**
      * Clears all subscriptions (for testing or cleanup).
      */
     public void clearAll() {
+        subscriptionsById.values().forEach(SubscriptionImpl::close);
+        subscriptionsById.clear();
+        subscriptionsBySubscriber.clear();
         subscriptions.clear();
     }
 
+    /**
+     * Clears all subscriptions and stops the dispatcher threads.
+     */
+    public void shutdown() {
+        clearAll();
+        dispatcher.shutdownNow();
+    }
+
     /**
      * Implementation of Subscription interface.
      */
@@ -116,20 +247,22 @@ public class McpEventEmitterImpl implements McpEventEmitter {
         private final String eventId;
         private final SubscriptionFilter filter;
         private final String subscriberId;
-        private final java.util.function.Consumer<Object> callback;
+        private final DeliveryQueue queue;
+        private final EventKeys keys;
 
         public SubscriptionImpl(
                 String id,
                 String eventId,
                 SubscriptionFilter filter,
                 String subscriberId,
-                java.util.function.Consumer<Object> callback
+                DeliveryQueue queue
         ) {
             this.id = id;
             this.eventId = eventId;
             this.filter = filter;
             this.subscriberId = subscriberId;
-            this.callback = callback;
+            this.queue = queue;
+            this.keys = filter != null ? EventKeys.fromFilter(filter::get) : EventKeys.NONE;
         }
 
         @Override
@@ -152,13 +285,16 @@ public class McpEventEmitterImpl implements McpEventEmitter {
             return filter != null ? filter.get(key) : null;
         }
 
-        /**
-         * Gets the callback function.
-         *
-         * @return the callback
-         */
-        public java.util.function.Consumer<Object> getCallback() {
-            return callback;
+        void offer(Object eventData) {
+            if (queue != null) {
+                queue.offer(eventData);
+            }
+        }
+
+        void close() {
+            if (queue != null) {
+                queue.close();
+            }
         }
     }
 }
@@ -0,0 +1,219 @@
+package cn.lunadeer.mc.mcp.api.event;
+
+import cn.lunadeer.mc.mcp.Configuration;
+import cn.lunadeer.mc.mcp.infrastructure.XLogger;
+import org.bukkit.Bukkit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Queue between the threads emitting events and the callback of one
+ * subscription.
+ * <p>
+ * Emitting only places the event in the subscription's ring and, if no
+ * delivery is pending, schedules one on the dispatcher pool, so the
+ * emitting thread never runs subscriber code. At most one delivery runs per
+ * subscription at a time, which keeps events in order; it hands the pool
+ * back after a batch so one slow subscriber cannot starve the others.
+ * </p>
+ * <p>
+ * In coalescing mode the ring holds keys and the latest event of each
+ * queued key is kept aside; an event whose key is already queued just
+ * replaces that value.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public final class DeliveryQueue {
+
+    private static final int BATCH = 64;
+    private static final long BLOCK_PARK_NANOS = 50_000;
+
+    private record Envelope(Object key, Object data, long enqueuedAt) {
+    }
+
+    private final String subscriptionId;
+    private final String eventId;
+    private final Consumer<Object> callback;
+    private final Executor executor;
+    private final EventRing<Envelope> ring;
+    private final EventOverflowPolicy policy;
+    private final Function<Object, Object> coalesceKey;
+    private final Map<Object, Object> latest = new ConcurrentHashMap<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean closed;
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile long lastLagNanos;
+    private final AtomicLong maxLagNanos = new AtomicLong();
+
+    /**
+     * Creates a delivery queue.
+     *
+     * @param subscriptionId the subscription ID
+     * @param eventId        the subscribed event
+     * @param callback       the subscriber callback
+     * @param options        the delivery options
+     * @param executor       the dispatcher pool
+     */
+    public DeliveryQueue(String subscriptionId, String eventId, Consumer<Object> callback,
+                         SubscriptionOptions options, Executor executor) {
+        this.subscriptionId = subscriptionId;
+        this.eventId = eventId;
+        this.callback = callback;
+        this.executor = executor;
+        this.ring = new EventRing<>(options.capacity());
+        this.coalesceKey = options.coalesceKey();
+        this.policy = options.policy() == EventOverflowPolicy.COALESCE_BY_KEY && coalesceKey == null
+                ? EventOverflowPolicy.DROP_OLDEST
+                : options.policy();
+    }
+
+    /**
+     * Queues an event for delivery.
+     *
+     * @param data the event data
+     */
+    public void offer(Object data) {
+        if (closed) {
+            return;
+        }
+        long now = System.nanoTime();
+        Envelope envelope;
+        if (policy == EventOverflowPolicy.COALESCE_BY_KEY) {
+            Object key = coalesceKey.apply(data);
+            if (key == null) {
+                envelope = new Envelope(null, data, now);
+            } else {
+                if (latest.put(key, data) != null) {
+                    // The queued entry of this key now delivers the newer value
+                    coalesced.increment();
+                    return;
+                }
+                envelope = new Envelope(key, null, now);
+            }
+        } else {
+            envelope = new Envelope(null, data, now);
+        }
+
+        if (!ring.offer(envelope)) {
+            if (policy == EventOverflowPolicy.BLOCK && !Bukkit.isPrimaryThread()) {
+                if (!waitForRoom(envelope)) {
+                    dropped.increment();
+                    return;
+                }
+            } else {
+                while (!ring.offer(envelope)) {
+                    discard(ring.poll());
+                }
+            }
+        }
+        schedule();
+    }
+
+    private boolean waitForRoom(Envelope envelope) {
+        long deadline = System.nanoTime() + Math.max(0, Configuration.performance.eventBlockTimeoutMillis) * 1_000_000L;
+        while (!closed) {
+            schedule();
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            if (ring.offer(envelope)) {
+                return true;
+            }
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private void discard(Envelope envelope) {
+        if (envelope == null) {
+            return;
+        }
+        if (envelope.key() != null) {
+            latest.remove(envelope.key());
+        }
+        dropped.increment();
+    }
+
+    private void schedule() {
+        if (!closed && scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Dispatcher shut down
+                scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain() {
+        for (int i = 0; i < BATCH && !closed; i++) {
+            Envelope envelope = ring.poll();
+            if (envelope == null) {
+                break;
+            }
+            Object data = envelope.key() != null ? latest.remove(envelope.key()) : envelope.data();
+            if (data == null) {
+                continue;
+            }
+            long lag = System.nanoTime() - envelope.enqueuedAt();
+            lastLagNanos = lag;
+            maxLagNanos.accumulateAndGet(lag, Math::max);
+            try {
+                callback.accept(data);
+                delivered.increment();
+            } catch (Exception e) {
+                failed.increment();
+                XLogger.warn("Error in event callback for {0}: {1}", eventId, e.getMessage());
+            }
+        }
+        scheduled.set(false);
+        if (!ring.isEmpty()) {
+            schedule();
+        }
+    }
+
+    /**
+     * Stops delivery and discards queued events.
+     */
+    public void close() {
+        closed = true;
+        while (ring.poll() != null) {
+            // Discard
+        }
+        latest.clear();
+    }
+
+    /**
+     * Takes a snapshot of the delivery statistics.
+     *
+     * @return the metrics
+     */
+    public SubscriptionMetrics getMetrics() {
+        return new SubscriptionMetrics(
+                subscriptionId,
+                eventId,
+                ring.size(),
+                delivered.sum(),
+                dropped.sum(),
+                coalesced.sum(),
+                failed.sum(),
+                lastLagNanos / 1e6,
+                maxLagNanos.get() / 1e6
+        );
+    }
+}
@@ -0,0 +1,95 @@
+package cn.lunadeer.mc.mcp.api.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * The events forwarded in one flush, or replayed on resume.
+ *
+ * @param events  the events in sequence order
+ * @param dropped the number of events before these that the receiver will never see,
+ *                because the forward buffer overflowed or the replay buffer no longer holds them
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public record EventBatch(
+        List<ForwardedEvent> events,
+        int dropped
+) {
+
+    /**
+     * Gets the sequence number of the last event.
+     *
+     * @return the sequence number, or 0 if the batch is empty
+     */
+    public long lastSeq() {
+        return events.isEmpty() ? 0 : events.get(events.size() - 1).seq();
+    }
+
+    /**
+     * Gets the part of the batch after a sequence number.
+     *
+     * @param seq the last sequence number the receiver has seen
+     * @return this batch if no event is at or before {@code seq}, the later
+     * events otherwise, or null if none is left
+     */
+    public EventBatch after(long seq) {
+        if (events.isEmpty() || events.get(0).seq() > seq) {
+            return this;
+        }
+        int from = 0;
+        while (from < events.size() && events.get(from).seq() <= seq) {
+            from++;
+        }
+        return from < events.size() ? new EventBatch(List.copyOf(events.subList(from, events.size())), 0) : null;
+    }
+
+    /**
+     * Gets the part of the batch a receiver may see. The dropped count is
+     * kept as long as any event is left, since the dropped events may have
+     * been visible too.
+     *
+     * @param visible tells whether the receiver may see an event
+     * @return this batch if every event is visible, the visible events
+     * otherwise, or null if none is visible
+     */
+    public EventBatch filter(Predicate<ForwardedEvent> visible) {
+        List<ForwardedEvent> kept = null;
+        for (int i = 0; i < events.size(); i++) {
+            ForwardedEvent event = events.get(i);
+            if (visible.test(event)) {
+                if (kept != null) {
+                    kept.add(event);
+                }
+            } else if (kept == null) {
+                kept = new ArrayList<>(events.subList(0, i));
+            }
+        }
+        if (kept == null) {
+            return this;
+        }
+        return kept.isEmpty() ? null : new EventBatch(List.copyOf(kept), dropped);
+    }
+
+    /**
+     * Splits the batch into batches of at most a number of events, so a
+     * large replay does not go out as one oversized frame. The first part
+     * carries the dropped count.
+     *
+     * @param maxEvents the maximum number of events per part
+     * @return the parts in order; a single part if the batch is small enough
+     */
+    public List<EventBatch> split(int maxEvents) {
+        int size = Math.max(1, maxEvents);
+        if (events.size() <= size) {
+            return List.of(this);
+        }
+        List<EventBatch> parts = new ArrayList<>();
+        for (int from = 0; from < events.size(); from += size) {
+            List<ForwardedEvent> part = List.copyOf(events.subList(from, Math.min(events.size(), from + size)));
+            parts.add(new EventBatch(part, from == 0 ? dropped : 0));
+        }
+        return parts;
+    }
+}
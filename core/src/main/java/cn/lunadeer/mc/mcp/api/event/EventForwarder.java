@@ -0,0 +1,195 @@
+package cn.lunadeer.mc.mcp.api.event;
+
+import cn.lunadeer.mc.mcp.api.McpEventEmitterImpl;
+import cn.lunadeer.mc.mcp.infrastructure.XLogger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Forwards emitted events to remote clients in batches.
+ * <p>
+ * The forwarder subscribes to a set of events and buffers what it receives.
+ * Once per flush interval the buffer is handed to every sink as
+ * {@link EventBatch}es of at most the maximum batch size, so a burst of
+ * events costs a few frames per client instead of one per event. Nothing is
+ * dropped here; the forwarder's subscription queues are what bound a burst,
+ * and events they drop are counted in the next batch. Nothing is flushed
+ * while the buffer is empty.
+ * </p>
+ * <p>
+ * Flushed events are numbered with a sequence that increases by one per
+ * event, and kept in an {@link EventReplayBuffer} before they reach the
+ * sinks, so a client resuming from its last sequence number finds every
+ * event it has not received either in the replay or in later batches.
+ * </p>
+ * <p>
+ * Sinks hand each receiver only the events it is allowed to see: the
+ * permissions declared on an event's definition are checked against the
+ * receiver's, as they are for requests, and events without a definition
+ * are withheld.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public class EventForwarder {
+
+    /**
+     * Subscriber ID of the forwarder's subscriptions.
+     */
+    public static final String SUBSCRIBER_ID = "mcp-event-forwarder";
+
+    /**
+     * Event ID of the gateway event carrying a batch.
+     */
+    public static final String BATCH_EVENT_ID = "events.batch";
+
+    private final McpEventEmitterImpl emitter;
+    private final int maxBatchSize;
+    private final List<Consumer<EventBatch>> sinks = new CopyOnWriteArrayList<>();
+    private final ArrayDeque<ForwardedEvent> buffer = new ArrayDeque<>();
+    private final EventReplayBuffer replayBuffer;
+    private final Function<String, Collection<String>> requiredPermissions;
+    private final ScheduledExecutorService flusher;
+    private final List<String> subscriptionIds = new ArrayList<>();
+    private long seq;
+    private long reportedDrops;
+
+    /**
+     * Creates a forwarder and starts flushing.
+     *
+     * @param emitter             the event emitter to subscribe to
+     * @param eventIds            the events to forward
+     * @param flushIntervalMillis the flush interval in milliseconds
+     * @param maxBatchSize        the maximum number of events per batch handed to the sinks
+     * @param replayBuffer        keeps the forwarded events for resuming clients
+     * @param requiredPermissions gets the permissions needed to receive an event, or null if the event is unknown
+     */
+    public EventForwarder(McpEventEmitterImpl emitter, Collection<String> eventIds, long flushIntervalMillis, int maxBatchSize,
+                          EventReplayBuffer replayBuffer, Function<String, Collection<String>> requiredPermissions) {
+        this.emitter = emitter;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.replayBuffer = replayBuffer;
+        this.requiredPermissions = requiredPermissions;
+        for (String eventId : eventIds) {
+            subscriptionIds.add(emitter.subscribe(eventId, null, SUBSCRIBER_ID, data -> buffer(eventId, data)).getId());
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "mcp-event-forwarder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(10, flushIntervalMillis);
+        flusher.scheduleAtFixedRate(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adds a sink receiving every flushed batch on the flusher thread.
+     *
+     * @param sink the sink
+     */
+    public void addSink(Consumer<EventBatch> sink) {
+        sinks.add(sink);
+    }
+
+    /**
+     * Gets the buffer of recently forwarded events.
+     *
+     * @return the replay buffer
+     */
+    public EventReplayBuffer getReplayBuffer() {
+        return replayBuffer;
+    }
+
+    /**
+     * Checks whether a receiver may see an event.
+     *
+     * @param eventId     the event ID
+     * @param permissions the permissions of the receiver, may be null
+     * @return true if the receiver holds every permission the event requires
+     */
+    public boolean isPermitted(String eventId, Set<String> permissions) {
+        Collection<String> required = requiredPermissions.apply(eventId);
+        if (required == null) {
+            return false;
+        }
+        return required.isEmpty() || (permissions != null && permissions.containsAll(required));
+    }
+
+    private void buffer(String eventId, Object data) {
+        // Numbered when flushed, in the order the flusher takes them
+        ForwardedEvent event = new ForwardedEvent(0, eventId, System.currentTimeMillis(), data);
+        synchronized (buffer) {
+            buffer.addLast(event);
+        }
+    }
+
+    private synchronized void flush() {
+        List<ForwardedEvent> pending;
+        synchronized (buffer) {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            pending = new ArrayList<>(buffer);
+            buffer.clear();
+        }
+        List<ForwardedEvent> numbered = new ArrayList<>(pending.size());
+        for (ForwardedEvent event : pending) {
+            numbered.add(new ForwardedEvent(++seq, event.eventId(), event.timestamp(), event.data()));
+        }
+        long drops = subscriptionDrops();
+        int dropped = (int) Math.min(Integer.MAX_VALUE, drops - reportedDrops);
+        reportedDrops = drops;
+        // Every event is in the replay before any sink sees it, so a resuming client can always find it
+        replayBuffer.append(numbered);
+        for (EventBatch batch : new EventBatch(numbered, dropped).split(maxBatchSize)) {
+            for (Consumer<EventBatch> sink : sinks) {
+                try {
+                    sink.accept(batch);
+                } catch (Exception e) {
+                    XLogger.debug("Event forwarding sink failed: {0}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts the events the forwarder's subscription queues dropped before
+     * they reached the buffer.
+     */
+    private long subscriptionDrops() {
+        long drops = 0;
+        for (String subscriptionId : subscriptionIds) {
+            SubscriptionMetrics metrics = emitter.getMetrics(subscriptionId);
+            if (metrics != null) {
+                drops += metrics.dropped();
+            }
+        }
+        return drops;
+    }
+
+    /**
+     * Unsubscribes, flushes what is buffered and stops the flusher.
+     */
+    public void shutdown() {
+        emitter.unsubscribeAll(SUBSCRIBER_ID);
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        sinks.clear();
+    }
+}
@@ -0,0 +1,115 @@
+package cn.lunadeer.mc.mcp.api.event;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * The indexed attributes of an event, or the indexed filter of a
+ * subscription.
+ * <p>
+ * As a filter, every non-null attribute must equal the attribute of the
+ * event; a null attribute matches anything. Chunks are written as
+ * {@code world:x:z} with chunk coordinates, entity types by their
+ * upper-case enum name.
+ * </p>
+ *
+ * @param world      the world name
+ * @param player     the player UUID
+ * @param chunk      the chunk key
+ * @param entityType the entity type name
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public record EventKeys(String world, UUID player, String chunk, String entityType) {
+
+    /**
+     * Keys with nothing set; as a filter it matches every event.
+     */
+    public static final EventKeys NONE = new EventKeys(null, null, null, null);
+
+    public static final String WORLD = "world";
+    public static final String PLAYER = "player";
+    public static final String CHUNK = "chunk";
+    public static final String ENTITY_TYPE = "entityType";
+
+    public EventKeys {
+        entityType = entityType != null ? entityType.toUpperCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * Builds the chunk key of a chunk.
+     *
+     * @param world the world name
+     * @param x     the chunk x coordinate
+     * @param z     the chunk z coordinate
+     * @return the chunk key
+     */
+    public static String chunkKey(String world, int x, int z) {
+        return world + ":" + x + ":" + z;
+    }
+
+    /**
+     * Reads the indexed keys of a subscription filter. A player given by
+     * name is resolved to the UUID of the online player of that name, since
+     * events only carry UUIDs.
+     *
+     * @param parameters looks up a filter parameter by name
+     * @return the filter keys
+     * @throws IllegalArgumentException if the player is neither a UUID nor the name of an online player
+     */
+    public static EventKeys fromFilter(Function<String, Object> parameters) {
+        return new EventKeys(
+                asString(parameters.apply(WORLD)),
+                resolvePlayer(parameters.apply(PLAYER)),
+                asString(parameters.apply(CHUNK)),
+                asString(parameters.apply(ENTITY_TYPE)));
+    }
+
+    private static UUID resolvePlayer(Object player) {
+        if (player == null || player instanceof UUID) {
+            return (UUID) player;
+        }
+        String value = player.toString();
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException ignored) {
+            // Not a UUID, try a player name
+        }
+        Player online = Bukkit.getPlayerExact(value);
+        if (online == null) {
+            // Left unresolved the filter could not be indexed and would match every player
+            throw new IllegalArgumentException("Player filter must be a UUID or the name of an online player: " + value);
+        }
+        return online.getUniqueId();
+    }
+
+    private static String asString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Checks whether an event passes this filter.
+     *
+     * @param event the keys of the event
+     * @return true if every attribute set here equals the event's
+     */
+    public boolean matches(EventKeys event) {
+        return (world == null || world.equals(event.world))
+                && (player == null || player.equals(event.player))
+                && (chunk == null || chunk.equals(event.chunk))
+                && (entityType == null || entityType.equals(event.entityType));
+    }
+
+    /**
+     * Checks whether no attribute is set.
+     *
+     * @return true if the keys are empty
+     */
+    public boolean isEmpty() {
+        return world == null && player == null && chunk == null && entityType == null;
+    }
+}
@@ -0,0 +1,42 @@
+package cn.lunadeer.mc.mcp.api.event;
+
+/**
+ * What happens when an event arrives at a subscription whose queue is full.
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public enum EventOverflowPolicy {
+    /**
+     * Discard the oldest queued event to make room.
+     */
+    DROP_OLDEST,
+    /**
+     * Keep only the latest event per key; events with a key already queued
+     * replace it in place. Falls back to dropping the oldest when the queue
+     * is full of distinct keys.
+     */
+    COALESCE_BY_KEY,
+    /**
+     * Make the emitting thread wait for room, up to a timeout. The server
+     * thread never waits; there the oldest event is dropped instead.
+     */
+    BLOCK;
+
+    /**
+     * Parses a policy name, falling back to {@link #DROP_OLDEST}.
+     *
+     * @param name the policy name, case-insensitive
+     * @return the policy
+     */
+    public static EventOverflowPolicy parse(String name) {
+        if (name != null) {
+            for (EventOverflowPolicy policy : values()) {
+                if (policy.name().equalsIgnoreCase(name.trim())) {
+                    return policy;
+                }
+            }
+        }
+        return DROP_OLDEST;
+    }
+}
@@ -0,0 +1,125 @@
+package cn.lunadeer.mc.mcp.api.event;
+
+import com.google.gson.Gson;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The most recently forwarded events, kept so a client that reconnects can
+ * resume where it left off.
+ * <p>
+ * The buffer is bounded both by a number of events and by the approximate
+ * memory they take, estimated from their JSON size when they are appended;
+ * the oldest events are evicted first. A resume from a sequence number
+ * older than the buffer reaches back gets what is left, with the number of
+ * events it missed in {@link EventBatch#dropped()}.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public class EventReplayBuffer {
+
+    private record Entry(ForwardedEvent event, long bytes) {
+    }
+
+    private static final Gson gson = new Gson();
+
+    private final int maxEvents;
+    private final long maxBytes;
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+    private long totalBytes;
+    private long lastSeq;
+
+    /**
+     * Creates a replay buffer.
+     *
+     * @param maxEvents the maximum number of events kept
+     * @param maxBytes  the maximum estimated size of the events kept, in bytes
+     */
+    public EventReplayBuffer(int maxEvents, long maxBytes) {
+        this.maxEvents = Math.max(0, maxEvents);
+        this.maxBytes = Math.max(0, maxBytes);
+    }
+
+    /**
+     * Appends forwarded events, evicting the oldest ones beyond the bounds.
+     *
+     * @param events the events in sequence order
+     */
+    public void append(List<ForwardedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        // Estimate outside the lock; two bytes per char is what the retained strings cost
+        List<Entry> appended = new ArrayList<>(events.size());
+        for (ForwardedEvent event : events) {
+            appended.add(new Entry(event, 2L * gson.toJson(event).length()));
+        }
+        synchronized (this) {
+            for (Entry entry : appended) {
+                entries.addLast(entry);
+                totalBytes += entry.bytes();
+            }
+            lastSeq = events.get(events.size() - 1).seq();
+            while (!entries.isEmpty() && (entries.size() > maxEvents || totalBytes > maxBytes)) {
+                totalBytes -= entries.pollFirst().bytes();
+            }
+        }
+    }
+
+    /**
+     * Gets the sequence number of the last event appended.
+     *
+     * @return the sequence number, or 0 if nothing was appended yet
+     */
+    public synchronized long getLastSeq() {
+        return lastSeq;
+    }
+
+    /**
+     * Gets the events after a sequence number.
+     * <p>
+     * A sequence number ahead of the last one appended comes from before a
+     * restart, since numbering starts over with the plugin; everything
+     * retained is returned then.
+     * </p>
+     *
+     * @param seq the last sequence number the client has seen
+     * @return the retained events after {@code seq}, and how many it missed
+     */
+    public synchronized EventBatch since(long seq) {
+        if (seq > lastSeq) {
+            seq = 0;
+        }
+        List<ForwardedEvent> events = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.event().seq() > seq) {
+                events.add(entry.event());
+            }
+        }
+        long first = events.isEmpty() ? lastSeq + 1 : events.get(0).seq();
+        int dropped = (int) Math.min(Integer.MAX_VALUE, Math.max(0, first - seq - 1));
+        return new EventBatch(events, dropped);
+    }
+
+    /**
+     * Gets the number of events retained.
+     *
+     * @return the number of events
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the estimated size of the events retained.
+     *
+     * @return the size in bytes
+     */
+    public synchronized long getBytes() {
+        return totalBytes;
+    }
+}
@@ -0,0 +1,19 @@
+package cn.lunadeer.mc.mcp.api.event;
+
+/**
+ * An event as forwarded to gateways and SSE clients.
+ *
+ * @param seq       the sequence number, increasing by one per forwarded event since startup
+ * @param eventId   the event ID
+ * @param timestamp the time the event was emitted in epoch milliseconds
+ * @param data      the event data
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public record ForwardedEvent(
+        long seq,
+        String eventId,
+        long timestamp,
+        Object data
+) {
+}
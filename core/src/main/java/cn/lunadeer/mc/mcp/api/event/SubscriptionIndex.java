@@ -0,0 +1,144 @@
+package cn.lunadeer.mc.mcp.api.event;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Subscriptions of one event, indexed by their filter keys.
+ * <p>
+ * Each subscription is filed under exactly one key, the most selective one
+ * its filter sets (player, then chunk, then entity type, then world), or
+ * in the unfiltered bucket if it sets none. Dispatching an event therefore
+ * visits the unfiltered bucket plus one bucket per key the event carries,
+ * and checks only the remaining keys of the subscriptions found there.
+ * Buckets are concurrent maps keyed by subscription ID, so adding and
+ * removing never copies or scans a list. A keyed bucket is dropped with its
+ * last subscription, atomically with respect to additions under the same
+ * key, so the index does not keep one bucket for every player or chunk ever
+ * subscribed to.
+ * </p>
+ *
+ * @param <S> the subscription type
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public final class SubscriptionIndex<S> {
+
+    private record Entry<S>(S subscription, EventKeys filter, Map<Object, Map<String, Entry<S>>> index, Object key) {
+    }
+
+    private final Map<String, Entry<S>> byId = new ConcurrentHashMap<>();
+    private final Map<String, Entry<S>> unfiltered = new ConcurrentHashMap<>();
+    private final Map<Object, Map<String, Entry<S>>> byPlayer = new ConcurrentHashMap<>();
+    private final Map<Object, Map<String, Entry<S>>> byChunk = new ConcurrentHashMap<>();
+    private final Map<Object, Map<String, Entry<S>>> byEntityType = new ConcurrentHashMap<>();
+    private final Map<Object, Map<String, Entry<S>>> byWorld = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a subscription.
+     *
+     * @param id           the subscription ID
+     * @param filter       the indexed filter keys of the subscription
+     * @param subscription the subscription
+     */
+    public void add(String id, EventKeys filter, S subscription) {
+        Entry<S> entry;
+        if (filter.player() != null) {
+            entry = file(byPlayer, filter.player(), id, filter, subscription);
+        } else if (filter.chunk() != null) {
+            entry = file(byChunk, filter.chunk(), id, filter, subscription);
+        } else if (filter.entityType() != null) {
+            entry = file(byEntityType, filter.entityType(), id, filter, subscription);
+        } else if (filter.world() != null) {
+            entry = file(byWorld, filter.world(), id, filter, subscription);
+        } else {
+            entry = new Entry<>(subscription, filter, null, null);
+            unfiltered.put(id, entry);
+        }
+        byId.put(id, entry);
+    }
+
+    private Entry<S> file(Map<Object, Map<String, Entry<S>>> index, Object key, String id, EventKeys filter, S subscription) {
+        Entry<S> entry = new Entry<>(subscription, filter, index, key);
+        index.compute(key, (k, bucket) -> {
+            Map<String, Entry<S>> target = bucket != null ? bucket : new ConcurrentHashMap<>();
+            target.put(id, entry);
+            return target;
+        });
+        return entry;
+    }
+
+    /**
+     * Removes a subscription.
+     *
+     * @param id the subscription ID
+     * @return the removed subscription, or null if it was not present
+     */
+    public S remove(String id) {
+        Entry<S> entry = byId.remove(id);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.index() == null) {
+            unfiltered.remove(id);
+        } else {
+            entry.index().computeIfPresent(entry.key(), (k, bucket) -> {
+                bucket.remove(id);
+                return bucket.isEmpty() ? null : bucket;
+            });
+        }
+        return entry.subscription();
+    }
+
+    /**
+     * Visits every subscription.
+     *
+     * @param action the visitor
+     */
+    public void forEach(Consumer<S> action) {
+        byId.values().forEach(entry -> action.accept(entry.subscription()));
+    }
+
+    /**
+     * Visits the subscriptions whose filter matches an event.
+     *
+     * @param event  the keys of the event
+     * @param action the visitor
+     */
+    public void forEachMatching(EventKeys event, Consumer<S> action) {
+        unfiltered.values().forEach(entry -> action.accept(entry.subscription()));
+        visit(byPlayer, event.player(), event, action);
+        visit(byChunk, event.chunk(), event, action);
+        visit(byEntityType, event.entityType(), event, action);
+        visit(byWorld, event.world(), event, action);
+    }
+
+    private void visit(Map<Object, Map<String, Entry<S>>> index, Object key, EventKeys event, Consumer<S> action) {
+        if (key == null) {
+            return;
+        }
+        Map<String, Entry<S>> bucket = index.get(key);
+        if (bucket == null) {
+            return;
+        }
+        for (Entry<S> entry : bucket.values()) {
+            if (entry.filter().matches(event)) {
+                action.accept(entry.subscription());
+            }
+        }
+    }
+
+    /**
+     * Gets the number of subscriptions.
+     *
+     * @return the number of subscriptions
+     */
+    public int size() {
+        return byId.size();
+    }
+
+    public boolean isEmpty() {
+        return byId.isEmpty();
+    }
+}
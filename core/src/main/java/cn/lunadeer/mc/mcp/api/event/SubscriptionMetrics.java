@@ -0,0 +1,20 @@
+package cn.lunadeer.mc.mcp.api.event;
+
+/**
+ * Delivery statistics of an event subscription.
+ *
+ * @param subscriptionId the subscription ID
+ * @param eventId        the subscribed event
+ * @param queued         the events waiting for delivery
+ * @param delivered      the events handed to the callback
+ * @param dropped        the events discarded by the overflow policy
+ * @param coalesced      the events merged into a queued event with the same key
+ * @param failed         the deliveries whose callback threw
+ * @param lastLagMillis  the time the last delivered event spent queued
+ * @param maxLagMillis   the longest time an event spent queued
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public record SubscriptionMetrics(String subscriptionId, String eventId, int queued, long delivered, long dropped,
+                                  long coalesced, long failed, double lastLagMillis, double maxLagMillis) {
+}
@@ -0,0 +1,39 @@
+package cn.lunadeer.mc.mcp.api.event;
+
+import cn.lunadeer.mc.mcp.Configuration;
+
+import java.util.function.Function;
+
+/**
+ * Delivery options of an event subscription.
+ *
+ * @param capacity    the number of events the subscription queues
+ * @param policy      what happens when the queue is full
+ * @param coalesceKey extracts the coalescing key of an event, required for {@link EventOverflowPolicy#COALESCE_BY_KEY}
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public record SubscriptionOptions(int capacity, EventOverflowPolicy policy, Function<Object, Object> coalesceKey) {
+
+    /**
+     * Gets the options configured under {@code performance}.
+     *
+     * @return the default options
+     */
+    public static SubscriptionOptions defaults() {
+        return new SubscriptionOptions(
+                Configuration.performance.eventQueueCapacity,
+                EventOverflowPolicy.parse(Configuration.performance.eventOverflowPolicy),
+                null);
+    }
+
+    /**
+     * Gets options that keep only the latest event per key.
+     *
+     * @param coalesceKey extracts the key of an event
+     * @return the options
+     */
+    public static SubscriptionOptions coalescing(Function<Object, Object> coalesceKey) {
+        return new SubscriptionOptions(Configuration.performance.eventQueueCapacity, EventOverflowPolicy.COALESCE_BY_KEY, coalesceKey);
+    }
+}
@@ -1,7 +1,9 @@
 package cn.lunadeer.mc.mcp.communication;
 
+import cn.lunadeer.mc.mcp.Configuration;
 import cn.lunadeer.mc.mcp.communication.handler.MessageHandler;
 import cn.lunadeer.mc.mcp.communication.message.McpMessage;
+import cn.lunadeer.mc.mcp.communication.message.McpRequest;
 import cn.lunadeer.mc.mcp.communication.session.GatewaySession;
 import cn.lunadeer.mc.mcp.infrastructure.I18n;
 import cn.lunadeer.mc.mcp.infrastructure.XLogger;
@@ -27,9 +29,18 @@ public class MessageRouter {
         public String routerMessageError = "Error routing message {0}: {1}";
         public String routerHandlerRegistered = "Message handler registered for type: {0}";
         public String routerHandlerNotFound = "No handler found for message type: {0}";
+        public String routerLaneFull = "Inbound queue of gateway {0} is full, rejected message {1}";
     }
 
     private final Map<String, MessageHandler> handlers = new ConcurrentHashMap<>();
+    private final SessionLaneExecutor lanes;
+
+    public MessageRouter() {
+        this.lanes = new SessionLaneExecutor(
+                Configuration.websocketServer.inboundWorkerThreads,
+                Configuration.websocketServer.inboundLaneCapacity,
+                Configuration.websocketServer.inboundMaxIndependentRequests);
+    }
 
     /**
      * Registers a message handler for a specific message type.
@@ -43,27 +54,72 @@ public class MessageRouter {
 
     /**
      * Routes a message to the appropriate handler.
+     * <p>
+     * Messages of a session are handled in arrival order in the session's
+     * lane; a request marked independent may overlap with the requests
+     * before it.
+     * </p>
      *
      * @param session the gateway session that sent the message
      * @param message the message to route
-     * @return a CompletableFuture that completes when the message is handled
+     * @return false if the session's inbound queue is full and the message was rejected
      */
-    public CompletableFuture<Void> route(GatewaySession session, McpMessage message) {
-        return CompletableFuture.runAsync(() -> {
-            try {
-                String type = message.getType();
-                XLogger.debug(I18n.messageRouterText.routerRoutingMessage, type, message.getId());
+    public boolean route(GatewaySession session, McpMessage message) {
+        boolean independent = message instanceof McpRequest request && request.isIndependent();
+        boolean queued = lanes.submit(session.getId(), independent, () -> dispatch(session, message));
+        if (!queued) {
+            XLogger.warn(I18n.messageRouterText.routerLaneFull, session.getGatewayId(), message.getId());
+            MessageHandler handler = handlers.get(message.getType());
+            if (handler != null) {
+                handler.onRejected(session, message);
+            }
+        }
+        return queued;
+    }
+
+    private CompletableFuture<?> dispatch(GatewaySession session, McpMessage message) {
+        try {
+            String type = message.getType();
+            XLogger.debug(I18n.messageRouterText.routerRoutingMessage, type, message.getId());
 
-                MessageHandler handler = handlers.get(type);
-                if (handler != null) {
-                    handler.handle(session, message);
-                } else {
-                    XLogger.warn(I18n.messageRouterText.routerUnknownMessageType, type);
-                }
-            } catch (Exception e) {
-                XLogger.error(I18n.messageRouterText.routerMessageError, message.getId(), e.getMessage());
+            MessageHandler handler = handlers.get(type);
+            if (handler != null) {
+                return handler.handleAsync(session, message).exceptionally(ex -> {
+                    XLogger.error(I18n.messageRouterText.routerMessageError, message.getId(), ex.getMessage());
+                    return null;
+                });
             }
-        });
+            XLogger.warn(I18n.messageRouterText.routerUnknownMessageType, type);
+        } catch (Exception e) {
+            XLogger.error(I18n.messageRouterText.routerMessageError, message.getId(), e.getMessage());
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Releases the inbound lane of a closed session.
+     *
+     * @param sessionId the session ID
+     */
+    public void closeSession(String sessionId) {
+        lanes.removeLane(sessionId);
+    }
+
+    /**
+     * Gets the number of messages waiting in a session's inbound queue.
+     *
+     * @param sessionId the session ID
+     * @return the number of waiting messages
+     */
+    public int getQueueDepth(String sessionId) {
+        return lanes.getQueueDepth(sessionId);
+    }
+
+    /**
+     * Stops the inbound executor.
+     */
+    public void shutdown() {
+        lanes.shutdown();
     }
 
     /**
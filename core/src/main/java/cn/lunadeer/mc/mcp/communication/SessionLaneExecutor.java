@@ -0,0 +1,185 @@
+package cn.lunadeer.mc.mcp.communication;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs inbound work in one serial lane per session on a shared pool.
+ * <p>
+ * Within a lane a task starts only after the previous task's future has
+ * completed, so an {@code auth} message is always settled before the first
+ * request behind it runs. Lanes of different sessions run in parallel, and a
+ * lane gives its thread back after a short batch so one busy session cannot
+ * hold the pool.
+ * </p>
+ * <p>
+ * Tasks marked independent do not wait for the tasks before them to finish,
+ * only for them to start; up to {@code maxIndependent} of them may be in
+ * flight at once. A regular task after them still waits for all of them.
+ * Each lane holds at most {@code laneCapacity} waiting tasks.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public class SessionLaneExecutor {
+
+    private static final int BATCH = 16;
+
+    private final ExecutorService pool;
+    private final int laneCapacity;
+    private final int maxIndependent;
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the executor.
+     *
+     * @param threads        the number of pool threads, 0 to size by processors
+     * @param laneCapacity   the maximum number of waiting tasks per session
+     * @param maxIndependent the maximum number of independent tasks in flight per session
+     */
+    public SessionLaneExecutor(int threads, int laneCapacity, int maxIndependent) {
+        int size = threads > 0 ? threads : Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(size, r -> {
+            Thread thread = new Thread(r, "mcp-inbound-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.laneCapacity = Math.max(1, laneCapacity);
+        this.maxIndependent = Math.max(1, maxIndependent);
+    }
+
+    /**
+     * Submits a task to the lane of a session.
+     *
+     * @param sessionId   the session the task belongs to
+     * @param independent whether the task may overlap with the tasks before it
+     * @param task        starts the work and returns a future of its completion
+     * @return false if the lane is full and the task was not queued
+     */
+    public boolean submit(String sessionId, boolean independent, Supplier<CompletableFuture<?>> task) {
+        return lanes.computeIfAbsent(sessionId, k -> new Lane()).offer(new Task(independent, task));
+    }
+
+    /**
+     * Drops the lane of a closed session; its waiting tasks are discarded.
+     *
+     * @param sessionId the session ID
+     */
+    public void removeLane(String sessionId) {
+        Lane lane = lanes.remove(sessionId);
+        if (lane != null) {
+            lane.clear();
+        }
+    }
+
+    /**
+     * Gets the number of tasks waiting in the lane of a session.
+     *
+     * @param sessionId the session ID
+     * @return the number of waiting tasks
+     */
+    public int getQueueDepth(String sessionId) {
+        Lane lane = lanes.get(sessionId);
+        return lane != null ? lane.size() : 0;
+    }
+
+    /**
+     * Shuts down the pool.
+     */
+    public void shutdown() {
+        lanes.values().forEach(Lane::clear);
+        lanes.clear();
+        pool.shutdownNow();
+    }
+
+    private record Task(boolean independent, Supplier<CompletableFuture<?>> action) {
+    }
+
+    /**
+     * Queue of a single session. {@code scheduled} is true while a drain is
+     * queued on or running in the pool; a drain that has to wait for
+     * in-flight work clears it, and the completion of that work resumes it.
+     */
+    private class Lane {
+        private final ArrayDeque<Task> queue = new ArrayDeque<>();
+        private boolean scheduled;
+        private int inFlight;
+
+        synchronized boolean offer(Task task) {
+            if (queue.size() >= laneCapacity) {
+                return false;
+            }
+            queue.addLast(task);
+            scheduleIfIdle();
+            return true;
+        }
+
+        synchronized int size() {
+            return queue.size();
+        }
+
+        synchronized void clear() {
+            queue.clear();
+        }
+
+        private void scheduleIfIdle() {
+            if (!scheduled && !queue.isEmpty()) {
+                scheduled = true;
+                try {
+                    pool.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                    scheduled = false;
+                    queue.clear();
+                }
+            }
+        }
+
+        private void drain() {
+            for (int i = 0; i < BATCH; i++) {
+                Task task;
+                synchronized (this) {
+                    task = queue.peekFirst();
+                    if (task == null || (inFlight > 0 && (!task.independent() || inFlight >= maxIndependent))) {
+                        scheduled = false;
+                        return;
+                    }
+                    queue.pollFirst();
+                    inFlight++;
+                }
+                CompletableFuture<?> done;
+                try {
+                    done = task.action().get();
+                } catch (Throwable t) {
+                    done = null;
+                }
+                if (done == null || done.isDone()) {
+                    onComplete(false);
+                } else {
+                    done.whenComplete((result, ex) -> onComplete(true));
+                }
+            }
+            synchronized (this) {
+                // Give the thread to other lanes before continuing
+                scheduled = false;
+                scheduleIfIdle();
+            }
+        }
+
+        private synchronized void onComplete(boolean resume) {
+            inFlight--;
+            if (resume) {
+                scheduleIfIdle();
+            }
+        }
+    }
+}
@@ -1,12 +1,21 @@
 package cn.lunadeer.mc.mcp.communication;
 
+import cn.lunadeer.mc.mcp.Configuration;
+import cn.lunadeer.mc.mcp.api.event.EventBatch;
+import cn.lunadeer.mc.mcp.api.event.EventForwarder;
 import cn.lunadeer.mc.mcp.communication.auth.AuthHandler;
 import cn.lunadeer.mc.mcp.communication.codec.MessageCodec;
+import cn.lunadeer.mc.mcp.communication.codec.WireFormat;
+import cn.lunadeer.mc.mcp.communication.compression.CompressionStats;
+import cn.lunadeer.mc.mcp.communication.compression.MeteredDeflateExtension;
 import cn.lunadeer.mc.mcp.communication.handler.AuthMessageHandler;
 import cn.lunadeer.mc.mcp.communication.handler.HeartbeatAckMessageHandler;
 import cn.lunadeer.mc.mcp.communication.handler.RequestMessageHandler;
 import cn.lunadeer.mc.mcp.communication.heartbeat.HeartbeatHandler;
 import cn.lunadeer.mc.mcp.communication.message.McpMessage;
+import cn.lunadeer.mc.mcp.communication.outbound.OutboundPriority;
+import cn.lunadeer.mc.mcp.communication.outbound.OutboundQueue;
+import cn.lunadeer.mc.mcp.communication.outbound.OverflowPolicy;
 import cn.lunadeer.mc.mcp.communication.session.GatewaySession;
 import cn.lunadeer.mc.mcp.communication.session.SessionManager;
 import cn.lunadeer.mc.mcp.communication.session.WebSocketConnection;
@@ -15,11 +24,21 @@ import cn.lunadeer.mc.mcp.infrastructure.I18n;
 import cn.lunadeer.mc.mcp.infrastructure.XLogger;
 import cn.lunadeer.mc.mcp.infrastructure.configuration.ConfigurationPart;
 import org.java_websocket.WebSocket;
+import org.java_websocket.drafts.Draft;
+import org.java_websocket.drafts.Draft_6455;
+import org.java_websocket.framing.Framedata;
 import org.java_websocket.handshake.ClientHandshake;
 
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * WebSocket server for MCP Agent using Java-WebSocket library.
@@ -38,6 +57,7 @@ public class WebSocketServer {
         public String wsMessageHandlingError = "Failed to handle message from gateway {0}: {1}";
         public String wsClientConnected = "Client connected from {0}";
         public String wsClientDisconnected = "Client disconnected: {0}, reason: {1}";
+        public String wsCompressionSummary = "Gateway {0} compression: {1} of {2} frames compressed, {3} -> {4} bytes (ratio {5})";
     }
 
     private final String host;
@@ -48,6 +68,7 @@ public class WebSocketServer {
     private final HeartbeatHandler heartbeatHandler;
     private final ExecutionEngine executionEngine;
     private WebSocketServerImpl webSocketServer;
+    private ScheduledExecutorService outboundExecutor;
     private boolean running = false;
 
     public WebSocketServer(String host, int port, ExecutionEngine executionEngine) {
@@ -80,6 +101,7 @@ public class WebSocketServer {
         return CompletableFuture.runAsync(() -> {
             try {
                 InetSocketAddress address = new InetSocketAddress(host, port);
+                outboundExecutor = createOutboundExecutor();
                 webSocketServer = new WebSocketServerImpl(address);
                 webSocketServer.start();
                 running = true;
@@ -109,6 +131,10 @@ public class WebSocketServer {
                 XLogger.error("Error stopping WebSocket server: {0}", e.getMessage());
             }
             sessionManager.shutdown();
+            messageRouter.shutdown();
+            if (outboundExecutor != null) {
+                outboundExecutor.shutdown();
+            }
             XLogger.info("MCP Agent WebSocket server stopped");
         }
     }
@@ -127,8 +153,7 @@ public class WebSocketServer {
                     new RuntimeException("Session not found: " + sessionId)
             );
         }
-        String json = messageCodec.encode(message);
-        return session.send(json);
+        return session.send(message, messageCodec);
     }
 
     /**
@@ -137,9 +162,45 @@ public class WebSocketServer {
      * @param message the message to broadcast
      */
     public void broadcast(McpMessage message) {
-        String json = messageCodec.encode(message);
+        String json = null;
+        byte[] binary = null;
+        OutboundPriority priority = GatewaySession.priorityOf(message);
         for (GatewaySession session : sessionManager.getAuthenticatedSessions()) {
-            session.send(json).exceptionally(ex -> {
+            CompletableFuture<Void> sent;
+            if (session.getWireFormat() == WireFormat.CBOR) {
+                if (binary == null) {
+                    binary = messageCodec.encodeBinary(message);
+                }
+                sent = session.send(binary, priority);
+            } else {
+                if (json == null) {
+                    json = messageCodec.encode(message);
+                }
+                sent = session.send(json, priority);
+            }
+            sent.exceptionally(ex -> {
+                XLogger.warn(I18n.webSocketServerText.wsBroadcastFailed,
+                        session.getGatewayId(), ex.getMessage());
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Sends a batch of forwarded events to all authenticated sessions as a
+     * single {@value EventForwarder#BATCH_EVENT_ID} event. Each session only
+     * gets the events past its own position in the stream that its
+     * permissions allow, so the batch is encoded per session.
+     *
+     * @param batch     the events
+     * @param forwarder the forwarder the batch comes from
+     */
+    public void broadcastEvents(EventBatch batch, EventForwarder forwarder) {
+        if (!running) {
+            return;
+        }
+        for (GatewaySession session : sessionManager.getAuthenticatedSessions()) {
+            session.sendEvents(batch, forwarder, messageCodec).exceptionally(ex -> {
                 XLogger.warn(I18n.webSocketServerText.wsBroadcastFailed,
                         session.getGatewayId(), ex.getMessage());
                 return null;
@@ -183,13 +244,39 @@ public class WebSocketServer {
         return running;
     }
 
+    /**
+     * Creates the executor flushing the outbound queues of all sessions.
+     */
+    private static ScheduledExecutorService createOutboundExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "MCP-Outbound-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Builds the drafts offered to gateways, with permessage-deflate when
+     * compression is enabled.
+     */
+    private static List<Draft> createDrafts() {
+        if (!Configuration.websocketServer.enableCompression) {
+            return Collections.singletonList(new Draft_6455());
+        }
+        MeteredDeflateExtension deflate = new MeteredDeflateExtension(
+                Configuration.websocketServer.compressionLevel,
+                Math.max(0, Configuration.websocketServer.compressionThreshold));
+        return Collections.singletonList(new Draft_6455(deflate));
+    }
+
     /**
      * WebSocket server implementation using Java-WebSocket library.
      */
     private class WebSocketServerImpl extends org.java_websocket.server.WebSocketServer {
 
         public WebSocketServerImpl(InetSocketAddress address) {
-            super(address);
+            super(address, createDrafts());
         }
 
         @Override
@@ -199,7 +286,12 @@ public class WebSocketServer {
                     webSocket.getRemoteSocketAddress());
 
             // Create WebSocket connection wrapper
-            WebSocketConnectionImpl connection = new WebSocketConnectionImpl(webSocket);
+            WebSocketConnectionImpl connection = new WebSocketConnectionImpl(webSocket, new OutboundQueue(
+                    webSocket,
+                    outboundExecutor,
+                    Configuration.websocketServer.outboundHighWaterBytes,
+                    OverflowPolicy.parse(Configuration.websocketServer.outboundOverflowPolicy),
+                    Configuration.websocketServer.outboundFlushDelayMillis));
 
             // Create gateway session
             GatewaySession session = new GatewaySession(sessionId, connection);
@@ -216,10 +308,25 @@ public class WebSocketServer {
                     webSocket.getRemoteSocketAddress(), reason);
 
             if (sessionId != null) {
+                GatewaySession session = sessionManager.getSession(sessionId);
+                if (session != null) {
+                    logCompressionSummary(session);
+                }
+                messageRouter.closeSession(sessionId);
                 sessionManager.removeSession(sessionId);
             }
         }
 
+        private void logCompressionSummary(GatewaySession session) {
+            CompressionStats stats = session.getCompressionStats();
+            if (!stats.isNegotiated() || stats.getFrames() == 0) {
+                return;
+            }
+            XLogger.debug(I18n.webSocketServerText.wsCompressionSummary,
+                    session.getGatewayId(), stats.getCompressedFrames(), stats.getFrames(),
+                    stats.getPayloadBytes(), stats.getWireBytes(), String.format("%.2f", stats.getRatio()));
+        }
+
         @Override
         public void onMessage(WebSocket webSocket, String message) {
             String sessionId = (String) webSocket.getAttachment();
@@ -232,7 +339,33 @@ public class WebSocketServer {
                 return;
             }
 
-            handleMessage(session, message);
+            handleMessage(session, () -> messageCodec.decode(message));
+        }
+
+        @Override
+        public void onMessage(WebSocket webSocket, ByteBuffer message) {
+            String sessionId = (String) webSocket.getAttachment();
+            if (sessionId == null) {
+                return;
+            }
+
+            GatewaySession session = sessionManager.getSession(sessionId);
+            if (session == null) {
+                return;
+            }
+
+            byte[] data = new byte[message.remaining()];
+            message.get(data);
+            handleMessage(session, () -> messageCodec.decode(data));
+        }
+
+        @Override
+        public void onWebsocketPong(WebSocket webSocket, Framedata frame) {
+            super.onWebsocketPong(webSocket, frame);
+            String sessionId = (String) webSocket.getAttachment();
+            if (sessionId != null) {
+                heartbeatHandler.onPong(sessionId);
+            }
         }
 
         @Override
@@ -249,9 +382,9 @@ public class WebSocketServer {
         /**
          * Handles an incoming message.
          */
-        private void handleMessage(GatewaySession session, String json) {
+        private void handleMessage(GatewaySession session, Supplier<McpMessage> decoder) {
             try {
-                McpMessage message = messageCodec.decode(json);
+                McpMessage message = decoder.get();
                 message.setSessionId(session.getId());
                 message.setGatewayId(session.getGatewayId());
 
@@ -268,24 +401,47 @@ public class WebSocketServer {
     }
 
     /**
-     * WebSocket connection implementation using Java-WebSocket.
+     * WebSocket connection implementation using Java-WebSocket, writing
+     * through the connection's outbound queue.
      */
     private static class WebSocketConnectionImpl implements WebSocketConnection {
         private final WebSocket webSocket;
+        private final OutboundQueue outboundQueue;
 
-        public WebSocketConnectionImpl(WebSocket webSocket) {
+        public WebSocketConnectionImpl(WebSocket webSocket, OutboundQueue outboundQueue) {
             this.webSocket = webSocket;
+            this.outboundQueue = outboundQueue;
         }
 
         @Override
-        public CompletableFuture<Void> send(String message) {
-            return CompletableFuture.runAsync(() -> {
-                if (webSocket.isOpen()) {
-                    webSocket.send(message);
-                } else {
-                    throw new RuntimeException("WebSocket is not open");
-                }
-            });
+        public CompletableFuture<Void> send(String message, OutboundPriority priority) {
+            return outboundQueue.send(message, priority);
+        }
+
+        @Override
+        public CompletableFuture<Void> send(byte[] message, OutboundPriority priority) {
+            return outboundQueue.send(message, priority);
+        }
+
+        @Override
+        public OutboundQueue.Stats getOutboundStats() {
+            return outboundQueue.getStats();
+        }
+
+        @Override
+        public void sendPing() {
+            if (webSocket.isOpen()) {
+                webSocket.sendPing();
+            }
+        }
+
+        @Override
+        public CompressionStats getCompressionStats() {
+            if (webSocket.getDraft() instanceof Draft_6455 draft
+                    && draft.getExtension() instanceof MeteredDeflateExtension deflate) {
+                return deflate.getStats();
+            }
+            return CompressionStats.notNegotiated();
         }
 
         @Override
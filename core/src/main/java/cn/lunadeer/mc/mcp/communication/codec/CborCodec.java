@@ -0,0 +1,358 @@
+package cn.lunadeer.mc.mcp.communication.codec;
+
+import com.google.gson.*;
+import com.google.gson.internal.LazilyParsedNumber;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Minimal CBOR (RFC 8949) encoder and decoder for JSON trees.
+ * <p>
+ * Only the subset needed to carry JSON losslessly is written: integers,
+ * doubles, text strings, arrays, maps, booleans and null, all with definite
+ * lengths. The decoder also accepts indefinite lengths, half and single
+ * precision floats and tagged values (the tag is ignored), and turns byte
+ * strings into base64 text.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public final class CborCodec {
+
+    private static final int MAJOR_UNSIGNED = 0;
+    private static final int MAJOR_NEGATIVE = 1;
+    private static final int MAJOR_BYTES = 2;
+    private static final int MAJOR_TEXT = 3;
+    private static final int MAJOR_ARRAY = 4;
+    private static final int MAJOR_MAP = 5;
+    private static final int MAJOR_TAG = 6;
+    private static final int MAJOR_SIMPLE = 7;
+
+    private static final int FALSE = 0xF4;
+    private static final int TRUE = 0xF5;
+    private static final int NULL = 0xF6;
+    private static final int UNDEFINED = 0xF7;
+    private static final int HALF = 0xF9;
+    private static final int FLOAT = 0xFA;
+    private static final int DOUBLE = 0xFB;
+    private static final int BREAK = 0xFF;
+    private static final int INDEFINITE = 31;
+
+    private static final int MAX_DEPTH = 512;
+
+    private CborCodec() {
+    }
+
+    /**
+     * Encodes a JSON tree to CBOR.
+     *
+     * @param element the JSON tree
+     * @return the CBOR bytes
+     */
+    public static byte[] encode(JsonElement element) {
+        Output out = new Output();
+        write(out, element);
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes CBOR to a JSON tree.
+     *
+     * @param data the CBOR bytes
+     * @return the JSON tree
+     * @throws CodecException if the data is not well-formed CBOR
+     */
+    public static JsonElement decode(byte[] data) {
+        Input in = new Input(data);
+        JsonElement element = read(in, 0);
+        if (in.position != data.length) {
+            throw new CodecException("Trailing bytes after CBOR item");
+        }
+        return element;
+    }
+
+    private static void write(Output out, JsonElement element) {
+        if (element == null || element.isJsonNull()) {
+            out.write(NULL);
+        } else if (element.isJsonObject()) {
+            JsonObject object = element.getAsJsonObject();
+            out.writeHead(MAJOR_MAP, object.size());
+            for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                writeText(out, entry.getKey());
+                write(out, entry.getValue());
+            }
+        } else if (element.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            out.writeHead(MAJOR_ARRAY, array.size());
+            for (JsonElement item : array) {
+                write(out, item);
+            }
+        } else {
+            JsonPrimitive primitive = element.getAsJsonPrimitive();
+            if (primitive.isBoolean()) {
+                out.write(primitive.getAsBoolean() ? TRUE : FALSE);
+            } else if (primitive.isNumber()) {
+                writeNumber(out, primitive.getAsNumber());
+            } else {
+                writeText(out, primitive.getAsString());
+            }
+        }
+    }
+
+    private static void writeText(Output out, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.writeHead(MAJOR_TEXT, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void writeNumber(Output out, Number number) {
+        if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+            writeInteger(out, number.longValue());
+            return;
+        }
+        if (number instanceof LazilyParsedNumber || number instanceof BigDecimal || number instanceof BigInteger) {
+            String text = number.toString();
+            if (text.indexOf('.') < 0 && text.indexOf('e') < 0 && text.indexOf('E') < 0) {
+                try {
+                    writeInteger(out, Long.parseLong(text));
+                    return;
+                } catch (NumberFormatException e) {
+                    // Out of long range, fall through to double
+                }
+            }
+        }
+        out.write(DOUBLE);
+        out.writeLong(Double.doubleToLongBits(number.doubleValue()));
+    }
+
+    private static void writeInteger(Output out, long value) {
+        if (value >= 0) {
+            out.writeHead(MAJOR_UNSIGNED, value);
+        } else {
+            out.writeHead(MAJOR_NEGATIVE, -1 - value);
+        }
+    }
+
+    private static JsonElement read(Input in, int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new CodecException("CBOR nesting too deep");
+        }
+        int initial = in.read();
+        int major = initial >>> 5;
+        int info = initial & 0x1F;
+        switch (major) {
+            case MAJOR_UNSIGNED -> {
+                long value = in.readArgument(info);
+                return value >= 0 ? new JsonPrimitive(value) : new JsonPrimitive(new BigInteger(Long.toUnsignedString(value)));
+            }
+            case MAJOR_NEGATIVE -> {
+                long value = in.readArgument(info);
+                return value >= 0 ? new JsonPrimitive(-1 - value)
+                        : new JsonPrimitive(BigInteger.ONE.negate().subtract(new BigInteger(Long.toUnsignedString(value))));
+            }
+            case MAJOR_BYTES -> {
+                return new JsonPrimitive(Base64.getEncoder().encodeToString(readString(in, info, MAJOR_BYTES)));
+            }
+            case MAJOR_TEXT -> {
+                return new JsonPrimitive(new String(readString(in, info, MAJOR_TEXT), StandardCharsets.UTF_8));
+            }
+            case MAJOR_ARRAY -> {
+                JsonArray array = new JsonArray();
+                if (info == INDEFINITE) {
+                    while (!in.consumeBreak()) {
+                        array.add(read(in, depth + 1));
+                    }
+                } else {
+                    long length = in.readLength(info);
+                    for (long i = 0; i < length; i++) {
+                        array.add(read(in, depth + 1));
+                    }
+                }
+                return array;
+            }
+            case MAJOR_MAP -> {
+                JsonObject object = new JsonObject();
+                if (info == INDEFINITE) {
+                    while (!in.consumeBreak()) {
+                        object.add(readKey(in, depth), read(in, depth + 1));
+                    }
+                } else {
+                    long length = in.readLength(info);
+                    for (long i = 0; i < length; i++) {
+                        object.add(readKey(in, depth), read(in, depth + 1));
+                    }
+                }
+                return object;
+            }
+            case MAJOR_TAG -> {
+                in.readArgument(info);
+                return read(in, depth + 1);
+            }
+            default -> {
+                return readSimple(in, initial, info);
+            }
+        }
+    }
+
+    private static String readKey(Input in, int depth) {
+        JsonElement key = read(in, depth + 1);
+        if (!key.isJsonPrimitive()) {
+            throw new CodecException("CBOR map key must be a string or number");
+        }
+        return key.getAsString();
+    }
+
+    private static byte[] readString(Input in, int info, int major) {
+        if (info != INDEFINITE) {
+            return in.readBytes(in.readLength(info));
+        }
+        ByteArrayOutputStream chunks = new ByteArrayOutputStream();
+        while (!in.consumeBreak()) {
+            int chunk = in.read();
+            if (chunk >>> 5 != major || (chunk & 0x1F) == INDEFINITE) {
+                throw new CodecException("Invalid chunk in indefinite-length CBOR string");
+            }
+            byte[] bytes = in.readBytes(in.readLength(chunk & 0x1F));
+            chunks.write(bytes, 0, bytes.length);
+        }
+        return chunks.toByteArray();
+    }
+
+    private static JsonElement readSimple(Input in, int initial, int info) {
+        return switch (initial) {
+            case FALSE -> new JsonPrimitive(false);
+            case TRUE -> new JsonPrimitive(true);
+            case NULL, UNDEFINED -> JsonNull.INSTANCE;
+            case HALF -> new JsonPrimitive(halfToDouble(in.readUnsigned(2)));
+            case FLOAT -> new JsonPrimitive((double) Float.intBitsToFloat((int) in.readUnsigned(4)));
+            case DOUBLE -> new JsonPrimitive(Double.longBitsToDouble(in.readUnsigned(8)));
+            default -> {
+                if (info < 24) {
+                    yield JsonNull.INSTANCE;
+                }
+                throw new CodecException("Unsupported CBOR simple value: " + initial);
+            }
+        };
+    }
+
+    private static double halfToDouble(long bits) {
+        int exponent = (int) ((bits >> 10) & 0x1F);
+        int mantissa = (int) (bits & 0x3FF);
+        double value;
+        if (exponent == 0) {
+            value = mantissa * Math.pow(2, -24);
+        } else if (exponent == 31) {
+            value = mantissa == 0 ? Double.POSITIVE_INFINITY : Double.NaN;
+        } else {
+            value = (mantissa + 1024) * Math.pow(2, exponent - 25);
+        }
+        return (bits & 0x8000) != 0 ? -value : value;
+    }
+
+    /**
+     * Growable output buffer writing CBOR heads in network byte order.
+     */
+    private static final class Output extends ByteArrayOutputStream {
+        Output() {
+            super(256);
+        }
+
+        void writeHead(int major, long argument) {
+            int prefix = major << 5;
+            if (argument < 24) {
+                write(prefix | (int) argument);
+            } else if (argument <= 0xFFL) {
+                write(prefix | 24);
+                write((int) argument);
+            } else if (argument <= 0xFFFFL) {
+                write(prefix | 25);
+                writeUnsigned(argument, 2);
+            } else if (argument <= 0xFFFFFFFFL) {
+                write(prefix | 26);
+                writeUnsigned(argument, 4);
+            } else {
+                write(prefix | 27);
+                writeUnsigned(argument, 8);
+            }
+        }
+
+        void writeLong(long value) {
+            writeUnsigned(value, 8);
+        }
+
+        private void writeUnsigned(long value, int bytes) {
+            for (int shift = (bytes - 1) * 8; shift >= 0; shift -= 8) {
+                write((int) (value >>> shift) & 0xFF);
+            }
+        }
+    }
+
+    /**
+     * Bounds-checked cursor over the input bytes.
+     */
+    private static final class Input {
+        private final byte[] data;
+        private int position;
+
+        Input(byte[] data) {
+            this.data = data;
+        }
+
+        int read() {
+            if (position >= data.length) {
+                throw new CodecException("Unexpected end of CBOR data");
+            }
+            return data[position++] & 0xFF;
+        }
+
+        boolean consumeBreak() {
+            if (position < data.length && (data[position] & 0xFF) == BREAK) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        long readUnsigned(int bytes) {
+            long value = 0;
+            for (int i = 0; i < bytes; i++) {
+                value = (value << 8) | read();
+            }
+            return value;
+        }
+
+        long readArgument(int info) {
+            if (info < 24) {
+                return info;
+            }
+            return switch (info) {
+                case 24 -> readUnsigned(1);
+                case 25 -> readUnsigned(2);
+                case 26 -> readUnsigned(4);
+                case 27 -> readUnsigned(8);
+                default -> throw new CodecException("Invalid CBOR additional info: " + info);
+            };
+        }
+
+        long readLength(int info) {
+            long length = readArgument(info);
+            if (length < 0 || length > data.length - position) {
+                throw new CodecException("CBOR length exceeds available data");
+            }
+            return length;
+        }
+
+        byte[] readBytes(long length) {
+            byte[] bytes = new byte[(int) length];
+            System.arraycopy(data, position, bytes, 0, bytes.length);
+            position += bytes.length;
+            return bytes;
+        }
+    }
+}
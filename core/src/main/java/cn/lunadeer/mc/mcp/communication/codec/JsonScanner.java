@@ -0,0 +1,237 @@
+package cn.lunadeer.mc.mcp.communication.codec;
+
+import java.util.Arrays;
+
+/**
+ * Single-pass cursor over JSON text that reads object members and skips
+ * values without building anything, so callers can pick out the fields they
+ * know and remember the position of the rest.
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+final class JsonScanner {
+
+    private final String json;
+    private int position;
+    /**
+     * Whether the open object at each nesting level has not yielded a member yet.
+     */
+    private boolean[] first = new boolean[4];
+    private int depth;
+
+    JsonScanner(String json, int position) {
+        this.json = json;
+        this.position = position;
+    }
+
+    /**
+     * Skips whitespace and returns the index where the next value starts.
+     */
+    int valueStart() {
+        skipWhitespace();
+        return position;
+    }
+
+    /**
+     * Returns the current index, i.e. the end of the value just read or skipped.
+     */
+    int offset() {
+        return position;
+    }
+
+    void beginObject() {
+        expect('{');
+        if (depth == first.length) {
+            first = Arrays.copyOf(first, depth * 2);
+        }
+        first[depth++] = true;
+    }
+
+    /**
+     * Advances to the next member of the current object.
+     *
+     * @return false once the closing brace has been consumed
+     */
+    boolean nextMember() {
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+            depth--;
+            return false;
+        }
+        if (!first[depth - 1]) {
+            expect(',');
+        }
+        first[depth - 1] = false;
+        return true;
+    }
+
+    String nextName() {
+        skipWhitespace();
+        String name = readString();
+        expect(':');
+        return name;
+    }
+
+    /**
+     * Reads a scalar value as a string: strings are unescaped, other
+     * literals are returned as written and null gives null.
+     */
+    String nextScalar() {
+        skipWhitespace();
+        char c = peek();
+        if (c == '"') {
+            return readString();
+        }
+        if (c == '{' || c == '[') {
+            throw new CodecException("Expected a scalar at position " + position);
+        }
+        int start = position;
+        skipLiteral();
+        String literal = json.substring(start, position);
+        return "null".equals(literal) ? null : literal;
+    }
+
+    /**
+     * Consumes the next value if it is the literal null.
+     *
+     * @return true if a null was consumed
+     */
+    boolean nextNull() {
+        skipWhitespace();
+        if (json.startsWith("null", position)) {
+            position += 4;
+            return true;
+        }
+        return false;
+    }
+
+    void skipValue() {
+        skipWhitespace();
+        char c = peek();
+        if (c == '"') {
+            skipString();
+        } else if (c == '{' || c == '[') {
+            skipContainer();
+        } else {
+            skipLiteral();
+        }
+    }
+
+    private void skipContainer() {
+        int depth = 0;
+        do {
+            char c = peek();
+            if (c == '"') {
+                skipString();
+                continue;
+            }
+            if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            }
+            position++;
+        } while (depth > 0);
+    }
+
+    private void skipLiteral() {
+        int start = position;
+        while (position < json.length()) {
+            char c = json.charAt(position);
+            if (c == ',' || c == '}' || c == ']' || Character.isWhitespace(c)) {
+                break;
+            }
+            position++;
+        }
+        if (position == start) {
+            throw new CodecException("Expected a value at position " + position);
+        }
+    }
+
+    private void skipString() {
+        expect('"');
+        while (true) {
+            char c = next();
+            if (c == '\\') {
+                next();
+            } else if (c == '"') {
+                return;
+            }
+        }
+    }
+
+    private String readString() {
+        expect('"');
+        int start = position;
+        // Fast path: no escapes
+        while (true) {
+            char c = next();
+            if (c == '"') {
+                return json.substring(start, position - 1);
+            }
+            if (c == '\\') {
+                break;
+            }
+        }
+        StringBuilder builder = new StringBuilder(json.substring(start, position - 1));
+        position--;
+        while (true) {
+            char c = next();
+            if (c == '"') {
+                return builder.toString();
+            }
+            if (c != '\\') {
+                builder.append(c);
+                continue;
+            }
+            char escaped = next();
+            switch (escaped) {
+                case 'b' -> builder.append('\b');
+                case 'f' -> builder.append('\f');
+                case 'n' -> builder.append('\n');
+                case 'r' -> builder.append('\r');
+                case 't' -> builder.append('\t');
+                case 'u' -> {
+                    if (position + 4 > json.length()) {
+                        throw new CodecException("Truncated unicode escape");
+                    }
+                    try {
+                        builder.append((char) Integer.parseInt(json.substring(position, position + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw new CodecException("Invalid unicode escape at position " + position, e);
+                    }
+                    position += 4;
+                }
+                default -> builder.append(escaped);
+            }
+        }
+    }
+
+    private void expect(char expected) {
+        skipWhitespace();
+        if (next() != expected) {
+            throw new CodecException("Expected '" + expected + "' at position " + (position - 1));
+        }
+    }
+
+    private char peek() {
+        if (position >= json.length()) {
+            throw new CodecException("Unexpected end of JSON");
+        }
+        return json.charAt(position);
+    }
+
+    private char next() {
+        char c = peek();
+        position++;
+        return c;
+    }
+
+    private void skipWhitespace() {
+        while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+            position++;
+        }
+    }
+}
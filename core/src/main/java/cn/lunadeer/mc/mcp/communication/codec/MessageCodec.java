@@ -2,14 +2,16 @@ package cn.lunadeer.mc.mcp.communication.codec;
 
 import cn.lunadeer.mc.mcp.communication.message.*;
 import cn.lunadeer.mc.mcp.infrastructure.I18n;
+import cn.lunadeer.mc.mcp.infrastructure.TickTelemetry;
 import cn.lunadeer.mc.mcp.infrastructure.XLogger;
 import cn.lunadeer.mc.mcp.infrastructure.configuration.ConfigurationPart;
 import com.google.gson.*;
-import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 
-import java.io.IOException;
+import java.io.Writer;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Message codec for encoding and decoding MCP messages.
@@ -26,55 +28,75 @@ public class MessageCodec {
         public String codecDecodeMessageFailed = "Failed to decode message: {0}";
     }
 
+    /**
+     * Encode buffers larger than this are not kept for reuse, so one huge
+     * response does not pin its memory on the thread forever.
+     */
+    private static final int MAX_RETAINED_BUFFER = 1 << 20;
+
+    private static final ThreadLocal<StringBuilderWriter> BUFFER = ThreadLocal.withInitial(StringBuilderWriter::new);
+
     private final Gson gson;
 
     public MessageCodec() {
         this.gson = new GsonBuilder()
-                .setPrettyPrinting()
                 .serializeNulls()
-                .registerTypeAdapter(Instant.class, new InstantAdapter())
+                .registerTypeAdapter(Instant.class, new InstantTypeAdapter())
                 .create();
     }
 
     /**
-     * Custom TypeAdapter for Instant serialization/deserialization.
+     * Encodes a message to JSON string.
+     * <p>
+     * The frame is streamed into a per-thread buffer that is reused across
+     * calls, so no intermediate frame object or JSON tree is built for
+     * messages that write their own payload.
+     * </p>
+     *
+     * @param message the message to encode
+     * @return JSON string representation
      */
-    private static class InstantAdapter extends TypeAdapter<Instant> {
-        @Override
-        public void write(JsonWriter out, Instant value) throws IOException {
-            if (value == null) {
-                out.nullValue();
-            } else {
-                out.value(value.toString());
-            }
-        }
-
-        @Override
-        public Instant read(JsonReader in) throws IOException {
-            if (in.peek() == com.google.gson.stream.JsonToken.NULL) {
-                in.nextNull();
-                return null;
+    public String encode(McpMessage message) {
+        StringBuilderWriter buffer = BUFFER.get();
+        try {
+            buffer.reset();
+            JsonWriter out = gson.newJsonWriter(buffer);
+            out.beginObject();
+            out.name("id").value(message.getId());
+            out.name("type").value(message.getType());
+            out.name("timestamp").value(Instant.now().toString());
+            out.name("correlationId").value(message.getCorrelationId());
+            out.name("payload");
+            message.writePayload(out, gson);
+            out.endObject();
+            out.flush();
+            return buffer.toString();
+        } catch (Exception e) {
+            XLogger.error(I18n.messageCodecText.codecEncodeFailed, e.getMessage());
+            throw new CodecException("Message encoding failed", e);
+        } finally {
+            if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+                BUFFER.remove();
             }
-            return Instant.parse(in.nextString());
         }
     }
 
     /**
-     * Encodes a message to JSON string.
+     * Encodes a message to CBOR bytes.
      *
      * @param message the message to encode
-     * @return JSON string representation
+     * @return CBOR representation of the message frame
      */
-    public String encode(McpMessage message) {
+    public byte[] encodeBinary(McpMessage message) {
         try {
-            MessageFrame frame = MessageFrame.builder()
-                    .id(message.getId())
-                    .type(message.getType())
-                    .timestamp(Instant.now())
-                    .correlationId(message.getCorrelationId())
-                    .payload(message.getPayload())
-                    .build();
-            return gson.toJson(frame);
+            JsonObject frame = new JsonObject();
+            frame.addProperty("id", message.getId());
+            frame.addProperty("type", message.getType());
+            frame.addProperty("timestamp", Instant.now().toString());
+            frame.add("correlationId", message.getCorrelationId() != null
+                    ? new JsonPrimitive(message.getCorrelationId()) : JsonNull.INSTANCE);
+            frame.add("payload", message.getPayload());
+            return CborCodec.encode(frame);
         } catch (Exception e) {
             XLogger.error(I18n.messageCodecText.codecEncodeFailed, e.getMessage());
             throw new CodecException("Message encoding failed", e);
@@ -83,27 +105,51 @@ public class MessageCodec {
 
     /**
      * Decodes a JSON string to a message object.
+     * <p>
+     * The envelope is read in a single pass. Request payloads are scanned
+     * in place and each parameter is kept as a {@link RawJson} slice of the
+     * input, to be bound only when the capability executes; other payloads
+     * are parsed on their own.
+     * </p>
      *
      * @param json the JSON string to decode
      * @return the decoded message
      */
     public McpMessage decode(String json) {
         try {
-            JsonObject jsonObject = JsonParser.parseString(json).getAsJsonObject();
-            String type = jsonObject.get("type").getAsString();
-            String id = jsonObject.get("id").getAsString();
-            JsonElement payload = jsonObject.get("payload");
+            String id = null;
+            String type = null;
             String correlationId = null;
-            if (jsonObject.has("correlationId") && !jsonObject.get("correlationId").isJsonNull()) {
-                correlationId = jsonObject.get("correlationId").getAsString();
+            int payloadStart = -1;
+            int payloadEnd = -1;
+
+            JsonScanner scanner = new JsonScanner(json, 0);
+            scanner.beginObject();
+            while (scanner.nextMember()) {
+                switch (scanner.nextName()) {
+                    case "id" -> id = scanner.nextScalar();
+                    case "type" -> type = scanner.nextScalar();
+                    case "correlationId" -> correlationId = scanner.nextScalar();
+                    case "payload" -> {
+                        payloadStart = scanner.valueStart();
+                        scanner.skipValue();
+                        payloadEnd = scanner.offset();
+                    }
+                    default -> scanner.skipValue();
+                }
+            }
+            if (type == null || id == null || payloadStart < 0) {
+                throw new CodecException("Message frame is missing id, type or payload");
             }
 
-            McpMessage message = decodeMessage(type, id, payload);
+            McpMessage message = "request".equals(type)
+                    ? decodeRequest(id, json, payloadStart)
+                    : decodeMessage(type, id, JsonParser.parseString(json.substring(payloadStart, payloadEnd)));
             if (message != null && correlationId != null) {
                 message.setCorrelationId(correlationId);
             }
             return message;
-        } catch (JsonSyntaxException e) {
+        } catch (CodecException | JsonSyntaxException e) {
             XLogger.error(I18n.messageCodecText.codecDecodeJsonFailed, e.getMessage());
             throw new CodecException("Invalid JSON format", e);
         } catch (Exception e) {
@@ -112,6 +158,72 @@ public class MessageCodec {
         }
     }
 
+    /**
+     * Decodes CBOR bytes to a message object.
+     *
+     * @param data the CBOR bytes to decode
+     * @return the decoded message
+     */
+    public McpMessage decode(byte[] data) {
+        try {
+            return decodeFrame(CborCodec.decode(data).getAsJsonObject());
+        } catch (Exception e) {
+            XLogger.error(I18n.messageCodecText.codecDecodeMessageFailed, e.getMessage());
+            throw new CodecException("Message decoding failed", e);
+        }
+    }
+
+    private McpMessage decodeFrame(JsonObject jsonObject) {
+        String type = jsonObject.get("type").getAsString();
+        String id = jsonObject.get("id").getAsString();
+        JsonElement payload = jsonObject.get("payload");
+        String correlationId = null;
+        if (jsonObject.has("correlationId") && !jsonObject.get("correlationId").isJsonNull()) {
+            correlationId = jsonObject.get("correlationId").getAsString();
+        }
+
+        McpMessage message = decodeMessage(type, id, payload);
+        if (message != null && correlationId != null) {
+            message.setCorrelationId(correlationId);
+        }
+        return message;
+    }
+
+    /**
+     * Decodes a request payload straight from the frame text.
+     */
+    private McpRequest decodeRequest(String id, String json, int payloadStart) {
+        McpRequest.Builder builder = McpRequest.builder().id(id);
+        String capabilityId = null;
+
+        JsonScanner scanner = new JsonScanner(json, payloadStart);
+        scanner.beginObject();
+        while (scanner.nextMember()) {
+            switch (scanner.nextName()) {
+                case "capabilityId" -> capabilityId = scanner.nextScalar();
+                case "callerId" -> builder.callerId(scanner.nextScalar());
+                case "independent" -> builder.independent(Boolean.parseBoolean(scanner.nextScalar()));
+                case "parameters" -> {
+                    if (scanner.nextNull()) {
+                        break;
+                    }
+                    scanner.beginObject();
+                    while (scanner.nextMember()) {
+                        String name = scanner.nextName();
+                        int start = scanner.valueStart();
+                        scanner.skipValue();
+                        builder.parameter(name, new RawJson(json, start, scanner.offset()));
+                    }
+                }
+                default -> scanner.skipValue();
+            }
+        }
+        if (capabilityId == null) {
+            throw new CodecException("Request is missing capabilityId");
+        }
+        return builder.capabilityId(capabilityId).build();
+    }
+
     /**
      * Decodes the message based on type.
      */
@@ -140,11 +252,13 @@ public class MessageCodec {
         JsonObject obj = payload.getAsJsonObject();
         String capabilityId = obj.get("capabilityId").getAsString();
         String callerId = obj.has("callerId") ? obj.get("callerId").getAsString() : null;
+        boolean independent = obj.has("independent") && obj.get("independent").getAsBoolean();
 
         McpRequest.Builder builder = McpRequest.builder()
                 .id(id)
                 .capabilityId(capabilityId)
-                .callerId(callerId);
+                .callerId(callerId)
+                .independent(independent);
 
         if (obj.has("parameters")) {
             JsonObject params = obj.getAsJsonObject("parameters");
@@ -208,6 +322,7 @@ public class MessageCodec {
                     .onlinePlayers(statusObj.get("onlinePlayers").getAsInt())
                     .memoryUsage(statusObj.get("memoryUsage").getAsDouble())
                     .connectedGateways(statusObj.get("connectedGateways").getAsInt())
+                    .mspt(decodeMspt(statusObj.getAsJsonObject("mspt")))
                     .build();
         }
 
@@ -219,6 +334,27 @@ public class MessageCodec {
                 .build();
     }
 
+    private List<TickTelemetry.Window> decodeMspt(JsonObject msptObj) {
+        if (msptObj == null) {
+            return null;
+        }
+        List<TickTelemetry.Window> windows = new ArrayList<>();
+        for (var entry : msptObj.entrySet()) {
+            JsonObject windowObj = entry.getValue().getAsJsonObject();
+            windows.add(new TickTelemetry.Window(
+                    entry.getKey(),
+                    windowObj.get("ticks").getAsInt(),
+                    windowObj.get("tps").getAsDouble(),
+                    windowObj.get("mean").getAsDouble(),
+                    windowObj.get("p50").getAsDouble(),
+                    windowObj.get("p95").getAsDouble(),
+                    windowObj.get("p99").getAsDouble(),
+                    windowObj.get("max").getAsDouble()
+            ));
+        }
+        return windows;
+    }
+
     private HeartbeatAck decodeHeartbeatAck(String id, JsonElement payload) {
         JsonObject obj = payload.getAsJsonObject();
         String gatewayId = obj.get("gatewayId").getAsString();
@@ -235,11 +371,15 @@ public class MessageCodec {
         JsonObject obj = payload.getAsJsonObject();
         String gatewayId = obj.get("gatewayId").getAsString();
         String token = obj.get("token").getAsString();
+        String codec = obj.has("codec") && !obj.get("codec").isJsonNull() ? obj.get("codec").getAsString() : null;
+        Long lastEventSeq = obj.has("lastEventSeq") && !obj.get("lastEventSeq").isJsonNull() ? obj.get("lastEventSeq").getAsLong() : null;
 
         return AuthRequest.builder()
                 .id(id)
                 .gatewayId(gatewayId)
                 .token(token)
+                .codec(codec)
+                .lastEventSeq(lastEventSeq)
                 .build();
     }
 
@@ -258,4 +398,53 @@ public class MessageCodec {
 
         return builder.build();
     }
+
+    /**
+     * Unsynchronized writer over a reusable {@link StringBuilder}.
+     */
+    private static final class StringBuilderWriter extends Writer {
+        private final StringBuilder builder = new StringBuilder(1024);
+
+        void reset() {
+            builder.setLength(0);
+        }
+
+        int capacity() {
+            return builder.capacity();
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            builder.append(cbuf, off, len);
+        }
+
+        @Override
+        public void write(int c) {
+            builder.append((char) c);
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            builder.append(str, off, off + len);
+        }
+
+        @Override
+        public Writer append(CharSequence csq) {
+            builder.append(csq);
+            return this;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
+    }
 }
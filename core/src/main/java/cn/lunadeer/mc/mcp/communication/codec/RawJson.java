@@ -0,0 +1,82 @@
+package cn.lunadeer.mc.mcp.communication.codec;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+import java.lang.reflect.Type;
+
+/**
+ * A JSON value kept as its raw text until someone needs it.
+ * <p>
+ * The streaming decoder captures request parameters this way, so a value is
+ * only parsed when the capability runs, and then bound directly to the
+ * declared parameter type instead of going through a generic tree.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public final class RawJson {
+
+    private final String source;
+    private final int start;
+    private final int end;
+
+    /**
+     * Creates a raw value over a slice of a larger JSON text.
+     *
+     * @param source the JSON text the value was read from
+     * @param start  the index of the first character of the value
+     * @param end    the index after the last character of the value
+     */
+    public RawJson(String source, int start, int end) {
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Gets the raw JSON text of the value.
+     *
+     * @return the JSON text
+     */
+    public String getJson() {
+        return source.substring(start, end);
+    }
+
+    /**
+     * Checks whether the value is the JSON literal {@code null}.
+     *
+     * @return true if the value is null
+     */
+    public boolean isNull() {
+        return end - start == 4 && source.startsWith("null", start);
+    }
+
+    /**
+     * Parses the value into a JSON tree.
+     *
+     * @return the JSON tree
+     */
+    public JsonElement toJsonElement() {
+        return JsonParser.parseString(getJson());
+    }
+
+    /**
+     * Binds the value to a Java type.
+     *
+     * @param gson the Gson instance to bind with
+     * @param type the target type
+     * @param <T>  the target type
+     * @return the bound value
+     */
+    public <T> T bind(Gson gson, Type type) {
+        return gson.fromJson(getJson(), type);
+    }
+
+    @Override
+    public String toString() {
+        return getJson();
+    }
+}
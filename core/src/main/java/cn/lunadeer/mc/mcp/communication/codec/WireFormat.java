@@ -0,0 +1,51 @@
+package cn.lunadeer.mc.mcp.communication.codec;
+
+/**
+ * Encoding used for frames sent to a gateway, negotiated during authentication.
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public enum WireFormat {
+    /**
+     * JSON text frames (default).
+     */
+    JSON("json"),
+
+    /**
+     * CBOR binary frames.
+     */
+    CBOR("cbor");
+
+    private final String id;
+
+    WireFormat(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Picks the first supported format from a gateway's comma-separated preference list.
+     *
+     * @param preferences the preference list, e.g. "cbor,json"; may be null
+     * @param allowBinary whether binary formats are enabled on this agent
+     * @return the chosen format, JSON if nothing else matches
+     */
+    public static WireFormat negotiate(String preferences, boolean allowBinary) {
+        if (preferences == null) {
+            return JSON;
+        }
+        for (String preference : preferences.split(",")) {
+            String candidate = preference.trim();
+            for (WireFormat format : values()) {
+                if (format.id.equalsIgnoreCase(candidate) && (format == JSON || allowBinary)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+}
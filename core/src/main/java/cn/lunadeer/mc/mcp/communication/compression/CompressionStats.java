@@ -0,0 +1,111 @@
+package cn.lunadeer.mc.mcp.communication.compression;
+
+/**
+ * Outbound permessage-deflate statistics of a gateway connection.
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public class CompressionStats {
+
+    private static final CompressionStats NOT_NEGOTIATED = builder().build();
+
+    private final boolean negotiated;
+    private final long frames;
+    private final long compressedFrames;
+    private final long payloadBytes;
+    private final long wireBytes;
+
+    private CompressionStats(Builder builder) {
+        this.negotiated = builder.negotiated;
+        this.frames = builder.frames;
+        this.compressedFrames = builder.compressedFrames;
+        this.payloadBytes = builder.payloadBytes;
+        this.wireBytes = builder.wireBytes;
+    }
+
+    /**
+     * Gets the statistics of a connection without compression.
+     *
+     * @return statistics with nothing negotiated
+     */
+    public static CompressionStats notNegotiated() {
+        return NOT_NEGOTIATED;
+    }
+
+    public boolean isNegotiated() {
+        return negotiated;
+    }
+
+    public long getFrames() {
+        return frames;
+    }
+
+    public long getCompressedFrames() {
+        return compressedFrames;
+    }
+
+    public long getPayloadBytes() {
+        return payloadBytes;
+    }
+
+    public long getWireBytes() {
+        return wireBytes;
+    }
+
+    /**
+     * Gets the compression ratio of all outbound data frames.
+     *
+     * @return payload bytes divided by wire bytes, 1.0 if nothing was sent
+     */
+    public double getRatio() {
+        return wireBytes > 0 ? (double) payloadBytes / wireBytes : 1.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CompressionStats{negotiated=%s, frames=%d, compressedFrames=%d, payloadBytes=%d, wireBytes=%d, ratio=%.2f}",
+                negotiated, frames, compressedFrames, payloadBytes, wireBytes, getRatio());
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private boolean negotiated;
+        private long frames;
+        private long compressedFrames;
+        private long payloadBytes;
+        private long wireBytes;
+
+        public Builder negotiated(boolean negotiated) {
+            this.negotiated = negotiated;
+            return this;
+        }
+
+        public Builder frames(long frames) {
+            this.frames = frames;
+            return this;
+        }
+
+        public Builder compressedFrames(long compressedFrames) {
+            this.compressedFrames = compressedFrames;
+            return this;
+        }
+
+        public Builder payloadBytes(long payloadBytes) {
+            this.payloadBytes = payloadBytes;
+            return this;
+        }
+
+        public Builder wireBytes(long wireBytes) {
+            this.wireBytes = wireBytes;
+            return this;
+        }
+
+        public CompressionStats build() {
+            return new CompressionStats(this);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package cn.lunadeer.mc.mcp.communication.compression;
+
+import org.java_websocket.extensions.IExtension;
+import org.java_websocket.extensions.permessage_deflate.PerMessageDeflateExtension;
+import org.java_websocket.framing.DataFrame;
+import org.java_websocket.framing.Framedata;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * permessage-deflate extension that counts what it saves.
+ * <p>
+ * The draft copies its extensions for every connection, so each gateway
+ * connection gets its own instance and therefore its own statistics. Frames
+ * smaller than the threshold are sent uncompressed, since deflate overhead
+ * outweighs the gain on tiny heartbeats and acks.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public class MeteredDeflateExtension extends PerMessageDeflateExtension {
+
+    private final AtomicLong frames = new AtomicLong();
+    private final AtomicLong compressedFrames = new AtomicLong();
+    private final AtomicLong payloadBytes = new AtomicLong();
+    private final AtomicLong wireBytes = new AtomicLong();
+
+    /**
+     * Creates the extension.
+     *
+     * @param compressionLevel the deflate level, 0-9 or -1 for the default
+     * @param threshold        the smallest payload in bytes that gets compressed
+     */
+    public MeteredDeflateExtension(int compressionLevel, int threshold) {
+        super(compressionLevel);
+        setThreshold(threshold);
+    }
+
+    @Override
+    public void encodeFrame(Framedata inputFrame) {
+        if (!(inputFrame instanceof DataFrame)) {
+            super.encodeFrame(inputFrame);
+            return;
+        }
+        int before = inputFrame.getPayloadData().remaining();
+        super.encodeFrame(inputFrame);
+        int after = inputFrame.getPayloadData().remaining();
+
+        frames.incrementAndGet();
+        payloadBytes.addAndGet(before);
+        wireBytes.addAndGet(after);
+        if (inputFrame.isRSV1()) {
+            compressedFrames.incrementAndGet();
+        }
+    }
+
+    /**
+     * Takes a snapshot of the outbound statistics.
+     *
+     * @return the statistics
+     */
+    public CompressionStats getStats() {
+        return CompressionStats.builder()
+                .negotiated(true)
+                .frames(frames.get())
+                .compressedFrames(compressedFrames.get())
+                .payloadBytes(payloadBytes.get())
+                .wireBytes(wireBytes.get())
+                .build();
+    }
+
+    @Override
+    public IExtension copyInstance() {
+        MeteredDeflateExtension copy = new MeteredDeflateExtension(getCompressionLevel(), getThreshold());
+        copy.setServerNoContextTakeover(isServerNoContextTakeover());
+        copy.setClientNoContextTakeover(isClientNoContextTakeover());
+        return copy;
+    }
+}
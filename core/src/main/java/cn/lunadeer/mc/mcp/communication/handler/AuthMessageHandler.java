@@ -2,12 +2,15 @@ package cn.lunadeer.mc.mcp.communication.handler;
 
 import cn.lunadeer.mc.mcp.Configuration;
 import cn.lunadeer.mc.mcp.MinecraftContextProtocolServer;
+import cn.lunadeer.mc.mcp.api.event.EventForwarder;
 import cn.lunadeer.mc.mcp.communication.auth.AuthHandler;
 import cn.lunadeer.mc.mcp.communication.auth.AuthResult;
 import cn.lunadeer.mc.mcp.communication.codec.MessageCodec;
+import cn.lunadeer.mc.mcp.communication.codec.WireFormat;
 import cn.lunadeer.mc.mcp.communication.message.AuthRequest;
 import cn.lunadeer.mc.mcp.communication.message.AuthResponse;
 import cn.lunadeer.mc.mcp.communication.message.McpMessage;
+import cn.lunadeer.mc.mcp.communication.outbound.OutboundPriority;
 import cn.lunadeer.mc.mcp.communication.session.GatewaySession;
 import cn.lunadeer.mc.mcp.communication.session.SessionManager;
 import cn.lunadeer.mc.mcp.infrastructure.I18n;
@@ -52,6 +55,7 @@ public class AuthMessageHandler implements MessageHandler {
 
         AuthResult result = authHandler.authenticate(request.getGatewayId(), request.getToken());
         if (result.isSuccess()) {
+            WireFormat wireFormat = WireFormat.negotiate(request.getCodec(), Configuration.websocketServer.enableBinaryCodec);
             session.setGatewayId(request.getGatewayId());
             session.setPermissions(result.getPermissions());
             sessionManager.markAuthenticated(session);
@@ -81,10 +85,16 @@ public class AuthMessageHandler implements MessageHandler {
                             Configuration.websocketServer.reconnectDelay,
                             Configuration.websocketServer.maxRetries
                     ))
+                    .codec(wireFormat.getId())
                     .build();
 
+            // The acknowledgment is still JSON; the negotiated format applies from the next frame on
             String jsonResponse = messageCodec.encode(response);
-            session.send(jsonResponse);
+            session.send(jsonResponse, OutboundPriority.CONTROL);
+            session.setWireFormat(wireFormat);
+
+            // Replay what the gateway missed while it was away, then go live
+            session.resumeEvents(request.getLastEventSeq(), getEventForwarder(), messageCodec);
         } else {
             // Send authentication failure response
             AuthResponse response = AuthResponse.builder()
@@ -95,10 +105,10 @@ public class AuthMessageHandler implements MessageHandler {
                     .build();
 
             String jsonResponse = messageCodec.encode(response);
-            session.send(jsonResponse);
 
-            // Close the connection
-            session.close(4003, "Authentication failed");
+            // Close the connection once the response has been written
+            session.send(jsonResponse, OutboundPriority.CONTROL)
+                    .whenComplete((ignored, ex) -> session.close(4003, "Authentication failed"));
         }
     }
 
@@ -107,6 +117,14 @@ public class AuthMessageHandler implements MessageHandler {
         return "auth";
     }
 
+    /**
+     * Gets the forwarder of the built-in events.
+     */
+    private EventForwarder getEventForwarder() {
+        MinecraftContextProtocolServer plugin = MinecraftContextProtocolServer.getInstance();
+        return plugin != null ? plugin.getEventForwarder() : null;
+    }
+
     /**
      * Gets the capability manifest for the agent.
      * Retrieves all registered capabilities from the capability registry.
@@ -3,6 +3,8 @@ package cn.lunadeer.mc.mcp.communication.handler;
 import cn.lunadeer.mc.mcp.communication.message.McpMessage;
 import cn.lunadeer.mc.mcp.communication.session.GatewaySession;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Interface for handling MCP messages.
  * Each message type should have a dedicated handler implementation.
@@ -20,6 +22,33 @@ public interface MessageHandler {
      */
     void handle(GatewaySession session, McpMessage message);
 
+    /**
+     * Handles a message and reports when the handling is finished.
+     * <p>
+     * The router does not start the next message of the same session before
+     * the returned future completes. Handlers that finish their work
+     * asynchronously override this; the default handles the message
+     * synchronously.
+     * </p>
+     *
+     * @param session the gateway session that sent the message
+     * @param message the message to handle
+     * @return a future that completes when the message is handled
+     */
+    default CompletableFuture<?> handleAsync(GatewaySession session, McpMessage message) {
+        handle(session, message);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Called instead of handling when the session's inbound queue is full.
+     *
+     * @param session the gateway session that sent the message
+     * @param message the rejected message
+     */
+    default void onRejected(GatewaySession session, McpMessage message) {
+    }
+
     /**
      * Returns the message type this handler can handle.
      *
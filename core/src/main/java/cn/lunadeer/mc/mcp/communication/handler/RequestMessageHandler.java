@@ -11,6 +11,7 @@ import cn.lunadeer.mc.mcp.infrastructure.XLogger;
 import cn.lunadeer.mc.mcp.sdk.model.ErrorCode;
 
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Handles capability request messages from gateways.
@@ -30,16 +31,21 @@ public class RequestMessageHandler implements MessageHandler {
 
     @Override
     public void handle(GatewaySession session, McpMessage message) {
+        handleAsync(session, message);
+    }
+
+    @Override
+    public CompletableFuture<?> handleAsync(GatewaySession session, McpMessage message) {
         if (!(message instanceof McpRequest)) {
             XLogger.warn("RequestMessageHandler received non-McpRequest message: " + message.getType());
-            return;
+            return CompletableFuture.completedFuture(null);
         }
 
         McpRequest request = (McpRequest) message;
 
         if (!session.isAuthenticated()) {
             XLogger.warn("Unauthenticated gateway " + session.getGatewayId() + " attempted request");
-            return;
+            return CompletableFuture.completedFuture(null);
         }
 
         // Create CallerInfo from session
@@ -51,9 +57,8 @@ public class RequestMessageHandler implements MessageHandler {
         );
 
         // Execute the capability using the execution engine
-        executionEngine.execute(request, caller).thenAccept(response -> {
-            String jsonResponse = messageCodec.encode(response);
-            session.send(jsonResponse);
+        return executionEngine.execute(request, caller).thenAccept(response -> {
+            session.send(response, messageCodec);
         }).exceptionally(ex -> {
             // Handle execution errors
             McpResponse errorResponse = McpResponse.error(
@@ -61,12 +66,21 @@ public class RequestMessageHandler implements MessageHandler {
                     ErrorCode.INTERNAL_ERROR,
                     "Failed to execute capability: " + ex.getMessage()
             ).build();
-            String jsonResponse = messageCodec.encode(errorResponse);
-            session.send(jsonResponse);
+            session.send(errorResponse, messageCodec);
             return null;
         });
     }
 
+    @Override
+    public void onRejected(GatewaySession session, McpMessage message) {
+        McpResponse busy = McpResponse.error(
+                message.getId(),
+                ErrorCode.OPERATION_FAILED,
+                "Too many pending requests from this gateway"
+        ).build();
+        session.send(busy, messageCodec);
+    }
+
     @Override
     public String getMessageType() {
         return "request";
@@ -2,24 +2,39 @@ package cn.lunadeer.mc.mcp.communication.heartbeat;
 
 import cn.lunadeer.mc.mcp.Configuration;
 import cn.lunadeer.mc.mcp.communication.codec.MessageCodec;
+import cn.lunadeer.mc.mcp.communication.codec.WireFormat;
 import cn.lunadeer.mc.mcp.communication.message.AgentStatus;
 import cn.lunadeer.mc.mcp.communication.message.HeartbeatAck;
 import cn.lunadeer.mc.mcp.communication.message.HeartbeatMessage;
+import cn.lunadeer.mc.mcp.communication.outbound.OutboundPriority;
 import cn.lunadeer.mc.mcp.communication.session.GatewaySession;
 import cn.lunadeer.mc.mcp.communication.session.SessionManager;
 import cn.lunadeer.mc.mcp.infrastructure.I18n;
+import cn.lunadeer.mc.mcp.infrastructure.TickTelemetry;
 import cn.lunadeer.mc.mcp.infrastructure.XLogger;
 import cn.lunadeer.mc.mcp.infrastructure.configuration.ConfigurationPart;
 import cn.lunadeer.mc.mcp.infrastructure.scheduler.Scheduler;
+import com.google.gson.Gson;
 import org.bukkit.Bukkit;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
-import static cn.lunadeer.mc.mcp.infrastructure.Misc.isPaper;
+import static cn.lunadeer.mc.mcp.infrastructure.Misc.isFolia;
 
 /**
  * Handles heartbeat monitoring for Gateway connections.
+ * <p>
+ * The agent status is built once per interval and the heartbeat frame is
+ * encoded once from it, with placeholders for the message id and gateway id
+ * that are patched in for each session. In ping mode the liveness check uses
+ * WebSocket ping/pong and a status heartbeat is only sent to a gateway when
+ * the status moved by more than the configured deltas since the last one it
+ * received.
+ * </p>
  *
  * @author ZhangYuheng
  * @since 1.0.0
@@ -34,14 +49,22 @@ public class HeartbeatHandler {
         public String heartbeatSendError = "Error sending heartbeat to gateway {0}: {1}";
         public String heartbeatAckReceived = "Received heartbeat ack from gateway {0}";
         public String heartbeatRetryExceeded = "Gateway {0} exceeded max retries ({1}), closing connection";
+        public String heartbeatPongReceived = "Received pong from gateway {0}";
     }
 
+    private static final String ID_PLACEHOLDER = "mcp-heartbeat-id-placeholder";
+    private static final String GATEWAY_PLACEHOLDER = "mcp-heartbeat-gateway-placeholder";
+    private static final Gson gson = new Gson();
+
     private final SessionManager sessionManager;
     private final long intervalMs;
     private final long timeoutMs;
     private final long reconnectDelayMs;
     private final int maxRetries;
     private final MessageCodec messageCodec;
+    private final boolean pingMode;
+
+    private volatile AgentStatus currentStatus;
 
     public HeartbeatHandler(SessionManager sessionManager, MessageCodec messageCodec) {
         this.sessionManager = sessionManager;
@@ -50,6 +73,7 @@ public class HeartbeatHandler {
         this.reconnectDelayMs = Configuration.websocketServer.reconnectDelay;
         this.maxRetries = Configuration.websocketServer.maxRetries;
         this.messageCodec = messageCodec;
+        this.pingMode = "ping".equalsIgnoreCase(Configuration.websocketServer.heartbeatMode);
     }
 
     /**
@@ -69,6 +93,9 @@ public class HeartbeatHandler {
     private void checkAllSessions() {
         try {
             Instant now = Instant.now();
+            AgentStatus status = buildStatus();
+            currentStatus = status;
+            FrameTemplate frame = null;
 
             for (GatewaySession session : sessionManager.getAuthenticatedSessions()) {
                 // Check if last heartbeat response is too old
@@ -94,29 +121,66 @@ public class HeartbeatHandler {
                     }
                 }
 
+                if (pingMode) {
+                    session.sendPing();
+                    if (!statusChanged(session.getLastSentStatus(), status)) {
+                        continue;
+                    }
+                }
+
                 // Send heartbeat request
-                sendHeartbeat(session);
+                if (frame == null && session.getWireFormat() == WireFormat.JSON) {
+                    frame = encodeFrame(status, now);
+                }
+                sendHeartbeat(session, frame, status, now);
             }
         } catch (Exception e) {
             XLogger.error(I18n.heartbeatHandlerText.heartbeatCheckError, e.getMessage());
         }
     }
 
+    /**
+     * Encodes the heartbeat frame shared by all sessions of an interval.
+     *
+     * @param status    the agent status
+     * @param timestamp the heartbeat timestamp
+     * @return the frame template
+     */
+    private FrameTemplate encodeFrame(AgentStatus status, Instant timestamp) {
+        HeartbeatMessage heartbeat = HeartbeatMessage.builder()
+                .id(ID_PLACEHOLDER)
+                .gatewayId(GATEWAY_PLACEHOLDER)
+                .timestamp(timestamp)
+                .status(status)
+                .build();
+        return FrameTemplate.of(messageCodec.encode(heartbeat));
+    }
+
     /**
      * Sends a heartbeat to a session.
      *
-     * @param session the session to send heartbeat to
+     * @param session   the session to send heartbeat to
+     * @param frame     the encoded JSON heartbeat frame of this interval, unused for binary sessions
+     * @param status    the status carried by the frame
+     * @param timestamp the heartbeat timestamp
      */
-    private void sendHeartbeat(GatewaySession session) {
+    private void sendHeartbeat(GatewaySession session, FrameTemplate frame, AgentStatus status, Instant timestamp) {
         try {
-            HeartbeatMessage heartbeat = HeartbeatMessage.builder()
-                    .id(UUID.randomUUID().toString())
-                    .gatewayId(session.getGatewayId())
-                    .timestamp(Instant.now())
-                    .status(buildStatus())
-                    .build();
-
-            session.send(messageCodec.encode(heartbeat)).exceptionally(ex -> {
+            CompletableFuture<Void> sent;
+            if (session.getWireFormat() == WireFormat.JSON) {
+                sent = session.send(frame.render(UUID.randomUUID().toString(), escape(session.getGatewayId())),
+                        OutboundPriority.CONTROL);
+            } else {
+                HeartbeatMessage heartbeat = HeartbeatMessage.builder()
+                        .id(UUID.randomUUID().toString())
+                        .gatewayId(session.getGatewayId())
+                        .timestamp(timestamp)
+                        .status(status)
+                        .build();
+                sent = session.send(heartbeat, messageCodec);
+            }
+            session.setLastSentStatus(status);
+            sent.exceptionally(ex -> {
                 XLogger.error(I18n.heartbeatHandlerText.heartbeatSendFailed,
                         session.getGatewayId(), ex.getMessage());
                 return null;
@@ -128,6 +192,17 @@ public class HeartbeatHandler {
         }
     }
 
+    /**
+     * Escapes a value for use inside a JSON string literal.
+     */
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        String quoted = gson.toJson(value);
+        return quoted.substring(1, quoted.length() - 1);
+    }
+
     /**
      * Handles a heartbeat acknowledgment from a Gateway.
      *
@@ -143,13 +218,69 @@ public class HeartbeatHandler {
         }
     }
 
+    /**
+     * Handles a WebSocket pong from a Gateway.
+     *
+     * @param sessionId the session ID
+     */
+    public void onPong(String sessionId) {
+        GatewaySession session = sessionManager.getSession(sessionId);
+        if (session != null) {
+            session.setLastHeartbeatAt(Instant.now());
+            session.setFailedHeartbeatCount(0);
+            XLogger.debug(I18n.heartbeatHandlerText.heartbeatPongReceived, session.getGatewayId());
+        }
+    }
+
+    /**
+     * Gets the agent status built for the latest heartbeat interval.
+     *
+     * @return the cached status, or null before the first interval
+     */
+    public AgentStatus getCurrentStatus() {
+        return currentStatus;
+    }
+
+    /**
+     * Checks whether the status moved enough since it was last sent to be worth sending again.
+     *
+     * @param previous the status last sent to the gateway, may be null
+     * @param current  the current status
+     * @return true if the status should be sent
+     */
+    private static boolean statusChanged(AgentStatus previous, AgentStatus current) {
+        if (previous == null) {
+            return true;
+        }
+        if (previous.isHealthy() != current.isHealthy()
+                || previous.getOnlinePlayers() != current.getOnlinePlayers()
+                || previous.getConnectedGateways() != current.getConnectedGateways()) {
+            return true;
+        }
+        if (Math.abs(previous.getTps() - current.getTps()) > Configuration.websocketServer.heartbeatStatusTpsDelta) {
+            return true;
+        }
+        if (Math.abs(previous.getMemoryUsage() - current.getMemoryUsage()) > Configuration.websocketServer.heartbeatStatusMemoryDelta) {
+            return true;
+        }
+        return Math.abs(minuteP95(previous) - minuteP95(current)) > Configuration.websocketServer.heartbeatStatusMsptDelta;
+    }
+
+    private static double minuteP95(AgentStatus status) {
+        List<TickTelemetry.Window> mspt = status.getMspt();
+        return mspt != null && mspt.size() > 1 ? mspt.get(1).p95() : 0;
+    }
+
     /**
      * Builds the agent status for heartbeat messages.
      *
      * @return the agent status
      */
     private AgentStatus buildStatus() {
-        double[] tps = isPaper() ? new double[]{20.0, 20.0, 20.0} : Bukkit.getTPS();
+        List<TickTelemetry.Window> mspt = TickTelemetry.instance != null ? TickTelemetry.instance.getWindows() : null;
+        double tps = mspt != null && mspt.size() > 1 && mspt.get(1).ticks() > 0
+                ? mspt.get(1).tps()
+                : (isFolia() ? 20.0 : Bukkit.getTPS()[0]);
         int onlinePlayers = Bukkit.getOnlinePlayers().size();
         Runtime runtime = Runtime.getRuntime();
         long usedMemory = runtime.totalMemory() - runtime.freeMemory();
@@ -158,10 +289,56 @@ public class HeartbeatHandler {
 
         return AgentStatus.builder()
                 .healthy(true)
-                .tps(tps.length > 0 ? tps[0] : 20.0)
+                .tps(tps)
                 .onlinePlayers(onlinePlayers)
                 .memoryUsage(memoryUsage)
                 .connectedGateways(sessionManager.getAuthenticatedSessions().size())
+                .mspt(mspt)
                 .build();
     }
+
+    /**
+     * An encoded heartbeat frame split around its per-session fields.
+     */
+    private static final class FrameTemplate {
+        private final String[] parts;
+        private final boolean[] gatewaySlots;
+
+        private FrameTemplate(String[] parts, boolean[] gatewaySlots) {
+            this.parts = parts;
+            this.gatewaySlots = gatewaySlots;
+        }
+
+        static FrameTemplate of(String encoded) {
+            List<String> parts = new ArrayList<>();
+            List<Boolean> slots = new ArrayList<>();
+            int position = 0;
+            while (true) {
+                int idAt = encoded.indexOf(ID_PLACEHOLDER, position);
+                int gatewayAt = encoded.indexOf(GATEWAY_PLACEHOLDER, position);
+                if (idAt < 0 && gatewayAt < 0) {
+                    break;
+                }
+                boolean gateway = idAt < 0 || (gatewayAt >= 0 && gatewayAt < idAt);
+                int at = gateway ? gatewayAt : idAt;
+                parts.add(encoded.substring(position, at));
+                slots.add(gateway);
+                position = at + (gateway ? GATEWAY_PLACEHOLDER : ID_PLACEHOLDER).length();
+            }
+            parts.add(encoded.substring(position));
+            boolean[] gatewaySlots = new boolean[slots.size()];
+            for (int i = 0; i < gatewaySlots.length; i++) {
+                gatewaySlots[i] = slots.get(i);
+            }
+            return new FrameTemplate(parts.toArray(new String[0]), gatewaySlots);
+        }
+
+        String render(String id, String gatewayId) {
+            StringBuilder builder = new StringBuilder(parts.length * 16 + parts[0].length() + parts[parts.length - 1].length());
+            for (int i = 0; i < gatewaySlots.length; i++) {
+                builder.append(parts[i]).append(gatewaySlots[i] ? gatewayId : id);
+            }
+            return builder.append(parts[parts.length - 1]).toString();
+        }
+    }
 }
@@ -1,5 +1,9 @@
 package cn.lunadeer.mc.mcp.communication.message;
 
+import cn.lunadeer.mc.mcp.infrastructure.TickTelemetry;
+
+import java.util.List;
+
 /**
  * Agent status information for heartbeat messages.
  *
@@ -12,6 +16,7 @@ public class AgentStatus {
     private final int onlinePlayers;
     private final double memoryUsage;
     private final int connectedGateways;
+    private final List<TickTelemetry.Window> mspt;
 
     private AgentStatus(Builder builder) {
         this.healthy = builder.healthy;
@@ -19,6 +24,7 @@ public class AgentStatus {
         this.onlinePlayers = builder.onlinePlayers;
         this.memoryUsage = builder.memoryUsage;
         this.connectedGateways = builder.connectedGateways;
+        this.mspt = builder.mspt;
     }
 
     public boolean isHealthy() {
@@ -41,6 +47,10 @@ public class AgentStatus {
         return connectedGateways;
     }
 
+    public List<TickTelemetry.Window> getMspt() {
+        return mspt;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -51,6 +61,7 @@ public class AgentStatus {
         private int onlinePlayers = 0;
         private double memoryUsage = 0.0;
         private int connectedGateways = 0;
+        private List<TickTelemetry.Window> mspt;
 
         public Builder healthy(boolean healthy) {
             this.healthy = healthy;
@@ -77,6 +88,11 @@ public class AgentStatus {
             return this;
         }
 
+        public Builder mspt(List<TickTelemetry.Window> mspt) {
+            this.mspt = mspt;
+            return this;
+        }
+
         public AgentStatus build() {
             return new AgentStatus(this);
         }
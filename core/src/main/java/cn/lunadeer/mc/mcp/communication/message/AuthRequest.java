@@ -12,11 +12,15 @@ import com.google.gson.JsonObject;
 public class AuthRequest extends McpMessage {
     private final String gatewayId;
     private final String token;
+    private final String codec;
+    private final Long lastEventSeq;
 
     private AuthRequest(Builder builder) {
         super(builder.id, "auth");
         this.gatewayId = builder.gatewayId;
         this.token = builder.token;
+        this.codec = builder.codec;
+        this.lastEventSeq = builder.lastEventSeq;
     }
 
     public String getGatewayId() {
@@ -27,11 +31,31 @@ public class AuthRequest extends McpMessage {
         return token;
     }
 
+    public String getCodec() {
+        return codec;
+    }
+
+    /**
+     * Gets the sequence number of the last forwarded event the gateway
+     * received before reconnecting.
+     *
+     * @return the sequence number, or null for a fresh event stream
+     */
+    public Long getLastEventSeq() {
+        return lastEventSeq;
+    }
+
     @Override
     public JsonElement getPayload() {
         JsonObject payload = new JsonObject();
         payload.addProperty("gatewayId", gatewayId);
         payload.addProperty("token", token);
+        if (codec != null) {
+            payload.addProperty("codec", codec);
+        }
+        if (lastEventSeq != null) {
+            payload.addProperty("lastEventSeq", lastEventSeq);
+        }
         return payload;
     }
 
@@ -43,6 +67,8 @@ public class AuthRequest extends McpMessage {
         private String id;
         private String gatewayId;
         private String token;
+        private String codec;
+        private Long lastEventSeq;
 
         public Builder id(String id) {
             this.id = id;
@@ -59,6 +85,16 @@ public class AuthRequest extends McpMessage {
             return this;
         }
 
+        public Builder codec(String codec) {
+            this.codec = codec;
+            return this;
+        }
+
+        public Builder lastEventSeq(Long lastEventSeq) {
+            this.lastEventSeq = lastEventSeq;
+            return this;
+        }
+
         public AuthRequest build() {
             return new AuthRequest(this);
         }
@@ -22,6 +22,7 @@ public class AuthResponse extends McpMessage {
     private final Set<String> permissions;
     private final List<CapabilityManifest> capabilities;
     private final Config config;
+    private final String codec;
 
     private AuthResponse(Builder builder) {
         super(builder.id, "register_ack");
@@ -33,6 +34,7 @@ public class AuthResponse extends McpMessage {
         this.permissions = builder.permissions;
         this.capabilities = builder.capabilities;
         this.config = builder.config;
+        this.codec = builder.codec;
     }
 
     public boolean isSuccess() {
@@ -67,6 +69,10 @@ public class AuthResponse extends McpMessage {
         return config;
     }
 
+    public String getCodec() {
+        return codec;
+    }
+
     @Override
     public JsonElement getPayload() {
         JsonObject payload = new JsonObject();
@@ -101,6 +107,10 @@ public class AuthResponse extends McpMessage {
                 payload.add("config", configObj);
             }
 
+            if (codec != null) {
+                payload.addProperty("codec", codec);
+            }
+
             if (capabilities != null && !capabilities.isEmpty()) {
                 JsonArray capsArray = new JsonArray();
                 Gson gson = new GsonBuilder().create();
@@ -140,6 +150,7 @@ public class AuthResponse extends McpMessage {
         private Set<String> permissions;
         private List<CapabilityManifest> capabilities;
         private Config config;
+        private String codec;
 
         public Builder id(String id) {
             this.id = id;
@@ -186,6 +197,11 @@ public class AuthResponse extends McpMessage {
             return this;
         }
 
+        public Builder codec(String codec) {
+            this.codec = codec;
+            return this;
+        }
+
         public AuthResponse build() {
             return new AuthResponse(this);
         }
@@ -1,5 +1,6 @@
 package cn.lunadeer.mc.mcp.communication.message;
 
+import cn.lunadeer.mc.mcp.infrastructure.TickTelemetry;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
@@ -48,6 +49,21 @@ public class HeartbeatMessage extends McpMessage {
             statusObj.addProperty("onlinePlayers", status.getOnlinePlayers());
             statusObj.addProperty("memoryUsage", status.getMemoryUsage());
             statusObj.addProperty("connectedGateways", status.getConnectedGateways());
+            if (status.getMspt() != null) {
+                JsonObject msptObj = new JsonObject();
+                for (TickTelemetry.Window window : status.getMspt()) {
+                    JsonObject windowObj = new JsonObject();
+                    windowObj.addProperty("ticks", window.ticks());
+                    windowObj.addProperty("tps", window.tps());
+                    windowObj.addProperty("mean", window.mean());
+                    windowObj.addProperty("p50", window.p50());
+                    windowObj.addProperty("p95", window.p95());
+                    windowObj.addProperty("p99", window.p99());
+                    windowObj.addProperty("max", window.max());
+                    msptObj.add(window.window(), windowObj);
+                }
+                statusObj.add("mspt", msptObj);
+            }
             payload.add("status", statusObj);
         }
         return payload;
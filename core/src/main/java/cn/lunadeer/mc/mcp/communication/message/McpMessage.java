@@ -1,6 +1,10 @@
 package cn.lunadeer.mc.mcp.communication.message;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 
 /**
  * Base class for all MCP protocol messages.
@@ -58,4 +62,19 @@ public abstract class McpMessage {
      * @return the payload as JsonElement
      */
     public abstract JsonElement getPayload();
+
+    /**
+     * Writes the payload of this message to a JSON stream.
+     * <p>
+     * The default writes {@link #getPayload()}; messages with large payloads
+     * override it to stream their content without building a tree first.
+     * </p>
+     *
+     * @param out  the writer positioned at the payload value
+     * @param gson the Gson instance of the codec
+     * @throws IOException if writing fails
+     */
+    public void writePayload(JsonWriter out, Gson gson) throws IOException {
+        gson.toJson(getPayload(), out);
+    }
 }
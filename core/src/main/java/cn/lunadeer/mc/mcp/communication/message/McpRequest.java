@@ -1,5 +1,6 @@
 package cn.lunadeer.mc.mcp.communication.message;
 
+import cn.lunadeer.mc.mcp.communication.codec.RawJson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
@@ -16,12 +17,14 @@ public class McpRequest extends McpMessage {
     private final String capabilityId;
     private final Map<String, Object> parameters;
     private final String callerId;
+    private final boolean independent;
 
     private McpRequest(Builder builder) {
         super(builder.id, "request");
         this.capabilityId = builder.capabilityId;
         this.parameters = builder.parameters;
         this.callerId = builder.callerId;
+        this.independent = builder.independent;
     }
 
     public String getCapabilityId() {
@@ -36,11 +39,24 @@ public class McpRequest extends McpMessage {
         return callerId;
     }
 
+    /**
+     * Checks whether the gateway marked this request as independent of the
+     * requests before it, allowing it to run concurrently with them.
+     *
+     * @return true if the request is independent
+     */
+    public boolean isIndependent() {
+        return independent;
+    }
+
     @Override
     public JsonElement getPayload() {
         JsonObject payload = new JsonObject();
         payload.addProperty("capabilityId", capabilityId);
         payload.addProperty("callerId", callerId);
+        if (independent) {
+            payload.addProperty("independent", true);
+        }
         if (parameters != null && !parameters.isEmpty()) {
             JsonObject params = new JsonObject();
             for (Map.Entry<String, Object> entry : parameters.entrySet()) {
@@ -50,6 +66,10 @@ public class McpRequest extends McpMessage {
                     params.addProperty(entry.getKey(), (Number) entry.getValue());
                 } else if (entry.getValue() instanceof Boolean) {
                     params.addProperty(entry.getKey(), (Boolean) entry.getValue());
+                } else if (entry.getValue() instanceof JsonElement) {
+                    params.add(entry.getKey(), (JsonElement) entry.getValue());
+                } else if (entry.getValue() instanceof RawJson) {
+                    params.add(entry.getKey(), ((RawJson) entry.getValue()).toJsonElement());
                 }
             }
             payload.add("parameters", params);
@@ -66,6 +86,7 @@ public class McpRequest extends McpMessage {
         private String capabilityId;
         private Map<String, Object> parameters = new HashMap<>();
         private String callerId;
+        private boolean independent;
 
         public Builder id(String id) {
             this.id = id;
@@ -92,6 +113,11 @@ public class McpRequest extends McpMessage {
             return this;
         }
 
+        public Builder independent(boolean independent) {
+            this.independent = independent;
+            return this;
+        }
+
         public McpRequest build() {
             return new McpRequest(this);
         }
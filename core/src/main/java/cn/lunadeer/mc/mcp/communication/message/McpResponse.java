@@ -1,8 +1,12 @@
 package cn.lunadeer.mc.mcp.communication.message;
 
+import cn.lunadeer.mc.mcp.communication.codec.InstantTypeAdapter;
 import cn.lunadeer.mc.mcp.sdk.model.ErrorCode;
 import com.google.gson.*;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
+import java.time.Instant;
 import java.util.Map;
 
 /**
@@ -12,6 +16,13 @@ import java.util.Map;
  * @since 1.0.0
  */
 public class McpResponse extends McpMessage {
+    /**
+     * Serializes result data; unlike the frame, null fields of the data are omitted.
+     */
+    private static final Gson DATA_GSON = new GsonBuilder()
+            .registerTypeAdapter(Instant.class, new InstantTypeAdapter())
+            .create();
+
     private final boolean success;
     private final ErrorCode errorCode;
     private final String errorMessage;
@@ -74,14 +85,32 @@ public class McpResponse extends McpMessage {
             }
         } else {
             if (data != null) {
-                Gson gson = new GsonBuilder().create();
-                payload.add("data", JsonParser.parseString(gson.toJson(data)));
+                payload.add("data", DATA_GSON.toJsonTree(data));
             }
         }
 
         return payload;
     }
 
+    /**
+     * Streams a successful result straight into the frame, so the data is
+     * serialized once without an intermediate JSON tree.
+     */
+    @Override
+    public void writePayload(JsonWriter out, Gson gson) throws IOException {
+        if (!success) {
+            super.writePayload(out, gson);
+            return;
+        }
+        out.beginObject();
+        out.name("success").value(true);
+        if (data != null) {
+            out.name("data");
+            DATA_GSON.toJson(data, data.getClass(), out);
+        }
+        out.endObject();
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -0,0 +1,14 @@
+package cn.lunadeer.mc.mcp.communication.outbound;
+
+/**
+ * Thrown through the send future of a frame that the outbound queue refused
+ * or evicted because the gateway is not keeping up.
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public class OutboundOverflowException extends RuntimeException {
+    public OutboundOverflowException(String message) {
+        super(message);
+    }
+}
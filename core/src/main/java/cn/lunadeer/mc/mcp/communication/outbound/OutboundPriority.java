@@ -0,0 +1,23 @@
+package cn.lunadeer.mc.mcp.communication.outbound;
+
+/**
+ * Priority of an outbound frame, deciding what gives way when a gateway
+ * falls behind.
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public enum OutboundPriority {
+    /**
+     * Authentication and heartbeat frames; never dropped.
+     */
+    CONTROL,
+    /**
+     * Responses to gateway requests.
+     */
+    RESPONSE,
+    /**
+     * Pushed events; the first to be dropped.
+     */
+    EVENT
+}
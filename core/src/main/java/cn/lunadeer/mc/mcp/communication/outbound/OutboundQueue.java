@@ -0,0 +1,314 @@
+package cn.lunadeer.mc.mcp.communication.outbound;
+
+import cn.lunadeer.mc.mcp.infrastructure.I18n;
+import cn.lunadeer.mc.mcp.infrastructure.XLogger;
+import cn.lunadeer.mc.mcp.infrastructure.configuration.ConfigurationPart;
+import org.java_websocket.WebSocket;
+import org.java_websocket.drafts.Draft;
+import org.java_websocket.framing.CloseFrame;
+import org.java_websocket.framing.Framedata;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ordered, bounded outbound queue of a single gateway connection.
+ * <p>
+ * Frames leave in the order they were queued. The first frame queued after
+ * a flush schedules the next one a short delay later; that flush drains
+ * everything that accumulated meanwhile and hands it to the socket in one
+ * write, so the many small responses and events produced within a tick go
+ * out together. While the socket still has
+ * unwritten data the flush backs off instead of piling more onto it, which
+ * keeps the backlog here where it can be measured.
+ * </p>
+ * <p>
+ * Text frames are measured by their UTF-8 size, so the high-water mark
+ * means the same for any payload. Above it the overflow policy decides
+ * what gives way; control frames are always accepted. At twice the
+ * high-water mark the connection is closed regardless of the policy.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public class OutboundQueue {
+
+    public static class OutboundQueueText extends ConfigurationPart {
+        public String outboundOverflow = "Gateway {0} is not keeping up ({1} bytes queued), applying {2}";
+        public String outboundDisconnect = "Disconnecting gateway {0}: {1} bytes queued";
+    }
+
+    /**
+     * Snapshot of the queue.
+     *
+     * @param queuedFrames  the frames waiting to be written
+     * @param queuedBytes   the size of the waiting frames
+     * @param sentFrames    the frames written since the connection opened
+     * @param droppedFrames the frames refused or evicted by the overflow policy
+     * @param flushes       the number of socket writes
+     */
+    public record Stats(int queuedFrames, long queuedBytes, long sentFrames, long droppedFrames, long flushes) {
+        public static final Stats EMPTY = new Stats(0, 0, 0, 0, 0);
+    }
+
+    private static final long BACKOFF_MILLIS = 5;
+    private static final int MAX_BATCH_FRAMES = 256;
+
+    private final WebSocket socket;
+    private final ScheduledExecutorService executor;
+    private final long highWaterBytes;
+    private final OverflowPolicy policy;
+    private final long flushDelayMillis;
+
+    private final ArrayDeque<Outbound> queue = new ArrayDeque<>();
+    private long queuedBytes;
+    private boolean scheduled;
+    private boolean overflowing;
+    private long sentFrames;
+    private long droppedFrames;
+    private long flushes;
+
+    /**
+     * Creates an outbound queue.
+     *
+     * @param socket         the connection to write to
+     * @param executor       the shared executor running flushes
+     * @param highWaterBytes   the queued size above which the policy applies
+     * @param policy           the overflow policy
+     * @param flushDelayMillis how long frames are collected before a flush
+     */
+    public OutboundQueue(WebSocket socket, ScheduledExecutorService executor, long highWaterBytes, OverflowPolicy policy,
+                         long flushDelayMillis) {
+        this.socket = socket;
+        this.executor = executor;
+        this.highWaterBytes = Math.max(1, highWaterBytes);
+        this.policy = policy;
+        this.flushDelayMillis = Math.max(0, flushDelayMillis);
+    }
+
+    /**
+     * Queues a text frame.
+     *
+     * @param text     the frame text
+     * @param priority the frame priority
+     * @return a future completed once the frame is handed to the socket
+     */
+    public CompletableFuture<Void> send(String text, OutboundPriority priority) {
+        return enqueue(new Outbound(text, null, utf8Length(text), priority));
+    }
+
+    /**
+     * Queues a binary frame.
+     *
+     * @param data     the frame bytes
+     * @param priority the frame priority
+     * @return a future completed once the frame is handed to the socket
+     */
+    public CompletableFuture<Void> send(byte[] data, OutboundPriority priority) {
+        return enqueue(new Outbound(null, data, data.length, priority));
+    }
+
+    private CompletableFuture<Void> enqueue(Outbound item) {
+        if (!socket.isOpen()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("WebSocket is not open"));
+        }
+        List<Outbound> evicted = null;
+        boolean accepted = true;
+        boolean disconnect = false;
+        long backlog;
+        synchronized (this) {
+            if (item.priority != OutboundPriority.CONTROL && queuedBytes + item.size > highWaterBytes) {
+                if (!overflowing) {
+                    overflowing = true;
+                    XLogger.warn(I18n.outboundQueueText.outboundOverflow, socket.getRemoteSocketAddress(), queuedBytes, policy);
+                }
+                switch (policy) {
+                    case DROP_EVENTS -> accepted = item.priority != OutboundPriority.EVENT;
+                    case SHED -> {
+                        evicted = evictEvents();
+                        accepted = queuedBytes + item.size <= highWaterBytes;
+                    }
+                    case DISCONNECT -> disconnect = true;
+                }
+                if (accepted && queuedBytes + item.size > highWaterBytes * 2) {
+                    disconnect = true;
+                }
+            }
+            if (disconnect) {
+                accepted = false;
+            }
+            if (accepted) {
+                append(item);
+            } else if (!disconnect) {
+                droppedFrames++;
+            }
+            backlog = queuedBytes;
+        }
+
+        fail(evicted, "Evicted from outbound queue");
+        if (disconnect) {
+            XLogger.warn(I18n.outboundQueueText.outboundDisconnect, socket.getRemoteSocketAddress(), backlog);
+            socket.close(CloseFrame.TRY_AGAIN_LATER, "Gateway is not keeping up");
+            item.future.completeExceptionally(new OutboundOverflowException("Gateway disconnected for falling behind"));
+        } else if (!accepted) {
+            item.future.completeExceptionally(new OutboundOverflowException("Outbound queue is above its high-water mark"));
+        }
+        return item.future;
+    }
+
+    private void append(Outbound item) {
+        queue.addLast(item);
+        queuedBytes += item.size;
+        if (!scheduled) {
+            scheduled = true;
+            scheduleFlush();
+        }
+    }
+
+    private void scheduleFlush() {
+        executor.schedule(this::flush, flushDelayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Counts the UTF-8 bytes of a text without encoding it.
+     */
+    private static int utf8Length(String text) {
+        int length = text.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                bytes += 1;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                // Four bytes for the two chars of the pair
+                bytes += 2;
+                i++;
+            } else {
+                bytes += 2;
+            }
+        }
+        return bytes;
+    }
+
+    private List<Outbound> evictEvents() {
+        List<Outbound> evicted = new ArrayList<>();
+        for (Iterator<Outbound> it = queue.iterator(); it.hasNext(); ) {
+            Outbound queued = it.next();
+            if (queued.priority == OutboundPriority.EVENT) {
+                it.remove();
+                queuedBytes -= queued.size;
+                droppedFrames++;
+                evicted.add(queued);
+            }
+        }
+        return evicted;
+    }
+
+    private void flush() {
+        if (socket.isOpen() && socket.hasBufferedData()) {
+            executor.schedule(this::flush, BACKOFF_MILLIS, TimeUnit.MILLISECONDS);
+            return;
+        }
+
+        List<Outbound> batch = new ArrayList<>();
+        long batchBytes = 0;
+        synchronized (this) {
+            while (!queue.isEmpty() && batch.size() < MAX_BATCH_FRAMES) {
+                Outbound item = queue.pollFirst();
+                batch.add(item);
+                batchBytes += item.size;
+            }
+            if (batch.isEmpty()) {
+                scheduled = false;
+                return;
+            }
+        }
+
+        Exception failure = null;
+        try {
+            if (!socket.isOpen()) {
+                throw new IllegalStateException("WebSocket is not open");
+            }
+            Draft draft = socket.getDraft();
+            List<Framedata> frames = new ArrayList<>(batch.size());
+            for (Outbound item : batch) {
+                frames.addAll(item.text != null
+                        ? draft.createFrames(item.text, false)
+                        : draft.createFrames(ByteBuffer.wrap(item.data), false));
+            }
+            socket.sendFrame(frames);
+        } catch (Exception e) {
+            failure = e;
+        }
+
+        synchronized (this) {
+            queuedBytes -= batchBytes;
+            flushes++;
+            if (failure == null) {
+                sentFrames += batch.size();
+            }
+            if (overflowing && queuedBytes <= highWaterBytes / 2) {
+                overflowing = false;
+            }
+            if (queue.isEmpty()) {
+                scheduled = false;
+            } else {
+                scheduleFlush();
+            }
+        }
+
+        for (Outbound item : batch) {
+            if (failure == null) {
+                item.future.complete(null);
+            } else {
+                item.future.completeExceptionally(failure);
+            }
+        }
+    }
+
+    private static void fail(List<Outbound> items, String reason) {
+        if (items == null) {
+            return;
+        }
+        for (Outbound item : items) {
+            item.future.completeExceptionally(new OutboundOverflowException(reason));
+        }
+    }
+
+    /**
+     * Takes a snapshot of the queue.
+     *
+     * @return the queue statistics
+     */
+    public synchronized Stats getStats() {
+        return new Stats(queue.size(), queuedBytes, sentFrames, droppedFrames, flushes);
+    }
+
+    /**
+     * A queued frame; its size is the UTF-8 size of the text or the byte count.
+     */
+    private static final class Outbound {
+        final String text;
+        final byte[] data;
+        final int size;
+        final OutboundPriority priority;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        Outbound(String text, byte[] data, int size, OutboundPriority priority) {
+            this.text = text;
+            this.data = data;
+            this.size = size;
+            this.priority = priority;
+        }
+    }
+}
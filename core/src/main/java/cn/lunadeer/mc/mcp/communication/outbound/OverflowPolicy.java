@@ -0,0 +1,40 @@
+package cn.lunadeer.mc.mcp.communication.outbound;
+
+/**
+ * What an outbound queue does once it is above its high-water mark.
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public enum OverflowPolicy {
+    /**
+     * Reject new events; responses and control frames are still queued.
+     */
+    DROP_EVENTS,
+    /**
+     * Evict queued events and reject new events and responses; only control
+     * frames are still queued.
+     */
+    SHED,
+    /**
+     * Close the connection so the gateway reconnects and starts over.
+     */
+    DISCONNECT;
+
+    /**
+     * Parses a policy name, falling back to {@link #DROP_EVENTS}.
+     *
+     * @param name the policy name, case-insensitive
+     * @return the policy
+     */
+    public static OverflowPolicy parse(String name) {
+        if (name != null) {
+            for (OverflowPolicy policy : values()) {
+                if (policy.name().equalsIgnoreCase(name.trim())) {
+                    return policy;
+                }
+            }
+        }
+        return DROP_EVENTS;
+    }
+}
@@ -1,11 +1,25 @@
 package cn.lunadeer.mc.mcp.communication.session;
 
+import cn.lunadeer.mc.mcp.Configuration;
+import cn.lunadeer.mc.mcp.api.event.EventBatch;
+import cn.lunadeer.mc.mcp.api.event.EventForwarder;
+import cn.lunadeer.mc.mcp.api.event.EventReplayBuffer;
+import cn.lunadeer.mc.mcp.api.event.ForwardedEvent;
+import cn.lunadeer.mc.mcp.communication.codec.MessageCodec;
+import cn.lunadeer.mc.mcp.communication.compression.CompressionStats;
+import cn.lunadeer.mc.mcp.communication.codec.WireFormat;
+import cn.lunadeer.mc.mcp.communication.message.AgentStatus;
+import cn.lunadeer.mc.mcp.communication.message.McpEvent;
+import cn.lunadeer.mc.mcp.communication.message.McpMessage;
+import cn.lunadeer.mc.mcp.communication.outbound.OutboundPriority;
+import cn.lunadeer.mc.mcp.communication.outbound.OutboundQueue;
 import cn.lunadeer.mc.mcp.infrastructure.I18n;
 import cn.lunadeer.mc.mcp.infrastructure.XLogger;
 import cn.lunadeer.mc.mcp.infrastructure.configuration.ConfigurationPart;
 
 import java.time.Instant;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -30,6 +44,12 @@ public class GatewaySession {
     private volatile Instant lastActivityAt;
     private volatile Instant lastHeartbeatAt;
     private volatile int failedHeartbeatCount = 0;
+    private volatile AgentStatus lastSentStatus;
+    private volatile WireFormat wireFormat = WireFormat.JSON;
+
+    private final Object eventLock = new Object();
+    // Guarded by eventLock; no forwarded events are sent until the session resumes its stream
+    private long lastEventSeq = Long.MAX_VALUE;
 
     public GatewaySession(String id, WebSocketConnection connection) {
         this.id = id;
@@ -98,15 +118,193 @@ public class GatewaySession {
         this.failedHeartbeatCount++;
     }
 
+    public WireFormat getWireFormat() {
+        return wireFormat;
+    }
+
+    public void setWireFormat(WireFormat wireFormat) {
+        this.wireFormat = wireFormat;
+    }
+
+    public AgentStatus getLastSentStatus() {
+        return lastSentStatus;
+    }
+
+    public void setLastSentStatus(AgentStatus lastSentStatus) {
+        this.lastSentStatus = lastSentStatus;
+    }
+
     /**
-     * Sends a message to the gateway.
+     * Sends a message to the gateway as a response.
      *
      * @param message the message to send
      * @return a CompletableFuture that completes when the message is sent
      */
     public CompletableFuture<Void> send(String message) {
+        return send(message, OutboundPriority.RESPONSE);
+    }
+
+    /**
+     * Sends a message to the gateway.
+     *
+     * @param message  the message to send
+     * @param priority the outbound priority of the message
+     * @return a CompletableFuture that completes when the message is sent
+     */
+    public CompletableFuture<Void> send(String message, OutboundPriority priority) {
         lastActivityAt = Instant.now();
-        return connection.send(message);
+        return connection.send(message, priority);
+    }
+
+    /**
+     * Sends a binary message to the gateway as a response.
+     *
+     * @param message the message bytes to send
+     * @return a CompletableFuture that completes when the message is sent
+     */
+    public CompletableFuture<Void> send(byte[] message) {
+        return send(message, OutboundPriority.RESPONSE);
+    }
+
+    /**
+     * Sends a binary message to the gateway.
+     *
+     * @param message  the message bytes to send
+     * @param priority the outbound priority of the message
+     * @return a CompletableFuture that completes when the message is sent
+     */
+    public CompletableFuture<Void> send(byte[] message, OutboundPriority priority) {
+        lastActivityAt = Instant.now();
+        return connection.send(message, priority);
+    }
+
+    /**
+     * Sends a message to the gateway in the session's wire format, with the
+     * outbound priority following from the message type.
+     *
+     * @param message the message to send
+     * @param codec   the codec to encode it with
+     * @return a CompletableFuture that completes when the message is sent
+     */
+    public CompletableFuture<Void> send(McpMessage message, MessageCodec codec) {
+        OutboundPriority priority = priorityOf(message);
+        if (wireFormat == WireFormat.CBOR) {
+            return send(codec.encodeBinary(message), priority);
+        }
+        return send(codec.encode(message), priority);
+    }
+
+    /**
+     * Starts the forwarded event stream of the session.
+     * <p>
+     * Events the gateway missed after {@code lastSeq} are replayed first;
+     * without a sequence number the stream starts with the next flush. The
+     * replay is taken and sent under the same lock as
+     * {@link #sendEvents(EventBatch, EventForwarder, MessageCodec)}, so a
+     * batch flushed meanwhile is neither lost nor sent twice. Only the events
+     * the session's permissions allow are sent.
+     * </p>
+     *
+     * @param lastSeq   the last sequence number the gateway has seen, or null
+     * @param forwarder the event forwarder, or null if events are not forwarded
+     * @param codec     the codec to encode the replay with
+     */
+    public void resumeEvents(Long lastSeq, EventForwarder forwarder, MessageCodec codec) {
+        synchronized (eventLock) {
+            if (forwarder == null) {
+                lastEventSeq = 0;
+                return;
+            }
+            EventReplayBuffer replay = forwarder.getReplayBuffer();
+            if (lastSeq == null) {
+                lastEventSeq = replay.getLastSeq();
+                return;
+            }
+            EventBatch missed = replay.since(lastSeq);
+            lastEventSeq = Math.max(missed.lastSeq(), Math.min(lastSeq, replay.getLastSeq()));
+            EventBatch visible = missed.filter(event -> canReceive(forwarder, event));
+            if (visible == null || (visible.events().isEmpty() && visible.dropped() == 0)) {
+                return;
+            }
+            for (EventBatch part : visible.split(Configuration.eventBridge.forwardMaxBatchSize)) {
+                send(eventsMessage(part), codec);
+            }
+        }
+    }
+
+    /**
+     * Sends the events of a forwarded batch the gateway has not seen yet and
+     * is allowed to see.
+     *
+     * @param batch     the batch
+     * @param forwarder the forwarder the batch comes from
+     * @param codec     the codec to encode it with
+     * @return a CompletableFuture that completes when the events are sent
+     */
+    public CompletableFuture<Void> sendEvents(EventBatch batch, EventForwarder forwarder, MessageCodec codec) {
+        synchronized (eventLock) {
+            EventBatch unseen = batch.after(lastEventSeq);
+            if (unseen == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            lastEventSeq = unseen.lastSeq();
+            EventBatch visible = unseen.filter(event -> canReceive(forwarder, event));
+            if (visible == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return send(eventsMessage(visible), codec);
+        }
+    }
+
+    private boolean canReceive(EventForwarder forwarder, ForwardedEvent event) {
+        return forwarder.isPermitted(event.eventId(), permissions);
+    }
+
+    private static McpEvent eventsMessage(EventBatch batch) {
+        return McpEvent.builder()
+                .id(UUID.randomUUID().toString())
+                .eventId(EventForwarder.BATCH_EVENT_ID)
+                .eventData(batch)
+                .build();
+    }
+
+    /**
+     * Gets the outbound priority of a message by its type.
+     *
+     * @param message the message
+     * @return the priority
+     */
+    public static OutboundPriority priorityOf(McpMessage message) {
+        return switch (message.getType()) {
+            case "event" -> OutboundPriority.EVENT;
+            case "heartbeat", "heartbeat_ack", "auth", "register_ack" -> OutboundPriority.CONTROL;
+            default -> OutboundPriority.RESPONSE;
+        };
+    }
+
+    /**
+     * Gets the state of the outbound queue of the session.
+     *
+     * @return the outbound queue statistics
+     */
+    public OutboundQueue.Stats getOutboundStats() {
+        return connection.getOutboundStats();
+    }
+
+    /**
+     * Sends a WebSocket ping to the gateway.
+     */
+    public void sendPing() {
+        connection.sendPing();
+    }
+
+    /**
+     * Gets the outbound compression statistics of the session.
+     *
+     * @return the compression statistics
+     */
+    public CompressionStats getCompressionStats() {
+        return connection.getCompressionStats();
     }
 
     /**
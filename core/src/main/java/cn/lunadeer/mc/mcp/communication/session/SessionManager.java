@@ -1,5 +1,6 @@
 package cn.lunadeer.mc.mcp.communication.session;
 
+import cn.lunadeer.mc.mcp.communication.outbound.OutboundQueue;
 import cn.lunadeer.mc.mcp.infrastructure.I18n;
 import cn.lunadeer.mc.mcp.infrastructure.XLogger;
 import cn.lunadeer.mc.mcp.infrastructure.configuration.ConfigurationPart;
@@ -139,9 +140,21 @@ public class SessionManager {
      * @return session statistics
      */
     public SessionStats getStats() {
+        int queuedFrames = 0;
+        long queuedBytes = 0;
+        long droppedFrames = 0;
+        for (GatewaySession session : sessions.values()) {
+            OutboundQueue.Stats outbound = session.getOutboundStats();
+            queuedFrames += outbound.queuedFrames();
+            queuedBytes += outbound.queuedBytes();
+            droppedFrames += outbound.droppedFrames();
+        }
         return SessionStats.builder()
                 .totalSessions(sessions.size())
                 .authenticatedSessions(authenticatedSessions.size())
+                .outboundQueuedFrames(queuedFrames)
+                .outboundQueuedBytes(queuedBytes)
+                .outboundDroppedFrames(droppedFrames)
                 .build();
     }
 
@@ -9,10 +9,16 @@ package cn.lunadeer.mc.mcp.communication.session;
 public class SessionStats {
     private final int totalSessions;
     private final int authenticatedSessions;
+    private final int outboundQueuedFrames;
+    private final long outboundQueuedBytes;
+    private final long outboundDroppedFrames;
 
     private SessionStats(Builder builder) {
         this.totalSessions = builder.totalSessions;
         this.authenticatedSessions = builder.authenticatedSessions;
+        this.outboundQueuedFrames = builder.outboundQueuedFrames;
+        this.outboundQueuedBytes = builder.outboundQueuedBytes;
+        this.outboundDroppedFrames = builder.outboundDroppedFrames;
     }
 
     public int getTotalSessions() {
@@ -23,6 +29,18 @@ public class SessionStats {
         return authenticatedSessions;
     }
 
+    public int getOutboundQueuedFrames() {
+        return outboundQueuedFrames;
+    }
+
+    public long getOutboundQueuedBytes() {
+        return outboundQueuedBytes;
+    }
+
+    public long getOutboundDroppedFrames() {
+        return outboundDroppedFrames;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -30,6 +48,9 @@ public class SessionStats {
     public static class Builder {
         private int totalSessions;
         private int authenticatedSessions;
+        private int outboundQueuedFrames;
+        private long outboundQueuedBytes;
+        private long outboundDroppedFrames;
 
         public Builder totalSessions(int totalSessions) {
             this.totalSessions = totalSessions;
@@ -41,6 +62,21 @@ public class SessionStats {
             return this;
         }
 
+        public Builder outboundQueuedFrames(int outboundQueuedFrames) {
+            this.outboundQueuedFrames = outboundQueuedFrames;
+            return this;
+        }
+
+        public Builder outboundQueuedBytes(long outboundQueuedBytes) {
+            this.outboundQueuedBytes = outboundQueuedBytes;
+            return this;
+        }
+
+        public Builder outboundDroppedFrames(long outboundDroppedFrames) {
+            this.outboundDroppedFrames = outboundDroppedFrames;
+            return this;
+        }
+
         public SessionStats build() {
             return new SessionStats(this);
         }
@@ -1,5 +1,9 @@
 package cn.lunadeer.mc.mcp.communication.session;
 
+import cn.lunadeer.mc.mcp.communication.compression.CompressionStats;
+import cn.lunadeer.mc.mcp.communication.outbound.OutboundPriority;
+import cn.lunadeer.mc.mcp.communication.outbound.OutboundQueue;
+
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -10,12 +14,41 @@ import java.util.concurrent.CompletableFuture;
  */
 public interface WebSocketConnection {
     /**
-     * Sends a message to the client.
+     * Queues a message to the client.
      *
-     * @param message the message to send
+     * @param message  the message to send
+     * @param priority the priority deciding what gives way if the client falls behind
      * @return a CompletableFuture that completes when the message is sent
      */
-    CompletableFuture<Void> send(String message);
+    CompletableFuture<Void> send(String message, OutboundPriority priority);
+
+    /**
+     * Queues a binary message to the client.
+     *
+     * @param message  the message bytes to send
+     * @param priority the priority deciding what gives way if the client falls behind
+     * @return a CompletableFuture that completes when the message is sent
+     */
+    CompletableFuture<Void> send(byte[] message, OutboundPriority priority);
+
+    /**
+     * Sends a WebSocket ping frame to the client.
+     */
+    void sendPing();
+
+    /**
+     * Gets the outbound compression statistics of the connection.
+     *
+     * @return the statistics, not negotiated if the gateway did not accept compression
+     */
+    CompressionStats getCompressionStats();
+
+    /**
+     * Gets the state of the outbound queue of the connection.
+     *
+     * @return the outbound queue statistics
+     */
+    OutboundQueue.Stats getOutboundStats();
 
     /**
      * Closes the connection.
@@ -46,6 +46,11 @@ public class ExecutionContext {
      */
     private final Map<String, Object> metadata;
 
+    /**
+     * Fields selected by the caller, null if every field is wanted.
+     */
+    private final FieldSelection fieldSelection;
+
     /**
      * Whether execution was skipped.
      */
@@ -76,6 +81,9 @@ public class ExecutionContext {
         this.caller = caller;
         this.parameters = parameters != null ? parameters : new HashMap<>();
         this.metadata = new HashMap<>();
+        this.fieldSelection = capability != null && capability.getType() == CapabilityType.CONTEXT
+                ? FieldSelection.parse(this.parameters.get(FieldSelection.PARAMETER), capability.getHandlerMethod())
+                : null;
     }
 
     /**
@@ -150,6 +158,15 @@ public class ExecutionContext {
         return null;
     }
 
+    /**
+     * Gets the fields selected by the caller.
+     *
+     * @return the field selection, or null if every field is wanted
+     */
+    public FieldSelection getFieldSelection() {
+        return fieldSelection;
+    }
+
     /**
      * Gets the execution metadata.
      *
@@ -1,5 +1,7 @@
 package cn.lunadeer.mc.mcp.core.execution;
 
+import cn.lunadeer.mc.mcp.communication.codec.InstantTypeAdapter;
+import cn.lunadeer.mc.mcp.communication.codec.RawJson;
 import cn.lunadeer.mc.mcp.communication.message.McpRequest;
 import cn.lunadeer.mc.mcp.communication.message.McpResponse;
 import cn.lunadeer.mc.mcp.core.registry.CapabilityDescriptor;
@@ -7,11 +9,18 @@ import cn.lunadeer.mc.mcp.core.registry.CapabilityRegistry;
 import cn.lunadeer.mc.mcp.infrastructure.I18n;
 import cn.lunadeer.mc.mcp.infrastructure.XLogger;
 import cn.lunadeer.mc.mcp.infrastructure.configuration.ConfigurationPart;
+import cn.lunadeer.mc.mcp.sdk.annotations.Param;
 import cn.lunadeer.mc.mcp.sdk.exception.McpBusinessException;
 import cn.lunadeer.mc.mcp.sdk.exception.McpException;
+import cn.lunadeer.mc.mcp.sdk.exception.McpValidationException;
 import cn.lunadeer.mc.mcp.sdk.model.ErrorCode;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 
@@ -41,6 +50,10 @@ public class ExecutionEngine {
 
     public static ExecutionEngineText executionEngineText = new ExecutionEngineText();
 
+    private static final Gson BINDER = new GsonBuilder()
+            .registerTypeAdapter(Instant.class, new InstantTypeAdapter())
+            .create();
+
     private final CapabilityRegistry registry;
     private final List<ExecutionInterceptor> interceptors;
 
@@ -84,7 +97,7 @@ public class ExecutionEngine {
                 // Return the response from context (set by interceptors or default)
                 return context.getResponse() != null
                         ? context.getResponse()
-                        : buildSuccessResponse(request.getId(), context.getResult());
+                        : buildSuccessResponse(request.getId(), context.getResult(), context.getFieldSelection());
 
             } catch (McpException ex) {
                 // Try to find matching ErrorCode, fallback to OPERATION_FAILED
@@ -138,6 +151,7 @@ public class ExecutionEngine {
         CapabilityDescriptor capability = context.getCapability();
         Method method = capability.getHandlerMethod();
         Object providerInstance = capability.getProviderInstance();
+        FieldSelection previousSelection = FieldSelection.bind(context.getFieldSelection());
 
         try {
             // Prepare method arguments
@@ -164,6 +178,8 @@ public class ExecutionEngine {
                     I18n.executionEngineText.failedToExecuteCapability.replace("{0}", capability.getId()),
                     cause
             );
+        } finally {
+            FieldSelection.restore(previousSelection);
         }
     }
 
@@ -180,11 +196,12 @@ public class ExecutionEngine {
 
         for (int i = 0; i < methodParams.length; i++) {
             java.lang.reflect.Parameter param = methodParams[i];
-            String paramName = param.getName();
+            Param annotation = param.getAnnotation(Param.class);
+            String paramName = annotation != null && !annotation.name().isEmpty() ? annotation.name() : param.getName();
             Object paramValue = parameters.get(paramName);
 
             // Convert parameter value to the expected type
-            args[i] = convertParameter(paramValue, param.getType());
+            args[i] = convertParameter(paramValue, param.getType(), param.getParameterizedType());
         }
 
         return args;
@@ -192,12 +209,36 @@ public class ExecutionEngine {
 
     /**
      * Converts a parameter value to the expected type.
+     * <p>
+     * Raw JSON values from the wire are bound directly to the declared
+     * (possibly generic) parameter type; enums still go through the lenient
+     * name lookup below.
+     * </p>
      *
-     * @param value      the parameter value
-     * @param targetType the target type
+     * @param value       the parameter value
+     * @param targetType  the target type
+     * @param genericType the declared type including type arguments
      * @return the converted value
      */
-    private Object convertParameter(Object value, Class<?> targetType) {
+    private Object convertParameter(Object value, Class<?> targetType, Type genericType) {
+        if (value instanceof RawJson raw) {
+            if (raw.isNull()) {
+                return null;
+            }
+            if (!targetType.isEnum()) {
+                return raw.bind(BINDER, genericType);
+            }
+            value = raw.toJsonElement();
+        }
+        if (value instanceof JsonElement element) {
+            if (element.isJsonNull()) {
+                return null;
+            }
+            if (!targetType.isEnum()) {
+                return BINDER.fromJson(element, genericType);
+            }
+            value = element.getAsString();
+        }
         if (value == null) {
             return null;
         }
@@ -277,10 +318,13 @@ public class ExecutionEngine {
      *
      * @param requestId the request ID
      * @param result    the execution result
+     * @param fields    the fields selected by the caller, may be null
      * @return the success response
+     * @throws McpValidationException if the selection names a field the result does not have
      */
-    private McpResponse buildSuccessResponse(String requestId, Object result) {
-        return McpResponse.success(requestId, result).build();
+    private McpResponse buildSuccessResponse(String requestId, Object result, FieldSelection fields) {
+        // Projected before the response is encoded, so an unknown field fails the call
+        return McpResponse.success(requestId, fields != null ? fields.project(result) : result).build();
     }
 
     /**
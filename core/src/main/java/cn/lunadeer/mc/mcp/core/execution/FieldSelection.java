@@ -0,0 +1,388 @@
+package cn.lunadeer.mc.mcp.core.execution;
+
+import cn.lunadeer.mc.mcp.communication.codec.RawJson;
+import cn.lunadeer.mc.mcp.sdk.exception.McpValidationException;
+import cn.lunadeer.mc.mcp.sdk.model.ErrorCode;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.lang.reflect.*;
+import java.util.*;
+
+/**
+ * Sparse fieldset selected by the caller of a context capability.
+ * <p>
+ * The selection is a set of dot-separated paths such as {@code name} or
+ * {@code location.world}, given either as a comma-separated string or as a
+ * list. Paths are resolved against the capability result; a path that
+ * reaches a list or array applies to each of its elements. Capabilities
+ * marked with {@link SelectionItems} return a wrapper such as a paginated
+ * list: its plain fields are kept and the selection is applied to the items
+ * of its collection, so {@code fields=name,uuid} works directly on
+ * {@code player.list}. A name that is not a field of a record or object
+ * being projected is rejected rather than silently returning nothing.
+ * </p>
+ * <p>
+ * Records and plain objects are projected through an accessor plan built
+ * once per class, so only the selected fields are read and serialized.
+ * Providers can look at {@link #current()} while they run to skip computing
+ * fields nobody asked for.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public final class FieldSelection {
+
+    /**
+     * Name of the request parameter carrying the selection.
+     */
+    public static final String PARAMETER = "fields";
+
+    private static final ThreadLocal<FieldSelection> CURRENT = new ThreadLocal<>();
+
+    private static final ClassValue<Accessor[]> PLANS = new ClassValue<>() {
+        @Override
+        protected Accessor[] computeValue(Class<?> type) {
+            return buildPlan(type);
+        }
+    };
+
+    /**
+     * Child selections by field name; an empty child selects the whole value.
+     */
+    private final Map<String, FieldSelection> children = new LinkedHashMap<>();
+
+    /**
+     * Wrapper field holding the items, "" for every collection field, or
+     * null if the result is not a wrapper; only set on the root.
+     */
+    private String itemsField;
+
+    private FieldSelection() {
+    }
+
+    /**
+     * Parses a selection from a request parameter value.
+     *
+     * @param raw     a comma-separated string, a list or a JSON array of paths
+     * @param handler the capability handler, read for {@link SelectionItems}; may be null
+     * @return the selection, or null if no field was selected
+     */
+    public static FieldSelection parse(Object raw, Method handler) {
+        List<String> paths = new ArrayList<>();
+        collectPaths(raw, paths);
+        FieldSelection root = new FieldSelection();
+        for (String path : paths) {
+            FieldSelection node = root;
+            for (String segment : path.split("\\.")) {
+                if (segment.isBlank()) {
+                    continue;
+                }
+                node = node.children.computeIfAbsent(segment.trim(), k -> new FieldSelection());
+            }
+        }
+        if (root.children.isEmpty()) {
+            return null;
+        }
+        SelectionItems items = handler != null ? handler.getAnnotation(SelectionItems.class) : null;
+        root.itemsField = items != null ? items.value() : null;
+        return root;
+    }
+
+    private static void collectPaths(Object raw, List<String> paths) {
+        if (raw == null) {
+            return;
+        }
+        if (raw instanceof RawJson json) {
+            collectPaths(json.toJsonElement(), paths);
+        } else if (raw instanceof JsonArray array) {
+            array.forEach(element -> collectPaths(element, paths));
+        } else if (raw instanceof JsonElement element) {
+            if (element.isJsonPrimitive()) {
+                collectPaths(element.getAsString(), paths);
+            }
+        } else if (raw instanceof Collection<?> collection) {
+            collection.forEach(item -> collectPaths(item, paths));
+        } else {
+            for (String path : raw.toString().split(",")) {
+                String trimmed = path.trim();
+                if (!trimmed.isEmpty()) {
+                    paths.add(trimmed);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the selection of the capability running on the current thread.
+     *
+     * @return the selection, or null if every field is wanted
+     */
+    public static FieldSelection current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Checks whether a field may be part of the response of the capability
+     * running on the current thread.
+     *
+     * @param field the field name
+     * @return true if the field is selected or no selection is active
+     */
+    public static boolean wants(String field) {
+        FieldSelection selection = CURRENT.get();
+        return selection == null || selection.mentions(field);
+    }
+
+    /**
+     * Binds a selection to the current thread for the duration of a capability call.
+     *
+     * @param selection the selection, may be null
+     * @return the previously bound selection, to be restored with {@link #restore(FieldSelection)}
+     */
+    public static FieldSelection bind(FieldSelection selection) {
+        FieldSelection previous = CURRENT.get();
+        if (selection == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(selection);
+        }
+        return previous;
+    }
+
+    /**
+     * Restores the selection that was bound before {@link #bind(FieldSelection)}.
+     *
+     * @param previous the previous selection
+     */
+    public static void restore(FieldSelection previous) {
+        bind(previous);
+    }
+
+    /**
+     * Checks whether a field name occurs anywhere in the selection.
+     * <p>
+     * This errs on the side of inclusion so a provider never skips a field
+     * that a nested path still needs.
+     * </p>
+     *
+     * @param field the field name
+     * @return true if the field name is mentioned
+     */
+    public boolean mentions(String field) {
+        if (children.containsKey(field)) {
+            return true;
+        }
+        for (FieldSelection child : children.values()) {
+            if (child.mentions(field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the selected top-level field names.
+     *
+     * @return the field names
+     */
+    public Set<String> getFields() {
+        return Collections.unmodifiableSet(children.keySet());
+    }
+
+    /**
+     * Projects a value onto the selection.
+     * <p>
+     * Objects become ordered maps holding only the selected fields; lists and
+     * arrays are projected element by element; scalars are returned as-is.
+     * The result of a {@link SelectionItems} capability keeps its fields and
+     * has only its items projected.
+     * </p>
+     *
+     * @param value the value to project
+     * @return the projected value
+     * @throws McpValidationException if a selected name is not a field of a projected record or object
+     */
+    public Object project(Object value) {
+        if (itemsField != null && value != null && !isScalar(value.getClass())
+                && !(value instanceof Iterable<?>) && !value.getClass().isArray()) {
+            return projectWrapper(value);
+        }
+        return projectValue(value);
+    }
+
+    private Object projectValue(Object value) {
+        if (value == null || isScalar(value.getClass())) {
+            return value;
+        }
+        if (value instanceof Iterable<?> iterable) {
+            List<Object> projected = new ArrayList<>();
+            for (Object item : iterable) {
+                projected.add(projectValue(item));
+            }
+            return projected;
+        }
+        if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            List<Object> projected = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                projected.add(projectValue(Array.get(value, i)));
+            }
+            return projected;
+        }
+        if (value instanceof JsonElement element) {
+            return projectJson(element);
+        }
+        if (value instanceof Map<?, ?> map) {
+            return projectMap(map);
+        }
+        return projectObject(value);
+    }
+
+    /**
+     * Projects the items of a wrapper result and keeps its other fields.
+     */
+    private Object projectWrapper(Object value) {
+        if (value instanceof JsonElement element) {
+            if (!element.isJsonObject()) {
+                return projectJson(element);
+            }
+            JsonObject wrapped = new JsonObject();
+            for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+                JsonElement member = entry.getValue();
+                wrapped.add(entry.getKey(), isItems(entry.getKey(), member) ? projectJson(member) : member);
+            }
+            return wrapped;
+        }
+        Map<String, Object> projected = new LinkedHashMap<>();
+        if (value instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                String name = String.valueOf(entry.getKey());
+                projected.put(name, isItems(name, entry.getValue()) ? projectValue(entry.getValue()) : entry.getValue());
+            }
+            return projected;
+        }
+        for (Accessor accessor : PLANS.get(value.getClass())) {
+            Object field = accessor.get(value);
+            projected.put(accessor.name, isItems(accessor.name, field) ? projectValue(field) : field);
+        }
+        return projected;
+    }
+
+    private boolean isItems(String name, Object value) {
+        if (!itemsField.isEmpty()) {
+            return itemsField.equals(name);
+        }
+        return value instanceof Iterable<?>
+                || (value instanceof JsonElement element && element.isJsonArray())
+                || (value != null && value.getClass().isArray() && !isScalar(value.getClass()));
+    }
+
+    private Object projectMap(Map<?, ?> map) {
+        Map<String, Object> projected = new LinkedHashMap<>();
+        for (Map.Entry<String, FieldSelection> entry : children.entrySet()) {
+            if (map.containsKey(entry.getKey())) {
+                projected.put(entry.getKey(), entry.getValue().projectChild(map.get(entry.getKey())));
+            }
+        }
+        return projected;
+    }
+
+    private Object projectObject(Object value) {
+        Accessor[] plan = PLANS.get(value.getClass());
+        for (String field : children.keySet()) {
+            if (Arrays.stream(plan).noneMatch(accessor -> accessor.name.equals(field))) {
+                throw new McpValidationException(
+                        ErrorCode.PARAMETER_INVALID.getErrorCode(),
+                        "Unknown field in " + PARAMETER + ": " + field
+                );
+            }
+        }
+        Map<String, Object> projected = new LinkedHashMap<>();
+        for (Accessor accessor : plan) {
+            FieldSelection child = children.get(accessor.name);
+            if (child != null) {
+                projected.put(accessor.name, child.projectChild(accessor.get(value)));
+            }
+        }
+        return projected;
+    }
+
+    private JsonElement projectJson(JsonElement element) {
+        if (element.isJsonArray()) {
+            JsonArray projected = new JsonArray();
+            element.getAsJsonArray().forEach(item -> projected.add(projectJson(item)));
+            return projected;
+        }
+        if (!element.isJsonObject()) {
+            return element;
+        }
+        JsonObject object = element.getAsJsonObject();
+        JsonObject projected = new JsonObject();
+        for (Map.Entry<String, FieldSelection> entry : children.entrySet()) {
+            JsonElement member = object.get(entry.getKey());
+            if (member != null) {
+                FieldSelection child = entry.getValue();
+                projected.add(entry.getKey(), child.children.isEmpty() ? member : child.projectJson(member));
+            }
+        }
+        return projected;
+    }
+
+    private Object projectChild(Object value) {
+        return children.isEmpty() ? value : projectValue(value);
+    }
+
+    private static boolean isScalar(Class<?> type) {
+        return type.isPrimitive()
+                || type.isEnum()
+                || CharSequence.class.isAssignableFrom(type)
+                || Number.class.isAssignableFrom(type)
+                || type == Boolean.class
+                || type == Character.class
+                || type == UUID.class
+                || type.getName().startsWith("java.time.")
+                || (type.isArray() && type.getComponentType().isPrimitive());
+    }
+
+    /**
+     * Builds the accessor plan of a class: record components in declaration
+     * order, or the non-static, non-transient fields of a plain object.
+     */
+    private static Accessor[] buildPlan(Class<?> type) {
+        List<Accessor> accessors = new ArrayList<>();
+        if (type.isRecord()) {
+            for (RecordComponent component : type.getRecordComponents()) {
+                Method method = component.getAccessor();
+                if (method.trySetAccessible()) {
+                    accessors.add(new Accessor(component.getName(), method, null));
+                }
+            }
+        } else {
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                        continue;
+                    }
+                    if (field.trySetAccessible()) {
+                        accessors.add(new Accessor(field.getName(), null, field));
+                    }
+                }
+            }
+        }
+        return accessors.toArray(new Accessor[0]);
+    }
+
+    private record Accessor(String name, Method method, Field field) {
+        Object get(Object target) {
+            try {
+                return method != null ? method.invoke(target) : field.get(target);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot read field '" + name + "' of " + target.getClass().getName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package cn.lunadeer.mc.mcp.core.execution;
+
+/**
+ * Progress channel of the capability call running on the current thread.
+ * <p>
+ * A transport that can stream a response, such as the HTTP transport when
+ * the client accepts {@code text/event-stream}, binds a reporter around the
+ * call; providers look it up with {@link #current()} before handing work to
+ * other threads and report through it from wherever the work runs. Without
+ * a streaming caller there is no reporter and reporting costs nothing.
+ * </p>
+ * <p>
+ * Progress must increase between reports; reports that do not, and
+ * intermediate reports closer together than {@link #MIN_INTERVAL_NANOS},
+ * are dropped so a tight loop cannot flood the client. The report that
+ * reaches the total is always sent. Reports reach the sink one at a time in
+ * increasing order, so a sink should only queue them and never block.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public final class ProgressReporter {
+
+    /**
+     * Receives the reports of a capability call; may be called from any thread.
+     */
+    public interface Sink {
+
+        /**
+         * Receives a progress report.
+         *
+         * @param progress the work done so far
+         * @param total    the total work, or null if unknown
+         * @param message  a human-readable status, may be null
+         */
+        void progress(double progress, Double total, String message);
+
+        /**
+         * Receives a partial result ahead of the final one.
+         *
+         * @param content the partial result
+         */
+        void partial(Object content);
+    }
+
+    /**
+     * Shortest time between two intermediate progress reports.
+     */
+    public static final long MIN_INTERVAL_NANOS = 100_000_000L;
+
+    private static final ThreadLocal<ProgressReporter> CURRENT = new ThreadLocal<>();
+
+    private final Sink sink;
+    private double lastProgress = Double.NEGATIVE_INFINITY;
+    private long lastReportNanos;
+
+    public ProgressReporter(Sink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Gets the reporter of the capability running on the current thread.
+     *
+     * @return the reporter, or null if the caller does not take progress
+     */
+    public static ProgressReporter current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds a reporter to the current thread for the duration of a capability call.
+     *
+     * @param reporter the reporter, may be null
+     * @return the previously bound reporter, to be restored with {@link #restore(ProgressReporter)}
+     */
+    public static ProgressReporter bind(ProgressReporter reporter) {
+        ProgressReporter previous = CURRENT.get();
+        if (reporter == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(reporter);
+        }
+        return previous;
+    }
+
+    /**
+     * Restores the reporter that was bound before {@link #bind(ProgressReporter)}.
+     *
+     * @param previous the previous reporter
+     */
+    public static void restore(ProgressReporter previous) {
+        bind(previous);
+    }
+
+    /**
+     * Reports progress.
+     *
+     * @param progress the work done so far
+     * @param total    the total work, or null if unknown
+     * @param message  a human-readable status, may be null
+     */
+    public void progress(double progress, Double total, String message) {
+        boolean last = total != null && progress >= total;
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (progress <= lastProgress || (!last && now - lastReportNanos < MIN_INTERVAL_NANOS)) {
+                return;
+            }
+            lastProgress = progress;
+            lastReportNanos = now;
+            // Handed over under the lock so concurrent reports reach the sink in increasing order
+            sink.progress(progress, total, message);
+        }
+    }
+
+    /**
+     * Sends a partial result ahead of the final one.
+     *
+     * @param content the partial result
+     */
+    public void partial(Object content) {
+        if (content != null) {
+            sink.partial(content);
+        }
+    }
+}
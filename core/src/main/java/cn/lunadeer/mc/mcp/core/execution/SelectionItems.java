@@ -0,0 +1,32 @@
+package cn.lunadeer.mc.mcp.core.execution;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a context capability whose result wraps a collection, such as a
+ * paginated list, so a {@link FieldSelection} applies to the items of the
+ * collection while the other fields of the wrapper are returned as-is.
+ * <p>
+ * {@code @SelectionItems} on a method returning a page of players lets a
+ * caller ask for {@code fields=name,uuid} instead of spelling out the
+ * wrapper field.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface SelectionItems {
+
+    /**
+     * Name of the result field holding the items; empty selects every
+     * collection field of the result.
+     *
+     * @return the field name
+     */
+    String value() default "";
+}
@@ -1,5 +1,6 @@
 package cn.lunadeer.mc.mcp.core.registry;
 
+import cn.lunadeer.mc.mcp.core.execution.FieldSelection;
 import cn.lunadeer.mc.mcp.infrastructure.I18n;
 import cn.lunadeer.mc.mcp.infrastructure.XLogger;
 import cn.lunadeer.mc.mcp.infrastructure.configuration.ConfigurationPart;
@@ -17,6 +18,8 @@ import org.bukkit.plugin.Plugin;
 import java.lang.reflect.Method;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -25,6 +28,13 @@ import java.util.stream.Collectors;
  * Manages registration, lookup, and lifecycle of MCP capabilities and providers.
  * Uses concurrent data structures for thread-safe operations.
  * </p>
+ * <p>
+ * Every registration and unregistration of a provider advances a version
+ * number, so views derived from the registry, such as the tool list, can
+ * be cached until the version moves on. {@link ChangeListener}s are told
+ * about each new version, so connected clients can be notified instead of
+ * polling.
+ * </p>
  *
  * @author ZhangYuheng
  * @since 1.0.0
@@ -48,6 +58,21 @@ public class CapabilityRegistry implements McpProviderRegistry {
 
     public static CapabilityRegistryText capabilityRegistryText = new CapabilityRegistryText();
 
+    /**
+     * Receives registry changes.
+     */
+    @FunctionalInterface
+    public interface ChangeListener {
+
+        /**
+         * Called after a provider was registered or unregistered, on the
+         * thread that made the change.
+         *
+         * @param version the new registry version
+         */
+        void onCapabilitiesChanged(long version);
+    }
+
     /**
      * Capability index: capabilityId -> CapabilityDescriptor.
      */
@@ -63,6 +88,13 @@ public class CapabilityRegistry implements McpProviderRegistry {
      */
     private final Map<Object, String> providerInstanceToId = new ConcurrentHashMap<>();
 
+    /**
+     * Version of the registered capabilities, advanced on every change.
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    private final List<ChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
     /**
      * Constructs a new CapabilityRegistry.
      */
@@ -121,6 +153,7 @@ public class CapabilityRegistry implements McpProviderRegistry {
         for (CapabilityDescriptor capability : capabilities) {
             capabilityIndex.put(capability.getId(), capability);
         }
+        fireChanged(version.incrementAndGet());
 
         XLogger.info(I18n.capabilityRegistryText.registeredProvider, providerId, capabilities.size());
     }
@@ -205,6 +238,47 @@ public class CapabilityRegistry implements McpProviderRegistry {
         return providerIndex.keySet();
     }
 
+    /**
+     * Gets the version of the registered capabilities.
+     * <p>
+     * The version only grows; two equal reads mean no provider was
+     * registered or unregistered in between.
+     * </p>
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Adds a listener told about every registry change.
+     *
+     * @param listener the listener
+     */
+    public void addChangeListener(ChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Removes a change listener.
+     *
+     * @param listener the listener
+     */
+    public void removeChangeListener(ChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    private void fireChanged(long newVersion) {
+        for (ChangeListener listener : changeListeners) {
+            try {
+                listener.onCapabilitiesChanged(newVersion);
+            } catch (Exception e) {
+                XLogger.error(e);
+            }
+        }
+    }
+
     /**
      * Gets a provider descriptor by ID.
      *
@@ -321,6 +395,9 @@ public class CapabilityRegistry implements McpProviderRegistry {
         // Generate schemas
         java.util.Map<String, Object> inputSchema = SchemaGenerator.generateInputSchema(method);
         java.util.Map<String, Object> outputSchema = SchemaGenerator.generateOutputSchema(method);
+        if (type == CapabilityType.CONTEXT) {
+            inputSchema = withFieldSelection(inputSchema);
+        }
 
         // Create manifest
         CapabilityManifest manifest = new CapabilityManifest();
@@ -361,6 +438,31 @@ public class CapabilityRegistry implements McpProviderRegistry {
                 tags);
     }
 
+    /**
+     * Adds the sparse fieldset parameter shared by all context capabilities to an input schema.
+     *
+     * @param inputSchema the generated input schema
+     * @return the input schema with a {@code fields} property, unless the capability declares its own
+     */
+    @SuppressWarnings("unchecked")
+    private java.util.Map<String, Object> withFieldSelection(java.util.Map<String, Object> inputSchema) {
+        java.util.Map<String, Object> schema = inputSchema != null ? new LinkedHashMap<>(inputSchema) : new LinkedHashMap<>();
+        schema.putIfAbsent("type", "object");
+        java.util.Map<String, Object> properties = schema.get("properties") instanceof java.util.Map<?, ?> existing
+                ? new LinkedHashMap<>((java.util.Map<String, Object>) existing)
+                : new LinkedHashMap<>();
+        if (properties.containsKey(FieldSelection.PARAMETER)) {
+            return inputSchema;
+        }
+        java.util.Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("type", "string");
+        fields.put("description", "Comma-separated fields to return (e.g. 'name,uuid' or 'location.world'); " +
+                "on list results the fields apply to each item, and unknown fields are rejected. Omit to return every field");
+        properties.put(FieldSelection.PARAMETER, fields);
+        schema.put("properties", properties);
+        return schema;
+    }
+
     /**
      * Unregisters a provider by its ID.
      *
@@ -379,6 +481,7 @@ public class CapabilityRegistry implements McpProviderRegistry {
 
         // Remove provider instance mapping
         providerInstanceToId.remove(provider.getInstance());
+        fireChanged(version.incrementAndGet());
 
         XLogger.info(I18n.capabilityRegistryText.unregisteredProvider, providerId);
     }
@@ -1,5 +1,6 @@
 package cn.lunadeer.mc.mcp.http_sse;
 
+import cn.lunadeer.mc.mcp.api.event.EventBatch;
 import cn.lunadeer.mc.mcp.core.registry.CapabilityRegistry;
 import cn.lunadeer.mc.mcp.http_sse.lifecycle.SessionManager;
 import cn.lunadeer.mc.mcp.http_sse.transport.HttpSseTransport;
@@ -139,6 +140,19 @@ public class HttpServer {
         });
     }
     
+    /**
+     * Pushes a batch of forwarded events to all SSE clients.
+     *
+     * @param batch the events
+     * @see HttpSseTransport#broadcastEvents(EventBatch)
+     */
+    public void broadcastEvents(EventBatch batch) {
+        HttpSseTransport current = transport;
+        if (running && current != null) {
+            current.broadcastEvents(batch);
+        }
+    }
+    
     /**
      * Checks if the server is running.
      *
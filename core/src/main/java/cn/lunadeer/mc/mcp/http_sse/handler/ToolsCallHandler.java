@@ -1,5 +1,6 @@
 package cn.lunadeer.mc.mcp.http_sse.handler;
 
+import cn.lunadeer.mc.mcp.core.execution.FieldSelection;
 import cn.lunadeer.mc.mcp.core.registry.CapabilityDescriptor;
 import cn.lunadeer.mc.mcp.core.registry.CapabilityRegistry;
 import cn.lunadeer.mc.mcp.http_sse.message.JsonRpcRequest;
@@ -9,6 +10,7 @@ import cn.lunadeer.mc.mcp.http_sse.tool.McpToolResult;
 import cn.lunadeer.mc.mcp.http_sse.tool.ToolDecorator;
 import cn.lunadeer.mc.mcp.infrastructure.XLogger;
 import cn.lunadeer.mc.mcp.sdk.annotations.Param;
+import cn.lunadeer.mc.mcp.sdk.model.CapabilityType;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
@@ -91,11 +93,22 @@ public class ToolsCallHandler {
             McpToolRequest toolRequest = new McpToolRequest(toolName, arguments);
             Map<String, Object> capabilityParams = ToolDecorator.convertToolCallToCapability(toolRequest, descriptor);
 
+            // Context capabilities accept a sparse fieldset
+            FieldSelection fields = descriptor.getType() == CapabilityType.CONTEXT
+                    ? FieldSelection.parse(capabilityParams.get(FieldSelection.PARAMETER), descriptor.getHandlerMethod())
+                    : null;
+
             // Invoke the capability
-            Object result = invokeCapability(descriptor, capabilityParams, sessionId);
+            Object result;
+            FieldSelection previousFields = FieldSelection.bind(fields);
+            try {
+                result = invokeCapability(descriptor, capabilityParams, sessionId);
+            } finally {
+                FieldSelection.restore(previousFields);
+            }
 
             // Convert capability result to tool result
-            McpToolResult toolResult = ToolDecorator.convertCapabilityToToolResult(result, descriptor);
+            McpToolResult toolResult = ToolDecorator.convertCapabilityToToolResult(result, descriptor, fields);
 
             XLogger.debug("ToolsCallHandler: Tool invocation successful for: " + toolName);
 
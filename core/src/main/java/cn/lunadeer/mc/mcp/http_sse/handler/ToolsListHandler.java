@@ -5,6 +5,7 @@ import cn.lunadeer.mc.mcp.core.registry.CapabilityRegistry;
 import cn.lunadeer.mc.mcp.core.registry.ProviderDescriptor;
 import cn.lunadeer.mc.mcp.http_sse.message.JsonRpcRequest;
 import cn.lunadeer.mc.mcp.http_sse.message.JsonRpcResponse;
+import cn.lunadeer.mc.mcp.http_sse.message.PreSerializedResponse;
 import cn.lunadeer.mc.mcp.http_sse.tool.McpTool;
 import cn.lunadeer.mc.mcp.http_sse.tool.ToolDecorator;
 import cn.lunadeer.mc.mcp.infrastructure.XLogger;
@@ -13,6 +14,7 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -21,6 +23,15 @@ import java.util.List;
  * <p>
  * Returns a list of available tools with pagination support.
  * </p>
+ * <p>
+ * The decorated tool list is built once per {@link CapabilityRegistry}
+ * version and split into pages of {@value #PAGE_SIZE} tools, each
+ * serialized once; requests only wrap the bytes of their page. A page
+ * carries the registry version in {@code _meta} and an entity tag, so HTTP
+ * clients can revalidate with {@code If-None-Match} instead of downloading
+ * the list again. Registering or unregistering a provider advances the
+ * version and the next request rebuilds the list.
+ * </p>
  *
  * @author ZhangYuheng
  * @since 1.0.0
@@ -30,6 +41,15 @@ public class ToolsListHandler {
     private static final int PAGE_SIZE = 50;
 
     private final CapabilityRegistry capabilityRegistry;
+    // Distinguishes entity tags of this run from those of a previous server start
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private volatile ToolListSnapshot snapshot;
+
+    /**
+     * The serialized pages of the tool list at one registry version.
+     */
+    private record ToolListSnapshot(long version, List<byte[]> pages, int toolCount) {
+    }
 
     public ToolsListHandler(CapabilityRegistry capabilityRegistry) {
         this.capabilityRegistry = capabilityRegistry;
@@ -53,18 +73,21 @@ public class ToolsListHandler {
 
             XLogger.debug("ToolsListHandler: Handling tools/list request, session: " + sessionId + ", cursor: " + cursor);
 
-            // Get all capabilities (or filter by cursor)
-            List<CapabilityDescriptor> descriptors = getDescriptorsForList(cursor);
-
-            // Convert to MCP tools
-            List<McpTool> tools = ToolDecorator.decorateAll(descriptors);
-
-            // Build response
-            JsonObject result = buildResponse(tools, cursor, descriptors.size());
+            ToolListSnapshot current = getSnapshot();
+            int page = parseCursor(cursor);
+            if (page < 0 || page >= current.pages().size()) {
+                return JsonRpcResponse.createError(
+                        request.getId(),
+                        -32602,
+                        "Invalid params: unknown cursor: " + cursor,
+                        null
+                );
+            }
 
-            XLogger.debug("ToolsListHandler: Returning " + tools.size() + " tools for session: " + sessionId);
+            XLogger.debug("ToolsListHandler: Returning page " + page + " of " + current.toolCount()
+                    + " tools (version " + current.version() + ") for session: " + sessionId);
 
-            return JsonRpcResponse.createSuccess(request.getId(), result);
+            return new PreSerializedResponse(request.getId(), current.pages().get(page), etag(current.version(), page));
 
         } catch (Exception e) {
             XLogger.error("Error handling tools/list: " + e.getMessage(), e);
@@ -84,7 +107,7 @@ public class ToolsListHandler {
         JsonElement params = request.getParams();
         if (params != null && params.isJsonObject()) {
             JsonObject paramsObj = params.getAsJsonObject();
-            if (paramsObj.has("cursor")) {
+            if (paramsObj.has("cursor") && !paramsObj.get("cursor").isJsonNull()) {
                 return paramsObj.get("cursor").getAsString();
             }
         }
@@ -92,37 +115,85 @@ public class ToolsListHandler {
     }
 
     /**
-     * Builds the response object with tools and pagination info.
+     * Gets the page a cursor points at; the cursor is the index of the first
+     * tool of the page.
+     *
+     * @return the page index, or -1 if the cursor is invalid
      */
-    private JsonObject buildResponse(List<McpTool> tools, String cursor, int descriptorCount) {
-        JsonObject result = new JsonObject();
-        JsonArray toolsArray = new JsonArray();
-        for (McpTool tool : tools) {
-            toolsArray.add(tool.toJsonObject());
+    private int parseCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
         }
-        result.add("tools", toolsArray);
+        try {
+            int startIndex = Integer.parseInt(cursor);
+            return startIndex >= 0 && startIndex % PAGE_SIZE == 0 ? startIndex / PAGE_SIZE : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String etag(long version, int page) {
+        return "\"tools-" + epoch + "-" + version + "-" + page + "\"";
+    }
 
-        // Add nextCursor if pagination is supported
-        String nextCursor = getNextCursor(cursor, descriptorCount);
-        if (nextCursor != null) {
-            result.addProperty("nextCursor", nextCursor);
+    /**
+     * Gets the tool list of the current registry version, building it if the
+     * registry changed since it was last built.
+     */
+    private ToolListSnapshot getSnapshot() {
+        long version = capabilityRegistry.getVersion();
+        ToolListSnapshot current = snapshot;
+        if (current != null && current.version() == version) {
+            return current;
         }
+        synchronized (this) {
+            current = snapshot;
+            if (current != null && current.version() == version) {
+                return current;
+            }
+            // A change while building advances the version again, so the next request rebuilds
+            current = buildSnapshot(version);
+            snapshot = current;
+            return current;
+        }
+    }
 
-        return result;
+    private ToolListSnapshot buildSnapshot(long version) {
+        List<McpTool> tools = ToolDecorator.decorateAll(getDescriptorsForList());
+        List<byte[]> pages = new ArrayList<>();
+        for (int start = 0; start == 0 || start < tools.size(); start += PAGE_SIZE) {
+            int end = Math.min(start + PAGE_SIZE, tools.size());
+            JsonObject result = new JsonObject();
+            JsonArray toolsArray = new JsonArray();
+            for (McpTool tool : tools.subList(start, end)) {
+                toolsArray.add(tool.toJsonObject());
+            }
+            result.add("tools", toolsArray);
+
+            // Add nextCursor if there are more tools
+            if (end < tools.size()) {
+                result.addProperty("nextCursor", String.valueOf(end));
+            }
+
+            JsonObject meta = new JsonObject();
+            meta.addProperty("version", version);
+            result.add("_meta", meta);
+            pages.add(result.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        XLogger.debug("ToolsListHandler: Built tool list version " + version + " with " + tools.size()
+                + " tools in " + pages.size() + " pages");
+        return new ToolListSnapshot(version, List.copyOf(pages), tools.size());
     }
 
     /**
-     * Gets capability descriptors for listing.
-     * <p>
-     * This method can be extended to support pagination.
-     * </p>
+     * Gets the capability descriptors listed as tools, ordered by provider ID
+     * so pages are stable within a version.
      */
-    private List<CapabilityDescriptor> getDescriptorsForList(String cursor) {
-        // Get all capabilities
+    private List<CapabilityDescriptor> getDescriptorsForList() {
         List<CapabilityDescriptor> allDescriptors = new ArrayList<>();
 
         // Get all providers and their capabilities
-        capabilityRegistry.getProviderIds().forEach(providerId -> {
+        capabilityRegistry.getProviderIds().stream().sorted().forEach(providerId -> {
             ProviderDescriptor provider = capabilityRegistry.getProviderDescriptor(providerId);
             if (provider != null) {
                 provider.getCapabilities().forEach(capability -> {
@@ -134,43 +205,6 @@ public class ToolsListHandler {
             }
         });
 
-        // Apply cursor-based pagination if needed
-        if (cursor != null && !cursor.isEmpty()) {
-            // Simple implementation: cursor is the index
-            try {
-                int startIndex = Integer.parseInt(cursor);
-                if (startIndex < allDescriptors.size()) {
-                    return allDescriptors.subList(startIndex, Math.min(startIndex + PAGE_SIZE, allDescriptors.size()));
-                }
-                return new ArrayList<>();
-            } catch (NumberFormatException e) {
-                // Invalid cursor, return all
-                return allDescriptors;
-            }
-        }
-
         return allDescriptors;
     }
-
-    /**
-     * Gets the next cursor for pagination.
-     */
-    private String getNextCursor(String currentCursor, int returnedCount) {
-        if (returnedCount < PAGE_SIZE) {
-            // No more items
-            return null;
-        }
-
-        int currentIndex = 0;
-        if (currentCursor != null && !currentCursor.isEmpty()) {
-            try {
-                currentIndex = Integer.parseInt(currentCursor);
-            } catch (NumberFormatException e) {
-                currentIndex = 0;
-            }
-        }
-
-        int nextIndex = currentIndex + returnedCount;
-        return String.valueOf(nextIndex);
-    }
 }
@@ -2,7 +2,16 @@ package cn.lunadeer.mc.mcp.http_sse.message;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Base class for JSON-RPC 2.0 messages used in MCP protocol.
@@ -82,20 +91,37 @@ public abstract class JsonRpcMessage {
     public abstract boolean isError();
     
     public String toJson() {
+        return gson.toJson(toJsonObject());
+    }
+    
+    /**
+     * Serializes the message straight into a writer, without building the
+     * JSON string first.
+     *
+     * @param writer the writer
+     */
+    public void writeJson(Appendable writer) {
+        gson.toJson(toJsonObject(), writer);
+    }
+    
+    /**
+     * Serializes the message as UTF-8 straight into a stream.
+     *
+     * @param out the stream
+     * @throws IOException if the stream cannot be written
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        writeJson(writer);
+        writer.flush();
+    }
+    
+    private JsonObject toJsonObject() {
         JsonObject json = new JsonObject();
         json.addProperty("jsonrpc", jsonrpc);
         
         if (id != null) {
-            // Handle different types for id (number, string, etc.)
-            if (id instanceof Number) {
-                json.addProperty("id", (Number) id);
-            } else if (id instanceof Boolean) {
-                json.addProperty("id", (Boolean) id);
-            } else if (id instanceof Character) {
-                json.addProperty("id", (Character) id);
-            } else {
-                json.addProperty("id", id.toString());
-            }
+            json.add("id", idJson());
         }
         
         if (method != null) {
@@ -114,11 +140,47 @@ public abstract class JsonRpcMessage {
             json.add("error", error);
         }
         
-        return gson.toJson(json);
+        return json;
+    }
+    
+    /**
+     * Gets the ID as a JSON value, keeping numbers and booleans as such.
+     *
+     * @return the ID, or JSON null if the message has none
+     */
+    protected JsonElement idJson() {
+        // Handle different types for id (number, string, etc.)
+        if (id == null) {
+            return JsonNull.INSTANCE;
+        } else if (id instanceof Number) {
+            return new JsonPrimitive((Number) id);
+        } else if (id instanceof Boolean) {
+            return new JsonPrimitive((Boolean) id);
+        } else if (id instanceof Character) {
+            return new JsonPrimitive((Character) id);
+        }
+        return new JsonPrimitive(id.toString());
     }
     
     public static JsonRpcMessage fromJson(String json) {
-        JsonObject jsonObject = gson.fromJson(json, JsonObject.class);
+        return fromJsonObject(gson.fromJson(json, JsonObject.class));
+    }
+    
+    /**
+     * Parses a message while reading it, without buffering the text first.
+     *
+     * @param reader the reader
+     * @return the message, or null if the input is empty
+     */
+    public static JsonRpcMessage fromJson(Reader reader) {
+        JsonObject jsonObject = gson.fromJson(reader, JsonObject.class);
+        return jsonObject != null ? fromJsonObject(jsonObject) : null;
+    }
+    
+    private static JsonRpcMessage fromJsonObject(JsonObject jsonObject) {
+        if (jsonObject == null) {
+            throw new IllegalArgumentException("Invalid JSON-RPC message: empty");
+        }
         
         if (jsonObject.has("method")) {
             // It's a request or notification
@@ -183,6 +245,6 @@ public abstract class JsonRpcMessage {
             return new JsonRpcResponse(id, error);
         }
         
-        throw new IllegalArgumentException("Invalid JSON-RPC message: " + json);
+        throw new IllegalArgumentException("Invalid JSON-RPC message: " + jsonObject);
     }
 }
@@ -0,0 +1,79 @@
+package cn.lunadeer.mc.mcp.http_sse.message;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JSON-RPC 2.0 success response whose result is already serialized.
+ * <p>
+ * Used for results that are shared between requests, such as the pages of
+ * {@code tools/list}: the result bytes are written as they are, only the
+ * envelope with the request ID is built per response. An optional entity
+ * tag identifies the result for HTTP revalidation.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public class PreSerializedResponse extends JsonRpcResponse {
+    
+    private final byte[] resultJson;
+    private final String etag;
+    
+    /**
+     * Creates a response around a serialized result.
+     *
+     * @param id         the request ID
+     * @param resultJson the UTF-8 JSON of the result; not copied, must not be modified
+     * @param etag       the entity tag of the result, may be null
+     */
+    public PreSerializedResponse(Object id, byte[] resultJson, String etag) {
+        super(id, (JsonElement) null);
+        this.resultJson = resultJson;
+        this.etag = etag;
+    }
+    
+    /**
+     * Gets the entity tag of the result.
+     *
+     * @return the quoted entity tag, or null
+     */
+    public String getETag() {
+        return etag;
+    }
+    
+    @Override
+    public JsonElement getResult() {
+        return JsonParser.parseString(new String(resultJson, StandardCharsets.UTF_8));
+    }
+    
+    private String prefix() {
+        return "{\"jsonrpc\":\"" + JSONRPC_VERSION + "\",\"id\":" + gson.toJson(idJson()) + ",\"result\":";
+    }
+    
+    @Override
+    public String toJson() {
+        return prefix() + new String(resultJson, StandardCharsets.UTF_8) + "}";
+    }
+    
+    @Override
+    public void writeJson(Appendable writer) {
+        try {
+            writer.append(toJson());
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+    
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(prefix().getBytes(StandardCharsets.UTF_8));
+        out.write(resultJson);
+        out.write('}');
+    }
+}
@@ -1,12 +1,17 @@
 package cn.lunadeer.mc.mcp.http_sse.tool;
 
+import cn.lunadeer.mc.mcp.communication.codec.InstantTypeAdapter;
+import cn.lunadeer.mc.mcp.core.execution.FieldSelection;
 import cn.lunadeer.mc.mcp.core.registry.CapabilityDescriptor;
 import cn.lunadeer.mc.mcp.infrastructure.XLogger;
 import cn.lunadeer.mc.mcp.sdk.model.CapabilityManifest;
 import cn.lunadeer.mc.mcp.sdk.model.CapabilityType;
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -26,7 +31,9 @@ import java.util.Map;
  */
 public class ToolDecorator {
     
-    private static final Gson gson = new Gson();
+    private static final Gson gson = new GsonBuilder()
+            .registerTypeAdapter(Instant.class, new InstantTypeAdapter())
+            .create();
     
     /**
      * Converts a CapabilityDescriptor to an McpTool.
@@ -203,22 +210,41 @@ public class ToolDecorator {
             Object capabilityResult,
             CapabilityDescriptor descriptor
     ) {
-        // Convert capability result to appropriate format
+        return convertCapabilityToToolResult(capabilityResult, descriptor, null);
+    }
+    
+    /**
+     * Converts a capability result to a tool result, keeping only the selected fields.
+     * <p>
+     * Results other than strings are returned as structured content, with
+     * lists wrapped as {@code {"items": [...]}}, so a tool's output has the
+     * same shape whether or not fields are selected.
+     * </p>
+     */
+    public static McpToolResult convertCapabilityToToolResult(
+            Object capabilityResult,
+            CapabilityDescriptor descriptor,
+            FieldSelection fields
+    ) {
+        if (capabilityResult == null) {
+            return McpToolResult.success("Success");
+        }
         if (capabilityResult instanceof String) {
             return McpToolResult.success((String) capabilityResult);
-        } else if (capabilityResult instanceof Map) {
-            // Handle structured results
-            JsonObject structuredContent = gson.toJsonTree(capabilityResult).getAsJsonObject();
-            String text = gson.toJson(capabilityResult);
-            return McpToolResult.successWithStructured(text, structuredContent);
-        } else if (capabilityResult instanceof JsonObject) {
-            JsonObject jsonObject = (JsonObject) capabilityResult;
-            String text = gson.toJson(jsonObject);
-            return McpToolResult.successWithStructured(text, jsonObject);
-        } else {
-            // Default: convert to string
-            String text = capabilityResult != null ? capabilityResult.toString() : "Success";
-            return McpToolResult.success(text);
         }
+        if (fields != null) {
+            capabilityResult = fields.project(capabilityResult);
+        }
+        JsonElement json = capabilityResult instanceof JsonElement element ? element : gson.toJsonTree(capabilityResult);
+        if (json.isJsonArray()) {
+            JsonObject wrapper = new JsonObject();
+            wrapper.add("items", json);
+            json = wrapper;
+        }
+        if (json.isJsonObject()) {
+            return McpToolResult.successWithStructured(gson.toJson(json), json.getAsJsonObject());
+        }
+        // Scalars stay plain text
+        return McpToolResult.success(json.isJsonPrimitive() ? json.getAsString() : gson.toJson(json));
     }
 }
@@ -0,0 +1,262 @@
+package cn.lunadeer.mc.mcp.http_sse.transport;
+
+import cn.lunadeer.mc.mcp.Configuration;
+import cn.lunadeer.mc.mcp.http_sse.message.JsonRpcMessage;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reads request bodies and writes response bodies of the HTTP transport.
+ * <p>
+ * Requests are parsed while they are read, through a stream that fails
+ * with {@link PayloadTooLargeException} as soon as more than the configured
+ * maximum has arrived, so an oversized body is never buffered. Responses
+ * are serialized as UTF-8 straight into a per-thread buffer that is reused
+ * across requests, and sent from it with their exact byte length; when the
+ * client accepts {@code gzip} or {@code deflate} and the body is large
+ * enough, it is compressed into the response stream instead.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+final class HttpBodies {
+    
+    /**
+     * Response buffers larger than this are not kept for reuse, so one huge
+     * response does not pin its memory on the thread forever.
+     */
+    private static final int MAX_RETAINED_BUFFER = 1 << 20;
+    
+    private static final ThreadLocal<ResponseBuffer> BUFFER = ThreadLocal.withInitial(ResponseBuffer::new);
+    private static final Gson gson = new Gson();
+    
+    /**
+     * Thrown when a request body exceeds the configured maximum size.
+     */
+    static final class PayloadTooLargeException extends IOException {
+        PayloadTooLargeException(long maxBytes) {
+            super("Request body exceeds " + maxBytes + " bytes");
+        }
+    }
+    
+    private HttpBodies() {
+    }
+    
+    /**
+     * Parses the JSON-RPC message in a request body.
+     *
+     * @param exchange the exchange
+     * @param maxBytes the largest accepted body
+     * @return the message, or null if the body is empty
+     * @throws PayloadTooLargeException if the body is larger than {@code maxBytes}
+     * @throws IOException              if the body cannot be read
+     */
+    static JsonRpcMessage readMessage(HttpExchange exchange, long maxBytes) throws IOException {
+        String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (contentLength != null) {
+            try {
+                if (Long.parseLong(contentLength.trim()) > maxBytes) {
+                    throw new PayloadTooLargeException(maxBytes);
+                }
+            } catch (NumberFormatException ignored) {
+                // Let the limited stream decide
+            }
+        }
+        try (Reader reader = new InputStreamReader(new LimitedInputStream(exchange.getRequestBody(), maxBytes), StandardCharsets.UTF_8)) {
+            return JsonRpcMessage.fromJson(reader);
+        } catch (RuntimeException e) {
+            // Gson wraps the reader's IOException
+            if (e.getCause() instanceof PayloadTooLargeException tooLarge) {
+                throw tooLarge;
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Sends a JSON-RPC message as the response body.
+     *
+     * @param exchange the exchange
+     * @param status   the HTTP status
+     * @param message  the message, or null for an empty body
+     * @throws IOException if the response cannot be written
+     */
+    static void writeMessage(HttpExchange exchange, int status, JsonRpcMessage message) throws IOException {
+        if (message == null) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        write(exchange, status, message::writeTo);
+    }
+    
+    /**
+     * Sends a JSON value as the response body.
+     *
+     * @param exchange the exchange
+     * @param status   the HTTP status
+     * @param json     the value
+     * @throws IOException if the response cannot be written
+     */
+    static void writeJson(HttpExchange exchange, int status, JsonElement json) throws IOException {
+        write(exchange, status, out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            gson.toJson(json, writer);
+            writer.flush();
+        });
+    }
+    
+    /**
+     * Serializes a response body into a stream.
+     */
+    @FunctionalInterface
+    private interface BodyWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+    
+    private static void write(HttpExchange exchange, int status, BodyWriter body) throws IOException {
+        ResponseBuffer buffer = BUFFER.get();
+        try {
+            buffer.reset();
+            body.writeTo(buffer);
+            
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+            Configuration.HttpSseMcpServer config = Configuration.httpSseMcpServer;
+            String encoding = config.enableResponseCompression && buffer.size() >= config.responseCompressionThreshold
+                    ? negotiateEncoding(exchange)
+                    : null;
+            if (encoding == null) {
+                exchange.sendResponseHeaders(status, buffer.size());
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(buffer.array(), 0, buffer.size());
+                }
+                return;
+            }
+            
+            // Compressed length is unknown up front, so the body goes out chunked
+            exchange.getResponseHeaders().set("Content-Encoding", encoding);
+            exchange.sendResponseHeaders(status, 0);
+            try (OutputStream out = "gzip".equals(encoding)
+                    ? new GZIPOutputStream(exchange.getResponseBody(), 8192)
+                    : new DeflaterOutputStream(exchange.getResponseBody(), true)) {
+                out.write(buffer.array(), 0, buffer.size());
+            }
+        } finally {
+            if (buffer.array().length > MAX_RETAINED_BUFFER) {
+                BUFFER.remove();
+            }
+        }
+    }
+    
+    /**
+     * Picks gzip or deflate from the {@code Accept-Encoding} header,
+     * honouring {@code q=0}; gzip wins when both are accepted.
+     */
+    private static String negotiateEncoding(HttpExchange exchange) {
+        List<String> headers = exchange.getRequestHeaders().get("Accept-Encoding");
+        if (headers == null) {
+            return null;
+        }
+        boolean gzip = false;
+        boolean deflate = false;
+        for (String header : headers) {
+            for (String token : header.split(",")) {
+                String[] parts = token.trim().toLowerCase(Locale.ROOT).split(";");
+                String coding = parts[0].trim();
+                if (!isAcceptable(parts)) {
+                    continue;
+                }
+                if ("gzip".equals(coding) || "x-gzip".equals(coding)) {
+                    gzip = true;
+                } else if ("deflate".equals(coding)) {
+                    deflate = true;
+                }
+            }
+        }
+        return gzip ? "gzip" : deflate ? "deflate" : null;
+    }
+    
+    private static boolean isAcceptable(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) > 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * A byte array stream whose backing array can be written out directly.
+     */
+    private static final class ResponseBuffer extends ByteArrayOutputStream {
+        ResponseBuffer() {
+            super(8192);
+        }
+        
+        byte[] array() {
+            return buf;
+        }
+    }
+    
+    /**
+     * Fails once more than a given number of bytes has been read.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long maxBytes;
+        private long read;
+        
+        LimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+        
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+        
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+        
+        private void count(int n) throws PayloadTooLargeException {
+            read += n;
+            if (read > maxBytes) {
+                throw new PayloadTooLargeException(maxBytes);
+            }
+        }
+    }
+}
@@ -1,5 +1,11 @@
 package cn.lunadeer.mc.mcp.http_sse.transport;
 
+import cn.lunadeer.mc.mcp.Configuration;
+import cn.lunadeer.mc.mcp.MinecraftContextProtocolServer;
+import cn.lunadeer.mc.mcp.api.event.EventBatch;
+import cn.lunadeer.mc.mcp.api.event.EventForwarder;
+import cn.lunadeer.mc.mcp.api.event.EventReplayBuffer;
+import cn.lunadeer.mc.mcp.core.execution.ProgressReporter;
 import cn.lunadeer.mc.mcp.core.registry.CapabilityRegistry;
 import cn.lunadeer.mc.mcp.http_sse.handler.InitializeHandler;
 import cn.lunadeer.mc.mcp.http_sse.handler.InitializedHandler;
@@ -9,20 +15,30 @@ import cn.lunadeer.mc.mcp.http_sse.message.JsonRpcMessage;
 import cn.lunadeer.mc.mcp.http_sse.message.JsonRpcNotification;
 import cn.lunadeer.mc.mcp.http_sse.message.JsonRpcRequest;
 import cn.lunadeer.mc.mcp.http_sse.message.JsonRpcResponse;
+import cn.lunadeer.mc.mcp.http_sse.message.PreSerializedResponse;
 import cn.lunadeer.mc.mcp.infrastructure.XLogger;
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.InetSocketAddress;
+import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * HTTP SSE (Server-Sent Events) transport for MCP protocol.
@@ -32,6 +48,38 @@ import java.util.concurrent.ThreadPoolExecutor;
  * - GET endpoint for receiving server-sent events
  * - Session management and lifecycle
  * </p>
+ * <p>
+ * Open SSE streams are handed to an {@link SseDispatcher} once their headers
+ * are sent, so a GET does not hold an HTTP worker for the life of the
+ * stream; the dispatcher writes frames and keep-alives with a fixed number
+ * of threads. Notifications are pushed to every connected client with
+ * {@link #broadcastNotification(JsonRpcNotification)}.
+ * Forwarded events go out as {@value #EVENTS_NOTIFICATION} notifications
+ * whose SSE {@code id} is the sequence number of their last event; a client
+ * reconnecting with {@code Last-Event-ID} first gets what it missed from the
+ * replay buffer. A stream only carries the events named in the
+ * {@code events} query parameter of its GET, e.g.
+ * {@code ?events=player.join,player.quit}; without it the stream gets none.
+ * </p>
+ * <p>
+ * A {@code tools/call} whose client accepts {@code text/event-stream} is
+ * answered in the streamable HTTP style: the response is an SSE stream
+ * carrying {@value #PROGRESS_NOTIFICATION} and
+ * {@value #PARTIAL_RESULT_NOTIFICATION} notifications while the tool runs,
+ * then the JSON-RPC response. The tool runs on a separate pool so the HTTP
+ * worker is free as soon as the headers are sent.
+ * </p>
+ * <p>
+ * When providers are registered or unregistered, sessions in the
+ * operating phase get {@value #TOOLS_LIST_CHANGED_NOTIFICATION} on their
+ * SSE stream, matched by the {@code X-Session-Id} the stream was opened
+ * with, so they can keep their tool list until told otherwise.
+ * </p>
+ * <p>
+ * Pre-serialized results such as {@code tools/list} pages are sent with an
+ * {@code ETag}; a request whose {@code If-None-Match} names it is answered
+ * with 304 and no body.
+ * </p>
  *
  * @author ZhangYuheng
  * @since 1.0.0
@@ -41,18 +89,48 @@ public class HttpSseTransport {
     private static final Gson gson = new Gson();
     private static final String MCP_PATH = "/mcp";
     
+    /**
+     * Method of the notification carrying forwarded events.
+     */
+    public static final String EVENTS_NOTIFICATION = "notifications/events";
+    
+    /**
+     * Method of the notification reporting the progress of a streamed tool call.
+     */
+    public static final String PROGRESS_NOTIFICATION = "notifications/progress";
+    
+    /**
+     * Method of the notification telling clients the tool list changed.
+     */
+    public static final String TOOLS_LIST_CHANGED_NOTIFICATION = "notifications/tools/list_changed";
+    
+    /**
+     * Registry changes within this many milliseconds are announced once.
+     */
+    private static final long LIST_CHANGED_DELAY_MILLIS = 250;
+    
+    /**
+     * Method of the notification carrying a partial result of a streamed tool call.
+     */
+    public static final String PARTIAL_RESULT_NOTIFICATION = "notifications/tools/partialResult";
+    
     private final String host;
     private final int port;
     private final SessionManager sessionManager;
     private final InitializeHandler initializeHandler;
     private final InitializedHandler initializedHandler;
     private final ToolsHandler toolsHandler;
+    private final CapabilityRegistry capabilityRegistry;
+    private final CapabilityRegistry.ChangeListener registryListener = version -> scheduleToolsListChanged();
+    private final AtomicBoolean listChangedPending = new AtomicBoolean();
     private final String bearerToken;
     
     private HttpServer server;
     private ThreadPoolExecutor executor;
     private boolean running = false;
     private final McpHandler mcpHandler;
+    private SseDispatcher sseDispatcher;
+    private ExecutorService toolCallExecutor;
     
     public HttpSseTransport(
             String host,
@@ -70,6 +148,7 @@ public class HttpSseTransport {
         this.initializeHandler = new InitializeHandler(sessionManager, agentId, agentName, agentVersion);
         this.initializedHandler = new InitializedHandler(sessionManager);
         this.toolsHandler = new ToolsHandler(capabilityRegistry);
+        this.capabilityRegistry = capabilityRegistry;
         this.bearerToken = bearerToken;
         this.mcpHandler = new McpHandler();
     }
@@ -91,6 +170,24 @@ public class HttpSseTransport {
             return thread;
         });
         
+        Configuration.HttpSseMcpServer config = Configuration.httpSseMcpServer;
+        sseDispatcher = new SseDispatcher(
+                config.sseDispatcherThreads,
+                config.sseKeepAliveSeconds * 1000L,
+                config.sseMaxPendingBytes,
+                config.sseWriteTimeoutSeconds * 1000L
+        );
+        
+        AtomicInteger toolCallThreads = new AtomicInteger();
+        // Each queued call holds an open SSE response, so the queue is bounded and overflow is refused
+        int toolCallThreadCount = Math.max(1, config.streamingToolCallThreads);
+        toolCallExecutor = new ThreadPoolExecutor(toolCallThreadCount, toolCallThreadCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, config.streamingToolCallQueueCapacity)), r -> {
+            Thread thread = new Thread(r, "mcp-tool-call-" + toolCallThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        
         // Create HTTP server
         server = HttpServer.create(new InetSocketAddress(host, port), 0);
         server.setExecutor(executor);
@@ -100,6 +197,7 @@ public class HttpSseTransport {
         
         // Start server
         server.start();
+        capabilityRegistry.addChangeListener(registryListener);
         running = true;
         
         XLogger.info("MCP HTTP SSE server started on http://" + host + ":" + port + MCP_PATH);
@@ -113,6 +211,8 @@ public class HttpSseTransport {
             return;
         }
         
+        capabilityRegistry.removeChangeListener(registryListener);
+        
         if (server != null) {
             server.stop(0);
         }
@@ -121,10 +221,117 @@ public class HttpSseTransport {
             executor.shutdown();
         }
         
+        if (toolCallExecutor != null) {
+            toolCallExecutor.shutdownNow();
+        }
+        
+        if (sseDispatcher != null) {
+            sseDispatcher.shutdown();
+        }
         running = false;
         XLogger.info("MCP HTTP SSE server stopped");
     }
     
+    /**
+     * Sends a JSON-RPC notification to every open SSE stream.
+     * <p>
+     * The notification is serialized once and queued on each stream; the
+     * caller never waits for a client to read it.
+     * </p>
+     *
+     * @param notification the notification
+     */
+    public void broadcastNotification(JsonRpcNotification notification) {
+        SseDispatcher dispatcher = sseDispatcher;
+        if (dispatcher == null || dispatcher.getStreamCount() == 0) {
+            return;
+        }
+        dispatcher.broadcast(notificationFrame(notification));
+    }
+    
+    /**
+     * Announces a registry change to ready sessions once the burst of
+     * changes it belongs to, such as a plugin unregistering all of its
+     * providers, is over.
+     */
+    private void scheduleToolsListChanged() {
+        SseDispatcher dispatcher = sseDispatcher;
+        if (dispatcher != null && listChangedPending.compareAndSet(false, true)) {
+            dispatcher.schedule(() -> {
+                listChangedPending.set(false);
+                notifyToolsListChanged();
+            }, LIST_CHANGED_DELAY_MILLIS);
+        }
+    }
+    
+    /**
+     * Sends {@value #TOOLS_LIST_CHANGED_NOTIFICATION} on the SSE streams of
+     * sessions in the operating phase; sessions still initializing fetch the
+     * current list anyway.
+     */
+    public void notifyToolsListChanged() {
+        SseDispatcher dispatcher = sseDispatcher;
+        if (dispatcher == null || dispatcher.getStreamCount() == 0) {
+            return;
+        }
+        byte[] frame = notificationFrame(new JsonRpcNotification(TOOLS_LIST_CHANGED_NOTIFICATION));
+        int notified = 0;
+        for (SseStream stream : dispatcher.getStreams()) {
+            String sessionId = stream.getSessionId();
+            if (sessionId != null && sessionManager.isSessionReady(sessionId) && stream.send(frame)) {
+                notified++;
+            }
+        }
+        XLogger.debug("Sent tools/list_changed (registry version " + capabilityRegistry.getVersion() + ") to " + notified + " SSE streams");
+    }
+    
+    private static byte[] notificationFrame(JsonRpcNotification notification) {
+        return ("event: message\ndata: " + notification.toJson() + "\n\n").getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static byte[] notificationFrame(String method, JsonElement params) {
+        JsonRpcNotification notification = new JsonRpcNotification(method);
+        notification.setParams(params);
+        return notificationFrame(notification);
+    }
+    
+    /**
+     * Pushes a batch of forwarded events to every open SSE stream. Each
+     * stream only gets the events it subscribed to past its own position;
+     * the common case of a stream that wants all of them and has seen none
+     * shares one serialized frame.
+     *
+     * @param batch the events
+     */
+    public void broadcastEvents(EventBatch batch) {
+        SseDispatcher dispatcher = sseDispatcher;
+        if (dispatcher == null || dispatcher.getStreamCount() == 0) {
+            return;
+        }
+        byte[] frame = eventsFrame(batch);
+        for (SseStream stream : dispatcher.getStreams()) {
+            stream.sendEvents(batch, frame, HttpSseTransport::eventsFrame);
+        }
+    }
+    
+    private static byte[] eventsFrame(EventBatch batch) {
+        JsonRpcNotification notification = new JsonRpcNotification(EVENTS_NOTIFICATION);
+        notification.setParams(gson.toJsonTree(batch));
+        // Without events the frame carries no id, so the client keeps its Last-Event-ID
+        String id = batch.events().isEmpty() ? "" : "id: " + batch.lastSeq() + "\n";
+        return (id + "event: message\ndata: " + notification.toJson() + "\n\n").getBytes(StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Gets the number of open SSE streams.
+     *
+     * @return the number of streams
+     */
+    public int getSseStreamCount() {
+        SseDispatcher dispatcher = sseDispatcher;
+        return dispatcher != null ? dispatcher.getStreamCount() : 0;
+    }
+    
     /**
      * HTTP handler for MCP requests and SSE.
      */
@@ -155,21 +362,21 @@ public class HttpSseTransport {
                     return;
                 }
                 
-                // Read request body
-                String body = readRequestBody(exchange);
-                if (body == null || body.isEmpty()) {
-                    XLogger.warn("MCP Handler: Empty request body");
-                    sendError(exchange, 400, "Empty request body");
-                    return;
-                }
-                
-                XLogger.debug("MCP Handler: Received request body: " + body);
-                
-                // Parse JSON-RPC message
+                // Parse JSON-RPC message while reading the body
                 JsonRpcMessage message;
                 try {
-                    message = JsonRpcMessage.fromJson(body);
-                    XLogger.debug("MCP Handler: Parsed message type: " + message.getClass().getSimpleName());
+                    message = HttpBodies.readMessage(exchange, Configuration.httpSseMcpServer.maxRequestBodyBytes);
+                    if (message == null) {
+                        XLogger.warn("MCP Handler: Empty request body");
+                        sendError(exchange, 400, "Empty request body");
+                        return;
+                    }
+                    XLogger.debug("MCP Handler: Parsed message type: " + message.getClass().getSimpleName()
+                            + ", method: " + message.getMethod());
+                } catch (HttpBodies.PayloadTooLargeException e) {
+                    XLogger.warn("MCP Handler: " + e.getMessage());
+                    sendError(exchange, 413, "Payload Too Large");
+                    return;
                 } catch (Exception e) {
                     XLogger.error("MCP Handler: Failed to parse JSON-RPC message: " + e.getMessage(), e);
                     sendError(exchange, 400, "Invalid JSON-RPC message: " + e.getMessage());
@@ -206,6 +413,12 @@ public class HttpSseTransport {
                         }
                     }
                     
+                    // Streamable HTTP: the tool call answers with an SSE stream
+                    if ("tools/call".equals(request.getMethod()) && acceptsEventStream(exchange)) {
+                        handleStreamingToolCall(exchange, request, sessionId);
+                        return;
+                    }
+                    
                     response = handleRequest(request, sessionId);
                 } else if (message.isNotification()) {
                     // For notifications, generate a session ID if not provided
@@ -222,13 +435,18 @@ public class HttpSseTransport {
                     return;
                 }
                 
-                // Send response
-                if (response != null) {
-                    String responseJson = response.toJson();
-                    sendSuccess(exchange, responseJson);
-                } else {
-                    sendSuccess(exchange, null);
+                // Cached results carry an entity tag; a client holding the same one gets 304
+                if (response instanceof PreSerializedResponse cached && cached.getETag() != null) {
+                    exchange.getResponseHeaders().set("ETag", cached.getETag());
+                    if (matchesETag(exchange, cached.getETag())) {
+                        exchange.sendResponseHeaders(304, -1);
+                        exchange.close();
+                        return;
+                    }
                 }
+                
+                // Send response
+                sendSuccess(exchange, response);
             } catch (Exception e) {
                 XLogger.error("Error handling MCP request: " + e.getMessage(), e);
                 sendError(exchange, 500, "Internal Server Error: " + e.getMessage());
@@ -246,24 +464,15 @@ public class HttpSseTransport {
                 // Send initial headers
                 exchange.sendResponseHeaders(200, 0);
                 
-                OutputStream os = exchange.getResponseBody();
+                // Hand the stream over to the dispatcher; this worker returns right away
+                SseStream stream = sseDispatcher.open(exchange, exchange.getRequestHeaders().getFirst("X-Session-Id"),
+                        parseEventIds(exchange));
                 
                 // Send initial connection event
                 String connectedEvent = "event: connected\ndata: {\"status\": \"connected\"}\n\n";
-                os.write(connectedEvent.getBytes(StandardCharsets.UTF_8));
-                os.flush();
-                
-                // Keep connection alive (for now, just send keep-alive events)
-                // In a full implementation, this would send actual MCP events
-                try {
-                    while (true) {
-                        Thread.sleep(30000); // 30 seconds
-                        String keepAlive = ": keep-alive\n\n";
-                        os.write(keepAlive.getBytes(StandardCharsets.UTF_8));
-                        os.flush();
-                    }
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
+                if (stream.send(connectedEvent.getBytes(StandardCharsets.UTF_8))) {
+                    // Broadcasts skip the stream until the replay is queued
+                    stream.resume(parseLastEventId(exchange), getReplayBuffer(), HttpSseTransport::eventsFrame);
                 }
             } catch (Exception e) {
                 XLogger.error("Error handling SSE request: " + e.getMessage(), e);
@@ -276,6 +485,147 @@ public class HttpSseTransport {
             }
         }
         
+        private boolean matchesETag(HttpExchange exchange, String etag) {
+            for (String header : exchange.getRequestHeaders().getOrDefault("If-None-Match", List.of())) {
+                for (String candidate : header.split(",")) {
+                    String tag = candidate.trim();
+                    if (tag.startsWith("W/")) {
+                        tag = tag.substring(2);
+                    }
+                    if (tag.equals(etag) || tag.equals("*")) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+        
+        private boolean acceptsEventStream(HttpExchange exchange) {
+            for (String accept : exchange.getRequestHeaders().getOrDefault("Accept", List.of())) {
+                if (accept.contains("text/event-stream")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        /**
+         * Answers a tools/call with an SSE stream. The stream is handed to the
+         * dispatcher and the tool runs on the tool call pool with a progress
+         * reporter bound; the response is the last frame of the stream.
+         */
+        private void handleStreamingToolCall(HttpExchange exchange, JsonRpcRequest request, String sessionId) throws IOException {
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            if (sessionId != null) {
+                exchange.getResponseHeaders().set("X-Session-Id", sessionId);
+            }
+            exchange.sendResponseHeaders(200, 0);
+            SseStream stream = sseDispatcher.openResponse(exchange, sessionId);
+            
+            JsonElement progressToken = progressToken(request);
+            ProgressReporter reporter = new ProgressReporter(new ProgressReporter.Sink() {
+                @Override
+                public void progress(double progress, Double total, String message) {
+                    JsonObject params = new JsonObject();
+                    params.add("progressToken", progressToken);
+                    params.addProperty("progress", progress);
+                    if (total != null) {
+                        params.addProperty("total", total);
+                    }
+                    if (message != null) {
+                        params.addProperty("message", message);
+                    }
+                    stream.send(notificationFrame(PROGRESS_NOTIFICATION, params));
+                }
+                
+                @Override
+                public void partial(Object content) {
+                    JsonObject params = new JsonObject();
+                    params.add("progressToken", progressToken);
+                    params.add("content", gson.toJsonTree(content));
+                    stream.send(notificationFrame(PARTIAL_RESULT_NOTIFICATION, params));
+                }
+            });
+            
+            try {
+                toolCallExecutor.execute(() -> {
+                    JsonRpcResponse response;
+                    ProgressReporter previous = ProgressReporter.bind(reporter);
+                    try {
+                        response = toolsHandler.handleToolsCall(request, sessionId);
+                    } catch (Exception e) {
+                        XLogger.error("Error handling streamed tools/call: " + e.getMessage(), e);
+                        response = JsonRpcResponse.createError(request.getId(), -32603, "Internal error: " + e.getMessage(), null);
+                    } finally {
+                        ProgressReporter.restore(previous);
+                    }
+                    stream.finish(("event: message\ndata: " + response.toJson() + "\n\n").getBytes(StandardCharsets.UTF_8));
+                });
+            } catch (RejectedExecutionException e) {
+                String reason = toolCallExecutor.isShutdown() ? "Server is shutting down" : "Too many streamed tool calls, try again later";
+                JsonRpcResponse response = JsonRpcResponse.createError(request.getId(), -32603, reason, null);
+                stream.finish(("event: message\ndata: " + response.toJson() + "\n\n").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        
+        /**
+         * Gets the progress token the client asked for in {@code _meta}; the
+         * request ID stands in when it gave none, since it asked for a stream.
+         */
+        private JsonElement progressToken(JsonRpcRequest request) {
+            JsonElement params = request.getParams();
+            if (params != null && params.isJsonObject()) {
+                JsonObject meta = params.getAsJsonObject().getAsJsonObject("_meta");
+                if (meta != null && meta.has("progressToken")) {
+                    return meta.get("progressToken");
+                }
+            }
+            return gson.toJsonTree(request.getId());
+        }
+        
+        private Long parseLastEventId(HttpExchange exchange) {
+            String lastEventId = exchange.getRequestHeaders().getFirst("Last-Event-ID");
+            if (lastEventId == null || lastEventId.isBlank()) {
+                return null;
+            }
+            try {
+                return Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                XLogger.debug("MCP Handler: Ignoring invalid Last-Event-ID: " + lastEventId);
+                return null;
+            }
+        }
+        
+        /**
+         * Reads the comma separated event IDs of the {@code events} query parameter.
+         */
+        private Set<String> parseEventIds(HttpExchange exchange) {
+            String query = exchange.getRequestURI().getRawQuery();
+            if (query == null) {
+                return Set.of();
+            }
+            Set<String> eventIds = new HashSet<>();
+            for (String parameter : query.split("&")) {
+                if (!parameter.startsWith("events=")) {
+                    continue;
+                }
+                String value = URLDecoder.decode(parameter.substring("events=".length()), StandardCharsets.UTF_8);
+                for (String eventId : value.split(",")) {
+                    if (!eventId.isBlank()) {
+                        eventIds.add(eventId.trim());
+                    }
+                }
+            }
+            return Set.copyOf(eventIds);
+        }
+        
+        private EventReplayBuffer getReplayBuffer() {
+            MinecraftContextProtocolServer plugin = MinecraftContextProtocolServer.getInstance();
+            EventForwarder forwarder = plugin != null ? plugin.getEventForwarder() : null;
+            return forwarder != null ? forwarder.getReplayBuffer() : null;
+        }
+        
         private JsonRpcResponse handleRequest(JsonRpcRequest request, String sessionId) {
             String method = request.getMethod();
             XLogger.debug("MCP Handler: Processing request method: " + method + ", session: " + sessionId);
@@ -311,8 +661,6 @@ public class HttpSseTransport {
         }
     }
     
-
-    
     /**
      * Validates the bearer token in the Authorization header.
      */
@@ -331,29 +679,11 @@ public class HttpSseTransport {
         return false;
     }
     
-    /**
-     * Reads the request body from the exchange.
-     */
-    private String readRequestBody(HttpExchange exchange) throws IOException {
-        InputStream is = exchange.getRequestBody();
-        byte[] bytes = is.readAllBytes();
-        return new String(bytes, StandardCharsets.UTF_8);
-    }
-    
     /**
      * Sends a success response.
      */
-    private void sendSuccess(HttpExchange exchange, String body) throws IOException {
-        exchange.getResponseHeaders().set("Content-Type", "application/json");
-        exchange.sendResponseHeaders(200, body != null ? body.length() : 0);
-        
-        if (body != null) {
-            OutputStream os = exchange.getResponseBody();
-            os.write(body.getBytes(StandardCharsets.UTF_8));
-            os.flush();
-        }
-        
-        exchange.getResponseBody().close();
+    private void sendSuccess(HttpExchange exchange, JsonRpcMessage body) throws IOException {
+        HttpBodies.writeMessage(exchange, 200, body);
     }
     
     /**
@@ -363,14 +693,6 @@ public class HttpSseTransport {
         JsonObject error = new JsonObject();
         error.addProperty("code", code);
         error.addProperty("message", message);
-        
-        String body = gson.toJson(error);
-        exchange.getResponseHeaders().set("Content-Type", "application/json");
-        exchange.sendResponseHeaders(code, body.length());
-        
-        OutputStream os = exchange.getResponseBody();
-        os.write(body.getBytes(StandardCharsets.UTF_8));
-        os.flush();
-        os.close();
+        HttpBodies.writeJson(exchange, code, error);
     }
 }
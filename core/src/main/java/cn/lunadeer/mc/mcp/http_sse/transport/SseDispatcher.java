@@ -0,0 +1,201 @@
+package cn.lunadeer.mc.mcp.http_sse.transport;
+
+import cn.lunadeer.mc.mcp.infrastructure.XLogger;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Owns the open SSE streams of the HTTP transport.
+ * <p>
+ * An SSE request is handed over to the dispatcher as soon as its headers
+ * are sent, so the HTTP worker returns to serve POST requests instead of
+ * holding the connection open. A fixed number of dispatcher threads write
+ * the frames queued on the streams, so the thread count does not grow with
+ * the number of clients. A separate timer thread sends a keep-alive comment
+ * to every stream that has been quiet for the keep-alive interval and cuts
+ * off streams whose writes block for longer than the write timeout, so
+ * clients that stop reading cannot hold every dispatcher thread.
+ * </p>
+ * <p>
+ * Streamed responses to a single request are served the same way but are
+ * not part of broadcasts; they end once the final message is written.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public class SseDispatcher {
+    
+    private static final byte[] KEEP_ALIVE = ": keep-alive\n\n".getBytes(StandardCharsets.UTF_8);
+    
+    private final Set<SseStream> streams = ConcurrentHashMap.newKeySet();
+    private final Set<SseStream> responses = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor;
+    private final ScheduledExecutorService timer;
+    private final long keepAliveNanos;
+    private final long writeTimeoutNanos;
+    private final long maxPendingBytes;
+    
+    /**
+     * Creates a dispatcher and starts the keep-alive timer.
+     *
+     * @param threads            the number of dispatcher threads
+     * @param keepAliveMillis    the longest a stream may stay quiet before a keep-alive is sent
+     * @param maxPendingBytes    the queued bytes above which a stream that is not read is closed
+     * @param writeTimeoutMillis the longest a write may block before its stream is closed
+     */
+    public SseDispatcher(int threads, long keepAliveMillis, long maxPendingBytes, long writeTimeoutMillis) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread thread = new Thread(r, "mcp-sse-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "mcp-sse-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.keepAliveNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1000, keepAliveMillis));
+        this.maxPendingBytes = Math.max(64 * 1024, maxPendingBytes);
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1000, writeTimeoutMillis));
+        long tick = Math.max(500, Math.min(keepAliveMillis, writeTimeoutMillis) / 2);
+        timer.scheduleAtFixedRate(this::tick, tick, tick, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Takes over an SSE response whose headers have been sent.
+     *
+     * @param exchange  the exchange
+     * @param sessionId the MCP session of the client, may be null
+     * @param eventIds  the forwarded events the client subscribed to
+     * @return the stream
+     */
+    public SseStream open(HttpExchange exchange, String sessionId, Set<String> eventIds) {
+        SseStream stream = new SseStream(sessionId, exchange, this, maxPendingBytes, eventIds);
+        streams.add(stream);
+        return stream;
+    }
+    
+    /**
+     * Takes over an SSE response to a single request whose headers have
+     * been sent; it gets keep-alives but no broadcasts.
+     *
+     * @param exchange  the exchange
+     * @param sessionId the MCP session of the client, may be null
+     * @return the stream
+     */
+    public SseStream openResponse(HttpExchange exchange, String sessionId) {
+        SseStream stream = new SseStream(sessionId, exchange, this, maxPendingBytes, Set.of());
+        responses.add(stream);
+        return stream;
+    }
+    
+    void schedule(SseStream stream) {
+        try {
+            executor.execute(stream::drain);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; nothing is written anymore
+            stream.release();
+        }
+    }
+    
+    /**
+     * Runs a task on the timer thread after a delay; the task must not block.
+     *
+     * @param task        the task
+     * @param delayMillis the delay in milliseconds
+     */
+    public void schedule(Runnable task, long delayMillis) {
+        try {
+            timer.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+    
+    void unregister(SseStream stream) {
+        if (!streams.remove(stream)) {
+            responses.remove(stream);
+        }
+    }
+    
+    /**
+     * Queues a frame on every open stream.
+     *
+     * @param frame the frame bytes
+     */
+    public void broadcast(byte[] frame) {
+        for (SseStream stream : streams) {
+            stream.send(frame);
+        }
+    }
+    
+    /**
+     * Gets the open streams.
+     *
+     * @return an unmodifiable live view of the streams
+     */
+    public Collection<SseStream> getStreams() {
+        return Collections.unmodifiableSet(streams);
+    }
+    
+    /**
+     * Gets the number of open streams.
+     *
+     * @return the number of streams
+     */
+    public int getStreamCount() {
+        return streams.size();
+    }
+    
+    private void tick() {
+        long now = System.nanoTime();
+        for (SseStream stream : streams) {
+            tick(stream, now);
+        }
+        for (SseStream stream : responses) {
+            tick(stream, now);
+        }
+    }
+    
+    private void tick(SseStream stream, long now) {
+        stream.checkStalled(now, writeTimeoutNanos);
+        if (now - stream.getLastSendNanos() >= keepAliveNanos) {
+            stream.send(KEEP_ALIVE);
+        }
+    }
+    
+    /**
+     * Closes every stream and stops the dispatcher threads.
+     */
+    public void shutdown() {
+        timer.shutdownNow();
+        streams.forEach(SseStream::close);
+        responses.forEach(SseStream::close);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                // Interrupting the writes still blocked closes their connections
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        streams.forEach(SseStream::release);
+        responses.forEach(SseStream::release);
+        XLogger.debug("SSE dispatcher stopped");
+    }
+}
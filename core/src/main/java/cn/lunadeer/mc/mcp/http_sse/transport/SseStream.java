@@ -0,0 +1,300 @@
+package cn.lunadeer.mc.mcp.http_sse.transport;
+
+import cn.lunadeer.mc.mcp.Configuration;
+import cn.lunadeer.mc.mcp.api.event.EventBatch;
+import cn.lunadeer.mc.mcp.api.event.EventReplayBuffer;
+import cn.lunadeer.mc.mcp.api.event.ForwardedEvent;
+import cn.lunadeer.mc.mcp.infrastructure.XLogger;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * An open SSE response, written by the {@link SseDispatcher}.
+ * <p>
+ * Senders only queue encoded frames; a dispatcher thread writes everything
+ * queued and flushes once. At most one drain runs per stream, so frames
+ * never interleave and keep the order they were queued in. A client that
+ * stops reading is cut off once its queued bytes exceed the configured
+ * limit, instead of letting its backlog grow without bound.
+ * </p>
+ * <p>
+ * Only dispatcher threads touch the response: closing a stream just stops
+ * it from taking frames and leaves ending the response to the next drain,
+ * so a sender is never blocked by a client or races a write in progress. A
+ * write that blocks longer than the write timeout is interrupted by the
+ * dispatcher's timer, which closes the connection under it.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public final class SseStream {
+    
+    private final String sessionId;
+    private final HttpExchange exchange;
+    private final OutputStream out;
+    private final SseDispatcher dispatcher;
+    private final long maxPendingBytes;
+    private final Set<String> eventIds;
+    private final ConcurrentLinkedQueue<byte[]> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingBytes = new AtomicLong();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicBoolean released = new AtomicBoolean();
+    private volatile boolean finishing;
+    private volatile long lastSendNanos = System.nanoTime();
+    
+    // Guarded by this; no events are sent until the stream resumes
+    private long lastEventSeq = Long.MAX_VALUE;
+    
+    // Guarded by writeLock; the dispatcher thread blocked in a write, if any
+    private final Object writeLock = new Object();
+    private Thread writer;
+    private long writeStartNanos;
+    
+    SseStream(String sessionId, HttpExchange exchange, SseDispatcher dispatcher, long maxPendingBytes, Set<String> eventIds) {
+        this.sessionId = sessionId;
+        this.exchange = exchange;
+        this.out = exchange.getResponseBody();
+        this.dispatcher = dispatcher;
+        this.maxPendingBytes = maxPendingBytes;
+        this.eventIds = eventIds;
+    }
+    
+    /**
+     * Gets the MCP session the stream was opened for.
+     *
+     * @return the session ID, or null if the client sent none
+     */
+    public String getSessionId() {
+        return sessionId;
+    }
+    
+    public boolean isClosed() {
+        return closed.get();
+    }
+    
+    /**
+     * Queues an encoded frame.
+     *
+     * @param frame the frame bytes
+     * @return false if the stream is closed or was just closed for falling behind
+     */
+    public boolean send(byte[] frame) {
+        if (closed.get() || finishing) {
+            return false;
+        }
+        if (pendingBytes.addAndGet(frame.length) > maxPendingBytes) {
+            XLogger.debug("SSE stream of session " + sessionId + " is not reading, closing it");
+            close();
+            return false;
+        }
+        pending.add(frame);
+        lastSendNanos = System.nanoTime();
+        if (scheduled.compareAndSet(false, true)) {
+            dispatcher.schedule(this);
+        }
+        return true;
+    }
+    
+    long getLastSendNanos() {
+        return lastSendNanos;
+    }
+    
+    /**
+     * Writes the queued frames; runs on a dispatcher thread.
+     */
+    void drain() {
+        try {
+            byte[] frame;
+            boolean written = false;
+            while (!closed.get() && (frame = pending.poll()) != null) {
+                pendingBytes.addAndGet(-frame.length);
+                beginWrite();
+                try {
+                    out.write(frame);
+                } finally {
+                    endWrite();
+                }
+                written = true;
+            }
+            if (written && !closed.get()) {
+                beginWrite();
+                try {
+                    out.flush();
+                } finally {
+                    endWrite();
+                }
+            }
+        } catch (IOException e) {
+            markClosed();
+        } finally {
+            scheduled.set(false);
+        }
+        if (closed.get()) {
+            release();
+        } else if (!pending.isEmpty() && scheduled.compareAndSet(false, true)) {
+            // A frame queued after the last poll but before the flag was cleared
+            dispatcher.schedule(this);
+        } else if (finishing && pending.isEmpty()) {
+            markClosed();
+            release();
+        }
+    }
+    
+    private void beginWrite() {
+        synchronized (writeLock) {
+            writer = Thread.currentThread();
+            writeStartNanos = System.nanoTime();
+        }
+    }
+    
+    private void endWrite() {
+        synchronized (writeLock) {
+            writer = null;
+        }
+        // An interrupt for a write that completed meanwhile must not hit the next stream
+        Thread.interrupted();
+    }
+    
+    /**
+     * Interrupts a write that has been blocked for longer than the timeout
+     * and closes the stream; runs on the dispatcher's timer.
+     *
+     * @param now          the current time in nanoseconds
+     * @param timeoutNanos the longest a write may block
+     */
+    void checkStalled(long now, long timeoutNanos) {
+        synchronized (writeLock) {
+            if (writer == null || now - writeStartNanos < timeoutNanos) {
+                return;
+            }
+            // Interrupting a blocked socket channel write closes the channel, which ends the write
+            writer.interrupt();
+        }
+        XLogger.debug("SSE stream of session " + sessionId + " stalled writing, closing it");
+        close();
+    }
+    
+    /**
+     * Queues a last frame and ends the response once everything queued is written.
+     *
+     * @param frame the last frame
+     */
+    public void finish(byte[] frame) {
+        if (!send(frame)) {
+            return;
+        }
+        finishing = true;
+        if (scheduled.compareAndSet(false, true)) {
+            dispatcher.schedule(this);
+        }
+    }
+    
+    /**
+     * Starts the forwarded event stream, replaying what the client missed
+     * after {@code lastSeq} first; without a sequence number the stream
+     * starts with the next flush. Only subscribed events are sent.
+     *
+     * @param lastSeq the last sequence number the client has seen, or null
+     * @param replay  the replay buffer, or null if events are not forwarded
+     * @param encode  encodes a batch into a frame
+     * @return false if the stream closed meanwhile
+     */
+    synchronized boolean resume(Long lastSeq, EventReplayBuffer replay, Function<EventBatch, byte[]> encode) {
+        if (replay == null) {
+            lastEventSeq = 0;
+            return !closed.get();
+        }
+        if (lastSeq == null) {
+            lastEventSeq = replay.getLastSeq();
+            return !closed.get();
+        }
+        EventBatch missed = replay.since(lastSeq);
+        lastEventSeq = Math.max(missed.lastSeq(), Math.min(lastSeq, replay.getLastSeq()));
+        EventBatch visible = missed.filter(this::isSubscribed);
+        if (visible == null || (visible.events().isEmpty() && visible.dropped() == 0)) {
+            return !closed.get();
+        }
+        for (EventBatch part : visible.split(Configuration.eventBridge.forwardMaxBatchSize)) {
+            if (!send(encode.apply(part))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Queues the subscribed events of a forwarded batch the client has not seen yet.
+     *
+     * @param batch  the batch
+     * @param frame  the encoded frame of the whole batch
+     * @param encode encodes a part of the batch into a frame
+     * @return false if the stream is closed
+     */
+    synchronized boolean sendEvents(EventBatch batch, byte[] frame, Function<EventBatch, byte[]> encode) {
+        EventBatch unseen = batch.after(lastEventSeq);
+        if (unseen == null) {
+            return !closed.get();
+        }
+        lastEventSeq = unseen.lastSeq();
+        EventBatch visible = unseen.filter(this::isSubscribed);
+        if (visible == null) {
+            return !closed.get();
+        }
+        return send(visible == batch ? frame : encode.apply(visible));
+    }
+    
+    private boolean isSubscribed(ForwardedEvent event) {
+        return eventIds.contains(event.eventId());
+    }
+    
+    /**
+     * Stops taking frames and has a dispatcher thread end the response.
+     */
+    public void close() {
+        if (markClosed() && scheduled.compareAndSet(false, true)) {
+            dispatcher.schedule(this);
+        }
+    }
+    
+    private boolean markClosed() {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        pending.clear();
+        return true;
+    }
+    
+    /**
+     * Ends the response and forgets the stream; runs on a dispatcher thread,
+     * or on the caller's when the dispatcher is shut down. The stream stays
+     * registered until here so a blocked write is still watched.
+     */
+    void release() {
+        if (!released.compareAndSet(false, true)) {
+            return;
+        }
+        closed.set(true);
+        dispatcher.unregister(this);
+        beginWrite();
+        try {
+            try {
+                out.close();
+            } catch (IOException ignored) {
+                // Client already gone
+            } finally {
+                exchange.close();
+            }
+        } finally {
+            endWrite();
+        }
+    }
+}
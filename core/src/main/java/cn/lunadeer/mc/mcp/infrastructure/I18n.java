@@ -6,6 +6,7 @@ import cn.lunadeer.mc.mcp.communication.MessageRouter;
 import cn.lunadeer.mc.mcp.communication.auth.AuthHandler;
 import cn.lunadeer.mc.mcp.communication.codec.MessageCodec;
 import cn.lunadeer.mc.mcp.communication.heartbeat.HeartbeatHandler;
+import cn.lunadeer.mc.mcp.communication.outbound.OutboundQueue;
 import cn.lunadeer.mc.mcp.communication.session.GatewaySession;
 import cn.lunadeer.mc.mcp.communication.session.SessionManager;
 import cn.lunadeer.mc.mcp.core.audit.AuditLogger;
@@ -53,6 +54,7 @@ public class I18n extends ConfigurationFile {
     public static GatewaySession.GatewaySessionText gatewaySessionText = new GatewaySession.GatewaySessionText();
     public static WebSocketServer.WebSocketServerText webSocketServerText = new WebSocketServer.WebSocketServerText();
     public static MessageRouter.MessageRouterText messageRouterText = new MessageRouter.MessageRouterText();
+    public static OutboundQueue.OutboundQueueText outboundQueueText = new OutboundQueue.OutboundQueueText();
 
     // core
     public static ExecutionChain.ExecutionChainText executionChainText = new ExecutionChain.ExecutionChainText();
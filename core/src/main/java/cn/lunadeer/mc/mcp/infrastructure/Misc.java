@@ -10,6 +10,7 @@ import java.util.List;
 public class Misc {
 
     private static Boolean isPaper = null;
+    private static Boolean isFolia = null;
 
     /**
      * Checks if the server is running Paper.
@@ -32,6 +33,26 @@ public class Misc {
         }
     }
 
+    /**
+     * Checks if the server is running Folia.
+     * <p>
+     * Folia ticks regions on separate threads, so world and entity state must
+     * be touched from the owning region or entity scheduler.
+     *
+     * @return true if the server is running Folia, false otherwise
+     */
+    public static boolean isFolia() {
+        if (isFolia != null) return isFolia;
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            isFolia = true;
+            return true;
+        } catch (ClassNotFoundException e) {
+            isFolia = false;
+            return false;
+        }
+    }
+
     /**
      * Formats a string by replacing placeholders with the provided arguments.
      * <p>
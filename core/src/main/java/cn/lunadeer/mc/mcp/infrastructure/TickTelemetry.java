@@ -0,0 +1,195 @@
+package cn.lunadeer.mc.mcp.infrastructure;
+
+import cn.lunadeer.mc.mcp.infrastructure.scheduler.Scheduler;
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import com.destroystokyo.paper.event.server.ServerTickStartEvent;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Records the duration of every server tick into a fixed ring buffer.
+ * <p>
+ * On Paper the tick start and end events are timed directly, so each sample
+ * is the real time spent in the tick (MSPT). Folia and Spigot do not fire
+ * those events; there a one-tick repeating task records the time between
+ * two of its runs instead, which equals the MSPT whenever the server is
+ * behind and never drops below 50 ms otherwise.
+ * </p>
+ * <p>
+ * Samples are kept as primitive nanosecond values together with the time
+ * each tick ended, covering the last five minutes at full speed. The tick
+ * thread is the only writer; readers copy the samples they need and compute
+ * percentiles on their own thread.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public class TickTelemetry {
+
+    /**
+     * Statistics of the ticks that ended within a time window.
+     *
+     * @param window the window label (e.g. "1m")
+     * @param ticks  the number of ticks in the window
+     * @param tps    the ticks per second achieved in the window
+     * @param mean   the mean tick time in milliseconds
+     * @param p50    the median tick time in milliseconds
+     * @param p95    the 95th percentile tick time in milliseconds
+     * @param p99    the 99th percentile tick time in milliseconds
+     * @param max    the longest tick time in milliseconds
+     */
+    public record Window(String window, int ticks, double tps, double mean,
+                         double p50, double p95, double p99, double max) {
+    }
+
+    public static TickTelemetry instance;
+
+    private static final int CAPACITY = 20 * 60 * 5;
+    private static final String[] WINDOW_LABELS = {"5s", "1m", "5m"};
+    private static final long[] WINDOW_NANOS = {5_000_000_000L, 60_000_000_000L, 300_000_000_000L};
+
+    private final long[] durations = new long[CAPACITY];
+    private final long[] endTimes = new long[CAPACITY];
+    private volatile long written;
+    private final boolean tickEvents;
+
+    private long tickStart;
+    private long lastRun;
+
+    public TickTelemetry(JavaPlugin plugin) {
+        instance = this;
+        this.tickEvents = Misc.isPaper() && !Misc.isFolia();
+        if (tickEvents) {
+            plugin.getServer().getPluginManager().registerEvents(new TickListener(), plugin);
+        } else {
+            Scheduler.runTaskRepeat(this::onIntervalTick, 1, 1);
+        }
+    }
+
+    /**
+     * Timing of Paper's tick events, kept in its own class so the Paper
+     * event types are only loaded when they exist.
+     */
+    private class TickListener implements Listener {
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onTickStart(ServerTickStartEvent event) {
+            tickStart = System.nanoTime();
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onTickEnd(ServerTickEndEvent event) {
+            if (tickStart != 0) {
+                long now = System.nanoTime();
+                record(now - tickStart, now);
+            }
+        }
+    }
+
+    private void onIntervalTick() {
+        long now = System.nanoTime();
+        if (lastRun != 0) {
+            record(now - lastRun, now);
+        }
+        lastRun = now;
+    }
+
+    private void record(long duration, long endTime) {
+        int slot = (int) (written % CAPACITY);
+        durations[slot] = duration;
+        endTimes[slot] = endTime;
+        written = written + 1;
+    }
+
+    /**
+     * Gets how the samples are taken.
+     *
+     * @return "tick-events" on Paper, "task-interval" elsewhere
+     */
+    public String getSource() {
+        return tickEvents ? "tick-events" : "task-interval";
+    }
+
+    /**
+     * Gets the total number of ticks recorded since startup.
+     *
+     * @return the number of ticks recorded
+     */
+    public long getTicksRecorded() {
+        return written;
+    }
+
+    /**
+     * Computes statistics for the 5 second, 1 minute and 5 minute windows.
+     *
+     * @return the windows, shortest first
+     */
+    public List<Window> getWindows() {
+        long now = System.nanoTime();
+        long end = written;
+        int available = (int) Math.min(end, CAPACITY);
+
+        // Copy newest first; samples being overwritten meanwhile only blur the oldest edge
+        long[] samples = new long[available];
+        int count = 0;
+        long newestEnd = available > 0 ? endTimes[(int) ((end - 1) % CAPACITY)] : now;
+        long oldestEnd = newestEnd;
+        List<Window> windows = new ArrayList<>(WINDOW_LABELS.length);
+        for (int w = 0; w < WINDOW_LABELS.length; w++) {
+            long cutoff = now - WINDOW_NANOS[w];
+            while (count < available) {
+                int slot = (int) ((end - 1 - count) % CAPACITY);
+                if (endTimes[slot] < cutoff) {
+                    break;
+                }
+                samples[count++] = durations[slot];
+                oldestEnd = endTimes[slot];
+            }
+            windows.add(summarize(WINDOW_LABELS[w], samples, count, newestEnd - oldestEnd, WINDOW_NANOS[w]));
+        }
+        return windows;
+    }
+
+    private static Window summarize(String label, long[] samples, int count, long spanNanos, long windowNanos) {
+        if (count == 0) {
+            return new Window(label, 0, 0, 0, 0, 0, 0, 0);
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long sample : sorted) {
+            total += sample;
+        }
+        // Rate the ticks over the time between the first and last of them, so a
+        // window that has not filled up yet since startup is not underrated
+        double tps = count > 1 && spanNanos > 0
+                ? (count - 1) / (spanNanos / 1e9)
+                : count / (windowNanos / 1e9);
+        tps = Math.min(20.0, tps);
+        return new Window(
+                label,
+                count,
+                round(tps),
+                round(total / (double) count / 1e6),
+                round(percentile(sorted, 0.50) / 1e6),
+                round(percentile(sorted, 0.95) / 1e6),
+                round(percentile(sorted, 0.99) / 1e6),
+                round(sorted[count - 1] / 1e6)
+        );
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -1,5 +1,6 @@
 package cn.lunadeer.mc.mcp.infrastructure.scheduler;
 
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
 import org.bukkit.entity.Entity;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -120,6 +121,27 @@ public class Scheduler {
         }
     }
 
+    /**
+     * Run a task on the thread owning an entity
+     *
+     * @param task    The task to run
+     * @param retired The callback to run instead if the entity is removed before the task runs, may be null
+     * @param entity  The entity
+     */
+    public static CancellableTask runEntityTask(Runnable task, Runnable retired, Entity entity) {
+        if (instance.isPaper) {
+            ScheduledTask scheduled = entity.getScheduler().run(instance.plugin, (plugin) -> task.run(), retired);
+            if (scheduled == null) {
+                // The entity is already removed, the scheduler will not call retired itself
+                if (retired != null) retired.run();
+                return null;
+            }
+            return new PaperTask(scheduled);
+        } else {
+            return new SpigotTask(instance.plugin.getServer().getScheduler().runTask(instance.plugin, task));
+        }
+    }
+
     public static CancellableTask runEntityTask(Runnable task, Entity entity) {
         if (instance.isPaper) {
             return new PaperTask(entity.getScheduler().run(instance.plugin, (plugin) -> task.run(), null));
@@ -0,0 +1,52 @@
+package cn.lunadeer.mc.mcp.infrastructure.scheduler;
+
+import cn.lunadeer.mc.mcp.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared pool for CPU-bound work that must stay off the server thread.
+ * <p>
+ * Used for decoding region files and scanning chunk snapshots. The pool is
+ * created lazily and sized by {@code performance.workerThreads}.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public class WorkerPool {
+
+    private static ExecutorService executor;
+
+    /**
+     * Gets the shared worker executor, creating it on first use.
+     *
+     * @return the worker executor
+     */
+    public static synchronized ExecutorService get() {
+        if (executor == null || executor.isShutdown()) {
+            int threads = Configuration.performance.workerThreads > 0
+                    ? Configuration.performance.workerThreads
+                    : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+            AtomicInteger counter = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(threads, r -> {
+                Thread thread = new Thread(r, "mcp-worker-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * Shuts down the shared worker executor.
+     */
+    public static synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+}
@@ -1,5 +1,15 @@
 package cn.lunadeer.mc.mcp.provider.builtin;
 
+import cn.lunadeer.mc.mcp.Configuration;
+import cn.lunadeer.mc.mcp.core.execution.ProgressReporter;
+import cn.lunadeer.mc.mcp.core.execution.SelectionItems;
+import cn.lunadeer.mc.mcp.provider.builtin.chunk.BlockStatsCollector;
+import cn.lunadeer.mc.mcp.provider.builtin.chunk.NearestBlockSearch;
+import cn.lunadeer.mc.mcp.provider.builtin.chunk.SurfaceSampler;
+import cn.lunadeer.mc.mcp.provider.builtin.dto.block.BlockStatsResult;
+import cn.lunadeer.mc.mcp.provider.builtin.dto.block.NearestBlockResult;
+import cn.lunadeer.mc.mcp.provider.builtin.dto.block.SurfaceSummaryResult;
+import cn.lunadeer.mc.mcp.provider.builtin.region.StoredBlockReader;
 import cn.lunadeer.mc.mcp.sdk.annotations.McpAction;
 import cn.lunadeer.mc.mcp.sdk.annotations.McpContext;
 import cn.lunadeer.mc.mcp.sdk.annotations.McpProvider;
@@ -276,10 +286,12 @@ public class BlockProvider {
     @McpContext(
             id = "block.list.area",
             name = "List Blocks in Area",
-            description = "Gets blocks in a specified area",
+            description = "Gets blocks in a specified area. Streamed calls receive the blocks of the requested page " +
+                    "as partial results while chunks are scanned",
             permissions = {"mcp.context.block.list.area"},
             tags = {"block", "list", "area", "query"}
     )
+    @SelectionItems
     public BlockListResult getBlocksInArea(
             @Param(name = "worldName", required = true, description = "The name of the world")
             String worldName,
@@ -308,11 +320,15 @@ public class BlockProvider {
             );
         }
 
-        List<BlockInfo> blocks = new ArrayList<>();
-        Material filterMaterial = null;
-        if (materialFilter != null && !materialFilter.isEmpty()) {
-            filterMaterial = Material.getMaterial(materialFilter.toUpperCase());
+        if (pagination == null) {
+            pagination = PaginationParam.createDefault();
         }
+        int pageSize = pagination.pageSize() != null ? pagination.pageSize() : 20;
+        int offset = pagination.getOffset();
+        int pageEnd = (int) Math.min(Integer.MAX_VALUE, (long) offset + pageSize);
+
+        List<BlockInfo> blocks = new ArrayList<>();
+        Material filterMaterial = parseMaterialFilter(materialFilter);
 
         // Calculate chunk range
         final int minChunkX = minX >> 4;
@@ -322,6 +338,7 @@ public class BlockProvider {
 
         // Create a list of futures for chunk loading
         List<CompletableFuture<Void>> chunkFutures = new ArrayList<>();
+        ChunkProgress progress = new ChunkProgress("Scanned", (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1));
 
         for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
             final int currentChunkX = chunkX;
@@ -331,6 +348,7 @@ public class BlockProvider {
                 CompletableFuture<Void> future = world.getChunkAtAsyncUrgently(currentChunkX, currentChunkZ)
                         .thenAccept(chunk -> {
                             // Process blocks within this chunk
+                            List<BlockInfo> found = new ArrayList<>();
                             for (int x = minX; x <= maxX; x++) {
                                 for (int y = minY; y <= maxY; y++) {
                                     for (int z = minZ; z <= maxZ; z++) {
@@ -374,19 +392,28 @@ public class BlockProvider {
                                         }
 
                                         BlockLocationParam locationParam = BlockLocationParam.create(worldName, x, y, z);
-                                        synchronized (blocks) {
-                                            blocks.add(new BlockInfo(
-                                                    locationParam,
-                                                    material.name(),
-                                                    blockDataString,
-                                                    properties,
-                                                    Integer.valueOf(block.getLightLevel())
-                                            ));
-                                        }
+                                        found.add(new BlockInfo(
+                                                locationParam,
+                                                material.name(),
+                                                blockDataString,
+                                                properties,
+                                                Integer.valueOf(block.getLightLevel())
+                                        ));
                                     }
                                 }
                             }
-                        });
+
+                            // The blocks of this chunk that land on the requested page go out as a partial result
+                            synchronized (blocks) {
+                                int from = Math.max(offset, blocks.size());
+                                blocks.addAll(found);
+                                int to = Math.min(pageEnd, blocks.size());
+                                if (from < to) {
+                                    progress.partial(new ArrayList<>(blocks.subList(from, to)));
+                                }
+                            }
+                        })
+                        .whenComplete((ignored, error) -> progress.chunkDone());
                 chunkFutures.add(future);
             }
         }
@@ -395,15 +422,9 @@ public class BlockProvider {
         CompletableFuture.allOf(chunkFutures.toArray(new CompletableFuture[0])).join();
 
         // Apply pagination
-        if (pagination == null) {
-            pagination = PaginationParam.createDefault();
-        }
-
         int total = blocks.size();
-        int pageSize = pagination.pageSize() != null ? pagination.pageSize() : 20;
         int totalPages = (int) Math.ceil((double) total / pageSize);
         int page = Math.min(pagination.page() != null ? pagination.page() : 1, totalPages);
-        int offset = pagination.getOffset();
 
         List<BlockInfo> paginated = blocks.subList(
                 Math.min(offset, total),
@@ -492,36 +513,33 @@ public class BlockProvider {
             sourceMat = null;
         }
 
+        boolean applyPhysics = update != null ? update : true;
         AtomicInteger replacedCount = new AtomicInteger();
-        for (int x = minX; x <= maxX; x++) {
-            for (int y = minY; y <= maxY; y++) {
-                for (int z = minZ; z <= maxZ; z++) {
-                    int finalX = x;
-                    int finalY = y;
-                    int finalZ = z;
-                    world.getChunkAtAsyncUrgently(x >> 4, z >> 4).thenAccept((chunk) -> {
-                        Block block = world.getBlockAt(finalX, finalY, finalZ);
+        forEachAreaChunk(world, minX, minZ, maxX, maxZ, "Replaced", (fromX, toX, fromZ, toZ) -> {
+            for (int x = fromX; x <= toX; x++) {
+                for (int y = minY; y <= maxY; y++) {
+                    for (int z = fromZ; z <= toZ; z++) {
+                        Block block = world.getBlockAt(x, y, z);
                         Material material = block.getType();
 
-                        if (material == Material.AIR) return;
-                        if (sourceMat != null && material != sourceMat) return;
+                        if (material == Material.AIR) continue;
+                        if (sourceMat != null && material != sourceMat) continue;
 
                         try {
                             if (targetBlockData != null && !targetBlockData.isEmpty()) {
                                 BlockData data = Bukkit.createBlockData(targetBlockData);
-                                block.setBlockData(data, update != null ? update : true);
+                                block.setBlockData(data, applyPhysics);
                             } else {
-                                block.setType(targetMat, update != null ? update : true);
+                                block.setType(targetMat, applyPhysics);
                             }
                             replacedCount.getAndIncrement();
                         } catch (Exception e) {
                             // Continue with other blocks
                         }
-                    });
-
+                    }
                 }
             }
-        }
+        });
 
         return replacedCount.get();
     }
@@ -575,28 +593,92 @@ public class BlockProvider {
             );
         }
 
+        boolean applyPhysics = update != null ? update : true;
         AtomicInteger clearedCount = new AtomicInteger();
-        for (int x = minX; x <= maxX; x++) {
-            for (int y = minY; y <= maxY; y++) {
-                for (int z = minZ; z <= maxZ; z++) {
-                    int finalX = x;
-                    int finalY = y;
-                    int finalZ = z;
-                    world.getChunkAtAsyncUrgently(x >> 4, z >> 4).thenAccept((chunk) -> {
-                        Block block = world.getBlockAt(finalX, finalY, finalZ);
+        forEachAreaChunk(world, minX, minZ, maxX, maxZ, "Cleared", (fromX, toX, fromZ, toZ) -> {
+            for (int x = fromX; x <= toX; x++) {
+                for (int y = minY; y <= maxY; y++) {
+                    for (int z = fromZ; z <= toZ; z++) {
+                        Block block = world.getBlockAt(x, y, z);
                         if (block.getType() != Material.AIR) {
-                            block.setType(Material.AIR, update != null ? update : true);
+                            block.setType(Material.AIR, applyPhysics);
                             clearedCount.getAndIncrement();
                         }
-                    });
-
+                    }
                 }
             }
-        }
+        });
 
         return clearedCount.get();
     }
 
+    /**
+     * Column range of an area that falls within one chunk.
+     */
+    @FunctionalInterface
+    private interface AreaChunkTask {
+        void run(int fromX, int toX, int fromZ, int toZ);
+    }
+
+    /**
+     * Runs a task once per chunk of an area, with the part of the area
+     * inside that chunk, and waits until every chunk is done. Each chunk is
+     * loaded once and its task runs where the server hands out the loaded
+     * chunk; progress is reported per chunk to a streaming caller.
+     */
+    private static void forEachAreaChunk(World world, int minX, int minZ, int maxX, int maxZ,
+                                         String action, AreaChunkTask task) {
+        int minChunkX = minX >> 4;
+        int maxChunkX = maxX >> 4;
+        int minChunkZ = minZ >> 4;
+        int maxChunkZ = maxZ >> 4;
+        ChunkProgress progress = new ChunkProgress(action, (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1));
+        List<CompletableFuture<Void>> chunkFutures = new ArrayList<>();
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            int fromX = Math.max(minX, chunkX << 4);
+            int toX = Math.min(maxX, (chunkX << 4) + 15);
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                int fromZ = Math.max(minZ, chunkZ << 4);
+                int toZ = Math.min(maxZ, (chunkZ << 4) + 15);
+                chunkFutures.add(world.getChunkAtAsyncUrgently(chunkX, chunkZ)
+                        .thenAccept(chunk -> task.run(fromX, toX, fromZ, toZ))
+                        .whenComplete((ignored, error) -> progress.chunkDone()));
+            }
+        }
+        CompletableFuture.allOf(chunkFutures.toArray(new CompletableFuture[0])).join();
+    }
+
+    /**
+     * Counts finished chunks of an area operation and reports them, along
+     * with any partial results, to the progress reporter of the calling
+     * capability, if any. The reporter is looked up on the calling thread
+     * since chunks finish on other threads.
+     */
+    private static final class ChunkProgress {
+        private final ProgressReporter reporter = ProgressReporter.current();
+        private final AtomicInteger done = new AtomicInteger();
+        private final String action;
+        private final int total;
+
+        ChunkProgress(String action, int total) {
+            this.action = action;
+            this.total = total;
+        }
+
+        void chunkDone() {
+            int count = done.incrementAndGet();
+            if (reporter != null) {
+                reporter.progress(count, (double) total, action + " " + count + "/" + total + " chunks");
+            }
+        }
+
+        void partial(Object content) {
+            if (reporter != null) {
+                reporter.partial(content);
+            }
+        }
+    }
+
     /**
      * Gets the material at a specific location.
      *
@@ -663,4 +745,336 @@ public class BlockProvider {
         return dataFuture.join();
     }
 
+    /**
+     * Gets blocks in a specified area without loading chunks.
+     *
+     * @param worldName      the name of the world
+     * @param minX           the minimum X coordinate
+     * @param minY           the minimum Y coordinate
+     * @param minZ           the minimum Z coordinate
+     * @param maxX           the maximum X coordinate
+     * @param maxY           the maximum Y coordinate
+     * @param maxZ           the maximum Z coordinate
+     * @param materialFilter optional material filter
+     * @param pagination     optional pagination parameters
+     * @return the list of block information
+     */
+    @McpContext(
+            id = "block.list.area.stored",
+            name = "List Blocks in Area (Stored)",
+            description = "Gets blocks in a specified area by reading region files directly, without loading chunks. " +
+                    "Loaded chunks are read live. Light levels are not reported. Reading stops after the requested page, " +
+                    "so the total counts the blocks up to that page plus one if more follow",
+            permissions = {"mcp.context.block.list.area.stored"},
+            tags = {"block", "list", "area", "query", "region"}
+    )
+    @SelectionItems
+    public BlockListResult getStoredBlocksInArea(
+            @Param(name = "worldName", required = true, description = "The name of the world")
+            String worldName,
+            @Param(name = "minX", required = true, description = "Minimum X coordinate")
+            Integer minX,
+            @Param(name = "minY", required = true, description = "Minimum Y coordinate")
+            Integer minY,
+            @Param(name = "minZ", required = true, description = "Minimum Z coordinate")
+            Integer minZ,
+            @Param(name = "maxX", required = true, description = "Maximum X coordinate")
+            Integer maxX,
+            @Param(name = "maxY", required = true, description = "Maximum Y coordinate")
+            Integer maxY,
+            @Param(name = "maxZ", required = true, description = "Maximum Z coordinate")
+            Integer maxZ,
+            @Param(name = "materialFilter", description = "Material filter (e.g., 'STONE', 'DIRT')")
+            String materialFilter,
+            @Param(name = "pagination", description = "Pagination parameters")
+            PaginationParam pagination
+    ) {
+        World world = Bukkit.getWorld(worldName);
+        if (world == null) {
+            throw new McpBusinessException(
+                    ErrorCode.OPERATION_FAILED.getErrorCode(),
+                    "World not found: " + worldName
+            );
+        }
+
+        long volume = (Math.abs((long) maxX - minX) + 1) * (Math.abs((long) maxY - minY) + 1) * (Math.abs((long) maxZ - minZ) + 1);
+        if (volume > Configuration.performance.maxStoredBlockVolume) {
+            throw new McpBusinessException(
+                    ErrorCode.OPERATION_FAILED.getErrorCode(),
+                    "Area too large: " + volume + " blocks (max " + Configuration.performance.maxStoredBlockVolume + ")"
+            );
+        }
+
+        Material filterMaterial = parseMaterialFilter(materialFilter);
+
+        if (pagination == null) {
+            pagination = PaginationParam.createDefault();
+        }
+        int pageSize = pagination.pageSize() != null ? pagination.pageSize() : 20;
+        int offset = pagination.getOffset();
+
+        // Read one block past the page so a following page can be told apart from none
+        int maxBlocks = (int) Math.min(Integer.MAX_VALUE, (long) offset + pageSize + 1);
+        List<BlockInfo> blocks = new StoredBlockReader(world)
+                .readArea(minX, minY, minZ, maxX, maxY, maxZ, filterMaterial, maxBlocks)
+                .join();
+
+        int total = blocks.size();
+        int totalPages = (int) Math.ceil((double) total / pageSize);
+        int page = Math.min(pagination.page() != null ? pagination.page() : 1, totalPages);
+
+        List<BlockInfo> paginated = blocks.subList(
+                Math.min(offset, total),
+                Math.min(offset + pageSize, total)
+        );
+
+        return new BlockListResult(paginated, total, page, pageSize, totalPages);
+    }
+
+    /**
+     * Gets information about a block without loading its chunk.
+     *
+     * @param location the location to query
+     * @return the block information
+     */
+    @McpContext(
+            id = "block.info.get.stored",
+            name = "Get Block Info (Stored)",
+            description = "Retrieves information about a block by reading region files directly, without loading the chunk. " +
+                    "A loaded chunk is read live. Light level is not reported",
+            permissions = {"mcp.context.block.info.stored"},
+            tags = {"block", "info", "query", "region"}
+    )
+    public BlockInfo getStoredBlockInfo(
+            @Param(name = "location", required = true, description = "The location to query")
+            BlockLocationParam location
+    ) {
+        World world = Bukkit.getWorld(location.world());
+        if (world == null) {
+            throw new McpBusinessException(
+                    ErrorCode.OPERATION_FAILED.getErrorCode(),
+                    "World not found: " + location.world()
+            );
+        }
+
+        BlockInfo blockInfo = new StoredBlockReader(world)
+                .readBlock(location.x(), location.y(), location.z())
+                .join();
+        if (blockInfo == null) {
+            throw new McpBusinessException(
+                    ErrorCode.OPERATION_FAILED.getErrorCode(),
+                    "Chunk has not been generated at " + location.x() + ", " + location.z()
+            );
+        }
+        return blockInfo;
+    }
+
+    /**
+     * Gets aggregated block statistics for an area.
+     *
+     * @param worldName      the name of the world
+     * @param minX           the minimum X coordinate
+     * @param minY           the minimum Y coordinate
+     * @param minZ           the minimum Z coordinate
+     * @param maxX           the maximum X coordinate
+     * @param maxY           the maximum Y coordinate
+     * @param maxZ           the maximum Z coordinate
+     * @param materialFilter optional material counted in per-Y and per-chunk totals
+     * @param includeStates  whether to include a histogram of block data strings
+     * @param includeChunks  whether to include a per-chunk breakdown
+     * @return the block statistics
+     */
+    @McpContext(
+            id = "block.stats.area",
+            name = "Get Block Statistics in Area",
+            description = "Gets a material histogram, per-Y counts and an optional per-chunk breakdown for an area " +
+                    "without listing individual blocks. Chunks that were never generated are skipped. " +
+                    "The area is limited by the server's configured chunk count",
+            permissions = {"mcp.context.block.stats.area"},
+            tags = {"block", "stats", "area", "query"}
+    )
+    public BlockStatsResult getBlockStatsInArea(
+            @Param(name = "worldName", required = true, description = "The name of the world")
+            String worldName,
+            @Param(name = "minX", required = true, description = "Minimum X coordinate")
+            Integer minX,
+            @Param(name = "minY", required = true, description = "Minimum Y coordinate")
+            Integer minY,
+            @Param(name = "minZ", required = true, description = "Minimum Z coordinate")
+            Integer minZ,
+            @Param(name = "maxX", required = true, description = "Maximum X coordinate")
+            Integer maxX,
+            @Param(name = "maxY", required = true, description = "Maximum Y coordinate")
+            Integer maxY,
+            @Param(name = "maxZ", required = true, description = "Maximum Z coordinate")
+            Integer maxZ,
+            @Param(name = "materialFilter", description = "Material counted in per-Y and per-chunk totals (default: all non-air blocks)")
+            String materialFilter,
+            @Param(name = "includeStates", description = "Whether to include a histogram of block data strings", defaultValue = "false")
+            Boolean includeStates,
+            @Param(name = "includeChunks", description = "Whether to include a per-chunk breakdown", defaultValue = "false")
+            Boolean includeChunks
+    ) {
+        World world = Bukkit.getWorld(worldName);
+        if (world == null) {
+            throw new McpBusinessException(
+                    ErrorCode.OPERATION_FAILED.getErrorCode(),
+                    "World not found: " + worldName
+            );
+        }
+
+        Material filterMaterial = parseMaterialFilter(materialFilter);
+
+        long chunks = (Math.abs((long) (maxX >> 4) - (minX >> 4)) + 1) * (Math.abs((long) (maxZ >> 4) - (minZ >> 4)) + 1);
+        if (chunks > Configuration.performance.maxBlockStatsChunks) {
+            throw new McpBusinessException(
+                    ErrorCode.OPERATION_FAILED.getErrorCode(),
+                    "Area too large: " + chunks + " chunks (max " + Configuration.performance.maxBlockStatsChunks + ")"
+            );
+        }
+
+        return new BlockStatsCollector(
+                world, minX, minY, minZ, maxX, maxY, maxZ, filterMaterial,
+                includeStates != null && includeStates,
+                includeChunks != null && includeChunks
+        ).collect().join();
+    }
+
+    /**
+     * Finds the nearest block matching a material or block state.
+     *
+     * @param location  the search origin
+     * @param radius    the search radius in blocks
+     * @param material  the material to find (e.g., 'DIAMOND_ORE')
+     * @param blockData optional block data to match; only the properties it sets are compared
+     * @return the nearest matching block, if any
+     */
+    @McpContext(
+            id = "block.find.nearest",
+            name = "Find Nearest Block",
+            description = "Finds the closest block matching a material or block state within a radius of a location",
+            permissions = {"mcp.context.block.find.nearest"},
+            tags = {"block", "find", "search", "query"}
+    )
+    public NearestBlockResult findNearestBlock(
+            @Param(name = "location", required = true, description = "The search origin")
+            LocationParam location,
+            @Param(name = "radius", description = "Search radius in blocks", defaultValue = "32", min = 1, max = 256)
+            Integer radius,
+            @Param(name = "material", description = "The material to find (e.g., 'DIAMOND_ORE'); required unless blockData is given")
+            String material,
+            @Param(name = "blockData", description = "Block data to match (e.g., 'minecraft:chest[facing=north]'); only the properties it sets are compared")
+            String blockData
+    ) {
+        World world = Bukkit.getWorld(location.world());
+        if (world == null) {
+            throw new McpBusinessException(
+                    ErrorCode.OPERATION_FAILED.getErrorCode(),
+                    "World not found: " + location.world()
+            );
+        }
+
+        BlockData state = null;
+        Material targetMaterial = null;
+        if (blockData != null && !blockData.isEmpty()) {
+            try {
+                state = Bukkit.createBlockData(blockData);
+            } catch (IllegalArgumentException e) {
+                throw new McpBusinessException(
+                        ErrorCode.OPERATION_FAILED.getErrorCode(),
+                        "Invalid block data: " + blockData
+                );
+            }
+        } else if (material != null && !material.isEmpty()) {
+            targetMaterial = Material.getMaterial(material.toUpperCase());
+        }
+        if (state == null && (targetMaterial == null || !targetMaterial.isBlock())) {
+            throw new McpBusinessException(
+                    ErrorCode.OPERATION_FAILED.getErrorCode(),
+                    "Invalid material: " + material
+            );
+        }
+
+        int searchRadius = Math.max(1, Math.min(radius != null ? radius : 32, 256));
+        return new NearestBlockSearch(
+                world,
+                (int) Math.floor(location.x()),
+                (int) Math.floor(location.y()),
+                (int) Math.floor(location.z()),
+                searchRadius,
+                targetMaterial,
+                state
+        ).search().join();
+    }
+
+    /**
+     * Gets surface heightmaps and top-block materials for an area.
+     *
+     * @param worldName the name of the world
+     * @param minX      the minimum X coordinate
+     * @param minZ      the minimum Z coordinate
+     * @param maxX      the maximum X coordinate
+     * @param maxZ      the maximum Z coordinate
+     * @return the surface summary
+     */
+    @McpContext(
+            id = "block.surface.area",
+            name = "Get Surface Summary in Area",
+            description = "Gets WORLD_SURFACE and MOTION_BLOCKING heightmaps and top-block materials for an area " +
+                    "as base64 grids (row-major, X fastest; heights are big-endian int16, top blocks are palette indices)",
+            permissions = {"mcp.context.block.surface.area"},
+            tags = {"block", "surface", "heightmap", "terrain", "query"}
+    )
+    public SurfaceSummaryResult getSurfaceSummary(
+            @Param(name = "worldName", required = true, description = "The name of the world")
+            String worldName,
+            @Param(name = "minX", required = true, description = "Minimum X coordinate")
+            Integer minX,
+            @Param(name = "minZ", required = true, description = "Minimum Z coordinate")
+            Integer minZ,
+            @Param(name = "maxX", required = true, description = "Maximum X coordinate")
+            Integer maxX,
+            @Param(name = "maxZ", required = true, description = "Maximum Z coordinate")
+            Integer maxZ
+    ) {
+        World world = Bukkit.getWorld(worldName);
+        if (world == null) {
+            throw new McpBusinessException(
+                    ErrorCode.OPERATION_FAILED.getErrorCode(),
+                    "World not found: " + worldName
+            );
+        }
+
+        long columns = (Math.abs((long) maxX - minX) + 1) * (Math.abs((long) maxZ - minZ) + 1);
+        long maxColumns = Configuration.performance.maxSurfaceColumns;
+        if (columns > maxColumns) {
+            throw new McpBusinessException(
+                    ErrorCode.OPERATION_FAILED.getErrorCode(),
+                    "Area too large: " + columns + " columns (max " + maxColumns + ")"
+            );
+        }
+
+        return new SurfaceSampler(world, minX, minZ, maxX, maxZ).sample().join();
+    }
+
+    /**
+     * Parses an optional material filter.
+     *
+     * @param materialFilter the material name, may be null or empty
+     * @return the material, or null if no filter is given
+     * @throws McpBusinessException if the material does not exist
+     */
+    private static Material parseMaterialFilter(String materialFilter) {
+        if (materialFilter == null || materialFilter.isEmpty()) {
+            return null;
+        }
+        Material material = Material.getMaterial(materialFilter.toUpperCase());
+        if (material == null) {
+            throw new McpBusinessException(
+                    ErrorCode.OPERATION_FAILED.getErrorCode(),
+                    "Invalid material: " + materialFilter
+            );
+        }
+        return material;
+    }
 }
@@ -1,5 +1,10 @@
 package cn.lunadeer.mc.mcp.provider.builtin;
 
+import cn.lunadeer.mc.mcp.MinecraftContextProtocolServer;
+import cn.lunadeer.mc.mcp.core.execution.ProgressReporter;
+import cn.lunadeer.mc.mcp.provider.builtin.dto.entity.EntityCensusResult;
+import cn.lunadeer.mc.mcp.provider.builtin.entity.EntityCensus;
+import cn.lunadeer.mc.mcp.provider.builtin.entity.EntityRemovalJob;
 import cn.lunadeer.mc.mcp.sdk.annotations.McpAction;
 import cn.lunadeer.mc.mcp.sdk.annotations.McpContext;
 import cn.lunadeer.mc.mcp.sdk.annotations.McpProvider;
@@ -10,14 +15,17 @@ import cn.lunadeer.mc.mcp.sdk.model.RiskLevel;
 import cn.lunadeer.mc.mcp.sdk.model.dto.LocationParam;
 import cn.lunadeer.mc.mcp.sdk.model.dto.PaginationParam;
 import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
 import java.util.List;
-
-import static cn.lunadeer.mc.mcp.sdk.model.dto.LocationParam.toBukkitLocation;
+import java.util.Locale;
+import java.util.function.Predicate;
 
 /**
  * Built-in MCP provider for entity-related capabilities.
@@ -37,6 +45,18 @@ import static cn.lunadeer.mc.mcp.sdk.model.dto.LocationParam.toBukkitLocation;
 )
 public class EntityProvider {
 
+    /**
+     * Bounding boxes up to this many chunks are probed position by position;
+     * larger ones are compared with the number of loaded chunks first.
+     */
+    private static final long PROBED_CHUNKS = 1024;
+
+    private final EntityCensus entityCensus;
+
+    public EntityProvider(EntityCensus entityCensus) {
+        this.entityCensus = entityCensus;
+    }
+
     /**
      * Lists entities in a world with optional filtering and pagination.
      *
@@ -61,7 +81,7 @@ public class EntityProvider {
             String entityType,
             @Param(name = "location", description = "Center location for radius filtering")
             LocationParam location,
-            @Param(name = "radius", description = "Radius from center location")
+            @Param(name = "radius", description = "Radius from center location, must be positive")
             Double radius,
             @Param(name = "pagination", description = "Pagination parameters")
             PaginationParam pagination
@@ -74,40 +94,34 @@ public class EntityProvider {
             );
         }
 
-        List<Entity> entities = world.getEntities();
-        List<String> result = new ArrayList<>();
-
-        Location center = null;
-        if (location != null) {
-            center = toBukkitLocation(location);
-        }
-
-        for (Entity entity : entities) {
-            // Filter by entity type if specified
-            if (entityType != null && !entity.getType().name().equalsIgnoreCase(entityType)) {
-                continue;
+        EntityType type = null;
+        if (entityType != null) {
+            type = resolveEntityType(entityType);
+            if (type == null) {
+                return new ArrayList<>();
             }
-
-            // Filter by radius if specified
-            if (center != null && radius != null) {
-                double distance = entity.getLocation().distance(center);
-                if (distance > radius) {
-                    continue;
-                }
-            }
-
-            result.add(entity.getType().name() + ":" + entity.getUniqueId());
         }
 
-        // Apply pagination
+        // Push pagination into the scan so it stops once the page is full
+        int skip = 0;
+        int limit = Integer.MAX_VALUE;
         if (pagination != null) {
-            int offset = pagination.getOffset();
-            int limit = pagination.pageSize() != null ? pagination.pageSize() : 20;
-            int from = Math.min(offset, result.size());
-            int to = Math.min(offset + limit, result.size());
-            result = result.subList(from, to);
+            skip = pagination.getOffset();
+            limit = pagination.pageSize() != null ? pagination.pageSize() : 20;
         }
 
+        List<String> result = new ArrayList<>();
+        int[] remainingSkip = {skip};
+        int finalLimit = limit;
+        scanEntities(world, type, location, radius, entity -> {
+            if (remainingSkip[0] > 0) {
+                remainingSkip[0]--;
+                return true;
+            }
+            result.add(entity.getType().name() + ":" + entity.getUniqueId());
+            return result.size() < finalLimit;
+        });
+
         return result;
     }
 
@@ -124,7 +138,8 @@ public class EntityProvider {
     @McpAction(
             id = "entity.remove",
             name = "Remove Entities",
-            description = "Removes entities from a world",
+            description = "Removes entities from a world. Removal is spread over several ticks and progress is " +
+                    "emitted as 'entity.remove.progress' events",
             risk = RiskLevel.HIGH,
             snapshotRequired = true,
             rollbackSupported = true,
@@ -138,7 +153,7 @@ public class EntityProvider {
             String entityType,
             @Param(name = "location", description = "Center location for radius filtering")
             LocationParam location,
-            @Param(name = "radius", description = "Radius from center location")
+            @Param(name = "radius", description = "Radius from center location, must be positive")
             Double radius,
             @Param(name = "excludePlayers", description = "Whether to exclude players from removal")
             Boolean excludePlayers
@@ -151,37 +166,201 @@ public class EntityProvider {
             );
         }
 
-        List<Entity> entities = world.getEntities();
-        int removedCount = 0;
+        EntityType type = null;
+        if (entityType != null) {
+            type = resolveEntityType(entityType);
+            if (type == null) {
+                return 0;
+            }
+        }
+
+        boolean skipPlayers = excludePlayers != null && excludePlayers;
+        List<Entity> matched = new ArrayList<>();
+        scanEntities(world, type, location, radius, entity -> {
+            if (!skipPlayers || !(entity instanceof Player)) {
+                matched.add(entity);
+            }
+            return true;
+        });
+
+        // Removal is spread over several ticks; this only blocks the calling worker thread
+        ProgressReporter reporter = ProgressReporter.current();
+        return new EntityRemovalJob(matched, progress -> {
+            MinecraftContextProtocolServer.getInstance().getEventEmitter().emit("entity.remove.progress", progress);
+            if (reporter != null) {
+                reporter.progress(progress.processed(), (double) progress.matched(),
+                        "Removed " + progress.removed() + " of " + progress.matched() + " entities");
+            }
+        }).start().join();
+    }
 
-        Location center = null;
-        if (location != null) {
-            center = toBukkitLocation(location);
+    /**
+     * Gets entity counts per world, type and chunk from the entity census.
+     *
+     * @param worldName  optional world to restrict the census to
+     * @param entityType optional entity type filter
+     * @param topChunks  the number of most crowded chunks to include
+     * @return the entity census
+     */
+    @McpContext(
+            id = "entity.census",
+            name = "Entity Census",
+            description = "Gets entity counts per world, per entity type and for the most crowded chunks without scanning worlds. " +
+                    "Per-chunk counts follow moving entities with a delay of up to the census reconcile interval",
+            permissions = {"mcp.context.entity.census"},
+            tags = {"entity", "census", "stats", "query"}
+    )
+    public EntityCensusResult getEntityCensus(
+            @Param(name = "worldName", description = "The name of the world (default: all worlds)")
+            String worldName,
+            @Param(name = "entityType", description = "Entity type filter (e.g., 'Item', 'Zombie')")
+            String entityType,
+            @Param(name = "topChunks", description = "Number of most crowded chunks to include (0 to omit)", defaultValue = "10", min = 0, max = 1000)
+            Integer topChunks
+    ) {
+        if (!entityCensus.isAvailable()) {
+            throw new McpBusinessException(
+                    ErrorCode.OPERATION_FAILED.getErrorCode(),
+                    "Entity census requires a Paper server"
+            );
+        }
+        World world = null;
+        if (worldName != null && !worldName.isEmpty()) {
+            world = Bukkit.getWorld(worldName);
+            if (world == null) {
+                throw new McpBusinessException(
+                        ErrorCode.OPERATION_FAILED.getErrorCode(),
+                        "World not found: " + worldName
+                );
+            }
         }
 
-        for (Entity entity : entities) {
-            // Skip players if specified
-            if (excludePlayers != null && excludePlayers && entity instanceof org.bukkit.entity.Player) {
-                continue;
+        EntityType type = null;
+        if (entityType != null && !entityType.isEmpty()) {
+            type = resolveEntityType(entityType);
+            if (type == null) {
+                throw new McpBusinessException(
+                        ErrorCode.OPERATION_FAILED.getErrorCode(),
+                        "Invalid entity type: " + entityType
+                );
             }
+        }
 
-            // Filter by entity type if specified
-            if (entityType != null && !entity.getType().name().equalsIgnoreCase(entityType)) {
-                continue;
+        return entityCensus.query(world, type, Math.max(0, topChunks != null ? topChunks : 10));
+    }
+
+    /**
+     * Resolves an entity type name once so entities can be compared by reference.
+     *
+     * @param entityType the entity type name (case-insensitive)
+     * @return the entity type, or null if unknown
+     */
+    private static EntityType resolveEntityType(String entityType) {
+        try {
+            return EntityType.valueOf(entityType.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Visits matching entities chunk by chunk until the visitor asks to stop.
+     * <p>
+     * With a center and radius only the loaded chunks overlapping the query's
+     * bounding box are visited, and distances are compared squared. A box
+     * holding more chunk positions than the world has loaded chunks is
+     * matched against the loaded chunks instead of probing every position,
+     * so the work stays bounded however large the radius. Otherwise all
+     * loaded chunks are visited. Chunks whose entities are not loaded are
+     * skipped rather than loaded.
+     * </p>
+     *
+     * @param world    the world
+     * @param type     optional entity type filter
+     * @param location optional center location
+     * @param radius   optional radius from the center, must be positive
+     * @param visitor  receives each matching entity, returns false to stop the scan
+     */
+    private static void scanEntities(World world, EntityType type, LocationParam location, Double radius,
+                                     Predicate<Entity> visitor) {
+        if (location != null && radius != null) {
+            if (!(radius > 0)) {
+                throw new McpBusinessException(
+                        ErrorCode.OPERATION_FAILED.getErrorCode(),
+                        "Radius must be positive: " + radius
+                );
             }
+            double centerX = location.x();
+            double centerY = location.y();
+            double centerZ = location.z();
+            double radiusSquared = radius * radius;
+            int minChunkX = (int) Math.floor(centerX - radius) >> 4;
+            int maxChunkX = (int) Math.floor(centerX + radius) >> 4;
+            int minChunkZ = (int) Math.floor(centerZ - radius) >> 4;
+            int maxChunkZ = (int) Math.floor(centerZ + radius) >> 4;
+            Location position = new Location(world, 0, 0, 0);
+            Predicate<Entity> inRange = entity -> {
+                entity.getLocation(position);
+                double dx = position.getX() - centerX;
+                double dy = position.getY() - centerY;
+                double dz = position.getZ() - centerZ;
+                return dx * dx + dy * dy + dz * dz <= radiusSquared;
+            };
 
-            // Filter by radius if specified
-            if (center != null && radius != null) {
-                double distance = entity.getLocation().distance(center);
-                if (distance > radius) {
-                    continue;
+            long boxChunks = (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+            Chunk[] loaded = boxChunks > PROBED_CHUNKS ? world.getLoadedChunks() : null;
+            if (loaded != null && boxChunks > loaded.length) {
+                for (Chunk chunk : loaded) {
+                    if (chunk.getX() < minChunkX || chunk.getX() > maxChunkX
+                            || chunk.getZ() < minChunkZ || chunk.getZ() > maxChunkZ) {
+                        continue;
+                    }
+                    if (!visitChunk(chunk, type, inRange, visitor)) {
+                        return;
+                    }
                 }
+                return;
             }
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                    if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                        continue;
+                    }
+                    if (!visitChunk(world.getChunkAt(chunkX, chunkZ), type, inRange, visitor)) {
+                        return;
+                    }
+                }
+            }
+            return;
+        }
 
-            entity.remove();
-            removedCount++;
+        for (Chunk chunk : world.getLoadedChunks()) {
+            if (!visitChunk(chunk, type, null, visitor)) {
+                return;
+            }
         }
+    }
 
-        return removedCount;
+    /**
+     * Visits the matching entities of a chunk.
+     *
+     * @return false if the visitor stopped the scan
+     */
+    private static boolean visitChunk(Chunk chunk, EntityType type, Predicate<Entity> inRange, Predicate<Entity> visitor) {
+        if (!chunk.isEntitiesLoaded()) {
+            return true;
+        }
+        for (Entity entity : chunk.getEntities()) {
+            if (type != null && entity.getType() != type) {
+                continue;
+            }
+            if (inRange != null && !inRange.test(entity)) {
+                continue;
+            }
+            if (!visitor.test(entity)) {
+                return false;
+            }
+        }
+        return true;
     }
 }
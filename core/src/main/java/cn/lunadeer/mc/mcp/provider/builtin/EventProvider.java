@@ -0,0 +1,175 @@
+package cn.lunadeer.mc.mcp.provider.builtin;
+
+import cn.lunadeer.mc.mcp.provider.builtin.dto.event.*;
+import cn.lunadeer.mc.mcp.provider.builtin.event.BukkitEventBridge;
+import cn.lunadeer.mc.mcp.sdk.annotations.McpEvent;
+import cn.lunadeer.mc.mcp.sdk.annotations.McpProvider;
+
+/**
+ * Built-in MCP provider declaring the events of the Bukkit event bridge.
+ * <p>
+ * The events themselves are emitted by {@link BukkitEventBridge}; each
+ * method here describes one of them and returns its most recent occurrence.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+@McpProvider(
+        id = "mcp-internal-event",
+        name = "MCP Event Provider",
+        version = "1.0.0",
+        description = "Built-in events for Minecraft players, blocks, entities and server health"
+)
+public class EventProvider {
+
+    private final BukkitEventBridge bridge;
+
+    public EventProvider(BukkitEventBridge bridge) {
+        this.bridge = bridge;
+    }
+
+    /**
+     * Gets the most recent player join.
+     *
+     * @return the event data, or null if none happened yet
+     */
+    @McpEvent(
+            id = BukkitEventBridge.PLAYER_JOIN,
+            name = "Player Join",
+            description = "A player joined the server",
+            permissions = {"mcp.event.player.join"},
+            tags = {"player", "join"}
+    )
+    public PlayerConnectionData playerJoin() {
+        return bridge.getLatest(BukkitEventBridge.PLAYER_JOIN, PlayerConnectionData.class);
+    }
+
+    /**
+     * Gets the most recent player quit.
+     *
+     * @return the event data, or null if none happened yet
+     */
+    @McpEvent(
+            id = BukkitEventBridge.PLAYER_QUIT,
+            name = "Player Quit",
+            description = "A player left the server",
+            permissions = {"mcp.event.player.quit"},
+            tags = {"player", "quit"}
+    )
+    public PlayerConnectionData playerQuit() {
+        return bridge.getLatest(BukkitEventBridge.PLAYER_QUIT, PlayerConnectionData.class);
+    }
+
+    /**
+     * Gets the most recent chat message.
+     *
+     * @return the event data, or null if none happened yet
+     */
+    @McpEvent(
+            id = BukkitEventBridge.PLAYER_CHAT,
+            name = "Player Chat",
+            description = "A player sent a chat message",
+            permissions = {"mcp.event.player.chat"},
+            tags = {"player", "chat"}
+    )
+    public ChatMessageData playerChat() {
+        return bridge.getLatest(BukkitEventBridge.PLAYER_CHAT, ChatMessageData.class);
+    }
+
+    /**
+     * Gets the most recent block broken by a player.
+     *
+     * @return the event data, or null if none happened yet
+     */
+    @McpEvent(
+            id = BukkitEventBridge.BLOCK_BREAK,
+            name = "Block Break",
+            description = "A player broke a block (sampled, off by default)",
+            permissions = {"mcp.event.block.break"},
+            tags = {"block", "break"}
+    )
+    public BlockChangeData blockBreak() {
+        return bridge.getLatest(BukkitEventBridge.BLOCK_BREAK, BlockChangeData.class);
+    }
+
+    /**
+     * Gets the most recent block placed by a player.
+     *
+     * @return the event data, or null if none happened yet
+     */
+    @McpEvent(
+            id = BukkitEventBridge.BLOCK_PLACE,
+            name = "Block Place",
+            description = "A player placed a block (sampled, off by default)",
+            permissions = {"mcp.event.block.place"},
+            tags = {"block", "place"}
+    )
+    public BlockChangeData blockPlace() {
+        return bridge.getLatest(BukkitEventBridge.BLOCK_PLACE, BlockChangeData.class);
+    }
+
+    /**
+     * Gets the most recent per-chunk block change summary.
+     *
+     * @return the event data, or null if none happened yet
+     */
+    @McpEvent(
+            id = BukkitEventBridge.BLOCK_CHANGE_SUMMARY,
+            name = "Block Change Summary",
+            description = "Blocks broken and placed by players in a chunk during the last window",
+            permissions = {"mcp.event.block.change.summary"},
+            tags = {"block", "chunk", "summary"}
+    )
+    public BlockChangeSummary blockChangeSummary() {
+        return bridge.getLatest(BukkitEventBridge.BLOCK_CHANGE_SUMMARY, BlockChangeSummary.class);
+    }
+
+    /**
+     * Gets the most recent entity death.
+     *
+     * @return the event data, or null if none happened yet
+     */
+    @McpEvent(
+            id = BukkitEventBridge.ENTITY_DEATH,
+            name = "Entity Death",
+            description = "An entity or player died",
+            permissions = {"mcp.event.entity.death"},
+            tags = {"entity", "death"}
+    )
+    public EntityDeathData entityDeath() {
+        return bridge.getLatest(BukkitEventBridge.ENTITY_DEATH, EntityDeathData.class);
+    }
+
+    /**
+     * Gets the most recent TPS drop.
+     *
+     * @return the event data, or null if none happened yet
+     */
+    @McpEvent(
+            id = BukkitEventBridge.TPS_DROP,
+            name = "TPS Drop",
+            description = "The five second TPS fell below the drop threshold",
+            permissions = {"mcp.event.server.tps"},
+            tags = {"server", "tps", "performance"}
+    )
+    public TpsChangeData tpsDrop() {
+        return bridge.getLatest(BukkitEventBridge.TPS_DROP, TpsChangeData.class);
+    }
+
+    /**
+     * Gets the most recent TPS recovery.
+     *
+     * @return the event data, or null if none happened yet
+     */
+    @McpEvent(
+            id = BukkitEventBridge.TPS_RECOVER,
+            name = "TPS Recover",
+            description = "The five second TPS climbed back over the recovery threshold",
+            permissions = {"mcp.event.server.tps"},
+            tags = {"server", "tps", "performance"}
+    )
+    public TpsChangeData tpsRecover() {
+        return bridge.getLatest(BukkitEventBridge.TPS_RECOVER, TpsChangeData.class);
+    }
+}
@@ -1,5 +1,7 @@
 package cn.lunadeer.mc.mcp.provider.builtin;
 
+import cn.lunadeer.mc.mcp.core.execution.FieldSelection;
+import cn.lunadeer.mc.mcp.core.execution.SelectionItems;
 import cn.lunadeer.mc.mcp.sdk.annotations.McpAction;
 import cn.lunadeer.mc.mcp.sdk.annotations.McpContext;
 import cn.lunadeer.mc.mcp.sdk.annotations.McpProvider;
@@ -55,6 +57,7 @@ public class PlayerProvider {
             permissions = {"mcp.context.player.list"},
             tags = {"player", "list", "query"}
     )
+    @SelectionItems
     public PlayerListResult getPlayerList(
             @Param(name = "pagination", description = "Pagination parameters")
             PaginationParam pagination
@@ -65,22 +68,24 @@ public class PlayerProvider {
             pagination = PaginationParam.createDefault();
         }
 
-        List<PlayerInfo> playerInfos = new ArrayList<>();
-        for (Player player : players) {
-            playerInfos.add(toPlayerInfo(player));
-        }
-
-        // Apply pagination
-        int total = playerInfos.size();
+        int total = players.size();
         int pageSize = pagination.pageSize() != null ? pagination.pageSize() : 20;
         int totalPages = (int) Math.ceil((double) total / pageSize);
         int page = Math.min(pagination.page() != null ? pagination.page() : 1, totalPages);
         int offset = pagination.getOffset();
 
-        List<PlayerInfo> paginated = playerInfos.subList(
-                Math.min(offset, total),
-                Math.min(offset + pageSize, total)
-        );
+        // Only build infos for players on the requested page
+        List<PlayerInfo> paginated = new ArrayList<>(Math.max(0, Math.min(pageSize, total - offset)));
+        int index = 0;
+        for (Player player : players) {
+            if (index++ < offset) {
+                continue;
+            }
+            if (paginated.size() >= pageSize) {
+                break;
+            }
+            paginated.add(toPlayerInfo(player));
+        }
 
         return new PlayerListResult(paginated, total, page, pageSize, totalPages);
     }
@@ -219,17 +224,21 @@ public class PlayerProvider {
     }
 
     /**
-     * Converts a Bukkit Player to PlayerInfo.
+     * Converts a player to PlayerInfo.
+     * <p>
+     * The costlier object fields are skipped when the caller's field
+     * selection leaves them out.
+     * </p>
      *
-     * @param player the Bukkit player
+     * @param player the player
      * @return the player info
      */
     private PlayerInfo toPlayerInfo(Player player) {
         return new PlayerInfo(
                 player.getName(),
                 player.getUniqueId().toString(),
-                player.getDisplayName(),
-                toLocationParam(player.getLocation()),
+                FieldSelection.wants("displayName") ? player.getDisplayName() : null,
+                FieldSelection.wants("location") ? toLocationParam(player.getLocation()) : null,
                 player.getHealth(),
                 player.getMaxHealth(),
                 player.getFoodLevel(),
@@ -239,8 +248,8 @@ public class PlayerProvider {
                 player.isOp(),
                 player.isFlying(),
                 player.getPing(),
-                Instant.ofEpochMilli(player.getFirstPlayed()),
-                Instant.ofEpochMilli(player.getLastPlayed())
+                FieldSelection.wants("firstPlayed") ? Instant.ofEpochMilli(player.getFirstPlayed()) : null,
+                FieldSelection.wants("lastPlayed") ? Instant.ofEpochMilli(player.getLastPlayed()) : null
         );
     }
 
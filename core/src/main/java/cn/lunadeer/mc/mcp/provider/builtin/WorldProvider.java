@@ -1,5 +1,7 @@
 package cn.lunadeer.mc.mcp.provider.builtin;
 
+import cn.lunadeer.mc.mcp.infrastructure.TickTelemetry;
+import cn.lunadeer.mc.mcp.provider.builtin.dto.world.MsptResult;
 import cn.lunadeer.mc.mcp.sdk.annotations.McpAction;
 import cn.lunadeer.mc.mcp.sdk.annotations.McpContext;
 import cn.lunadeer.mc.mcp.sdk.annotations.McpProvider;
@@ -232,6 +234,29 @@ public class WorldProvider {
         );
     }
 
+    /**
+     * Gets tick time percentiles over recent time windows.
+     *
+     * @return the MSPT result
+     */
+    @McpContext(
+            id = "world.mspt.get",
+            name = "Get Tick Time Percentiles",
+            description = "Retrieves p50/p95/p99/max milliseconds per tick over the last 5 seconds, 1 minute and 5 minutes",
+            permissions = {"mcp.context.world.mspt"},
+            tags = {"world", "performance", "query"}
+    )
+    public MsptResult getMspt() {
+        TickTelemetry telemetry = TickTelemetry.instance;
+        if (telemetry == null) {
+            throw new McpBusinessException(
+                    ErrorCode.OPERATION_FAILED.getErrorCode(),
+                    "Tick telemetry is not running"
+            );
+        }
+        return new MsptResult(telemetry.getSource(), telemetry.getTicksRecorded(), telemetry.getWindows());
+    }
+
     /**
      * Gets a game rule value from a world.
      *
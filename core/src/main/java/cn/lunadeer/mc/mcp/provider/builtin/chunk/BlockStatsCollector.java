@@ -0,0 +1,196 @@
+package cn.lunadeer.mc.mcp.provider.builtin.chunk;
+
+import cn.lunadeer.mc.mcp.infrastructure.scheduler.WorkerPool;
+import cn.lunadeer.mc.mcp.provider.builtin.dto.block.BlockStatsResult;
+import cn.lunadeer.mc.mcp.provider.builtin.dto.block.ChunkBlockStats;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Computes block statistics for an area from chunk snapshots.
+ * <p>
+ * Each chunk is snapshotted on its owning thread and then tallied on the
+ * shared worker pool into primitive counters indexed by material ordinal.
+ * Empty sections are counted as air in bulk without touching their blocks.
+ * Partial tallies are merged once all chunks are done.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public class BlockStatsCollector {
+
+    private static final Material[] MATERIALS = Material.values();
+
+    private final World world;
+    private final int minX, minY, minZ, maxX, maxY, maxZ;
+    private final Material filterMaterial;
+    private final boolean includeStates;
+    private final boolean includeChunks;
+
+    public BlockStatsCollector(World world,
+                               int minX, int minY, int minZ,
+                               int maxX, int maxY, int maxZ,
+                               Material filterMaterial, boolean includeStates, boolean includeChunks) {
+        this.world = world;
+        this.minX = Math.min(minX, maxX);
+        this.minZ = Math.min(minZ, maxZ);
+        this.maxX = Math.max(minX, maxX);
+        this.maxZ = Math.max(minZ, maxZ);
+        this.minY = Math.max(world.getMinHeight(), Math.min(minY, maxY));
+        this.maxY = Math.min(world.getMaxHeight() - 1, Math.max(minY, maxY));
+        this.filterMaterial = filterMaterial;
+        this.includeStates = includeStates;
+        this.includeChunks = includeChunks;
+    }
+
+    /**
+     * Starts collecting statistics.
+     *
+     * @return a future of the statistics
+     */
+    public CompletableFuture<BlockStatsResult> collect() {
+        List<CompletableFuture<ChunkTally>> tallies = new ArrayList<>();
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                final int currentChunkX = chunkX;
+                final int currentChunkZ = chunkZ;
+                tallies.add(ChunkSnapshots.capture(world, chunkX, chunkZ, false).thenApplyAsync(
+                        snapshot -> snapshot != null ? tally(snapshot, currentChunkX, currentChunkZ) : null,
+                        WorkerPool.get()
+                ));
+            }
+        }
+        return CompletableFuture.allOf(tallies.toArray(new CompletableFuture[0]))
+                .thenApply(v -> merge(tallies));
+    }
+
+    private ChunkTally tally(ChunkSnapshot snapshot, int chunkX, int chunkZ) {
+        ChunkTally tally = new ChunkTally(chunkX, chunkZ, Math.max(0, maxY - minY + 1));
+        int fromX = Math.max(minX, chunkX << 4) & 15, toX = Math.min(maxX, (chunkX << 4) + 15) & 15;
+        int fromZ = Math.max(minZ, chunkZ << 4) & 15, toZ = Math.min(maxZ, (chunkZ << 4) + 15) & 15;
+        long columns = (long) (toX - fromX + 1) * (toZ - fromZ + 1);
+
+        for (int y = minY; y <= maxY; y++) {
+            if (snapshot.isSectionEmpty(ChunkSnapshots.sectionIndex(world, y))) {
+                tally.materials[Material.AIR.ordinal()] += columns;
+                tally.emptyAir += columns;
+                if (filterMaterial == Material.AIR) {
+                    tally.countsByY[y - minY] += columns;
+                    tally.matched += columns;
+                }
+                continue;
+            }
+            for (int x = fromX; x <= toX; x++) {
+                for (int z = fromZ; z <= toZ; z++) {
+                    Material material = snapshot.getBlockType(x, y, z);
+                    tally.materials[material.ordinal()]++;
+                    if (includeStates) {
+                        BlockData data = snapshot.getBlockData(x, y, z);
+                        tally.states.computeIfAbsent(data, k -> new long[1])[0]++;
+                    }
+                    if (filterMaterial != null ? material == filterMaterial : !material.isAir()) {
+                        tally.countsByY[y - minY]++;
+                        tally.matched++;
+                    }
+                }
+            }
+        }
+        return tally;
+    }
+
+    private BlockStatsResult merge(List<CompletableFuture<ChunkTally>> tallies) {
+        long[] materials = new long[MATERIALS.length];
+        long[] countsByY = new long[Math.max(0, maxY - minY + 1)];
+        Map<String, Long> states = includeStates ? new HashMap<>() : null;
+        List<ChunkBlockStats> chunks = includeChunks ? new ArrayList<>() : null;
+        long volume = 0;
+        long matched = 0;
+        int scanned = 0;
+        int missing = 0;
+
+        for (CompletableFuture<ChunkTally> future : tallies) {
+            ChunkTally tally = future.join();
+            if (tally == null) {
+                missing++;
+                continue;
+            }
+            scanned++;
+            matched += tally.matched;
+            for (int i = 0; i < materials.length; i++) {
+                materials[i] += tally.materials[i];
+                volume += tally.materials[i];
+            }
+            for (int i = 0; i < countsByY.length; i++) {
+                countsByY[i] += tally.countsByY[i];
+            }
+            if (states != null) {
+                tally.states.forEach((data, count) -> states.merge(data.getAsString(), count[0], Long::sum));
+                if (tally.emptyAir > 0) {
+                    states.merge("minecraft:air", tally.emptyAir, Long::sum);
+                }
+            }
+            if (chunks != null) {
+                chunks.add(new ChunkBlockStats(tally.chunkX, tally.chunkZ, tally.matched, toHistogram(tally.materials)));
+            }
+        }
+
+        Map<Integer, Long> yCounts = new LinkedHashMap<>();
+        for (int i = 0; i < countsByY.length; i++) {
+            if (countsByY[i] > 0) {
+                yCounts.put(minY + i, countsByY[i]);
+            }
+        }
+
+        return new BlockStatsResult(
+                world.getName(),
+                volume,
+                matched,
+                scanned,
+                missing,
+                toHistogram(materials),
+                states != null ? sortByCount(states) : null,
+                yCounts,
+                chunks
+        );
+    }
+
+    private static Map<String, Long> toHistogram(long[] counts) {
+        Map<String, Long> histogram = new HashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                histogram.put(MATERIALS[i].name(), counts[i]);
+            }
+        }
+        return sortByCount(histogram);
+    }
+
+    private static Map<String, Long> sortByCount(Map<String, Long> counts) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+        return sorted;
+    }
+
+    private static class ChunkTally {
+        final int chunkX;
+        final int chunkZ;
+        final long[] materials = new long[MATERIALS.length];
+        final long[] countsByY;
+        final Map<BlockData, long[]> states = new HashMap<>();
+        long emptyAir;
+        long matched;
+
+        ChunkTally(int chunkX, int chunkZ, int height) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.countsByY = new long[height];
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package cn.lunadeer.mc.mcp.provider.builtin.chunk;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.World;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Helpers for capturing chunk snapshots that are then processed off the server thread.
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public class ChunkSnapshots {
+
+    private ChunkSnapshots() {
+    }
+
+    /**
+     * Captures a snapshot of a chunk without generating it.
+     * <p>
+     * The snapshot is taken in the chunk callback, which runs on the thread
+     * owning the chunk; everything chained after it can run on any thread.
+     * </p>
+     *
+     * @param world           the world
+     * @param chunkX          the chunk X coordinate
+     * @param chunkZ          the chunk Z coordinate
+     * @param includeMaxBlockY whether to include the heightmap
+     * @return a future of the snapshot, completing with null if the chunk was never generated
+     */
+    public static CompletableFuture<ChunkSnapshot> capture(World world, int chunkX, int chunkZ, boolean includeMaxBlockY) {
+        return world.getChunkAtAsync(chunkX, chunkZ, false)
+                .thenApply(chunk -> chunk != null ? chunk.getChunkSnapshot(includeMaxBlockY, false, false) : null);
+    }
+
+    /**
+     * Gets the section index used by {@link ChunkSnapshot#isSectionEmpty(int)} for a block Y.
+     *
+     * @param world the world
+     * @param y     the block Y coordinate
+     * @return the section index, counted from the bottom of the world
+     */
+    public static int sectionIndex(World world, int y) {
+        return (y - world.getMinHeight()) >> 4;
+    }
+}
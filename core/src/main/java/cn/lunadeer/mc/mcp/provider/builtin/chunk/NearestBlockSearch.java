@@ -0,0 +1,228 @@
+package cn.lunadeer.mc.mcp.provider.builtin.chunk;
+
+import cn.lunadeer.mc.mcp.infrastructure.scheduler.WorkerPool;
+import cn.lunadeer.mc.mcp.provider.builtin.dto.block.NearestBlockResult;
+import cn.lunadeer.mc.mcp.sdk.model.dto.block.BlockLocationParam;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Finds the block closest to a point that matches a material or block state.
+ * <p>
+ * Chunks are searched ring by ring outward from the origin chunk. Within a
+ * ring, chunks are snapshotted and scanned in parallel, and inside a chunk
+ * sections are visited nearest first. A section is skipped when its bounding
+ * box is farther than the best hit so far, or when it is empty and the target
+ * is not air. A whole chunk is skipped when its palettes cannot contain the
+ * target state. The search stops as soon as the next ring cannot hold
+ * anything closer than the best hit.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public class NearestBlockSearch {
+
+    private final World world;
+    private final int originX, originY, originZ;
+    private final int radius;
+    private final long radiusSquared;
+    private final Material material;
+    private final BlockData state;
+    private final BlockData paletteProbe;
+
+    private final AtomicLong bestSquared;
+    private final AtomicInteger chunksSearched = new AtomicInteger();
+    private final AtomicInteger sectionsScanned = new AtomicInteger();
+
+    /**
+     * Creates a search.
+     *
+     * @param world    the world
+     * @param originX  the origin X coordinate
+     * @param originY  the origin Y coordinate
+     * @param originZ  the origin Z coordinate
+     * @param radius   the search radius in blocks
+     * @param material the material to match, ignored if a state is given
+     * @param state    the block state to match; only properties set in it are compared
+     */
+    public NearestBlockSearch(World world, int originX, int originY, int originZ, int radius,
+                              Material material, BlockData state) {
+        this.world = world;
+        this.originX = originX;
+        this.originY = originY;
+        this.originZ = originZ;
+        this.radius = radius;
+        this.radiusSquared = (long) radius * radius;
+        this.state = state;
+        this.material = state != null ? state.getMaterial() : material;
+        this.bestSquared = new AtomicLong(radiusSquared);
+
+        // Palettes can only be checked for an exact state. That is safe when the
+        // target material has no properties, so its default state is its only state.
+        BlockData probe = state != null ? state : this.material.createBlockData();
+        this.paletteProbe = probe.getAsString().indexOf('[') < 0 ? probe : null;
+    }
+
+    /**
+     * Starts the search.
+     *
+     * @return a future of the search result
+     */
+    public CompletableFuture<NearestBlockResult> search() {
+        return searchRing(0, null).thenApply(hit -> {
+            if (hit == null) {
+                return new NearestBlockResult(false, null, null, null, null, chunksSearched.get(), sectionsScanned.get());
+            }
+            return new NearestBlockResult(
+                    true,
+                    BlockLocationParam.create(world.getName(), hit.x, hit.y, hit.z),
+                    hit.data.getMaterial().name(),
+                    hit.data.getAsString(),
+                    Math.sqrt(hit.distanceSquared),
+                    chunksSearched.get(),
+                    sectionsScanned.get()
+            );
+        });
+    }
+
+    private CompletableFuture<Hit> searchRing(int ring, Hit best) {
+        long lowerBound = ringLowerBound(ring);
+        if (lowerBound * lowerBound > Math.min(radiusSquared, bestSquared.get())) {
+            return CompletableFuture.completedFuture(best);
+        }
+
+        int centerChunkX = originX >> 4;
+        int centerChunkZ = originZ >> 4;
+        List<CompletableFuture<Hit>> chunkSearches = new ArrayList<>();
+        for (int dx = -ring; dx <= ring; dx++) {
+            for (int dz = -ring; dz <= ring; dz++) {
+                if (Math.max(Math.abs(dx), Math.abs(dz)) != ring) {
+                    continue;
+                }
+                int chunkX = centerChunkX + dx;
+                int chunkZ = centerChunkZ + dz;
+                long chunkDistance = horizontalDistanceSquared(chunkX << 4, chunkZ << 4, (chunkX << 4) + 15, (chunkZ << 4) + 15);
+                if (chunkDistance > Math.min(radiusSquared, bestSquared.get())) {
+                    continue;
+                }
+                chunkSearches.add(ChunkSnapshots.capture(world, chunkX, chunkZ, false).thenApplyAsync(
+                        snapshot -> snapshot != null ? searchChunk(snapshot, chunkX, chunkZ) : null,
+                        WorkerPool.get()
+                ));
+            }
+        }
+
+        return CompletableFuture.allOf(chunkSearches.toArray(new CompletableFuture[0])).thenCompose(v -> {
+            Hit ringBest = best;
+            for (CompletableFuture<Hit> future : chunkSearches) {
+                Hit hit = future.join();
+                if (hit != null && (ringBest == null || Hit.ORDER.compare(hit, ringBest) < 0)) {
+                    ringBest = hit;
+                }
+            }
+            return searchRing(ring + 1, ringBest);
+        });
+    }
+
+    private Hit searchChunk(ChunkSnapshot snapshot, int chunkX, int chunkZ) {
+        chunksSearched.incrementAndGet();
+        if (paletteProbe != null && !snapshot.contains(paletteProbe)) {
+            return null;
+        }
+
+        int minY = Math.max(world.getMinHeight(), originY - radius);
+        int maxY = Math.min(world.getMaxHeight() - 1, originY + radius);
+        if (minY > maxY) {
+            return null;
+        }
+
+        // Visit sections nearest to the origin first so pruning kicks in early
+        List<Integer> sections = new ArrayList<>();
+        for (int sectionY = minY >> 4; sectionY <= maxY >> 4; sectionY++) {
+            sections.add(sectionY);
+        }
+        sections.sort(Comparator.comparingInt(sectionY -> axisDistance(originY, sectionY << 4, (sectionY << 4) + 15)));
+
+        long horizontal = horizontalDistanceSquared(chunkX << 4, chunkZ << 4, (chunkX << 4) + 15, (chunkZ << 4) + 15);
+        Hit best = null;
+        for (int sectionY : sections) {
+            long vertical = axisDistance(originY, sectionY << 4, (sectionY << 4) + 15);
+            if (horizontal + vertical * vertical > bestSquared.get()) {
+                continue;
+            }
+            int fromY = Math.max(minY, sectionY << 4);
+            int toY = Math.min(maxY, (sectionY << 4) + 15);
+            if (!material.isAir() && snapshot.isSectionEmpty(ChunkSnapshots.sectionIndex(world, fromY))) {
+                continue;
+            }
+
+            sectionsScanned.incrementAndGet();
+            for (int y = fromY; y <= toY; y++) {
+                long dy = y - originY;
+                for (int x = 0; x < 16; x++) {
+                    long dx = (chunkX << 4) + x - originX;
+                    for (int z = 0; z < 16; z++) {
+                        long dz = (chunkZ << 4) + z - originZ;
+                        long distanceSquared = dx * dx + dy * dy + dz * dz;
+                        if (distanceSquared > bestSquared.get()) {
+                            continue;
+                        }
+                        if (snapshot.getBlockType(x, y, z) != material) {
+                            continue;
+                        }
+                        BlockData data = snapshot.getBlockData(x, y, z);
+                        if (state != null && !state.matches(data)) {
+                            continue;
+                        }
+                        Hit hit = new Hit((chunkX << 4) + x, y, (chunkZ << 4) + z, distanceSquared, data);
+                        if (best == null || Hit.ORDER.compare(hit, best) < 0) {
+                            best = hit;
+                            bestSquared.accumulateAndGet(distanceSquared, Math::min);
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Gets the smallest horizontal distance from the origin to any block of a ring.
+     */
+    private long ringLowerBound(int ring) {
+        if (ring == 0) {
+            return 0;
+        }
+        int localX = originX & 15;
+        int localZ = originZ & 15;
+        int edge = Math.min(Math.min(localX, 15 - localX), Math.min(localZ, 15 - localZ));
+        return (long) (ring - 1) * 16 + edge + 1;
+    }
+
+    private long horizontalDistanceSquared(int minX, int minZ, int maxX, int maxZ) {
+        long dx = axisDistance(originX, minX, maxX);
+        long dz = axisDistance(originZ, minZ, maxZ);
+        return dx * dx + dz * dz;
+    }
+
+    private static int axisDistance(int value, int min, int max) {
+        return value < min ? min - value : (value > max ? value - max : 0);
+    }
+
+    private record Hit(int x, int y, int z, long distanceSquared, BlockData data) {
+        static final Comparator<Hit> ORDER = Comparator.comparingLong(Hit::distanceSquared)
+                .thenComparingInt(Hit::y)
+                .thenComparingInt(Hit::x)
+                .thenComparingInt(Hit::z);
+    }
+}
@@ -0,0 +1,205 @@
+package cn.lunadeer.mc.mcp.provider.builtin.chunk;
+
+import cn.lunadeer.mc.mcp.infrastructure.scheduler.WorkerPool;
+import cn.lunadeer.mc.mcp.provider.builtin.dto.block.SurfaceSummaryResult;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.Waterlogged;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Builds a surface summary of an area from chunk snapshot heightmaps.
+ * <p>
+ * The snapshot heightmap gives the MOTION_BLOCKING surface directly. The
+ * WORLD_SURFACE height is found by walking down from the highest non-empty
+ * section to the motion-blocking surface, so only a few blocks per column
+ * are read. Chunks are processed in parallel on the shared worker pool, each
+ * writing its own columns of the result grids.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public class SurfaceSampler {
+
+    private static final Material[] MATERIALS = Material.values();
+    private static final short NO_MATERIAL = -1;
+
+    private final World world;
+    private final int minX, minZ, maxX, maxZ;
+    private final int width, depth;
+    private final short[] motionBlocking;
+    private final short[] worldSurface;
+    private final short[] topMaterials;
+
+    public SurfaceSampler(World world, int minX, int minZ, int maxX, int maxZ) {
+        this.world = world;
+        this.minX = Math.min(minX, maxX);
+        this.minZ = Math.min(minZ, maxZ);
+        this.maxX = Math.max(minX, maxX);
+        this.maxZ = Math.max(minZ, maxZ);
+        this.width = this.maxX - this.minX + 1;
+        this.depth = this.maxZ - this.minZ + 1;
+        this.motionBlocking = new short[width * depth];
+        this.worldSurface = new short[width * depth];
+        this.topMaterials = new short[width * depth];
+        Arrays.fill(motionBlocking, SurfaceSummaryResult.MISSING_HEIGHT);
+        Arrays.fill(worldSurface, SurfaceSummaryResult.MISSING_HEIGHT);
+        Arrays.fill(topMaterials, NO_MATERIAL);
+    }
+
+    /**
+     * Starts sampling the surface.
+     *
+     * @return a future of the surface summary
+     */
+    public CompletableFuture<SurfaceSummaryResult> sample() {
+        List<CompletableFuture<Boolean>> chunks = new ArrayList<>();
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                final int currentChunkX = chunkX;
+                final int currentChunkZ = chunkZ;
+                chunks.add(ChunkSnapshots.capture(world, chunkX, chunkZ, true).thenApplyAsync(snapshot -> {
+                    if (snapshot == null) {
+                        return false;
+                    }
+                    sampleChunk(snapshot, currentChunkX, currentChunkZ);
+                    return true;
+                }, WorkerPool.get()));
+            }
+        }
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0])).thenApply(v -> {
+            int missing = 0;
+            for (CompletableFuture<Boolean> chunk : chunks) {
+                if (!chunk.join()) {
+                    missing++;
+                }
+            }
+            return buildResult(missing);
+        });
+    }
+
+    private void sampleChunk(ChunkSnapshot snapshot, int chunkX, int chunkZ) {
+        int minHeight = world.getMinHeight();
+        int maxHeight = world.getMaxHeight();
+
+        // Highest non-empty section bounds the WORLD_SURFACE walk for every column
+        int topY = minHeight - 1;
+        for (int y = maxHeight - 1; y >= minHeight; y -= 16) {
+            if (!snapshot.isSectionEmpty(ChunkSnapshots.sectionIndex(world, y))) {
+                topY = (ChunkSnapshots.sectionIndex(world, y) << 4) + minHeight + 15;
+                break;
+            }
+        }
+
+        int fromX = Math.max(minX, chunkX << 4), toX = Math.min(maxX, (chunkX << 4) + 15);
+        int fromZ = Math.max(minZ, chunkZ << 4), toZ = Math.min(maxZ, (chunkZ << 4) + 15);
+        for (int z = fromZ; z <= toZ; z++) {
+            for (int x = fromX; x <= toX; x++) {
+                int localX = x & 15;
+                int localZ = z & 15;
+                int motion = motionBlockingY(snapshot, localX, localZ, minHeight, maxHeight);
+
+                int surface = motion;
+                Material top = motion >= minHeight ? snapshot.getBlockType(localX, motion, localZ) : null;
+                for (int y = topY; y > motion; y--) {
+                    Material material = snapshot.getBlockType(localX, y, localZ);
+                    if (!material.isAir()) {
+                        surface = y;
+                        top = material;
+                        break;
+                    }
+                }
+
+                int index = (z - minZ) * width + (x - minX);
+                motionBlocking[index] = (short) motion;
+                worldSurface[index] = (short) surface;
+                topMaterials[index] = top != null ? (short) top.ordinal() : NO_MATERIAL;
+            }
+        }
+    }
+
+    /**
+     * Resolves the Y of the highest motion-blocking block from the snapshot heightmap.
+     * <p>
+     * The heightmap value may point at the first free block above the surface,
+     * which can hold a non-blocking block such as a flower; in that case the
+     * block below it is the surface.
+     * </p>
+     */
+    private static int motionBlockingY(ChunkSnapshot snapshot, int x, int z, int minHeight, int maxHeight) {
+        int y = Math.min(snapshot.getHighestBlockYAt(x, z), maxHeight - 1);
+        if (y < minHeight) {
+            return minHeight - 1;
+        }
+        Material material = snapshot.getBlockType(x, y, z);
+        if (material.isSolid() || material == Material.WATER || material == Material.LAVA) {
+            return y;
+        }
+        BlockData data = snapshot.getBlockData(x, y, z);
+        if (data instanceof Waterlogged waterlogged && waterlogged.isWaterlogged()) {
+            return y;
+        }
+        return y - 1;
+    }
+
+    private SurfaceSummaryResult buildResult(int missing) {
+        // Build a palette from the ordinals that actually occur
+        Map<Short, Integer> paletteIndex = new LinkedHashMap<>();
+        List<String> palette = new ArrayList<>();
+        for (short ordinal : topMaterials) {
+            if (ordinal != NO_MATERIAL && !paletteIndex.containsKey(ordinal)) {
+                paletteIndex.put(ordinal, palette.size());
+                palette.add(MATERIALS[ordinal].name());
+            }
+        }
+        int indexBytes = palette.size() < 0xFF ? 1 : 2;
+        ByteBuffer indices = ByteBuffer.allocate(topMaterials.length * indexBytes);
+        for (short ordinal : topMaterials) {
+            int value = ordinal == NO_MATERIAL ? (indexBytes == 1 ? 0xFF : 0xFFFF) : paletteIndex.get(ordinal);
+            if (indexBytes == 1) {
+                indices.put((byte) value);
+            } else {
+                indices.putShort((short) value);
+            }
+        }
+
+        Integer minSurfaceY = null;
+        Integer maxSurfaceY = null;
+        for (short height : worldSurface) {
+            if (height == SurfaceSummaryResult.MISSING_HEIGHT) {
+                continue;
+            }
+            minSurfaceY = minSurfaceY == null ? height : Math.min(minSurfaceY, height);
+            maxSurfaceY = maxSurfaceY == null ? height : Math.max(maxSurfaceY, height);
+        }
+
+        Base64.Encoder encoder = Base64.getEncoder();
+        return new SurfaceSummaryResult(
+                world.getName(),
+                minX,
+                minZ,
+                width,
+                depth,
+                encoder.encodeToString(toBytes(motionBlocking)),
+                encoder.encodeToString(toBytes(worldSurface)),
+                palette,
+                indexBytes,
+                encoder.encodeToString(indices.array()),
+                minSurfaceY,
+                maxSurfaceY,
+                missing
+        );
+    }
+
+    private static byte[] toBytes(short[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * 2);
+        buffer.asShortBuffer().put(values);
+        return buffer.array();
+    }
+}
@@ -0,0 +1,32 @@
+package cn.lunadeer.mc.mcp.provider.builtin.dto.block;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregated block statistics for an area.
+ *
+ * @param world         the world name
+ * @param volume        the number of block positions scanned
+ * @param matched       the number of matching blocks (non-air, or of the filtered material)
+ * @param chunksScanned the number of chunks scanned
+ * @param chunksMissing the number of chunks skipped because they were never generated
+ * @param materials     block counts per material, including air, most frequent first
+ * @param states        block counts per block data string, or null if not requested
+ * @param countsByY     matching block counts per Y level, only levels with matches
+ * @param chunks        per-chunk breakdown, or null if not requested
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public record BlockStatsResult(
+        String world,
+        long volume,
+        long matched,
+        int chunksScanned,
+        int chunksMissing,
+        Map<String, Long> materials,
+        Map<String, Long> states,
+        Map<Integer, Long> countsByY,
+        List<ChunkBlockStats> chunks
+) {
+}
@@ -0,0 +1,21 @@
+package cn.lunadeer.mc.mcp.provider.builtin.dto.block;
+
+import java.util.Map;
+
+/**
+ * Block statistics for the part of an area that lies in one chunk.
+ *
+ * @param chunkX    the chunk X coordinate
+ * @param chunkZ    the chunk Z coordinate
+ * @param matched   the number of matching blocks in this chunk
+ * @param materials block counts per material, most frequent first
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public record ChunkBlockStats(
+        int chunkX,
+        int chunkZ,
+        long matched,
+        Map<String, Long> materials
+) {
+}
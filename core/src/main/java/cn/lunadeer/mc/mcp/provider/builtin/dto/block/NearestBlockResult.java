@@ -0,0 +1,27 @@
+package cn.lunadeer.mc.mcp.provider.builtin.dto.block;
+
+import cn.lunadeer.mc.mcp.sdk.model.dto.block.BlockLocationParam;
+
+/**
+ * Result of a nearest-block search.
+ *
+ * @param found           whether a matching block was found within the radius
+ * @param location        the location of the nearest matching block, or null if none
+ * @param material        the material of the matching block, or null if none
+ * @param blockData       the block data string of the matching block, or null if none
+ * @param distance        the distance from the search origin, or null if none
+ * @param chunksSearched  the number of chunks inspected
+ * @param sectionsScanned the number of 16x16x16 sections whose blocks were scanned
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public record NearestBlockResult(
+        boolean found,
+        BlockLocationParam location,
+        String material,
+        String blockData,
+        Double distance,
+        int chunksSearched,
+        int sectionsScanned
+) {
+}
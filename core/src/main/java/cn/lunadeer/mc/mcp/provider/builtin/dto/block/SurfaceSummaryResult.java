@@ -0,0 +1,49 @@
+package cn.lunadeer.mc.mcp.provider.builtin.dto.block;
+
+import java.util.List;
+
+/**
+ * Surface heightmaps and top-block materials of an area in a compact grid encoding.
+ * <p>
+ * Grids are row-major starting at ({@code originX}, {@code originZ}) with X
+ * varying fastest, so column (x, z) is at index
+ * {@code (z - originZ) * width + (x - originX)}. Heights are base64-encoded
+ * big-endian signed 16-bit values, with {@link #MISSING_HEIGHT} marking
+ * columns of chunks that were never generated. Top blocks are base64-encoded
+ * unsigned indices into {@code palette}, {@code indexBytes} bytes each, with
+ * the all-ones value marking missing columns.
+ * </p>
+ *
+ * @param world          the world name
+ * @param originX        the X coordinate of the first column
+ * @param originZ        the Z coordinate of the first column
+ * @param width          the number of columns along X
+ * @param depth          the number of columns along Z
+ * @param motionBlocking the MOTION_BLOCKING heightmap (Y of the highest motion-blocking or fluid block)
+ * @param worldSurface   the WORLD_SURFACE heightmap (Y of the highest non-air block)
+ * @param palette        the top-block material palette
+ * @param indexBytes     the size of each top-block index (1 or 2)
+ * @param topBlocks      the material of the WORLD_SURFACE block per column, as palette indices
+ * @param minSurfaceY    the lowest WORLD_SURFACE height in the area
+ * @param maxSurfaceY    the highest WORLD_SURFACE height in the area
+ * @param chunksMissing  the number of chunks skipped because they were never generated
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public record SurfaceSummaryResult(
+        String world,
+        int originX,
+        int originZ,
+        int width,
+        int depth,
+        String motionBlocking,
+        String worldSurface,
+        List<String> palette,
+        int indexBytes,
+        String topBlocks,
+        Integer minSurfaceY,
+        Integer maxSurfaceY,
+        int chunksMissing
+) {
+    public static final short MISSING_HEIGHT = Short.MIN_VALUE;
+}
@@ -0,0 +1,23 @@
+package cn.lunadeer.mc.mcp.provider.builtin.dto.entity;
+
+import java.util.Map;
+
+/**
+ * Entity counts of a single chunk.
+ *
+ * @param world  the world name
+ * @param chunkX the chunk X coordinate
+ * @param chunkZ the chunk Z coordinate
+ * @param count  the number of matching entities in the chunk
+ * @param byType matching entity counts per entity type, largest first
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public record ChunkEntityCensus(
+        String world,
+        int chunkX,
+        int chunkZ,
+        int count,
+        Map<String, Integer> byType
+) {
+}
@@ -0,0 +1,22 @@
+package cn.lunadeer.mc.mcp.provider.builtin.dto.entity;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entity counts taken from the incrementally maintained entity census.
+ *
+ * @param total   the number of matching entities
+ * @param byWorld matching entity counts per world, largest first
+ * @param byType  matching entity counts per entity type, largest first
+ * @param chunks  the chunks holding the most matching entities, or null if not requested
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public record EntityCensusResult(
+        int total,
+        Map<String, Integer> byWorld,
+        Map<String, Integer> byType,
+        List<ChunkEntityCensus> chunks
+) {
+}
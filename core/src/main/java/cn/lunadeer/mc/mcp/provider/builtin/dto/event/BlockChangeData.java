@@ -0,0 +1,25 @@
+package cn.lunadeer.mc.mcp.provider.builtin.dto.event;
+
+/**
+ * A block broken or placed by a player.
+ *
+ * @param player the player name
+ * @param uuid   the player UUID
+ * @param world  the world name
+ * @param x      the block X coordinate
+ * @param y      the block Y coordinate
+ * @param z      the block Z coordinate
+ * @param block  the block material
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public record BlockChangeData(
+        String player,
+        String uuid,
+        String world,
+        int x,
+        int y,
+        int z,
+        String block
+) {
+}
@@ -0,0 +1,23 @@
+package cn.lunadeer.mc.mcp.provider.builtin.dto.event;
+
+/**
+ * Block changes of a single chunk aggregated over one window.
+ *
+ * @param world        the world name
+ * @param chunkX       the chunk X coordinate
+ * @param chunkZ       the chunk Z coordinate
+ * @param broken       the number of blocks broken by players in the window
+ * @param placed       the number of blocks placed by players in the window
+ * @param windowMillis the length of the window in milliseconds
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public record BlockChangeSummary(
+        String world,
+        int chunkX,
+        int chunkZ,
+        int broken,
+        int placed,
+        long windowMillis
+) {
+}
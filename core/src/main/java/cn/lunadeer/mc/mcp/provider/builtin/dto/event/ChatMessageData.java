@@ -0,0 +1,19 @@
+package cn.lunadeer.mc.mcp.provider.builtin.dto.event;
+
+/**
+ * A chat message sent by a player.
+ *
+ * @param player  the player name
+ * @param uuid    the player UUID
+ * @param world   the world the player is in
+ * @param message the plain message text
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public record ChatMessageData(
+        String player,
+        String uuid,
+        String world,
+        String message
+) {
+}
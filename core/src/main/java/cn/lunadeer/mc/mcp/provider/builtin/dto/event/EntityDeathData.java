@@ -0,0 +1,27 @@
+package cn.lunadeer.mc.mcp.provider.builtin.dto.event;
+
+/**
+ * An entity that died.
+ *
+ * @param entityType the entity type
+ * @param uuid       the entity UUID
+ * @param name       the player name if the entity is a player, otherwise null
+ * @param world      the world name
+ * @param x          the X coordinate
+ * @param y          the Y coordinate
+ * @param z          the Z coordinate
+ * @param killer     the name of the player who killed it, or null
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public record EntityDeathData(
+        String entityType,
+        String uuid,
+        String name,
+        String world,
+        double x,
+        double y,
+        double z,
+        String killer
+) {
+}
@@ -0,0 +1,19 @@
+package cn.lunadeer.mc.mcp.provider.builtin.dto.event;
+
+/**
+ * A player joining or leaving the server.
+ *
+ * @param player      the player name
+ * @param uuid        the player UUID
+ * @param world       the world the player is in
+ * @param onlineCount the number of players online after the change
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public record PlayerConnectionData(
+        String player,
+        String uuid,
+        String world,
+        int onlineCount
+) {
+}
@@ -0,0 +1,19 @@
+package cn.lunadeer.mc.mcp.provider.builtin.dto.event;
+
+/**
+ * The server TPS crossing the configured drop or recovery threshold.
+ *
+ * @param tps       the TPS over the last five seconds
+ * @param msptP95   the 95th percentile tick time over the last five seconds in milliseconds
+ * @param threshold the threshold that was crossed
+ * @param dropped   true if the TPS fell below the drop threshold, false if it recovered
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public record TpsChangeData(
+        double tps,
+        double msptP95,
+        double threshold,
+        boolean dropped
+) {
+}
@@ -0,0 +1,21 @@
+package cn.lunadeer.mc.mcp.provider.builtin.dto.world;
+
+import cn.lunadeer.mc.mcp.infrastructure.TickTelemetry;
+
+import java.util.List;
+
+/**
+ * Tick time percentiles taken from the tick telemetry recorder.
+ *
+ * @param source        how tick times are measured: "tick-events" or "task-interval"
+ * @param ticksRecorded the number of ticks recorded since startup
+ * @param windows       the statistics for the 5s, 1m and 5m windows, shortest first
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public record MsptResult(
+        String source,
+        long ticksRecorded,
+        List<TickTelemetry.Window> windows
+) {
+}
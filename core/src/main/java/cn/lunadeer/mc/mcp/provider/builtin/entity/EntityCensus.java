@@ -0,0 +1,351 @@
+package cn.lunadeer.mc.mcp.provider.builtin.entity;
+
+import cn.lunadeer.mc.mcp.Configuration;
+import cn.lunadeer.mc.mcp.infrastructure.Misc;
+import cn.lunadeer.mc.mcp.infrastructure.XLogger;
+import cn.lunadeer.mc.mcp.infrastructure.scheduler.Scheduler;
+import cn.lunadeer.mc.mcp.provider.builtin.dto.entity.ChunkEntityCensus;
+import cn.lunadeer.mc.mcp.provider.builtin.dto.entity.EntityCensusResult;
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Incrementally maintained entity counts per world, chunk and entity type.
+ * <p>
+ * Paper fires {@link EntityAddToWorldEvent} and {@link EntityRemoveFromWorldEvent}
+ * for spawns, removals and for entities loaded or unloaded with their chunks,
+ * so those two events keep the counts current without ever scanning a world.
+ * Entities already present when the plugin enables are seeded once from the
+ * loaded chunks.
+ * </p>
+ * <p>
+ * An entity is counted in the chunk where it entered the world. Entities
+ * that wander into another chunk are moved there by a reconciliation pass
+ * over the loaded chunks every {@code entityCensusReconcileSeconds}, so
+ * per-chunk counts lag behind real positions by at most that interval.
+ * Folia does not allow walking the loaded chunks, so there per-chunk counts
+ * are only corrected when entities leave and re-enter the world. World and
+ * type totals are exact either way.
+ * </p>
+ * <p>
+ * Spigot does not fire those events, so there the census stays empty and
+ * reports itself as unavailable.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public class EntityCensus {
+
+    private static final EntityType[] TYPES = EntityType.values();
+
+    private final Map<UUID, WorldCensus> worlds = new ConcurrentHashMap<>();
+    private final boolean available;
+
+    public EntityCensus(JavaPlugin plugin) {
+        this.available = Misc.isPaper();
+        if (available) {
+            plugin.getServer().getPluginManager().registerEvents(new CensusListener(), plugin);
+            seed();
+            long period = Configuration.performance.entityCensusReconcileSeconds * 20L;
+            if (period > 0 && !Misc.isFolia()) {
+                Scheduler.runTaskRepeat(this::reconcile, period, period);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the census is maintained on this server.
+     *
+     * @return true on Paper, false elsewhere
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    private void seed() {
+        int seeded = 0;
+        try {
+            for (World world : Bukkit.getWorlds()) {
+                for (Chunk chunk : world.getLoadedChunks()) {
+                    if (!chunk.isEntitiesLoaded()) {
+                        continue;
+                    }
+                    for (Entity entity : chunk.getEntities()) {
+                        add(entity);
+                        seeded++;
+                    }
+                }
+            }
+        } catch (UnsupportedOperationException e) {
+            // Folia does not allow walking chunks from the global thread; counts fill in as entities move in and out
+            XLogger.debug("Entity census could not be seeded from loaded chunks: {0}", e.getMessage());
+        }
+        XLogger.debug("Entity census seeded with {0} entities", seeded);
+    }
+
+    /**
+     * Moves every entity of the loaded chunks to the chunk it is in now;
+     * runs on the server thread.
+     */
+    private void reconcile() {
+        int moved = 0;
+        for (World world : Bukkit.getWorlds()) {
+            WorldCensus census = worlds.computeIfAbsent(world.getUID(), k -> new WorldCensus());
+            for (Chunk chunk : world.getLoadedChunks()) {
+                if (!chunk.isEntitiesLoaded()) {
+                    continue;
+                }
+                long key = chunkKey(chunk.getX(), chunk.getZ());
+                for (Entity entity : chunk.getEntities()) {
+                    if (census.relocate(entity.getEntityId(), entity.getType(), key)) {
+                        moved++;
+                    }
+                }
+            }
+        }
+        if (moved > 0) {
+            XLogger.debug("Entity census moved {0} entities to their current chunk", moved);
+        }
+    }
+
+    /**
+     * Paper's entity add and remove events, kept in its own class so the
+     * Paper event types are only loaded when they exist.
+     */
+    private class CensusListener implements Listener {
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onEntityAdd(EntityAddToWorldEvent event) {
+            add(event.getEntity());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onEntityRemove(EntityRemoveFromWorldEvent event) {
+            Entity entity = event.getEntity();
+            WorldCensus census = worlds.get(entity.getWorld().getUID());
+            if (census != null) {
+                census.remove(entity.getEntityId(), entity.getType());
+            }
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onWorldUnload(WorldUnloadEvent event) {
+            worlds.remove(event.getWorld().getUID());
+        }
+    }
+
+    private void add(Entity entity) {
+        World world = entity.getWorld();
+        int x = entity.getLocation().getBlockX() >> 4;
+        int z = entity.getLocation().getBlockZ() >> 4;
+        worlds.computeIfAbsent(world.getUID(), k -> new WorldCensus())
+                .add(entity.getEntityId(), entity.getType(), chunkKey(x, z));
+    }
+
+    /**
+     * Queries the census.
+     *
+     * @param world      optional world to restrict to, null for all worlds
+     * @param type       optional entity type to restrict to, null for all types
+     * @param chunkLimit the number of top chunks to return, or 0 to omit the chunk breakdown
+     * @return the census result
+     */
+    public EntityCensusResult query(World world, EntityType type, int chunkLimit) {
+        int total = 0;
+        Map<String, Integer> byWorld = new HashMap<>();
+        int[] byType = new int[TYPES.length];
+        List<ChunkEntityCensus> chunks = chunkLimit > 0 ? new ArrayList<>() : null;
+
+        for (World candidate : Bukkit.getWorlds()) {
+            if (world != null && !candidate.getUID().equals(world.getUID())) {
+                continue;
+            }
+            WorldCensus census = worlds.get(candidate.getUID());
+            if (census == null) {
+                continue;
+            }
+            int worldTotal = census.snapshot(type, byType, chunks, candidate.getName());
+            if (worldTotal > 0) {
+                byWorld.put(candidate.getName(), worldTotal);
+                total += worldTotal;
+            }
+        }
+
+        Map<String, Integer> typeCounts = new HashMap<>();
+        for (int i = 0; i < byType.length; i++) {
+            if (byType[i] > 0) {
+                typeCounts.put(TYPES[i].name(), byType[i]);
+            }
+        }
+
+        if (chunks != null) {
+            chunks.sort(Comparator.comparingInt(ChunkEntityCensus::count).reversed());
+            if (chunks.size() > chunkLimit) {
+                chunks = new ArrayList<>(chunks.subList(0, chunkLimit));
+            }
+        }
+
+        return new EntityCensusResult(total, sortByCount(byWorld), sortByCount(typeCounts), chunks);
+    }
+
+    private static Map<String, Integer> sortByCount(Map<String, Integer> counts) {
+        Map<String, Integer> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+        return sorted;
+    }
+
+    private static long chunkKey(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Counts of a single world, guarded by its own monitor since events may
+     * arrive from several region threads on Folia.
+     */
+    private static class WorldCensus {
+        private final int[] byType = new int[TYPES.length];
+        private final Map<Long, ChunkTally> byChunk = new HashMap<>();
+        private final Map<Integer, Long> entityChunks = new HashMap<>();
+
+        synchronized void add(int entityId, EntityType type, long chunkKey) {
+            if (entityChunks.putIfAbsent(entityId, chunkKey) != null) {
+                return;
+            }
+            byType[type.ordinal()]++;
+            byChunk.computeIfAbsent(chunkKey, k -> new ChunkTally()).increment(type.ordinal());
+        }
+
+        synchronized void remove(int entityId, EntityType type) {
+            Long chunkKey = entityChunks.remove(entityId);
+            if (chunkKey == null) {
+                return;
+            }
+            byType[type.ordinal()]--;
+            untally(chunkKey, type);
+        }
+
+        /**
+         * Files an entity under the chunk it is in now, adding it if it was missed.
+         *
+         * @return true if the entity changed chunk
+         */
+        synchronized boolean relocate(int entityId, EntityType type, long chunkKey) {
+            Long previous = entityChunks.put(entityId, chunkKey);
+            if (previous == null) {
+                byType[type.ordinal()]++;
+            } else if (previous == chunkKey) {
+                return false;
+            } else {
+                untally(previous, type);
+            }
+            byChunk.computeIfAbsent(chunkKey, k -> new ChunkTally()).increment(type.ordinal());
+            return previous != null;
+        }
+
+        private void untally(long chunkKey, EntityType type) {
+            ChunkTally tally = byChunk.get(chunkKey);
+            if (tally != null && tally.decrement(type.ordinal()) == 0) {
+                byChunk.remove(chunkKey);
+            }
+        }
+
+        synchronized int snapshot(EntityType type, int[] typeTotals, List<ChunkEntityCensus> chunks, String worldName) {
+            int total = 0;
+            for (int i = 0; i < byType.length; i++) {
+                if (type == null || i == type.ordinal()) {
+                    typeTotals[i] += byType[i];
+                    total += byType[i];
+                }
+            }
+            if (chunks != null) {
+                for (Map.Entry<Long, ChunkTally> entry : byChunk.entrySet()) {
+                    ChunkTally tally = entry.getValue();
+                    int count = type == null ? tally.total : tally.count(type.ordinal());
+                    if (count == 0) {
+                        continue;
+                    }
+                    long key = entry.getKey();
+                    chunks.add(new ChunkEntityCensus(worldName, (int) (key >> 32), (int) key, count, tally.toMap(type)));
+                }
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Per-chunk counts kept as small parallel arrays, since a chunk rarely
+     * holds more than a handful of entity types.
+     */
+    private static class ChunkTally {
+        private short[] types = new short[4];
+        private int[] counts = new int[4];
+        private int size;
+        private int total;
+
+        void increment(int ordinal) {
+            total++;
+            for (int i = 0; i < size; i++) {
+                if (types[i] == ordinal) {
+                    counts[i]++;
+                    return;
+                }
+            }
+            if (size == types.length) {
+                types = Arrays.copyOf(types, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+            types[size] = (short) ordinal;
+            counts[size] = 1;
+            size++;
+        }
+
+        int decrement(int ordinal) {
+            for (int i = 0; i < size; i++) {
+                if (types[i] == ordinal) {
+                    total--;
+                    if (--counts[i] == 0) {
+                        size--;
+                        types[i] = types[size];
+                        counts[i] = counts[size];
+                    }
+                    break;
+                }
+            }
+            return total;
+        }
+
+        int count(int ordinal) {
+            for (int i = 0; i < size; i++) {
+                if (types[i] == ordinal) {
+                    return counts[i];
+                }
+            }
+            return 0;
+        }
+
+        Map<String, Integer> toMap(EntityType type) {
+            Map<String, Integer> map = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                if (type == null || types[i] == type.ordinal()) {
+                    map.put(TYPES[types[i]].name(), counts[i]);
+                }
+            }
+            return sortByCount(map);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package cn.lunadeer.mc.mcp.provider.builtin.entity;
+
+import cn.lunadeer.mc.mcp.Configuration;
+import cn.lunadeer.mc.mcp.infrastructure.Misc;
+import cn.lunadeer.mc.mcp.infrastructure.XLogger;
+import cn.lunadeer.mc.mcp.infrastructure.scheduler.CancellableTask;
+import cn.lunadeer.mc.mcp.infrastructure.scheduler.Scheduler;
+import org.bukkit.entity.Entity;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Removes a list of entities in small slices spread over several ticks.
+ * <p>
+ * A repeating global task takes one slice per tick. On Folia every entity
+ * of the slice is removed by a task on its own entity scheduler, so the work
+ * lands on the region that owns it. Elsewhere the slice is removed directly
+ * on the main thread, stopping early once the per-tick time budget is spent.
+ * Progress is reported every second and once more when the last entity is
+ * settled.
+ * </p>
+ * <p>
+ * Jobs still running when the plugin disables are stopped by
+ * {@link #cancelAll()}, which fails their futures so no caller waits for
+ * ticks that will never come.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public class EntityRemovalJob {
+
+    /**
+     * Progress of a removal job.
+     *
+     * @param matched   the number of entities selected for removal
+     * @param processed the number of entities handled so far
+     * @param removed   the number of entities actually removed so far
+     * @param done      whether the job has finished
+     */
+    public record Progress(int matched, int processed, int removed, boolean done) {
+    }
+
+    private static final int PROGRESS_INTERVAL_TICKS = 20;
+
+    private static final Set<EntityRemovalJob> RUNNING = ConcurrentHashMap.newKeySet();
+
+    private final List<Entity> entities;
+    private final Consumer<Progress> progressListener;
+    private final int sliceSize;
+    private final long tickBudgetNanos;
+    private final CompletableFuture<Integer> completion = new CompletableFuture<>();
+    private final AtomicInteger removed = new AtomicInteger();
+    private final AtomicInteger settled = new AtomicInteger();
+
+    private int dispatched;
+    private int ticks;
+    private volatile CancellableTask task;
+    // Set once the last slice is dispatched, possibly before the task handle is assigned
+    private volatile boolean stopped;
+
+    /**
+     * Creates a removal job.
+     *
+     * @param entities         the entities to remove
+     * @param progressListener receives progress updates, may be null
+     */
+    public EntityRemovalJob(List<Entity> entities, Consumer<Progress> progressListener) {
+        this.entities = entities;
+        this.progressListener = progressListener;
+        this.sliceSize = Math.max(1, Configuration.performance.entityRemovalSliceSize);
+        this.tickBudgetNanos = Math.max(1, Configuration.performance.entityRemovalTickBudgetMillis) * 1_000_000L;
+    }
+
+    /**
+     * Starts removing entities.
+     *
+     * @return a future of the number of entities removed
+     */
+    public CompletableFuture<Integer> start() {
+        if (entities.isEmpty()) {
+            finish();
+            return completion;
+        }
+        RUNNING.add(this);
+        task = Scheduler.runTaskRepeat(this::tick, 1, 1);
+        if (stopped) {
+            cancelTask();
+        }
+        return completion;
+    }
+
+    /**
+     * Stops every running job and fails its future; called when the plugin disables.
+     */
+    public static void cancelAll() {
+        for (EntityRemovalJob job : RUNNING) {
+            job.stopped = true;
+            job.cancelTask();
+            job.completion.completeExceptionally(new IllegalStateException(
+                    "Entity removal stopped by plugin shutdown after " + job.removed.get() + " of " + job.entities.size() + " entities"));
+        }
+        RUNNING.clear();
+    }
+
+    private void cancelTask() {
+        CancellableTask current = task;
+        if (current != null) {
+            current.cancel();
+            task = null;
+        }
+    }
+
+    private void tick() {
+        if (stopped) {
+            cancelTask();
+            return;
+        }
+        long deadline = System.nanoTime() + tickBudgetNanos;
+        int sliceEnd = Math.min(entities.size(), dispatched + sliceSize);
+        while (dispatched < sliceEnd) {
+            Entity entity = entities.get(dispatched++);
+            if (Misc.isFolia()) {
+                Scheduler.runEntityTask(() -> {
+                    removeOne(entity);
+                    settle();
+                }, this::settle, entity);
+            } else {
+                removeOne(entity);
+                settle();
+                if (System.nanoTime() >= deadline) {
+                    break;
+                }
+            }
+        }
+
+        if (dispatched >= entities.size()) {
+            stopped = true;
+            cancelTask();
+        }
+        if (++ticks % PROGRESS_INTERVAL_TICKS == 0 && !completion.isDone()) {
+            report(false);
+        }
+    }
+
+    private void removeOne(Entity entity) {
+        if (entity.isValid()) {
+            entity.remove();
+            removed.incrementAndGet();
+        }
+    }
+
+    private void settle() {
+        if (settled.incrementAndGet() == entities.size()) {
+            finish();
+        }
+    }
+
+    private void finish() {
+        report(true);
+        XLogger.debug("Entity removal finished: {0} of {1} entities removed", removed.get(), entities.size());
+        RUNNING.remove(this);
+        completion.complete(removed.get());
+    }
+
+    private void report(boolean done) {
+        if (progressListener == null) {
+            return;
+        }
+        try {
+            progressListener.accept(new Progress(entities.size(), settled.get(), removed.get(), done));
+        } catch (Exception e) {
+            XLogger.debug("Entity removal progress listener failed: {0}", e.getMessage());
+        }
+    }
+}
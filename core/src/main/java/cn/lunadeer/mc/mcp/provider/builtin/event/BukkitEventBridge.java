@@ -0,0 +1,342 @@
+package cn.lunadeer.mc.mcp.provider.builtin.event;
+
+import cn.lunadeer.mc.mcp.Configuration;
+import cn.lunadeer.mc.mcp.api.McpEventEmitterImpl;
+import cn.lunadeer.mc.mcp.api.event.EventKeys;
+import cn.lunadeer.mc.mcp.infrastructure.Misc;
+import cn.lunadeer.mc.mcp.infrastructure.TickTelemetry;
+import cn.lunadeer.mc.mcp.infrastructure.XLogger;
+import cn.lunadeer.mc.mcp.infrastructure.scheduler.CancellableTask;
+import cn.lunadeer.mc.mcp.infrastructure.scheduler.Scheduler;
+import cn.lunadeer.mc.mcp.provider.builtin.dto.event.*;
+import io.papermc.paper.event.player.AsyncChatEvent;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.player.AsyncPlayerChatEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Turns Bukkit events into MCP events.
+ * <p>
+ * Player join/quit, chat, block break/place and entity deaths are emitted as
+ * they happen, each subject to the sample rate configured for its event ID,
+ * with their world, player, chunk and entity type as index keys so filtered
+ * subscriptions are found without a scan. Block changes are additionally
+ * counted per chunk and emitted once per window as
+ * {@value #BLOCK_CHANGE_SUMMARY}, which stays cheap however busy the server
+ * is. The five second TPS is checked once a second and emitted when it
+ * crosses the drop threshold, and again when it climbs back over the
+ * recovery threshold.
+ * </p>
+ * <p>
+ * Handlers only build a small record and queue it, since emitting never runs
+ * subscriber code. On Folia they run on region threads, so all state here
+ * is concurrent.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public class BukkitEventBridge implements Listener {
+
+    public static final String PLAYER_JOIN = "player.join";
+    public static final String PLAYER_QUIT = "player.quit";
+    public static final String PLAYER_CHAT = "player.chat";
+    public static final String BLOCK_BREAK = "block.break";
+    public static final String BLOCK_PLACE = "block.place";
+    public static final String BLOCK_CHANGE_SUMMARY = "block.change.summary";
+    public static final String ENTITY_DEATH = "entity.death";
+    public static final String TPS_DROP = "server.tps.drop";
+    public static final String TPS_RECOVER = "server.tps.recover";
+
+    /**
+     * All event IDs emitted by the bridge.
+     */
+    public static final List<String> EVENT_IDS = List.of(
+            PLAYER_JOIN, PLAYER_QUIT, PLAYER_CHAT, BLOCK_BREAK, BLOCK_PLACE,
+            BLOCK_CHANGE_SUMMARY, ENTITY_DEATH, TPS_DROP, TPS_RECOVER
+    );
+
+    private static final long TPS_CHECK_PERIOD_TICKS = 20;
+
+    private final McpEventEmitterImpl emitter;
+    private final Map<String, Double> sampleRates = new HashMap<>();
+    private final Map<String, Object> latest = new ConcurrentHashMap<>();
+    private final Map<String, ChunkChanges> blockChanges = new ConcurrentHashMap<>();
+    private final long windowMillis;
+    private final double dropThreshold;
+    private final double recoverThreshold;
+    private final List<CancellableTask> tasks = new ArrayList<>();
+    private final Listener chatListener;
+
+    // Only touched by the TPS check task
+    private boolean tpsDropped;
+
+    public BukkitEventBridge(JavaPlugin plugin, McpEventEmitterImpl emitter) {
+        this.emitter = emitter;
+        for (Map.Entry<String, ?> entry : Configuration.eventBridge.sampleRates.entrySet()) {
+            // YAML may hand integers for 0 and 1
+            if (entry.getValue() instanceof Number rate) {
+                sampleRates.put(entry.getKey(), rate.doubleValue());
+            }
+        }
+        this.windowMillis = Math.max(50, Configuration.eventBridge.blockChangeWindowMillis);
+        this.dropThreshold = Configuration.eventBridge.tpsDropThreshold;
+        this.recoverThreshold = Math.max(dropThreshold, Configuration.eventBridge.tpsRecoverThreshold);
+
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        if (Misc.isPaper()) {
+            chatListener = new PaperChatListener();
+        } else {
+            chatListener = new LegacyChatListener();
+        }
+        plugin.getServer().getPluginManager().registerEvents(chatListener, plugin);
+        long windowTicks = Math.max(1, windowMillis / 50);
+        tasks.add(Scheduler.runTaskRepeatAsync(this::flushBlockChanges, windowTicks, windowTicks));
+        tasks.add(Scheduler.runTaskRepeatAsync(this::checkTps, TPS_CHECK_PERIOD_TICKS, TPS_CHECK_PERIOD_TICKS));
+    }
+
+    /**
+     * Stops listening and cancels the window and TPS tasks.
+     */
+    public void shutdown() {
+        HandlerList.unregisterAll(this);
+        HandlerList.unregisterAll(chatListener);
+        tasks.forEach(CancellableTask::cancel);
+        tasks.clear();
+        blockChanges.clear();
+    }
+
+    /**
+     * Gets the most recent data emitted for an event.
+     *
+     * @param eventId the event ID
+     * @param type    the data type
+     * @param <T>     the data type
+     * @return the data, or null if the event has not been emitted yet
+     */
+    public <T> T getLatest(String eventId, Class<T> type) {
+        Object data = latest.get(eventId);
+        return type.isInstance(data) ? type.cast(data) : null;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        if (sampled(PLAYER_JOIN)) {
+            emitConnection(PLAYER_JOIN, event.getPlayer(), Bukkit.getOnlinePlayers().size());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        if (sampled(PLAYER_QUIT)) {
+            // The leaving player is still counted while the event fires
+            emitConnection(PLAYER_QUIT, event.getPlayer(), Math.max(0, Bukkit.getOnlinePlayers().size() - 1));
+        }
+    }
+
+    private void emitConnection(String eventId, Player player, int onlineCount) {
+        emit(eventId,
+                new PlayerConnectionData(player.getName(), player.getUniqueId().toString(), player.getWorld().getName(), onlineCount),
+                keysOf(player, player.getLocation()));
+    }
+
+    private void onPlayerChat(Player player, String message) {
+        if (!sampled(PLAYER_CHAT)) {
+            return;
+        }
+        emit(PLAYER_CHAT,
+                new ChatMessageData(player.getName(), player.getUniqueId().toString(), player.getWorld().getName(), message),
+                new EventKeys(player.getWorld().getName(), player.getUniqueId(), null, null));
+    }
+
+    /**
+     * Paper's chat event, kept in its own class so the Paper event types
+     * are only loaded when they exist.
+     */
+    private class PaperChatListener implements Listener {
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onChat(AsyncChatEvent event) {
+            onPlayerChat(event.getPlayer(), PlainTextComponentSerializer.plainText().serialize(event.message()));
+        }
+    }
+
+    /**
+     * Spigot's chat event, which Paper deprecates in favour of its own.
+     */
+    private class LegacyChatListener implements Listener {
+        @SuppressWarnings("deprecation")
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onChat(AsyncPlayerChatEvent event) {
+            onPlayerChat(event.getPlayer(), event.getMessage());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        onBlockChange(BLOCK_BREAK, event.getPlayer(), event.getBlock(), true);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        onBlockChange(BLOCK_PLACE, event.getPlayer(), event.getBlockPlaced(), false);
+    }
+
+    private void onBlockChange(String eventId, Player player, Block block, boolean broken) {
+        String world = block.getWorld().getName();
+        int chunkX = block.getX() >> 4;
+        int chunkZ = block.getZ() >> 4;
+        String chunk = EventKeys.chunkKey(world, chunkX, chunkZ);
+        blockChanges.compute(chunk, (key, changes) -> {
+            if (changes == null) {
+                changes = new ChunkChanges(world, chunkX, chunkZ);
+            }
+            if (broken) {
+                changes.broken++;
+            } else {
+                changes.placed++;
+            }
+            return changes;
+        });
+
+        if (sampled(eventId)) {
+            emit(eventId,
+                    new BlockChangeData(player.getName(), player.getUniqueId().toString(), world,
+                            block.getX(), block.getY(), block.getZ(), block.getType().name()),
+                    new EventKeys(world, player.getUniqueId(), chunk, null));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityDeath(EntityDeathEvent event) {
+        if (!sampled(ENTITY_DEATH)) {
+            return;
+        }
+        LivingEntity entity = event.getEntity();
+        Player killer = entity.getKiller();
+        Location location = entity.getLocation();
+        String world = location.getWorld() != null ? location.getWorld().getName() : null;
+        // Index player deaths by the victim, other deaths by the player who caused them
+        UUID player = entity instanceof Player victim ? victim.getUniqueId() : killer != null ? killer.getUniqueId() : null;
+        emit(ENTITY_DEATH,
+                new EntityDeathData(
+                        entity.getType().name(),
+                        entity.getUniqueId().toString(),
+                        entity instanceof Player victim ? victim.getName() : null,
+                        world,
+                        location.getX(),
+                        location.getY(),
+                        location.getZ(),
+                        killer != null ? killer.getName() : null),
+                new EventKeys(world, player,
+                        world != null ? EventKeys.chunkKey(world, location.getBlockX() >> 4, location.getBlockZ() >> 4) : null,
+                        entity.getType().name()));
+    }
+
+    /**
+     * Emits the block changes counted per chunk during the last window.
+     * Counters are read and reset inside the map's per-key lock, so no
+     * change is lost to a concurrent handler; chunks without changes over a
+     * whole window are dropped.
+     */
+    private void flushBlockChanges() {
+        if (blockChanges.isEmpty()) {
+            return;
+        }
+        List<BlockChangeSummary> summaries = new ArrayList<>();
+        for (String chunk : blockChanges.keySet()) {
+            blockChanges.computeIfPresent(chunk, (key, changes) -> {
+                if (changes.broken == 0 && changes.placed == 0) {
+                    return null;
+                }
+                summaries.add(new BlockChangeSummary(changes.world, changes.chunkX, changes.chunkZ,
+                        changes.broken, changes.placed, windowMillis));
+                changes.broken = 0;
+                changes.placed = 0;
+                return changes;
+            });
+        }
+        if (!sampled(BLOCK_CHANGE_SUMMARY)) {
+            return;
+        }
+        for (BlockChangeSummary summary : summaries) {
+            emit(BLOCK_CHANGE_SUMMARY, summary, new EventKeys(summary.world(), null,
+                    EventKeys.chunkKey(summary.world(), summary.chunkX(), summary.chunkZ()), null));
+        }
+    }
+
+    private void checkTps() {
+        TickTelemetry telemetry = TickTelemetry.instance;
+        if (telemetry == null) {
+            return;
+        }
+        TickTelemetry.Window window = telemetry.getWindows().get(0);
+        if (window.ticks() == 0) {
+            return;
+        }
+        if (!tpsDropped && window.tps() < dropThreshold) {
+            tpsDropped = true;
+            XLogger.debug("TPS dropped to {0}", window.tps());
+            if (sampled(TPS_DROP)) {
+                emit(TPS_DROP, new TpsChangeData(window.tps(), window.p95(), dropThreshold, true), EventKeys.NONE);
+            }
+        } else if (tpsDropped && window.tps() >= recoverThreshold) {
+            tpsDropped = false;
+            XLogger.debug("TPS recovered to {0}", window.tps());
+            if (sampled(TPS_RECOVER)) {
+                emit(TPS_RECOVER, new TpsChangeData(window.tps(), window.p95(), recoverThreshold, false), EventKeys.NONE);
+            }
+        }
+    }
+
+    private boolean sampled(String eventId) {
+        Double rate = sampleRates.get(eventId);
+        return rate == null || rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private void emit(String eventId, Object data, EventKeys keys) {
+        latest.put(eventId, data);
+        emitter.emit(eventId, data, keys);
+    }
+
+    private static EventKeys keysOf(Player player, Location location) {
+        String world = player.getWorld().getName();
+        return new EventKeys(world, player.getUniqueId(),
+                EventKeys.chunkKey(world, location.getBlockX() >> 4, location.getBlockZ() >> 4), null);
+    }
+
+    /**
+     * Block changes of one chunk in the current window, only mutated under
+     * the map's lock for its key.
+     */
+    private static final class ChunkChanges {
+        private final String world;
+        private final int chunkX;
+        private final int chunkZ;
+        private int broken;
+        private int placed;
+
+        ChunkChanges(String world, int chunkX, int chunkZ) {
+            this.world = world;
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package cn.lunadeer.mc.mcp.provider.builtin.region;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Streaming NBT decoder that extracts block palettes from a chunk.
+ * <p>
+ * The decoder walks the tag stream once and only materializes the section
+ * palettes and packed block indices; every other tag is skipped in place.
+ * Both the 1.18+ layout ({@code sections[].block_states}) and the 1.16-1.17
+ * layout ({@code Level.Sections[].Palette/BlockStates}) are supported.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public class NbtChunkDecoder {
+
+    private static final byte TAG_END = 0;
+    private static final byte TAG_BYTE = 1;
+    private static final byte TAG_SHORT = 2;
+    private static final byte TAG_INT = 3;
+    private static final byte TAG_LONG = 4;
+    private static final byte TAG_FLOAT = 5;
+    private static final byte TAG_DOUBLE = 6;
+    private static final byte TAG_BYTE_ARRAY = 7;
+    private static final byte TAG_STRING = 8;
+    private static final byte TAG_LIST = 9;
+    private static final byte TAG_COMPOUND = 10;
+    private static final byte TAG_INT_ARRAY = 11;
+    private static final byte TAG_LONG_ARRAY = 12;
+
+    /**
+     * First data version (1.16) whose packed indices never span two longs.
+     */
+    private static final int MIN_DATA_VERSION = 2566;
+
+    private NbtChunkDecoder() {
+    }
+
+    /**
+     * Decodes the block sections of a chunk.
+     *
+     * @param in the uncompressed chunk NBT stream
+     * @return the decoded chunk
+     * @throws IOException if the stream is malformed or uses an unsupported format
+     */
+    public static StoredChunk decode(DataInput in) throws IOException {
+        if (in.readByte() != TAG_COMPOUND) {
+            throw new IOException("Chunk root tag is not a compound");
+        }
+        in.readUTF();
+
+        ChunkState state = new ChunkState();
+        readChunkCompound(in, state);
+        if (state.dataVersion != 0 && state.dataVersion < MIN_DATA_VERSION) {
+            throw new IOException("Unsupported chunk data version " + state.dataVersion);
+        }
+        return new StoredChunk(state.sections);
+    }
+
+    private static void readChunkCompound(DataInput in, ChunkState state) throws IOException {
+        byte type;
+        while ((type = in.readByte()) != TAG_END) {
+            String name = in.readUTF();
+            if (type == TAG_INT && name.equals("DataVersion")) {
+                state.dataVersion = in.readInt();
+            } else if (type == TAG_COMPOUND && name.equals("Level")) {
+                readChunkCompound(in, state);
+            } else if (type == TAG_LIST && (name.equals("sections") || name.equals("Sections"))) {
+                readSections(in, state);
+            } else {
+                skipPayload(in, type);
+            }
+        }
+    }
+
+    private static void readSections(DataInput in, ChunkState state) throws IOException {
+        byte elementType = in.readByte();
+        int count = readLength(in);
+        if (elementType != TAG_COMPOUND) {
+            for (int i = 0; i < count; i++) {
+                skipPayload(in, elementType);
+            }
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            SectionState section = new SectionState();
+            readSectionCompound(in, section);
+            if (section.y != null && section.palette != null && section.palette.length > 0) {
+                state.sections.put(section.y, new StoredChunk.Section(section.palette, section.data));
+            }
+        }
+    }
+
+    private static void readSectionCompound(DataInput in, SectionState section) throws IOException {
+        byte type;
+        while ((type = in.readByte()) != TAG_END) {
+            String name = in.readUTF();
+            if (type == TAG_BYTE && name.equals("Y")) {
+                section.y = (int) in.readByte();
+            } else if (type == TAG_COMPOUND && name.equals("block_states")) {
+                readSectionCompound(in, section);
+            } else if (type == TAG_LIST && (name.equals("palette") || name.equals("Palette"))) {
+                section.palette = readPalette(in);
+            } else if (type == TAG_LONG_ARRAY && (name.equals("data") || name.equals("BlockStates"))) {
+                section.data = readLongArray(in);
+            } else {
+                skipPayload(in, type);
+            }
+        }
+    }
+
+    private static StoredChunk.StoredBlockState[] readPalette(DataInput in) throws IOException {
+        byte elementType = in.readByte();
+        int count = readLength(in);
+        if (elementType != TAG_COMPOUND) {
+            for (int i = 0; i < count; i++) {
+                skipPayload(in, elementType);
+            }
+            return null;
+        }
+        StoredChunk.StoredBlockState[] palette = new StoredChunk.StoredBlockState[count];
+        for (int i = 0; i < count; i++) {
+            String blockName = null;
+            Map<String, String> properties = Collections.emptyMap();
+            byte type;
+            while ((type = in.readByte()) != TAG_END) {
+                String name = in.readUTF();
+                if (type == TAG_STRING && name.equals("Name")) {
+                    blockName = in.readUTF();
+                } else if (type == TAG_COMPOUND && name.equals("Properties")) {
+                    properties = readStringCompound(in);
+                } else {
+                    skipPayload(in, type);
+                }
+            }
+            palette[i] = blockName != null ? StoredChunk.StoredBlockState.of(blockName, properties) : StoredChunk.AIR;
+        }
+        return palette;
+    }
+
+    private static Map<String, String> readStringCompound(DataInput in) throws IOException {
+        // Sorted so the block data string is stable regardless of save order
+        Map<String, String> values = new TreeMap<>();
+        byte type;
+        while ((type = in.readByte()) != TAG_END) {
+            String name = in.readUTF();
+            if (type == TAG_STRING) {
+                values.put(name, in.readUTF());
+            } else {
+                skipPayload(in, type);
+            }
+        }
+        return values;
+    }
+
+    private static long[] readLongArray(DataInput in) throws IOException {
+        int length = readLength(in);
+        long[] values = new long[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = in.readLong();
+        }
+        return values;
+    }
+
+    private static int readLength(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Negative NBT length " + length);
+        }
+        return length;
+    }
+
+    private static void skipPayload(DataInput in, byte type) throws IOException {
+        switch (type) {
+            case TAG_BYTE -> skipFully(in, 1);
+            case TAG_SHORT -> skipFully(in, 2);
+            case TAG_INT, TAG_FLOAT -> skipFully(in, 4);
+            case TAG_LONG, TAG_DOUBLE -> skipFully(in, 8);
+            case TAG_BYTE_ARRAY -> skipFully(in, readLength(in));
+            case TAG_STRING -> skipFully(in, in.readUnsignedShort());
+            case TAG_INT_ARRAY -> skipFully(in, 4L * readLength(in));
+            case TAG_LONG_ARRAY -> skipFully(in, 8L * readLength(in));
+            case TAG_LIST -> {
+                byte elementType = in.readByte();
+                int count = readLength(in);
+                int fixedSize = fixedSize(elementType);
+                if (fixedSize > 0) {
+                    skipFully(in, (long) fixedSize * count);
+                } else {
+                    for (int i = 0; i < count; i++) {
+                        skipPayload(in, elementType);
+                    }
+                }
+            }
+            case TAG_COMPOUND -> {
+                byte child;
+                while ((child = in.readByte()) != TAG_END) {
+                    skipFully(in, in.readUnsignedShort());
+                    skipPayload(in, child);
+                }
+            }
+            case TAG_END -> {
+            }
+            default -> throw new IOException("Unknown NBT tag type " + type);
+        }
+    }
+
+    private static int fixedSize(byte type) {
+        return switch (type) {
+            case TAG_BYTE -> 1;
+            case TAG_SHORT -> 2;
+            case TAG_INT, TAG_FLOAT -> 4;
+            case TAG_LONG, TAG_DOUBLE -> 8;
+            default -> 0;
+        };
+    }
+
+    private static void skipFully(DataInput in, long count) throws IOException {
+        while (count > 0) {
+            int skipped = in.skipBytes((int) Math.min(count, Integer.MAX_VALUE));
+            if (skipped <= 0) {
+                in.readByte();
+                skipped = 1;
+            }
+            count -= skipped;
+        }
+    }
+
+    private static class ChunkState {
+        int dataVersion;
+        final Map<Integer, StoredChunk.Section> sections = new HashMap<>();
+    }
+
+    private static class SectionState {
+        Integer y;
+        StoredChunk.StoredBlockState[] palette;
+        long[] data;
+    }
+}
@@ -0,0 +1,171 @@
+package cn.lunadeer.mc.mcp.provider.builtin.region;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Read-only view of an Anvil ({@code .mca}) region file.
+ * <p>
+ * The file is memory-mapped once and chunk payloads are decompressed
+ * straight from the mapping, so no intermediate copy of the region is made.
+ * A region file covers 32x32 chunks and starts with a 4 KiB table of
+ * chunk locations.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public class RegionFile {
+
+    private static final int SECTOR_BYTES = 4096;
+    private static final int COMPRESSION_GZIP = 1;
+    private static final int COMPRESSION_ZLIB = 2;
+    private static final int COMPRESSION_NONE = 3;
+    private static final int COMPRESSION_EXTERNAL = 128;
+
+    private final File file;
+    private final ByteBuffer buffer;
+
+    private RegionFile(File file, ByteBuffer buffer) {
+        this.file = file;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Opens and memory-maps a region file.
+     *
+     * @param file the region file
+     * @return the region file, or null if the file does not exist or holds no chunks
+     * @throws IOException if the file cannot be mapped
+     */
+    public static RegionFile open(File file) throws IOException {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < SECTOR_BYTES * 2L) {
+                return null;
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new RegionFile(file, mapped);
+        }
+    }
+
+    /**
+     * Resolves the region file name for a chunk.
+     *
+     * @param chunkX the chunk X coordinate
+     * @param chunkZ the chunk Z coordinate
+     * @return the region file name
+     */
+    public static String fileName(int chunkX, int chunkZ) {
+        return "r." + (chunkX >> 5) + "." + (chunkZ >> 5) + ".mca";
+    }
+
+    /**
+     * Checks whether the region holds data for a chunk.
+     *
+     * @param chunkX the chunk X coordinate
+     * @param chunkZ the chunk Z coordinate
+     * @return true if the chunk has been saved to this region
+     */
+    public boolean hasChunk(int chunkX, int chunkZ) {
+        return buffer.getInt(headerIndex(chunkX, chunkZ)) != 0;
+    }
+
+    /**
+     * Opens the decompressed NBT stream of a chunk.
+     *
+     * @param chunkX the chunk X coordinate
+     * @param chunkZ the chunk Z coordinate
+     * @return the chunk NBT stream, or null if the chunk is not present
+     * @throws IOException if the chunk entry is corrupt or uses an unsupported compression
+     */
+    public DataInputStream openChunk(int chunkX, int chunkZ) throws IOException {
+        int location = buffer.getInt(headerIndex(chunkX, chunkZ));
+        int sectorOffset = location >>> 8;
+        if (sectorOffset == 0) {
+            return null;
+        }
+
+        long position = (long) sectorOffset * SECTOR_BYTES;
+        if (position + 5 > buffer.limit()) {
+            throw new IOException("Chunk [" + chunkX + ", " + chunkZ + "] points outside " + file.getName());
+        }
+        int length = buffer.getInt((int) position);
+        int compression = buffer.get((int) position + 4) & 0xFF;
+        if (length <= 0 || position + 4 + length > buffer.limit()) {
+            throw new IOException("Chunk [" + chunkX + ", " + chunkZ + "] has invalid length in " + file.getName());
+        }
+
+        InputStream raw;
+        if ((compression & COMPRESSION_EXTERNAL) != 0) {
+            // Oversized chunks are stored next to the region as c.<x>.<z>.mcc
+            File external = new File(file.getParentFile(), "c." + chunkX + "." + chunkZ + ".mcc");
+            raw = new BufferedInputStream(new FileInputStream(external));
+            compression &= ~COMPRESSION_EXTERNAL;
+        } else {
+            ByteBuffer slice = buffer.duplicate();
+            slice.position((int) position + 5).limit((int) position + 4 + length);
+            raw = new ByteBufferInputStream(slice.slice());
+        }
+
+        return switch (compression) {
+            case COMPRESSION_GZIP -> new DataInputStream(new BufferedInputStream(new GZIPInputStream(raw)));
+            case COMPRESSION_ZLIB -> new DataInputStream(new BufferedInputStream(new InflaterInputStream(raw)));
+            case COMPRESSION_NONE -> new DataInputStream(raw);
+            default -> {
+                raw.close();
+                throw new IOException("Unsupported chunk compression " + compression + " in " + file.getName());
+            }
+        };
+    }
+
+    private static int headerIndex(int chunkX, int chunkZ) {
+        return ((chunkX & 31) + (chunkZ & 31) * 32) * 4;
+    }
+
+    /**
+     * Input stream over a byte buffer slice, reading without copying the mapping.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(bytes, off, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.min(n, buffer.remaining());
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
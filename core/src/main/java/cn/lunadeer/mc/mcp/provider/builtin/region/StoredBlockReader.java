@@ -0,0 +1,294 @@
+package cn.lunadeer.mc.mcp.provider.builtin.region;
+
+import cn.lunadeer.mc.mcp.infrastructure.XLogger;
+import cn.lunadeer.mc.mcp.infrastructure.scheduler.WorkerPool;
+import cn.lunadeer.mc.mcp.provider.builtin.chunk.ChunkSnapshots;
+import cn.lunadeer.mc.mcp.sdk.model.dto.block.BlockInfo;
+import cn.lunadeer.mc.mcp.sdk.model.dto.block.BlockLocationParam;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Reads blocks of a world without loading its chunks.
+ * <p>
+ * Chunks that are not loaded are decoded straight from the world's region
+ * files on the shared {@link WorkerPool}. Chunks that are currently loaded
+ * are read from a live {@link ChunkSnapshot} instead, because their on-disk
+ * copy may be stale. Areas are read one task per region file, chunk by
+ * chunk, and reading stops as soon as enough blocks are found, so a page
+ * near the start of a large area does not decode the rest of it. Light
+ * levels are not stored in a usable form on disk, so block infos produced
+ * here carry no light level.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public class StoredBlockReader {
+
+    private final World world;
+    private final File regionFolder;
+
+    public StoredBlockReader(World world) {
+        this.world = world;
+        this.regionFolder = resolveRegionFolder(world);
+    }
+
+    /**
+     * Reads the non-air blocks in an area, in region then chunk order, up to a number of blocks.
+     * <p>
+     * Each region file of the area is read by its own task on the worker
+     * pool. The tasks share their counts, so a region stops as soon as the
+     * regions before it and its own blocks add up to {@code maxBlocks}: the
+     * blocks it would read next can no longer be among the first ones.
+     * </p>
+     *
+     * @param minX           the minimum X coordinate
+     * @param minY           the minimum Y coordinate
+     * @param minZ           the minimum Z coordinate
+     * @param maxX           the maximum X coordinate
+     * @param maxY           the maximum Y coordinate
+     * @param maxZ           the maximum Z coordinate
+     * @param filterMaterial optional material filter
+     * @param maxBlocks      the number of blocks after which reading stops
+     * @return a future of at most {@code maxBlocks} blocks, ordered by region, then by chunk
+     */
+    public CompletableFuture<List<BlockInfo>> readArea(int minX, int minY, int minZ,
+                                                       int maxX, int maxY, int maxZ,
+                                                       Material filterMaterial, int maxBlocks) {
+        Bounds bounds = new Bounds(
+                Math.min(minX, maxX), Math.max(world.getMinHeight(), Math.min(minY, maxY)), Math.min(minZ, maxZ),
+                Math.max(minX, maxX), Math.min(world.getMaxHeight() - 1, Math.max(minY, maxY)), Math.max(minZ, maxZ)
+        );
+        int minRegionX = (bounds.minX >> 4) >> 5, maxRegionX = (bounds.maxX >> 4) >> 5;
+        int minRegionZ = (bounds.minZ >> 4) >> 5, maxRegionZ = (bounds.maxZ >> 4) >> 5;
+        int regionCount = (maxRegionX - minRegionX + 1) * (maxRegionZ - minRegionZ + 1);
+        AtomicIntegerArray found = new AtomicIntegerArray(regionCount);
+
+        List<CompletableFuture<List<BlockInfo>>> parts = new ArrayList<>(regionCount);
+        int part = 0;
+        for (int regionX = minRegionX; regionX <= maxRegionX; regionX++) {
+            for (int regionZ = minRegionZ; regionZ <= maxRegionZ; regionZ++) {
+                int index = part++;
+                int rx = regionX, rz = regionZ;
+                parts.add(CompletableFuture.supplyAsync(
+                        () -> readRegion(rx, rz, bounds, filterMaterial, maxBlocks, found, index),
+                        WorkerPool.get()));
+            }
+        }
+        return CompletableFuture.allOf(parts.toArray(new CompletableFuture[0])).thenApply(v -> {
+            List<BlockInfo> blocks = new ArrayList<>();
+            for (CompletableFuture<List<BlockInfo>> future : parts) {
+                List<BlockInfo> region = future.join();
+                blocks.addAll(region.subList(0, Math.min(region.size(), maxBlocks - blocks.size())));
+                if (blocks.size() >= maxBlocks) {
+                    break;
+                }
+            }
+            return blocks;
+        });
+    }
+
+    /**
+     * Reads the part of an area inside one region file; runs on the worker pool.
+     */
+    private List<BlockInfo> readRegion(int regionX, int regionZ, Bounds bounds, Material filterMaterial,
+                                       int maxBlocks, AtomicIntegerArray found, int index) {
+        List<BlockInfo> blocks = new ArrayList<>();
+        int fromChunkX = Math.max(bounds.minX >> 4, regionX << 5), toChunkX = Math.min(bounds.maxX >> 4, (regionX << 5) + 31);
+        int fromChunkZ = Math.max(bounds.minZ >> 4, regionZ << 5), toChunkZ = Math.min(bounds.maxZ >> 4, (regionZ << 5) + 31);
+        RegionFile region = null;
+        boolean regionOpened = false;
+        for (int chunkX = fromChunkX; chunkX <= toChunkX; chunkX++) {
+            for (int chunkZ = fromChunkZ; chunkZ <= toChunkZ; chunkZ++) {
+                int limit = maxBlocks - countBefore(found, index);
+                if (blocks.size() >= limit) {
+                    return blocks;
+                }
+                if (world.isChunkLoaded(chunkX, chunkZ)) {
+                    // Snapshots are taken on the chunk's own thread, never on the worker pool
+                    ChunkSnapshot snapshot = ChunkSnapshots.capture(world, chunkX, chunkZ, false).join();
+                    if (snapshot != null) {
+                        readLive(snapshot, chunkX, chunkZ, bounds, filterMaterial, blocks, limit);
+                    }
+                } else {
+                    if (!regionOpened) {
+                        region = openRegion(chunkX, chunkZ);
+                        regionOpened = true;
+                    }
+                    StoredChunk stored = region != null ? readStoredChunk(region, chunkX, chunkZ) : null;
+                    if (stored != null) {
+                        readStored(stored, chunkX, chunkZ, bounds, filterMaterial, blocks, limit);
+                    }
+                }
+                found.set(index, blocks.size());
+            }
+        }
+        return blocks;
+    }
+
+    private static int countBefore(AtomicIntegerArray found, int index) {
+        int count = 0;
+        for (int i = 0; i < index; i++) {
+            count += found.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Reads a single block.
+     *
+     * @param x the block X coordinate
+     * @param y the block Y coordinate
+     * @param z the block Z coordinate
+     * @return a future of the block info, completing with null if the chunk was never generated
+     */
+    public CompletableFuture<BlockInfo> readBlock(int x, int y, int z) {
+        int chunkX = x >> 4;
+        int chunkZ = z >> 4;
+        if (world.isChunkLoaded(chunkX, chunkZ)) {
+            return ChunkSnapshots.capture(world, chunkX, chunkZ, false).thenApply(snapshot -> {
+                if (snapshot == null) {
+                    return null;
+                }
+                BlockData data = snapshot.getBlockData(x & 15, y, z & 15);
+                return toBlockInfo(x, y, z, data.getMaterial().name(), data.getAsString());
+            });
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            StoredChunk chunk = readStoredChunk(chunkX, chunkZ);
+            if (chunk == null) {
+                return null;
+            }
+            StoredChunk.StoredBlockState state = chunk.getBlockState(x, y, z);
+            return toBlockInfo(x, y, z, state.materialName(), state.asString());
+        }, WorkerPool.get());
+    }
+
+    private void readStored(StoredChunk stored, int chunkX, int chunkZ, Bounds bounds, Material filterMaterial,
+                            List<BlockInfo> blocks, int maxBlocks) {
+        int fromX = Math.max(bounds.minX, chunkX << 4), toX = Math.min(bounds.maxX, (chunkX << 4) + 15);
+        int fromZ = Math.max(bounds.minZ, chunkZ << 4), toZ = Math.min(bounds.maxZ, (chunkZ << 4) + 15);
+        for (int x = fromX; x <= toX; x++) {
+            for (int y = bounds.minY; y <= bounds.maxY; y++) {
+                for (int z = fromZ; z <= toZ; z++) {
+                    StoredChunk.StoredBlockState state = stored.getBlockState(x, y, z);
+                    if (state.material() == Material.AIR) {
+                        continue;
+                    }
+                    if (filterMaterial != null && state.material() != filterMaterial) {
+                        continue;
+                    }
+                    blocks.add(toBlockInfo(x, y, z, state.materialName(), state.asString()));
+                    if (blocks.size() >= maxBlocks) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void readLive(ChunkSnapshot snapshot, int chunkX, int chunkZ, Bounds bounds, Material filterMaterial,
+                          List<BlockInfo> blocks, int maxBlocks) {
+        int fromX = Math.max(bounds.minX, chunkX << 4), toX = Math.min(bounds.maxX, (chunkX << 4) + 15);
+        int fromZ = Math.max(bounds.minZ, chunkZ << 4), toZ = Math.min(bounds.maxZ, (chunkZ << 4) + 15);
+        for (int x = fromX; x <= toX; x++) {
+            for (int y = bounds.minY; y <= bounds.maxY; y++) {
+                for (int z = fromZ; z <= toZ; z++) {
+                    Material material = snapshot.getBlockType(x & 15, y, z & 15);
+                    if (material == Material.AIR) {
+                        continue;
+                    }
+                    if (filterMaterial != null && material != filterMaterial) {
+                        continue;
+                    }
+                    blocks.add(toBlockInfo(x, y, z, material.name(), snapshot.getBlockData(x & 15, y, z & 15).getAsString()));
+                    if (blocks.size() >= maxBlocks) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private RegionFile openRegion(int chunkX, int chunkZ) {
+        File file = new File(regionFolder, RegionFile.fileName(chunkX, chunkZ));
+        try {
+            return RegionFile.open(file);
+        } catch (IOException e) {
+            XLogger.debug("Failed to map region file {0}: {1}", file.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private StoredChunk readStoredChunk(RegionFile region, int chunkX, int chunkZ) {
+        try (DataInputStream in = region.openChunk(chunkX, chunkZ)) {
+            return in != null ? NbtChunkDecoder.decode(in) : null;
+        } catch (IOException e) {
+            XLogger.debug("Skipping unreadable chunk [{0}, {1}]: {2}", chunkX, chunkZ, e.getMessage());
+            return null;
+        }
+    }
+
+    private StoredChunk readStoredChunk(int chunkX, int chunkZ) {
+        File file = new File(regionFolder, RegionFile.fileName(chunkX, chunkZ));
+        try {
+            RegionFile region = RegionFile.open(file);
+            if (region == null) {
+                return null;
+            }
+            try (DataInputStream in = region.openChunk(chunkX, chunkZ)) {
+                return in != null ? NbtChunkDecoder.decode(in) : null;
+            }
+        } catch (IOException e) {
+            XLogger.debug("Skipping unreadable chunk [{0}, {1}]: {2}", chunkX, chunkZ, e.getMessage());
+            return null;
+        }
+    }
+
+    private BlockInfo toBlockInfo(int x, int y, int z, String material, String blockDataString) {
+        if (material.equals(Material.AIR.name())) {
+            return new BlockInfo(BlockLocationParam.create(world.getName(), x, y, z), material, null, null, null);
+        }
+        Map<String, String> properties = new HashMap<>();
+        int start = blockDataString.indexOf('[');
+        if (start >= 0 && blockDataString.endsWith("]")) {
+            for (String pair : blockDataString.substring(start + 1, blockDataString.length() - 1).split(",")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    properties.put(pair.substring(0, eq).trim(), pair.substring(eq + 1).trim());
+                }
+            }
+        }
+        return new BlockInfo(BlockLocationParam.create(world.getName(), x, y, z), material, blockDataString, properties, null);
+    }
+
+    /**
+     * Resolves the region folder of a world, following the vanilla dimension layout.
+     *
+     * @param world the world
+     * @return the region folder
+     */
+    public static File resolveRegionFolder(World world) {
+        File worldFolder = world.getWorldFolder();
+        File dimensionFolder = switch (world.getEnvironment()) {
+            case NETHER -> new File(worldFolder, "DIM-1");
+            case THE_END -> new File(worldFolder, "DIM1");
+            default -> worldFolder;
+        };
+        File regionFolder = new File(dimensionFolder, "region");
+        return regionFolder.isDirectory() ? regionFolder : new File(worldFolder, "region");
+    }
+
+    private record Bounds(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+    }
+}
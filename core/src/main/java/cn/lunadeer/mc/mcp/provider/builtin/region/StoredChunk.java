@@ -0,0 +1,112 @@
+package cn.lunadeer.mc.mcp.provider.builtin.region;
+
+import org.bukkit.Material;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Block states of a chunk decoded from a region file.
+ * <p>
+ * Only the block palettes and packed palette indices are kept; lighting,
+ * biomes, heightmaps and block entities are skipped while decoding.
+ * </p>
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+public class StoredChunk {
+
+    /**
+     * A palette entry of a stored chunk section.
+     *
+     * @param name       the namespaced block name (e.g., "minecraft:oak_stairs")
+     * @param properties the block state properties
+     * @param material   the matching Bukkit material, or null if unknown to this server
+     * @param asString   the block data string in Bukkit's format
+     */
+    public record StoredBlockState(String name, Map<String, String> properties, Material material, String asString) {
+
+        static StoredBlockState of(String name, Map<String, String> properties) {
+            String asString = properties.isEmpty()
+                    ? name
+                    : properties.entrySet().stream()
+                    .map(e -> e.getKey() + "=" + e.getValue())
+                    .collect(Collectors.joining(",", name + "[", "]"));
+            return new StoredBlockState(name, properties, Material.matchMaterial(name), asString);
+        }
+
+        /**
+         * Gets the material name, falling back to the block name for unknown blocks.
+         *
+         * @return the material name
+         */
+        public String materialName() {
+            return material != null ? material.name() : name;
+        }
+    }
+
+    static final StoredBlockState AIR = StoredBlockState.of("minecraft:air", Collections.emptyMap());
+
+    private final Map<Integer, Section> sections;
+
+    StoredChunk(Map<Integer, Section> sections) {
+        this.sections = sections;
+    }
+
+    /**
+     * Gets the block state at a position inside this chunk.
+     *
+     * @param x the block X coordinate (world or chunk-local)
+     * @param y the block Y coordinate
+     * @param z the block Z coordinate (world or chunk-local)
+     * @return the block state, air if the section was never saved
+     */
+    public StoredBlockState getBlockState(int x, int y, int z) {
+        Section section = sections.get(y >> 4);
+        if (section == null) {
+            return AIR;
+        }
+        return section.get(((y & 15) << 8) | ((z & 15) << 4) | (x & 15));
+    }
+
+    /**
+     * A 16x16x16 section holding a palette and packed indices into it.
+     * <p>
+     * Since 1.16 indices never span two longs, so each long holds
+     * {@code 64 / bits} entries.
+     * </p>
+     */
+    static class Section {
+        private final StoredBlockState[] palette;
+        private final long[] data;
+        private final int bits;
+        private final int valuesPerLong;
+        private final long mask;
+
+        Section(StoredBlockState[] palette, long[] data) throws IOException {
+            this.palette = palette;
+            this.data = data;
+            this.bits = Math.max(4, 32 - Integer.numberOfLeadingZeros(palette.length - 1));
+            this.valuesPerLong = 64 / bits;
+            this.mask = (1L << bits) - 1;
+            if (palette.length > 1) {
+                int expected = (4096 + valuesPerLong - 1) / valuesPerLong;
+                if (data == null || data.length != expected) {
+                    throw new IOException("Section data length does not match palette size " + palette.length);
+                }
+            }
+        }
+
+        StoredBlockState get(int index) {
+            if (palette.length == 1) {
+                return palette[0];
+            }
+            long word = data[index / valuesPerLong];
+            int id = (int) ((word >>> ((index % valuesPerLong) * bits)) & mask);
+            return id < palette.length ? palette[id] : AIR;
+        }
+    }
+}
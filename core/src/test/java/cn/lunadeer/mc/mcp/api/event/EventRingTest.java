@@ -0,0 +1,172 @@
+package cn.lunadeer.mc.mcp.api.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link EventRing}.
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+class EventRingTest {
+
+    @Test
+    void roundsCapacityUpToAPowerOfTwo() {
+        assertEquals(2, new EventRing<>(0).capacity());
+        assertEquals(2, new EventRing<>(1).capacity());
+        assertEquals(2, new EventRing<>(2).capacity());
+        assertEquals(4, new EventRing<>(3).capacity());
+        assertEquals(8, new EventRing<>(5).capacity());
+        assertEquals(8, new EventRing<>(8).capacity());
+        assertEquals(16, new EventRing<>(9).capacity());
+        assertEquals(1024, new EventRing<>(1000).capacity());
+    }
+
+    @Test
+    void pollsInOfferOrder() {
+        EventRing<Integer> ring = new EventRing<>(8);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(ring.offer(i));
+        }
+
+        assertEquals(5, ring.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, ring.poll());
+        }
+        assertTrue(ring.isEmpty());
+    }
+
+    @Test
+    void rejectsOffersWhenFull() {
+        EventRing<Integer> ring = new EventRing<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i));
+        }
+
+        assertFalse(ring.offer(4));
+        assertEquals(4, ring.size());
+        assertEquals(0, ring.poll());
+        assertTrue(ring.offer(4));
+        assertFalse(ring.offer(5));
+    }
+
+    @Test
+    void pollsNullWhenEmpty() {
+        EventRing<Integer> ring = new EventRing<>(4);
+
+        assertNull(ring.poll());
+        assertTrue(ring.isEmpty());
+        assertEquals(0, ring.size());
+        ring.offer(1);
+        ring.poll();
+        assertNull(ring.poll());
+        assertTrue(ring.isEmpty());
+    }
+
+    @Test
+    void wrapsAroundManyTimes() {
+        EventRing<Integer> ring = new EventRing<>(4);
+        int next = 0;
+        int expected = 0;
+        for (int round = 0; round < 10_000; round++) {
+            int batch = round % 4 + 1;
+            for (int i = 0; i < batch; i++) {
+                assertTrue(ring.offer(next++));
+            }
+            assertEquals(batch, ring.size());
+            for (int i = 0; i < batch; i++) {
+                assertEquals(expected++, ring.poll());
+            }
+            assertNull(ring.poll());
+        }
+    }
+
+    @Test
+    void deliversEveryElementExactlyOnceUnderContention() throws InterruptedException {
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 50_000;
+        int total = producers * perProducer;
+        EventRing<Integer> ring = new EventRing<>(16);
+        AtomicIntegerArray seen = new AtomicIntegerArray(total);
+        AtomicInteger received = new AtomicInteger();
+        AtomicInteger outOfOrder = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            threads.add(new Thread(() -> {
+                await(start);
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer(base + i)) {
+                        if (System.nanoTime() > deadline) {
+                            return;
+                        }
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+        for (int c = 0; c < consumers; c++) {
+            threads.add(new Thread(() -> {
+                await(start);
+                int[] last = new int[producers];
+                Arrays.fill(last, -1);
+                while (received.get() < total && System.nanoTime() < deadline) {
+                    Integer item = ring.poll();
+                    if (item == null) {
+                        Thread.yield();
+                        continue;
+                    }
+                    seen.incrementAndGet(item);
+                    received.incrementAndGet();
+                    int producer = item / perProducer;
+                    if (item <= last[producer]) {
+                        outOfOrder.incrementAndGet();
+                    }
+                    last[producer] = item;
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(total, received.get());
+        assertEquals(0, outOfOrder.get());
+        int duplicatedOrLost = 0;
+        for (int i = 0; i < total; i++) {
+            if (seen.get(i) != 1) {
+                duplicatedOrLost++;
+            }
+        }
+        assertEquals(0, duplicatedOrLost);
+        assertTrue(ring.isEmpty());
+        assertNull(ring.poll());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
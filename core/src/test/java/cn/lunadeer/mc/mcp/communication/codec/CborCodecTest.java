@@ -0,0 +1,209 @@
+package cn.lunadeer.mc.mcp.communication.codec;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link CborCodec}.
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+class CborCodecTest {
+
+    @Test
+    void roundTripsEveryJsonType() {
+        JsonObject object = new JsonObject();
+        object.addProperty("small", 10);
+        object.addProperty("negative", -500);
+        object.addProperty("long", Long.MAX_VALUE);
+        object.addProperty("minLong", Long.MIN_VALUE);
+        object.addProperty("double", 1.5);
+        object.addProperty("text", "héllo 世界 😀");
+        object.addProperty("empty", "");
+        object.addProperty("flag", true);
+        object.add("nothing", JsonNull.INSTANCE);
+        JsonArray array = new JsonArray();
+        array.add(1);
+        array.add("two");
+        array.add(new JsonArray());
+        array.add(new JsonObject());
+        object.add("array", array);
+
+        assertEquals(object, CborCodec.decode(CborCodec.encode(object)));
+    }
+
+    @Test
+    void roundTripsParsedNumbers() {
+        JsonElement parsed = JsonParser.parseString("[42, -7, 3.25, 1e3, 18446744073709551616]");
+
+        JsonArray decoded = CborCodec.decode(CborCodec.encode(parsed)).getAsJsonArray();
+
+        assertEquals(42L, decoded.get(0).getAsLong());
+        assertEquals(-7L, decoded.get(1).getAsLong());
+        assertEquals(3.25, decoded.get(2).getAsDouble());
+        assertEquals(1000.0, decoded.get(3).getAsDouble());
+        assertEquals(1.8446744073709552E19, decoded.get(4).getAsDouble());
+    }
+
+    @Test
+    void encodesIntegersInShortestForm() {
+        assertArrayEquals(bytes(0x0A), CborCodec.encode(new JsonPrimitive(10)));
+        assertArrayEquals(bytes(0x18, 0x18), CborCodec.encode(new JsonPrimitive(24)));
+        assertArrayEquals(bytes(0x19, 0x01, 0xF4), CborCodec.encode(new JsonPrimitive(500)));
+        assertArrayEquals(bytes(0x1A, 0x00, 0x01, 0x86, 0xA0), CborCodec.encode(new JsonPrimitive(100000)));
+        assertArrayEquals(bytes(0x20), CborCodec.encode(new JsonPrimitive(-1)));
+        assertArrayEquals(bytes(0x38, 0x63), CborCodec.encode(new JsonPrimitive(-100)));
+    }
+
+    @Test
+    void encodesFractionsAsDoubles() {
+        assertArrayEquals(bytes(0xFB, 0x3F, 0xF8, 0, 0, 0, 0, 0, 0), CborCodec.encode(new JsonPrimitive(1.5)));
+    }
+
+    @Test
+    void decodesBigUnsignedIntegers() {
+        JsonElement max = CborCodec.decode(bytes(0x1B, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF));
+        assertEquals(new BigInteger("18446744073709551615"), max.getAsBigInteger());
+
+        JsonElement min = CborCodec.decode(bytes(0x3B, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF));
+        assertEquals(new BigInteger("-18446744073709551616"), min.getAsBigInteger());
+    }
+
+    @Test
+    void decodesHalfPrecisionFloats() {
+        assertEquals(1.0, decodeDouble(0xF9, 0x3C, 0x00));
+        assertEquals(-2.0, decodeDouble(0xF9, 0xC0, 0x00));
+        assertEquals(65504.0, decodeDouble(0xF9, 0x7B, 0xFF));
+        assertEquals(5.960464477539063E-8, decodeDouble(0xF9, 0x00, 0x01));
+        assertEquals(6.103515625E-5, decodeDouble(0xF9, 0x04, 0x00));
+        assertEquals(0.0, decodeDouble(0xF9, 0x00, 0x00));
+        assertEquals(-0.0, decodeDouble(0xF9, 0x80, 0x00));
+        assertEquals(Double.POSITIVE_INFINITY, decodeDouble(0xF9, 0x7C, 0x00));
+        assertEquals(Double.NEGATIVE_INFINITY, decodeDouble(0xF9, 0xFC, 0x00));
+        assertTrue(Double.isNaN(decodeDouble(0xF9, 0x7E, 0x00)));
+    }
+
+    @Test
+    void decodesSingleAndDoublePrecisionFloats() {
+        assertEquals(100000.0, decodeDouble(0xFA, 0x47, 0xC3, 0x50, 0x00));
+        assertEquals(1.1, decodeDouble(0xFB, 0x3F, 0xF1, 0x99, 0x99, 0x99, 0x99, 0x99, 0x9A));
+    }
+
+    @Test
+    void decodesSimpleValues() {
+        assertEquals(new JsonPrimitive(false), CborCodec.decode(bytes(0xF4)));
+        assertEquals(new JsonPrimitive(true), CborCodec.decode(bytes(0xF5)));
+        assertEquals(JsonNull.INSTANCE, CborCodec.decode(bytes(0xF6)));
+        assertEquals(JsonNull.INSTANCE, CborCodec.decode(bytes(0xF7)));
+    }
+
+    @Test
+    void decodesByteStringsAsBase64() {
+        assertEquals(new JsonPrimitive("AQID"), CborCodec.decode(bytes(0x43, 0x01, 0x02, 0x03)));
+    }
+
+    @Test
+    void ignoresTags() {
+        JsonElement decoded = CborCodec.decode(bytes(0xC1, 0x1A, 0x51, 0x4B, 0x67, 0xB0));
+
+        assertEquals(1363896240L, decoded.getAsLong());
+    }
+
+    @Test
+    void decodesIndefiniteLengthItems() {
+        JsonArray array = CborCodec.decode(bytes(0x9F, 0x01, 0x82, 0x02, 0x03, 0xFF)).getAsJsonArray();
+        assertEquals(JsonParser.parseString("[1, [2, 3]]"), array);
+
+        JsonObject map = CborCodec.decode(bytes(0xBF, 0x61, 0x61, 0x01, 0x61, 0x62, 0x9F, 0xFF, 0xFF)).getAsJsonObject();
+        assertEquals(JsonParser.parseString("{\"a\": 1, \"b\": []}"), map);
+
+        JsonElement text = CborCodec.decode(bytes(0x7F, 0x62, 'h', 'e', 0x63, 'l', 'l', 'o', 0xFF));
+        assertEquals(new JsonPrimitive("hello"), text);
+    }
+
+    @Test
+    void acceptsNumericMapKeys() {
+        JsonObject map = CborCodec.decode(bytes(0xA1, 0x01, 0x02)).getAsJsonObject();
+
+        assertEquals(2L, map.get("1").getAsLong());
+    }
+
+    @Test
+    void rejectsContainerMapKeys() {
+        assertThrows(CodecException.class, () -> CborCodec.decode(bytes(0xA1, 0x80, 0x01)));
+    }
+
+    @Test
+    void rejectsTruncatedInput() {
+        assertThrows(CodecException.class, () -> CborCodec.decode(new byte[0]));
+        assertThrows(CodecException.class, () -> CborCodec.decode(bytes(0x19, 0x01)));
+        assertThrows(CodecException.class, () -> CborCodec.decode(bytes(0xFB, 0x3F, 0xF8)));
+        assertThrows(CodecException.class, () -> CborCodec.decode(bytes(0x63, 'a')));
+        assertThrows(CodecException.class, () -> CborCodec.decode(bytes(0x82, 0x01)));
+        assertThrows(CodecException.class, () -> CborCodec.decode(bytes(0x9F, 0x01)));
+        assertThrows(CodecException.class, () -> CborCodec.decode(bytes(0xBF, 0x61, 0x61)));
+    }
+
+    @Test
+    void rejectsLengthsBeyondTheInput() {
+        assertThrows(CodecException.class,
+                () -> CborCodec.decode(bytes(0x7B, 0x7F, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 'a')));
+        assertThrows(CodecException.class, () -> CborCodec.decode(bytes(0x9A, 0xFF, 0xFF, 0xFF, 0xFF)));
+    }
+
+    @Test
+    void rejectsTrailingBytes() {
+        assertThrows(CodecException.class, () -> CborCodec.decode(bytes(0x01, 0x02)));
+    }
+
+    @Test
+    void rejectsInvalidAdditionalInfo() {
+        assertThrows(CodecException.class, () -> CborCodec.decode(bytes(0x1C)));
+        assertThrows(CodecException.class, () -> CborCodec.decode(bytes(0x1F)));
+    }
+
+    @Test
+    void rejectsUnsupportedSimpleValues() {
+        assertThrows(CodecException.class, () -> CborCodec.decode(bytes(0xF8, 0x20)));
+    }
+
+    @Test
+    void rejectsMismatchedIndefiniteStringChunks() {
+        assertThrows(CodecException.class, () -> CborCodec.decode(bytes(0x7F, 0x41, 'a', 0xFF)));
+    }
+
+    @Test
+    void rejectsExcessiveNesting() {
+        byte[] data = new byte[1001];
+        Arrays.fill(data, (byte) 0x81);
+        data[1000] = 0x01;
+
+        assertThrows(CodecException.class, () -> CborCodec.decode(data));
+    }
+
+    private static double decodeDouble(int... data) {
+        return CborCodec.decode(bytes(data)).getAsDouble();
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] data = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            data[i] = (byte) values[i];
+        }
+        return data;
+    }
+}
@@ -0,0 +1,215 @@
+package cn.lunadeer.mc.mcp.communication.codec;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link JsonScanner}.
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+class JsonScannerTest {
+
+    @Test
+    void readsMembersAndScalars() {
+        JsonScanner scanner = new JsonScanner("{ \"a\" : 1 , \"b\":\"x\", \"c\":true, \"d\":null, \"e\":-2.5e3 }", 0);
+
+        scanner.beginObject();
+        assertTrue(scanner.nextMember());
+        assertEquals("a", scanner.nextName());
+        assertEquals("1", scanner.nextScalar());
+        assertTrue(scanner.nextMember());
+        assertEquals("b", scanner.nextName());
+        assertEquals("x", scanner.nextScalar());
+        assertTrue(scanner.nextMember());
+        assertEquals("c", scanner.nextName());
+        assertEquals("true", scanner.nextScalar());
+        assertTrue(scanner.nextMember());
+        assertEquals("d", scanner.nextName());
+        assertNull(scanner.nextScalar());
+        assertTrue(scanner.nextMember());
+        assertEquals("e", scanner.nextName());
+        assertEquals("-2.5e3", scanner.nextScalar());
+        assertFalse(scanner.nextMember());
+    }
+
+    @Test
+    void readsEmptyObject() {
+        JsonScanner scanner = new JsonScanner("{ }", 0);
+
+        scanner.beginObject();
+        assertFalse(scanner.nextMember());
+        assertEquals(3, scanner.offset());
+    }
+
+    @Test
+    void startsAtTheGivenPosition() {
+        String json = "xyz{\"a\":\"b\"}";
+        JsonScanner scanner = new JsonScanner(json, 3);
+
+        scanner.beginObject();
+        assertTrue(scanner.nextMember());
+        assertEquals("a", scanner.nextName());
+        assertEquals("b", scanner.nextScalar());
+        assertFalse(scanner.nextMember());
+        assertEquals(json.length(), scanner.offset());
+    }
+
+    @Test
+    void unescapesStrings() {
+        String json = "\"q\\\"b\\\\s\\/n\\nt\\tr\\rb\\bf\\f\"";
+
+        assertEquals("q\"b\\s/n\nt\tr\rb\bf\f", new JsonScanner(json, 0).nextScalar());
+    }
+
+    @Test
+    void unescapesUnicode() {
+        assertEquals("é", new JsonScanner("\"\\u00e9\"", 0).nextScalar());
+        assertEquals("A\u4e16B", new JsonScanner("\"A\\u4E16B\"", 0).nextScalar());
+    }
+
+    @Test
+    void joinsEscapedSurrogatePairs() {
+        String value = new JsonScanner("\"\\ud83d\\ude00\"", 0).nextScalar();
+
+        assertEquals("😀", value);
+        assertEquals(0x1F600, value.codePointAt(0));
+    }
+
+    @Test
+    void keepsUnescapedNonAsciiText() {
+        assertEquals("héllo 世界 😀", new JsonScanner("\"héllo 世界 😀\"", 0).nextScalar());
+    }
+
+    @Test
+    void rejectsTruncatedUnicodeEscape() {
+        CodecException e = assertThrows(CodecException.class, () -> new JsonScanner("\"\\u12\"", 0).nextScalar());
+
+        assertEquals("Truncated unicode escape", e.getMessage());
+    }
+
+    @Test
+    void rejectsInvalidUnicodeEscape() {
+        assertThrows(CodecException.class, () -> new JsonScanner("\"\\u12zz\"", 0).nextScalar());
+    }
+
+    @Test
+    void rejectsUnexpectedEnd() {
+        assertThrows(CodecException.class, () -> new JsonScanner("\"abc", 0).nextScalar());
+        assertThrows(CodecException.class, () -> new JsonScanner("\"abc\\", 0).nextScalar());
+        assertThrows(CodecException.class, () -> new JsonScanner("[1, {\"a\": 2}", 0).skipValue());
+        assertThrows(CodecException.class, () -> new JsonScanner("\"a\\\"", 0).skipValue());
+
+        JsonScanner scanner = new JsonScanner("{\"a\":1", 0);
+        scanner.beginObject();
+        assertTrue(scanner.nextMember());
+        scanner.nextName();
+        scanner.skipValue();
+        assertThrows(CodecException.class, scanner::nextMember);
+    }
+
+    @Test
+    void rejectsMissingSeparators() {
+        JsonScanner scanner = new JsonScanner("{\"a\":1 \"b\":2}", 0);
+        scanner.beginObject();
+        assertTrue(scanner.nextMember());
+        scanner.nextName();
+        scanner.skipValue();
+        assertThrows(CodecException.class, scanner::nextMember);
+
+        JsonScanner colon = new JsonScanner("{\"a\" 1}", 0);
+        colon.beginObject();
+        assertTrue(colon.nextMember());
+        assertThrows(CodecException.class, colon::nextName);
+    }
+
+    @Test
+    void rejectsContainersAsScalars() {
+        assertThrows(CodecException.class, () -> new JsonScanner("{}", 0).nextScalar());
+        assertThrows(CodecException.class, () -> new JsonScanner("[1]", 0).nextScalar());
+    }
+
+    @Test
+    void rejectsMissingValue() {
+        assertThrows(CodecException.class, () -> new JsonScanner("  ,", 0).skipValue());
+    }
+
+    @Test
+    void skipsNestedValues() {
+        String value = "{\"x\": [1, {\"y\": \"}]\"}, [[]], \"\\\"]\"], \"z\": {}}";
+        String json = "{\"skip\": " + value + ", \"after\": 7}";
+        JsonScanner scanner = new JsonScanner(json, 0);
+
+        scanner.beginObject();
+        assertTrue(scanner.nextMember());
+        assertEquals("skip", scanner.nextName());
+        int start = scanner.valueStart();
+        scanner.skipValue();
+        assertEquals(value, json.substring(start, scanner.offset()));
+        assertTrue(scanner.nextMember());
+        assertEquals("after", scanner.nextName());
+        assertEquals("7", scanner.nextScalar());
+        assertFalse(scanner.nextMember());
+    }
+
+    @Test
+    void skipsStringsAndLiterals() {
+        String json = "[\"a\\\"}\", 12.5, false]";
+        JsonScanner scanner = new JsonScanner(json, 1);
+
+        scanner.skipValue();
+        assertEquals(7, scanner.offset());
+
+        JsonScanner literal = new JsonScanner(json, 8);
+        assertEquals(9, literal.valueStart());
+        literal.skipValue();
+        assertEquals(13, literal.offset());
+    }
+
+    @Test
+    void consumesOnlyNull() {
+        JsonScanner scanner = new JsonScanner("  null", 0);
+        assertTrue(scanner.nextNull());
+        assertEquals(6, scanner.offset());
+
+        JsonScanner object = new JsonScanner(" {\"a\":1}", 0);
+        assertFalse(object.nextNull());
+        object.beginObject();
+        assertTrue(object.nextMember());
+        assertEquals("a", object.nextName());
+    }
+
+    @Test
+    void readsNestedObjectsMemberByMember() {
+        String json = "{\"outer\": {\"a\": [1, 2], \"b\": {\"c\": null}}, \"last\": \"v\"}";
+        JsonScanner scanner = new JsonScanner(json, 0);
+
+        scanner.beginObject();
+        assertTrue(scanner.nextMember());
+        assertEquals("outer", scanner.nextName());
+        scanner.beginObject();
+        assertTrue(scanner.nextMember());
+        assertEquals("a", scanner.nextName());
+        int start = scanner.valueStart();
+        scanner.skipValue();
+        assertEquals("[1, 2]", json.substring(start, scanner.offset()));
+        assertTrue(scanner.nextMember());
+        assertEquals("b", scanner.nextName());
+        scanner.beginObject();
+        assertTrue(scanner.nextMember());
+        assertEquals("c", scanner.nextName());
+        assertTrue(scanner.nextNull());
+        assertFalse(scanner.nextMember());
+        assertFalse(scanner.nextMember());
+        assertTrue(scanner.nextMember());
+        assertEquals("last", scanner.nextName());
+        assertEquals("v", scanner.nextScalar());
+        assertFalse(scanner.nextMember());
+    }
+}
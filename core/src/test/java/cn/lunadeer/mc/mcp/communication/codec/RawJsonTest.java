@@ -0,0 +1,76 @@
+package cn.lunadeer.mc.mcp.communication.codec;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link RawJson}.
+ *
+ * @author ZhangYuheng
+ * @since 1.0.0
+ */
+class RawJsonTest {
+
+    private static final String SOURCE = "{\"a\":[1,2],\"b\":null,\"c\":\"nullish\",\"d\":{\"e\":\"f\"}}";
+
+    @Test
+    void exposesTheSlice() {
+        RawJson raw = slice("[1,2]");
+
+        assertEquals("[1,2]", raw.getJson());
+        assertEquals("[1,2]", raw.toString());
+        assertEquals(JsonParser.parseString("[1,2]"), raw.toJsonElement());
+    }
+
+    @Test
+    void detectsNull() {
+        assertTrue(slice("null").isNull());
+        assertFalse(slice("\"nullish\"").isNull());
+        assertFalse(slice("[1,2]").isNull());
+        assertFalse(new RawJson(SOURCE, SOURCE.indexOf("null"), SOURCE.indexOf("null") + 5).isNull());
+    }
+
+    @Test
+    void bindsToTypes() {
+        Gson gson = new Gson();
+
+        List<Integer> list = slice("[1,2]").bind(gson, new TypeToken<List<Integer>>() {
+        }.getType());
+        Map<String, String> map = slice("{\"e\":\"f\"}").bind(gson, new TypeToken<Map<String, String>>() {
+        }.getType());
+        String text = slice("\"nullish\"").bind(gson, String.class);
+
+        assertEquals(List.of(1, 2), list);
+        assertEquals(Map.of("e", "f"), map);
+        assertEquals("nullish", text);
+    }
+
+    @Test
+    void matchesTheScannerOffsets() {
+        JsonScanner scanner = new JsonScanner(SOURCE, 0);
+        scanner.beginObject();
+        StringBuilder values = new StringBuilder();
+        while (scanner.nextMember()) {
+            String name = scanner.nextName();
+            int start = scanner.valueStart();
+            scanner.skipValue();
+            values.append(name).append('=').append(new RawJson(SOURCE, start, scanner.offset())).append(';');
+        }
+
+        assertEquals("a=[1,2];b=null;c=\"nullish\";d={\"e\":\"f\"};", values.toString());
+    }
+
+    private static RawJson slice(String json) {
+        int start = SOURCE.indexOf(json);
+        return new RawJson(SOURCE, start, start + json.length());
+    }
+}